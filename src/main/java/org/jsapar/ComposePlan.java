@@ -0,0 +1,59 @@
+package org.jsapar;
+
+import org.jsapar.compose.internal.SchemaComposer;
+import org.jsapar.compose.internal.TextComposerFactory;
+import org.jsapar.schema.Schema;
+import org.jsapar.schema.SchemaCell;
+import org.jsapar.schema.SchemaLine;
+
+import java.io.Writer;
+import java.util.function.Function;
+
+/**
+ * A schema compiled once into line composers, cell composers, quoters and formats that can be shared between threads.
+ * Creating a {@link TextComposer} from the schema builds all of those again for each output. A compose plan instead
+ * gives each new composer its own copy of only the state that changes while composing, which makes creating a
+ * composer much cheaper. Use it when the same schema is used to compose many small outputs.
+ * <p>
+ * Instances of this class are immutable and thread-safe. The composers that are created are not thread-safe, they
+ * can only be used by one thread at a time.
+ *
+ * @see ParsePlan
+ * @see TextComposer#TextComposer(ComposePlan, Writer)
+ * @since 2.4
+ */
+public final class ComposePlan {
+    private final Schema<? extends SchemaLine<? extends SchemaCell>> schema;
+    private final Function<Writer, SchemaComposer>                    composerMaker;
+
+    private ComposePlan(Schema<? extends SchemaLine<? extends SchemaCell>> schema) {
+        this.schema = schema;
+        this.composerMaker = new TextComposerFactory().compile(schema);
+    }
+
+    /**
+     * Compiles a compose plan.
+     *
+     * @param schema The schema to use while composing. Should not be changed after calling this method.
+     * @return A new compose plan.
+     * @throws IllegalArgumentException In case the schema is not of any type that can be composed.
+     */
+    public static ComposePlan ofSchema(Schema<? extends SchemaLine<? extends SchemaCell>> schema) {
+        return new ComposePlan(schema);
+    }
+
+    /**
+     * @return The schema of this plan.
+     */
+    public Schema<? extends SchemaLine<? extends SchemaCell>> getSchema() {
+        return schema;
+    }
+
+    /**
+     * @param writer The writer to write output to.
+     * @return A new schema composer that writes to supplied writer.
+     */
+    SchemaComposer makeSchemaComposer(Writer writer) {
+        return composerMaker.apply(writer);
+    }
+}
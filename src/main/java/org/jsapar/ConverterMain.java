@@ -1,5 +1,6 @@
 package org.jsapar;
 
+import org.jsapar.concurrent.BatchText2TextConverter;
 import org.jsapar.error.JSaParException;
 import org.jsapar.parse.CollectingConsumer;
 import org.jsapar.schema.Schema;
@@ -12,6 +13,8 @@ import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.stream.StreamSource;
 import java.io.*;
 import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.List;
 import java.util.Properties;
 
@@ -19,6 +22,7 @@ import java.util.Properties;
  * Command line utility that either:
  * 1. Converts one file to another using provided input and output schemas.
  * 2. Transforms one file that is parsed using provided input schema into some output using XSLT.
+ * 3. Converts many files in parallel using provided input and output schemas.
  * <p>
  * Usage:
  * <pre>{@code
@@ -40,6 +44,15 @@ jsapar.jar -in.schema <input schema path> -xslt.file <xslt file path>
 [-xslt.encoding     <xslt file encoding (or system default is used)>]
 [-xslt.method       <xslt method to use. (xml is default)
 Probably one of xml, html or text>]
+
+4. Convert many text files in parallel using different input and output
+schemas:
+jsapar.jar -in.schema <input schema path> -out.schema <output schema path>
+-in.files <directory, glob pattern or @file list>
+[-out.dir <output directory (or same as input file with suffix .out)>]
+[-threads <number of files to convert in parallel (or number of processors)>]
+[-in.file.encoding  <input file encoding (or system default is used)>]
+[-out.file.encoding <output file encoding (or system default is used)>]
  * }</pre>
  */
 public class ConverterMain {
@@ -55,6 +68,11 @@ public class ConverterMain {
             return;
         }
 
+        if (properties.getProperty("in.files") != null) {
+            runBatch(properties);
+            return;
+        }
+
         try {
             String inFileName = properties.getProperty("in.file");
             String inFileEncoding = properties.getProperty("in.file.encoding", Charset.defaultCharset().name());
@@ -92,6 +110,51 @@ public class ConverterMain {
         }
     }
 
+    private void runBatch(Properties properties) {
+        try {
+            final String outputSchemaPath = properties.getProperty("out.schema");
+            if (outputSchemaPath == null) {
+                System.err.println("Missing property or argument!");
+                System.err.println("'out.schema' needs to be specified when converting many files.");
+                printUsage(System.out);
+                return;
+            }
+            Schema<?> inputSchema = Xml2SchemaBuilder.loadSchemaFromXmlFile(new File(properties.getProperty("in.schema")));
+            Schema<?> outputSchema = Xml2SchemaBuilder.loadSchemaFromXmlFile(new File(outputSchemaPath));
+
+            BatchText2TextConverter converter = new BatchText2TextConverter(inputSchema, outputSchema);
+            converter.setInputCharset(Charset.forName(properties.getProperty("in.file.encoding", Charset.defaultCharset().name())));
+            converter.setOutputCharset(Charset.forName(properties.getProperty("out.file.encoding", Charset.defaultCharset().name())));
+            String threads = properties.getProperty("threads");
+            if (threads != null)
+                converter.setParallelism(Integer.parseInt(threads.trim()));
+            String outDir = properties.getProperty("out.dir");
+            if (outDir != null)
+                converter.setOutputDirectory(Paths.get(outDir));
+
+            List<Path> inputFiles = BatchText2TextConverter.findFiles(properties.getProperty("in.files"));
+            BatchText2TextConverter.Result result = converter.convert(inputFiles);
+            for (BatchText2TextConverter.FileResult fileResult : result.getFileResults()) {
+                if (fileResult.getFailure() != null)
+                    System.out.println("===> Failed to convert file " + fileResult.getInputFile() + ": "
+                            + fileResult.getFailure() + ". See " + fileResult.getErrorReport());
+                else if (fileResult.getErrorCount() > 0)
+                    System.out.println("===> Found " + fileResult.getErrorCount() + " errors while converting file "
+                            + fileResult.getInputFile() + ". See " + fileResult.getErrorReport());
+                else
+                    System.out.println("Successfully converted file " + fileResult.getInputFile());
+            }
+            System.out.println(result);
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.err.println("Interrupted while converting files.");
+        } catch (Throwable t) {
+            System.err.println("Failed to convert files.");
+            t.printStackTrace(System.err);
+        }
+    }
+
     private void convertText2Text(CollectingConsumer<JSaParException> errorEventListener, String inFileName, String inFileEncoding, String outFileEncoding, String outFileName, Schema<?> inputSchema, String outputSchemaPath) throws IOException {
         Schema<?> outputSchema = Xml2SchemaBuilder.loadSchemaFromXmlFile(new File(outputSchemaPath));
 
@@ -157,6 +220,16 @@ public class ConverterMain {
         out.println("           [-xslt.method       <xslt method to use. (xml is default)");
         out.println("                                Probably one of xml, html or text>]");
         out.println();
+        out.println(" 4. Convert many text files in parallel using different input and output");
+        out.println("    schemas:");
+        out.println(getApplicationName() + " -in.schema <input schema path>");
+        out.println("           -out.schema <output schema path>");
+        out.println("           -in.files <directory, glob pattern or @file list>");
+        out.println("           [-out.dir <output directory (or same as input file with suffix .out)>]");
+        out.println("           [-threads <number of files to convert in parallel (or number of processors)>]");
+        out.println("           [-in.file.encoding  <input file encoding (or system default is used)>]");
+        out.println("           [-out.file.encoding <output file encoding (or system default is used)>]");
+        out.println();
     }
 
     private Text2TextConverter makeConverter(Schema<?> inputSchema, Schema<?> outputSchema) {
@@ -194,7 +267,8 @@ public class ConverterMain {
 
         // Check mandatory arguments
         checkMandatory(properties, "in.schema");
-        checkMandatory(properties, "in.file");
+        if (null == properties.getProperty("in.files"))
+            checkMandatory(properties, "in.file");
         return properties;
     }
 
@@ -0,0 +1,97 @@
+package org.jsapar;
+
+import org.jsapar.parse.text.TextParseTask;
+import org.jsapar.parse.text.TextSchemaParser;
+import org.jsapar.parse.text.TextSchemaParserFactory;
+import org.jsapar.schema.Schema;
+import org.jsapar.schema.SchemaCell;
+import org.jsapar.schema.SchemaLine;
+import org.jsapar.text.TextParseConfig;
+
+import java.io.Reader;
+
+/**
+ * A schema together with a parse configuration, compiled once into line parsers, cell parsers and formats that can be
+ * shared between threads. Creating a {@link TextParser} or a {@link TextParseTask} from the schema builds all of those
+ * again for each input. A parse plan instead gives each new parse its own copy of only the state that changes while
+ * parsing, such as buffers and cell caches, which makes starting a new parse much cheaper. Use it when the same schema
+ * is used to parse many small inputs, for instance one per request or message.
+ * <p>
+ * Instances of this class are immutable and thread-safe. The parse tasks that are created are not thread-safe, they
+ * can only be used by one thread at a time.
+ * <pre>{@code
+ * ParsePlan parsePlan = ParsePlan.ofSchema(schema);
+ * // Then, in any thread, for each input:
+ * new TextParser(parsePlan).parseForEach(reader, line -> handle(line));
+ * }</pre>
+ *
+ * @see ComposePlan
+ * @since 2.4
+ */
+public final class ParsePlan {
+    private final Schema<? extends SchemaLine<? extends SchemaCell>> schema;
+    private final TextParseConfig                                     parseConfig;
+    private final TextSchemaParserFactory                             parserFactory;
+
+    private ParsePlan(Schema<? extends SchemaLine<? extends SchemaCell>> schema, TextParseConfig parseConfig) {
+        this.schema = schema;
+        this.parseConfig = parseConfig;
+        this.parserFactory = TextSchemaParserFactory.ofSchema(schema, parseConfig);
+    }
+
+    /**
+     * Compiles a parse plan with the default parse configuration.
+     *
+     * @param schema The schema to use while parsing. Should not be changed after calling this method.
+     * @return A new parse plan.
+     * @throws IllegalArgumentException In case the schema is not of any type that can be parsed.
+     */
+    public static ParsePlan ofSchema(Schema<? extends SchemaLine<? extends SchemaCell>> schema) {
+        return new ParsePlan(schema, new TextParseConfig());
+    }
+
+    /**
+     * Compiles a parse plan.
+     *
+     * @param schema      The schema to use while parsing. Should not be changed after calling this method.
+     * @param parseConfig The parse configuration. A copy is made, so changes made to it after calling this method do
+     *                    not affect the plan.
+     * @return A new parse plan.
+     * @throws IllegalArgumentException In case the schema is not of any type that can be parsed.
+     */
+    public static ParsePlan ofSchema(Schema<? extends SchemaLine<? extends SchemaCell>> schema, TextParseConfig parseConfig) {
+        return new ParsePlan(schema, new TextParseConfig(parseConfig));
+    }
+
+    /**
+     * Creates a parse task for one input. May be called concurrently by any number of threads.
+     *
+     * @param reader The reader to read text from.
+     * @return A new parse task that parses supplied reader according to this plan.
+     */
+    TextParseTask makeParseTask(Reader reader) {
+        return new TextParseTask(reader, makeParser(reader));
+    }
+
+    /**
+     * @param reader The reader to read text from.
+     * @return A new schema parser that parses supplied reader according to this plan.
+     */
+    TextSchemaParser makeParser(Reader reader) {
+        return parserFactory.makeParser(reader);
+    }
+
+    /**
+     * @return The schema of this plan.
+     */
+    public Schema<? extends SchemaLine<? extends SchemaCell>> getSchema() {
+        return schema;
+    }
+
+    /**
+     * @return A copy of the parse configuration of this plan. Changing it does not affect the plan.
+     */
+    public TextParseConfig getParseConfig() {
+        return new TextParseConfig(parseConfig);
+    }
+}
@@ -21,17 +21,40 @@ public class Text2TextConverter extends AbstractConverter {
     private final Schema<? extends SchemaLine<? extends SchemaCell>>          parseSchema;
     private final Schema<? extends SchemaLine<? extends SchemaCell>>          composeSchema;
     private       TextParseConfig parseConfig;
+    private       ParsePlan       parsePlan;
+    private final ComposePlan     composePlan;
 
     public Text2TextConverter(Schema<? extends SchemaLine<? extends SchemaCell>> parseSchema, Schema<? extends SchemaLine<? extends SchemaCell>> composeSchema) {
         this.parseSchema = parseSchema;
         this.composeSchema = composeSchema;
         parseConfig = new TextParseConfig();
+        composePlan = null;
     }
 
     public Text2TextConverter(Schema<? extends SchemaLine<? extends SchemaCell>> parseSchema, Schema<? extends SchemaLine<? extends SchemaCell>> composeSchema, TextParseConfig parseConfig) {
         this.parseSchema = parseSchema;
         this.composeSchema = composeSchema;
         this.parseConfig = parseConfig;
+        this.composePlan = null;
+    }
+
+    /**
+     * Creates a converter from compiled plans. Each conversion then only creates the state that changes while parsing
+     * and composing, which makes it much cheaper than creating a converter from the schemas. The parse configuration
+     * of the created converter is the configuration of the parse plan. Since the parse plan cannot be changed,
+     * {@link #getParseConfig()} returns a copy of it. Call {@link #setParseConfig(TextParseConfig)} to parse with
+     * another configuration, which also stops using the parse plan.
+     *
+     * @param parsePlan   The parse plan to use. May be used by several threads concurrently.
+     * @param composePlan The compose plan to use. May be used by several threads concurrently.
+     * @since 2.4
+     */
+    public Text2TextConverter(ParsePlan parsePlan, ComposePlan composePlan) {
+        this.parseSchema = parsePlan.getSchema();
+        this.composeSchema = composePlan.getSchema();
+        this.parseConfig = parsePlan.getParseConfig();
+        this.parsePlan = parsePlan;
+        this.composePlan = composePlan;
     }
 
     /**
@@ -70,19 +93,38 @@ public class Text2TextConverter extends AbstractConverter {
     }
 
     protected TextComposer makeComposer(Writer writer) {
+        if (composePlan != null)
+            return new TextComposer(composePlan, writer);
         return new TextComposer(composeSchema, writer);
     }
 
     protected TextParseTask makeParseTask(Reader reader) {
+        if (parsePlan != null)
+            return parsePlan.makeParseTask(reader);
         return new TextParseTask(parseSchema, reader, parseConfig);
     }
 
+    /**
+     * Gets the current {@link TextParseConfig} for this converter. Makes it possible to change each specific
+     * configuration value. If this converter uses a {@link ParsePlan}, a new copy of the configuration of the parse
+     * plan is returned each time and changing it has no effect. Call {@link #setParseConfig(TextParseConfig)} with the
+     * changed copy in order to parse with it instead of with the parse plan.
+     *
+     * @return The current parse configuration for this converter.
+     */
     public TextParseConfig getParseConfig() {
-        return parseConfig;
+        return parsePlan != null ? parsePlan.getParseConfig() : parseConfig;
     }
 
+    /**
+     * Replaces the current parse configuration. If this converter uses a {@link ParsePlan}, the parse plan is no
+     * longer used.
+     *
+     * @param parseConfig The new parse config
+     */
     public void setParseConfig(TextParseConfig parseConfig) {
         this.parseConfig = parseConfig;
+        this.parsePlan = null;
     }
 
     public Schema<?> getParseSchema() {
@@ -36,6 +36,22 @@ public final class TextComposer implements Composer, AutoCloseable {
         this(schema, writer, new TextComposerFactory());
     }
 
+    /**
+     * Creates an TextComposer from a compose plan. Much cheaper than creating it from the schema since the composers
+     * of the schema lines and cells are shared with the plan.
+     *
+     * @param composePlan The compose plan to use. May be used by several threads concurrently.
+     * @param writer      The writer to write text output to. Caller is responsible for either closing the writer or call the close method of the created instance.
+     * @since 2.4
+     */
+    public TextComposer(ComposePlan composePlan, Writer writer) {
+        if(writer == null)
+            throw new IllegalArgumentException("Writer of text composer cannot be null");
+        this.schema = composePlan.getSchema();
+        this.writer = writer;
+        this.schemaComposer = composePlan.makeSchemaComposer(writer);
+    }
+
     /**
      * Creates an TextComposer with a schema allowing to add custom {@link SchemaComposer}.
      *
@@ -0,0 +1,46 @@
+package org.jsapar;
+
+import org.jsapar.parse.text.TextParseTask;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * The result of parsing an input with {@link TextParser#parseForEachWithRemainder(Reader, java.util.function.Consumer)}.
+ * Since parsing reads ahead from the input reader, the input that was not parsed needs to be read from this result
+ * instead of from the input reader when continuing with the same input, for instance with another schema.
+ *
+ * @since 2.4
+ */
+public final class TextParseResult {
+    private final long          lineCount;
+    private final TextParseTask parseTask;
+    private       Reader        remainingInput;
+
+    TextParseResult(long lineCount, TextParseTask parseTask) {
+        this.lineCount = lineCount;
+        this.parseTask = parseTask;
+    }
+
+    /**
+     * @return Number of parsed lines.
+     */
+    public long getLineCount() {
+        return lineCount;
+    }
+
+    /**
+     * Returns a reader that continues where parsing stopped. If parsing stopped before the end of the input, for
+     * instance because all lines of a schema with a finite number of occurrences have been parsed, some characters may
+     * have been read from the input reader without being parsed. The returned reader supplies those characters first,
+     * then the rest of the input reader. Repeated calls return the same reader.
+     *
+     * @return A reader that continues where parsing stopped.
+     * @throws IOException If there is an error reading the input
+     */
+    public Reader getRemainingInput() throws IOException {
+        if (remainingInput == null)
+            remainingInput = parseTask.getRemainingInput();
+        return remainingInput;
+    }
+}
@@ -4,13 +4,26 @@ import org.jsapar.model.Line;
 import org.jsapar.parse.AbstractParser;
 import org.jsapar.parse.LineEventListener;
 import org.jsapar.parse.LineEventListenerLineConsumer;
+import org.jsapar.parse.csv.CsvParallelParser;
+import org.jsapar.parse.fixed.FixedWidthParallelParser;
+import org.jsapar.parse.text.ByteSourceReader;
 import org.jsapar.parse.text.TextParseTask;
 import org.jsapar.parse.text.TextSchemaParser;
+import org.jsapar.schema.CsvSchema;
+import org.jsapar.schema.FixedWidthSchema;
 import org.jsapar.schema.Schema;
 import org.jsapar.text.TextParseConfig;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
 
@@ -39,6 +52,7 @@ public class TextParser extends AbstractParser {
 
     private final Schema<?>          parseSchema;
     private       TextParseConfig parseConfig;
+    private       ParsePlan       parsePlan;
 
     public TextParser(Schema<?> parseSchema) {
         this(parseSchema, new TextParseConfig());
@@ -49,6 +63,21 @@ public class TextParser extends AbstractParser {
         this.parseConfig = parseConfig;
     }
 
+    /**
+     * Creates a parser from a compiled parse plan. Each parse then only creates the state that changes while parsing,
+     * which makes it much cheaper than creating a parser from the schema. The parse configuration of the created parser
+     * is the configuration of the plan. Since the plan cannot be changed, {@link #getParseConfig()} returns a copy
+     * of it. Call {@link #setParseConfig(TextParseConfig)} to parse with another configuration, which also stops
+     * using the plan.
+     *
+     * @param parsePlan The parse plan to use. May be used by several threads concurrently.
+     * @since 2.4
+     */
+    public TextParser(ParsePlan parsePlan) {
+        this(parsePlan.getSchema(), parsePlan.getParseConfig());
+        this.parsePlan = parsePlan;
+    }
+
     /**
      * Reads text from supplied reader and parses each line. Each parsed line generates a call-back to the lineEventListener.
      * <p>
@@ -66,6 +95,11 @@ public class TextParser extends AbstractParser {
 
     /**
      * Reads text from supplied reader and parses each line. Each parsed line generates a call-back to the lineConsumer.
+     * <p>
+     * Parsing reads ahead from the reader. If parsing stops before the end of the input, for instance when the schema
+     * only has line types with a finite number of occurrences, characters after the last parsed line may have been
+     * read from the reader. Use {@link #parseForEachWithRemainder(Reader, Consumer)} in order to continue reading the
+     * same input afterwards.
      *
      * @param reader       The reader to read text from.
      * @param lineConsumer The line consumer that will be called for each line.
@@ -74,8 +108,179 @@ public class TextParser extends AbstractParser {
      * @throws IOException In case of IO error
      */
     public long parseForEach(Reader reader, Consumer<Line> lineConsumer) throws IOException {
-        TextParseTask parseTask = new TextParseTask(this.parseSchema, reader, parseConfig);
-        return execute(parseTask, lineConsumer);
+        return execute(makeParseTask(reader), lineConsumer);
+    }
+
+    /**
+     * Reads text from supplied reader and parses each line, the same way as {@link #parseForEach(Reader, Consumer)}.
+     * The returned result gives access to the input that was not parsed, so that the same input can be parsed further,
+     * for instance with another schema. Since parsing reads ahead from the reader, that input needs to be read from
+     * {@link TextParseResult#getRemainingInput()} instead of from the reader.
+     *
+     * @param reader       The reader to read text from.
+     * @param lineConsumer The line consumer that will be called for each line.
+     * @return The number of parsed lines and the input that was not parsed.
+     * @since 2.4
+     * @throws IOException In case of IO error
+     */
+    public TextParseResult parseForEachWithRemainder(Reader reader, Consumer<Line> lineConsumer) throws IOException {
+        TextParseTask parseTask = makeParseTask(reader);
+        long lineCount = execute(parseTask, lineConsumer);
+        return new TextParseResult(lineCount, parseTask);
+    }
+
+    private TextParseTask makeParseTask(Reader reader) {
+        return parsePlan != null
+                ? parsePlan.makeParseTask(reader)
+                : new TextParseTask(this.parseSchema, reader, parseConfig);
+    }
+
+    /**
+     * Reads bytes from supplied input stream and parses each line. Each parsed line generates a call-back to the
+     * lineConsumer.
+     * <p>
+     * For the character sets US-ASCII, ISO-8859-1 and UTF-8, the bytes are decoded directly into the parse buffer
+     * which is faster than supplying an {@link java.io.InputStreamReader} to {@link #parseForEach(Reader, Consumer)}.
+     * The input stream is not closed by this method.
+     *
+     * @param inputStream  The input stream to read bytes from.
+     * @param charset      The character set of the input.
+     * @param lineConsumer The line consumer that will be called for each line.
+     * @return Number of parsed lines.
+     * @since 2.4
+     * @throws IOException In case of IO error
+     */
+    public long parseForEach(InputStream inputStream, Charset charset, Consumer<Line> lineConsumer) throws IOException {
+        return parseForEach(ByteSourceReader.ofInputStream(inputStream, charset), lineConsumer);
+    }
+
+    /**
+     * Reads bytes from supplied channel and parses each line. Each parsed line generates a call-back to the
+     * lineConsumer.
+     * <p>
+     * For the character sets US-ASCII, ISO-8859-1 and UTF-8, the bytes are decoded directly into the parse buffer.
+     * The channel is not closed by this method.
+     *
+     * @param channel      The channel to read bytes from.
+     * @param charset      The character set of the input.
+     * @param lineConsumer The line consumer that will be called for each line.
+     * @return Number of parsed lines.
+     * @since 2.4
+     * @throws IOException In case of IO error
+     */
+    public long parseForEach(ReadableByteChannel channel, Charset charset, Consumer<Line> lineConsumer) throws IOException {
+        return parseForEach(ByteSourceReader.ofChannel(channel, charset), lineConsumer);
+    }
+
+    /**
+     * Parses each line of the remaining bytes of supplied byte buffer. Each parsed line generates a call-back to the
+     * lineConsumer. The position of the buffer is advanced while parsing.
+     * <p>
+     * For the character sets US-ASCII, ISO-8859-1 and UTF-8, the bytes are decoded directly from the supplied buffer
+     * into the parse buffer without any intermediate copy.
+     *
+     * @param byteBuffer   The buffer to read bytes from.
+     * @param charset      The character set of the input.
+     * @param lineConsumer The line consumer that will be called for each line.
+     * @return Number of parsed lines.
+     * @since 2.4
+     * @throws IOException In case of IO error
+     */
+    public long parseForEach(ByteBuffer byteBuffer, Charset charset, Consumer<Line> lineConsumer) throws IOException {
+        return parseForEach(ByteSourceReader.ofByteBuffer(byteBuffer, charset), lineConsumer);
+    }
+
+    /**
+     * Parses each line of a file that is encoded in UTF-8. Each parsed line generates a call-back to the lineConsumer.
+     *
+     * @param path         The path of the file to parse.
+     * @param lineConsumer The line consumer that will be called for each line.
+     * @return Number of parsed lines.
+     * @see #parseForEach(Path, Charset, Consumer)
+     * @since 2.4
+     * @throws IOException In case of IO error
+     */
+    public long parseForEach(Path path, Consumer<Line> lineConsumer) throws IOException {
+        return parseForEach(path, StandardCharsets.UTF_8, lineConsumer);
+    }
+
+    /**
+     * Parses each line of a file. Each parsed line generates a call-back to the lineConsumer.
+     * <p>
+     * The file is mapped into memory and for the character sets US-ASCII, ISO-8859-1 and UTF-8, the bytes are decoded
+     * directly from the mapped memory into the parse buffer. This avoids copying the content from the kernel into a
+     * separate read buffer and, for files that are parsed repeatedly, makes use of the file system cache. Files of
+     * any size are supported since they are mapped one window at a time.
+     *
+     * @param path         The path of the file to parse.
+     * @param charset      The character set of the file.
+     * @param lineConsumer The line consumer that will be called for each line.
+     * @return Number of parsed lines.
+     * @since 2.4
+     * @throws IOException In case of IO error
+     */
+    public long parseForEach(Path path, Charset charset, Consumer<Line> lineConsumer) throws IOException {
+        try (FileChannel fileChannel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return parseForEach(ByteSourceReader.ofFile(fileChannel, charset), lineConsumer);
+        }
+    }
+
+    /**
+     * Parses each line of a file, using several threads. Each parsed line generates a call-back to the lineConsumer.
+     * The call-backs are made in the same order as the lines occur in the file and on the calling thread, with the
+     * same line numbers as when parsing sequentially.
+     * <p>
+     * Csv files are split into chunks that begin after a line separator that is assumed not to be within a quoted
+     * cell. If a chunk turns out not to begin at the start of a line, it is merged with the previous chunk and parsed
+     * again. Fixed width files are split into slices at exact record boundaries, provided that all line types have the
+     * same length so that each record occupies the same number of bytes. Header lines and lines of types with a finite
+     * number of occurrences are parsed before the rest of the file is split. Small files, files that cannot be split
+     * and character sets other than US-ASCII, ISO-8859-1 and UTF-8 are parsed sequentially as with
+     * {@link #parseForEach(Path, Charset, Consumer)}.
+     * <p>
+     * A parser that was created from a {@link ParsePlan} does not use the plan for a parallel parse. The schema is
+     * instead compiled again for each call, which costs little compared to parsing a file in parallel.
+     *
+     * @param path         The path of the file to parse.
+     * @param charset      The character set of the file.
+     * @param parallelism  The maximum number of threads to use for parsing.
+     * @param lineConsumer The line consumer that will be called for each line.
+     * @return Number of parsed lines.
+     * @since 2.4
+     * @throws IOException In case of IO error
+     */
+    public long parseForEachParallel(Path path, Charset charset, int parallelism, Consumer<Line> lineConsumer) throws IOException {
+        return parseForEachParallel(path, charset, parallelism, true, lineConsumer);
+    }
+
+    /**
+     * Parses each line of a file, using several threads. Each parsed line generates a call-back to the lineConsumer
+     * on the calling thread, with the same line number as when parsing sequentially. See
+     * {@link #parseForEachParallel(Path, Charset, int, Consumer)} for details.
+     * <p>
+     * If ordered is false, fixed width files are delivered one slice at a time in the order that the slices are
+     * completed. The lines within each slice are still delivered in order. This avoids that a slow slice holds back
+     * delivery of slices that are already completed. Csv files are always delivered in order.
+     *
+     * @param path         The path of the file to parse.
+     * @param charset      The character set of the file.
+     * @param parallelism  The maximum number of threads to use for parsing.
+     * @param ordered      If true, lines are delivered in the same order as in the file.
+     * @param lineConsumer The line consumer that will be called for each line.
+     * @return Number of parsed lines.
+     * @since 2.4
+     * @throws IOException In case of IO error
+     */
+    public long parseForEachParallel(Path path, Charset charset, int parallelism, boolean ordered, Consumer<Line> lineConsumer) throws IOException {
+        if (parseSchema instanceof CsvSchema) {
+            return new CsvParallelParser(path, charset, (CsvSchema) parseSchema, parseConfig, parallelism)
+                    .parse(lineConsumer, getErrorConsumer());
+        }
+        if (parseSchema instanceof FixedWidthSchema) {
+            return new FixedWidthParallelParser(path, charset, (FixedWidthSchema) parseSchema, parseConfig, parallelism, ordered)
+                    .parse(lineConsumer, getErrorConsumer());
+        }
+        return parseForEach(path, charset, lineConsumer);
     }
 
     /**
@@ -90,8 +295,16 @@ public class TextParser extends AbstractParser {
      * @throws IOException If there is an error reading from the input reader.
      */
     public Stream<Line> stream(Reader reader) throws IOException {
-        TextSchemaParser parser = TextSchemaParser.ofSchema(parseSchema, reader, getParseConfig());
-        return parser.stream(getErrorConsumer());
+        if (!parseConfig.isReuseLines()) {
+            TextSchemaParser parser = parsePlan != null
+                    ? parsePlan.makeParser(reader)
+                    : TextSchemaParser.ofSchema(parseSchema, reader, parseConfig);
+            return parser.stream(getErrorConsumer());
+        }
+        // The lines of a stream may be kept by the caller, so each line needs to be a separate instance.
+        TextParseConfig streamConfig = new TextParseConfig(parseConfig);
+        streamConfig.setReuseLines(false);
+        return TextSchemaParser.ofSchema(parseSchema, reader, streamConfig).stream(getErrorConsumer());
     }
 
 
@@ -116,20 +329,23 @@ public class TextParser extends AbstractParser {
 
     /**
      * Gets the current {@link TextParseConfig} for this parser. Makes it possible to change each specific configuration
-     * value.
+     * value. If this parser uses a {@link ParsePlan}, a new copy of the configuration of the plan is returned each
+     * time and changing it has no effect. Call {@link #setParseConfig(TextParseConfig)} with the changed copy in order
+     * to parse with it instead of with the plan.
      *
      * @return The current parse configuration for this parser.
      */
     public TextParseConfig getParseConfig() {
-        return parseConfig;
+        return parsePlan != null ? parsePlan.getParseConfig() : parseConfig;
     }
 
     /**
-     * Replaces the current parse configuration
+     * Replaces the current parse configuration. If this parser uses a {@link ParsePlan}, the plan is no longer used.
      *
      * @param parseConfig The new parse config
      */
     public void setParseConfig(TextParseConfig parseConfig) {
         this.parseConfig = parseConfig;
+        this.parsePlan = null;
     }
 }
@@ -1,6 +1,9 @@
 package org.jsapar.compose.cell;
 
+import org.jsapar.model.BigDecimalCell;
 import org.jsapar.model.Cell;
+import org.jsapar.model.FloatCell;
+import org.jsapar.model.IntegerCell;
 import org.jsapar.text.Format;
 
 /**
@@ -17,6 +20,17 @@ final class FormatCellFormat implements CellFormat {
 
     @Override
     public String format(Cell cell) {
-        return cell.isEmpty() ? defaultValue : format.format(cell.getValue());
+        if (cell.isEmpty())
+            return defaultValue;
+        // Primitive values are formatted without creating any object.
+        if (cell instanceof IntegerCell && ((IntegerCell) cell).isPrimitive())
+            return format.format(cell.getLongValue());
+        if (cell instanceof FloatCell && ((FloatCell) cell).isPrimitive())
+            return format.format(cell.getDoubleValue());
+        if (cell instanceof BigDecimalCell && ((BigDecimalCell) cell).isScaledLong()) {
+            BigDecimalCell decimalCell = (BigDecimalCell) cell;
+            return format.format(decimalCell.getUnscaledLong(), decimalCell.getScale());
+        }
+        return format.format(cell.getValue());
     }
 }
@@ -16,4 +16,33 @@ final public class CsvComposer extends AbstractSchemaComposer implements SchemaC
         super(writer, schema, schemaLine -> new CsvLineComposer(writer, (CsvSchemaLine) schemaLine, schema.getLineSeparator(), schema.getQuoteSyntax()));
     }
 
+    /**
+     * Creates a composer that shares the line and cell composers, quoters included, with supplied composer but that
+     * writes to another writer. Much cheaper than creating a composer from the schema.
+     * @param writer   The writer to write output to.
+     * @param template The composer to copy. Is not changed by this constructor, so several threads may copy the same
+     *                 composer concurrently as long as it is not used for composing.
+     * @since 2.4
+     */
+    public CsvComposer(Writer writer, CsvComposer template) {
+        super(writer, template, lineComposer -> ((CsvLineComposer) lineComposer).copy(writer));
+    }
+
+    /**
+     * Internal method that writes the header line of a line type followed by a line separator, the same way as it is
+     * written before the first line of a line type where the first line is used as schema. Makes it possible to
+     * compose the lines of an output in separate parts that are joined afterwards.
+     *
+     * @param lineType The line type to write the header line of.
+     * @throws IllegalArgumentException If there is no such line type in the schema.
+     * @throws java.io.UncheckedIOException If there is an error writing to the writer.
+     * @since 2.4
+     */
+    public void composeHeaderLine(String lineType) {
+        CsvLineComposer lineComposer = (CsvLineComposer) getLineComposer(lineType);
+        if (lineComposer == null)
+            throw new IllegalArgumentException("There is no line type " + lineType + " in the schema.");
+        lineComposer.composeHeader();
+    }
+
 }
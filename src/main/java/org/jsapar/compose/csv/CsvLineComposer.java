@@ -1,6 +1,7 @@
 package org.jsapar.compose.csv;
 
 import org.jsapar.compose.csv.quote.*;
+import org.jsapar.compose.line.LineCellLookup;
 import org.jsapar.compose.line.LineComposer;
 import org.jsapar.model.Cell;
 import org.jsapar.model.Line;
@@ -10,7 +11,6 @@ import org.jsapar.schema.*;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.io.Writer;
-import java.util.Iterator;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -24,6 +24,7 @@ final class CsvLineComposer implements LineComposer {
     private final String lineSeparator;
     private final QuoteSyntax quoteSyntax;
     private final List<CsvCellComposer> cellComposers;
+    private final LineCellLookup cellLookup;
     private boolean firstRow=true;
 
     CsvLineComposer(Writer writer, CsvSchemaLine schemaLine, String lineSeparator, QuoteSyntax quoteSyntax) {
@@ -32,6 +33,26 @@ final class CsvLineComposer implements LineComposer {
         this.lineSeparator = lineSeparator;
         this.quoteSyntax = quoteSyntax;
         cellComposers = makeCellComposers(schemaLine);
+        cellLookup = new LineCellLookup(schemaLine);
+    }
+
+    private CsvLineComposer(Writer writer, CsvLineComposer template) {
+        this.writer = writer;
+        this.schemaLine = template.schemaLine;
+        this.lineSeparator = template.lineSeparator;
+        this.quoteSyntax = template.quoteSyntax;
+        this.cellComposers = template.cellComposers;
+        this.cellLookup = new LineCellLookup(template.cellLookup);
+    }
+
+    /**
+     * Creates a line composer that writes to another writer but that shares the cell composers with this instance.
+     * The header line is written again by the copy, if first line is schema.
+     * @param writer The writer to write output to.
+     * @return A new line composer for the same line schema.
+     */
+    CsvLineComposer copy(Writer writer) {
+        return new CsvLineComposer(writer, this);
     }
 
     private List<CsvCellComposer> makeCellComposers(CsvSchemaLine schemaLine) {
@@ -84,20 +105,18 @@ final class CsvLineComposer implements LineComposer {
         try {
             if (schemaLine.isIgnoreWrite())
                 return;
-            if (firstRow && schemaLine.isFirstLineAsSchema()) {
-                composeHeaderLine();
-                writer.write(lineSeparator);
-            }
+            if (firstRow && schemaLine.isFirstLineAsSchema())
+                composeHeader();
             firstRow = false;
             String sCellSeparator = schemaLine.getCellSeparator();
 
-            Iterator<CsvCellComposer> iter = cellComposers.iterator();
-            while (iter.hasNext()) {
-                CsvCellComposer cellComposer = iter.next();
-                Cell<?> cell = line.getCell(cellComposer.getName()).orElse(cellComposer.makeEmptyCell());
-                cellComposer.compose(writer, cell);
+            final int cellCount = cellComposers.size();
+            for (int i = 0; i < cellCount; i++) {
+                CsvCellComposer cellComposer = cellComposers.get(i);
+                Cell<?> cell = cellLookup.cellAt(line, i);
+                cellComposer.compose(writer, cell != null ? cell : cellComposer.makeEmptyCell());
 
-                if (iter.hasNext())
+                if (i < cellCount - 1)
                     writer.write(sCellSeparator);
             }
         } catch (IOException e) {
@@ -110,6 +129,21 @@ final class CsvLineComposer implements LineComposer {
         return schemaLine.isIgnoreWrite();
     }
 
+    /**
+     * Writes the header line followed by a line separator. The header line is then not written again before the next
+     * line.
+     * @throws UncheckedIOException If there is an error writing to the writer.
+     */
+    void composeHeader() {
+        try {
+            composeHeaderLine();
+            writer.write(lineSeparator);
+            firstRow = false;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     /**
      * Writes header line if first line is schema.
      */
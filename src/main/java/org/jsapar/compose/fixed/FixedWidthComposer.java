@@ -16,5 +16,16 @@ final public class FixedWidthComposer extends AbstractSchemaComposer implements
         super(writer, schema, schemaLine -> new FixedWidthLineComposer(writer, (FixedWidthSchemaLine) schemaLine));
     }
 
+    /**
+     * Creates a composer that shares the line and cell composers with supplied composer but that writes to another
+     * writer. Much cheaper than creating a composer from the schema.
+     * @param writer   The writer to write output to.
+     * @param template The composer to copy. Is not changed by this constructor, so several threads may copy the same
+     *                 composer concurrently as long as it is not used for composing.
+     * @since 2.4
+     */
+    public FixedWidthComposer(Writer writer, FixedWidthComposer template) {
+        super(writer, template, lineComposer -> ((FixedWidthLineComposer) lineComposer).copy(writer));
+    }
 
 }
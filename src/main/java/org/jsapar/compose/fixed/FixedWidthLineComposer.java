@@ -1,7 +1,9 @@
 package org.jsapar.compose.fixed;
 
 import org.jsapar.compose.fixed.pad.Filler;
+import org.jsapar.compose.line.LineCellLookup;
 import org.jsapar.compose.line.LineComposer;
+import org.jsapar.model.Cell;
 import org.jsapar.model.Line;
 import org.jsapar.schema.FixedWidthSchemaLine;
 
@@ -20,6 +22,7 @@ final class FixedWidthLineComposer implements LineComposer {
     private final FixedWidthSchemaLine         lineSchema;
     private final List<FixedWidthCellComposer> cellComposers;
     private final Filler                       filler;
+    private final LineCellLookup               cellLookup;
 
     FixedWidthLineComposer(Writer writer, FixedWidthSchemaLine lineSchema) {
         if(writer == null)
@@ -29,9 +32,29 @@ final class FixedWidthLineComposer implements LineComposer {
         this.writer = writer;
         this.lineSchema = lineSchema;
         this.cellComposers = lineSchema.stream().map(FixedWidthCellComposer::new).collect(Collectors.toList());
+        cellLookup = new LineCellLookup(lineSchema);
         filler = new Filler(lineSchema.getPadCharacter(), lineSchema.getMinLength());
     }
 
+    private FixedWidthLineComposer(Writer writer, FixedWidthLineComposer template) {
+        if(writer == null)
+            throw new IllegalArgumentException("Writer of line composer cannot be null");
+        this.writer = writer;
+        this.lineSchema = template.lineSchema;
+        this.cellComposers = template.cellComposers;
+        this.cellLookup = new LineCellLookup(template.cellLookup);
+        this.filler = template.filler;
+    }
+
+    /**
+     * Creates a line composer that writes to another writer but that shares the cell composers with this instance.
+     * @param writer The writer to write output to.
+     * @return A new line composer for the same line schema.
+     */
+    FixedWidthLineComposer copy(Writer writer) {
+        return new FixedWidthLineComposer(writer, this);
+    }
+
     /**
      * Composes an output from a line. Each cell is identified from the schema by the name of the cell.
      *
@@ -51,8 +74,10 @@ final class FixedWidthLineComposer implements LineComposer {
 
             // Iterate all schema cells.
             int totalLength = 0;
-            for (FixedWidthCellComposer composer : cellComposers) {
-                totalLength += composer.compose(writer, line.getCell(composer.getName()).orElse(composer.makeEmptyCell()));
+            for (int i = 0; i < cellComposers.size(); i++) {
+                FixedWidthCellComposer composer = cellComposers.get(i);
+                Cell<?> cell = cellLookup.cellAt(line, i);
+                totalLength += composer.compose(writer, cell != null ? cell : composer.makeEmptyCell());
             }
             if (lineSchema.getMinLength() > totalLength) {
                 filler.fill(writer, lineSchema.getMinLength() - totalLength);
@@ -9,6 +9,7 @@ import org.jsapar.schema.SchemaLine;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.io.Writer;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.function.Function;
@@ -35,6 +36,21 @@ public abstract class AbstractSchemaComposer implements SchemaComposer{
         lineComposers = schema.stream().collect(Collectors.toMap(SchemaLine::getLineType, lineComposerCreator));
     }
 
+    /**
+     * Creates a schema composer for the same schema as supplied schema composer but that writes to another writer.
+     * @param writer The writer to write output to
+     * @param template The schema composer to copy the line composers of.
+     * @param lineComposerCopier A {@link Function} that takes a line composer of the template as argument and returns
+     *                           a new {@link LineComposer} for the same schema line that writes to the writer.
+     * @since 2.4
+     */
+    protected AbstractSchemaComposer(Writer writer, AbstractSchemaComposer template, Function<LineComposer, LineComposer> lineComposerCopier) {
+        this.writer = writer;
+        this.schema = template.schema;
+        lineComposers = new HashMap<>();
+        template.lineComposers.forEach((lineType, lineComposer) -> lineComposers.put(lineType, lineComposerCopier.apply(lineComposer)));
+    }
+
     /**
      * This implementation composes line separator accoring to schema.
      * @throws UncheckedIOException when an IO error occurs
@@ -62,6 +78,14 @@ public abstract class AbstractSchemaComposer implements SchemaComposer{
         }
     }
 
+    /**
+     * @param lineType The line type.
+     * @return The line composer of supplied line type or null if there is no such line type in the schema.
+     */
+    protected LineComposer getLineComposer(String lineType) {
+        return lineComposers.get(lineType);
+    }
+
     @Override
     public boolean composeLine(Line line)  {
         LineComposer lineComposer = lineComposers.get(line.getLineType());
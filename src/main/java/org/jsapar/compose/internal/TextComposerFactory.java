@@ -7,6 +7,7 @@ import org.jsapar.schema.FixedWidthSchema;
 import org.jsapar.schema.Schema;
 
 import java.io.Writer;
+import java.util.function.Function;
 
 /**
  * Factory for creating schema composer based on schema.
@@ -31,4 +32,26 @@ final public class TextComposerFactory implements ComposerFactory {
         throw new IllegalArgumentException("Unknown schema type. Unable to create parser class for it.");
     }
 
+    /**
+     * Creates the line and cell composers of supplied schema once. The returned function creates a new
+     * {@link SchemaComposer} for each writer that shares those, which is much cheaper than calling
+     * {@link #makeComposer(Schema, Writer)}. The returned function is thread-safe.
+     * @param schema The schema to use while composing
+     * @return A function that creates a new {@link SchemaComposer} that writes to the writer that is supplied to it.
+     * @throws IllegalArgumentException In case the schema is not of any type that is handled by this class.
+     * @since 2.4
+     */
+    public Function<Writer, SchemaComposer> compile(Schema<?> schema) {
+        if (schema instanceof CsvSchema) {
+            CsvComposer template = new CsvComposer(Writer.nullWriter(), (CsvSchema) schema);
+            return writer -> new CsvComposer(writer, template);
+        }
+        if (schema instanceof FixedWidthSchema) {
+            FixedWidthComposer template = new FixedWidthComposer(Writer.nullWriter(), (FixedWidthSchema) schema);
+            return writer -> new FixedWidthComposer(writer, template);
+        }
+
+        throw new IllegalArgumentException("Unknown schema type. Unable to create composer class for it.");
+    }
+
 }
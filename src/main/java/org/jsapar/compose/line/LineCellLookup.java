@@ -0,0 +1,68 @@
+package org.jsapar.compose.line;
+
+import org.jsapar.model.Cell;
+import org.jsapar.model.CellSlots;
+import org.jsapar.model.Line;
+import org.jsapar.schema.SchemaCell;
+import org.jsapar.schema.SchemaLine;
+
+/**
+ * Internal class that finds the cells of a line that correspond to the schema cells of a line schema while composing.
+ * When the line stores its cells by slot, the slot of each schema cell is resolved once for each new
+ * {@link CellSlots} instance that is encountered and the cells are then fetched by slot index instead of by name.
+ * Lines that are parsed with the same line schema as the one used for composing share the same cell slots.
+ */
+public final class LineCellLookup {
+
+    private final String[] names;
+    private       CellSlots lastCellSlots;
+    private       int[]     lastSlotIndexes;
+
+    /**
+     * @param schemaLine The line schema to find cells for.
+     */
+    public LineCellLookup(SchemaLine<? extends SchemaCell> schemaLine) {
+        this.names = schemaLine.stream().map(SchemaCell::getName).toArray(String[]::new);
+        slotIndexesOf(schemaLine.getCellSlots());
+    }
+
+    /**
+     * Creates a lookup for the same line schema as supplied lookup. Resolved slot indexes are never changed once
+     * resolved, so the ones that supplied lookup has resolved so far are reused.
+     * @param template The lookup to copy.
+     * @since 2.4
+     */
+    public LineCellLookup(LineCellLookup template) {
+        this.names = template.names;
+        this.lastCellSlots = template.lastCellSlots;
+        this.lastSlotIndexes = template.lastSlotIndexes;
+    }
+
+    /**
+     * @param line  The line to get the cell from.
+     * @param index The index of the schema cell within the line schema.
+     * @return The cell of supplied line with the same name as the schema cell at supplied index or null if there is
+     * no such cell.
+     */
+    public Cell<?> cellAt(Line line, int index) {
+        CellSlots cellSlots = line.getCellSlots();
+        if (cellSlots != null) {
+            int slot = slotIndexesOf(cellSlots)[index];
+            if (slot >= 0)
+                return line.getCellInSlot(slot);
+        }
+        return line.getCell(names[index]).orElse(null);
+    }
+
+    private int[] slotIndexesOf(CellSlots cellSlots) {
+        if (cellSlots != lastCellSlots) {
+            int[] slotIndexes = new int[names.length];
+            for (int i = 0; i < names.length; i++) {
+                slotIndexes[i] = cellSlots.indexOf(names[i]);
+            }
+            lastSlotIndexes = slotIndexes;
+            lastCellSlots = cellSlots;
+        }
+        return lastSlotIndexes;
+    }
+}
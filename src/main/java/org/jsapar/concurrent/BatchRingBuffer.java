@@ -0,0 +1,139 @@
+package org.jsapar.concurrent;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * Internal class that hands over events in batches through a bounded ring buffer from exactly one producing thread to
+ * one consumer thread.
+ * <p>
+ * The ring buffer consists of a fixed number of arrays, each holding one batch of events. The producing thread puts
+ * the events directly into the array of the next free slot and publishes the slot once the batch is full or when
+ * flushed. The consumer thread delivers all the events of a published slot before it releases the slot. The only
+ * shared state is the position of the next slot to publish and the position of the next slot to consume, so handing
+ * over an event requires neither any lock nor any allocation.
+ *
+ * @param <T> The type of events.
+ */
+final class BatchRingBuffer<T> implements EventHandoff<T> {
+    private final Object[][]   batches;
+    private final int[]        batchSizes;
+    private final int          mask;
+    private final int          batchSize;
+    private final WaitStrategy waitStrategy;
+
+    /**
+     * The position of the next slot to consume. Only written by the consumer thread.
+     */
+    private final AtomicLong head = new AtomicLong();
+    /**
+     * The position of the next slot to publish. Only written by the producing thread.
+     */
+    private final AtomicLong tail = new AtomicLong();
+    /**
+     * The number of events in the slot that is being filled. Only used by the producing thread.
+     */
+    private       int        filling = 0;
+
+    /**
+     * @param batchSize    The maximum number of events in each batch.
+     * @param batchCount   The number of batches that the ring buffer can hold. Rounded up to the nearest power of
+     *                     two.
+     * @param waitStrategy How the threads wait for each other.
+     */
+    BatchRingBuffer(int batchSize, int batchCount, WaitStrategy waitStrategy) {
+        if (batchSize < 1)
+            throw new IllegalArgumentException("Batch size needs to be at least 1.");
+        if (batchCount < 1 || batchCount > 1 << 20)
+            throw new IllegalArgumentException("Batch count needs to be between 1 and " + (1 << 20) + ".");
+        final int capacity = Integer.highestOneBit(batchCount) == batchCount ? batchCount : Integer.highestOneBit(batchCount) << 1;
+        this.batches = new Object[capacity][batchSize];
+        this.batchSizes = new int[capacity];
+        this.mask = capacity - 1;
+        this.batchSize = batchSize;
+        this.waitStrategy = waitStrategy;
+    }
+
+    @Override
+    public void put(T event, BooleanSupplier stopped) throws InterruptedException {
+        if (filling == 0 && !awaitFreeSlot(stopped))
+            return;
+        batches[(int) tail.get() & mask][filling++] = event;
+        if (filling == batchSize)
+            publish();
+    }
+
+    @Override
+    public void flush(BooleanSupplier stopped) {
+        if (filling > 0)
+            publish();
+    }
+
+    private boolean awaitFreeSlot(BooleanSupplier stopped) throws InterruptedException {
+        final long position = tail.get();
+        for (int count = 0; position - head.get() >= batches.length; count++) {
+            if (stopped.getAsBoolean())
+                return false;
+            if (Thread.interrupted())
+                throw new InterruptedException();
+            waitStrategy.idle(count);
+        }
+        return true;
+    }
+
+    private void publish() {
+        final long position = tail.get();
+        batchSizes[(int) position & mask] = filling;
+        filling = 0;
+        tail.lazySet(position + 1);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void deliver(Consumer<? super T> consumer, BooleanSupplier stopped) throws InterruptedException {
+        final long position = head.get();
+        for (int count = 0; position == tail.get(); count++) {
+            if (stopped.getAsBoolean())
+                return;
+            if (Thread.interrupted())
+                throw new InterruptedException();
+            waitStrategy.idle(count);
+        }
+        final int slot = (int) position & mask;
+        final Object[] batch = batches[slot];
+        final int size = batchSizes[slot];
+        try {
+            for (int i = 0; i < size && !stopped.getAsBoolean(); i++) {
+                final T event = (T) batch[i];
+                batch[i] = null;
+                consumer.accept(event);
+            }
+        } finally {
+            Arrays.fill(batch, 0, size, null);
+            head.lazySet(position + 1);
+        }
+    }
+
+    @Override
+    public void wakeUp() {
+        // The consumer thread checks the stop condition while waiting.
+    }
+
+    @Override
+    public int size() {
+        int size = filling;
+        for (long position = head.get(); position < tail.get(); position++)
+            size += batchSizes[(int) position & mask];
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        for (Object[] batch : batches)
+            Arrays.fill(batch, null);
+        filling = 0;
+        head.set(tail.get());
+    }
+}
@@ -0,0 +1,579 @@
+package org.jsapar.concurrent;
+
+import org.jsapar.ComposePlan;
+import org.jsapar.ParsePlan;
+import org.jsapar.Text2TextConverter;
+import org.jsapar.convert.LineManipulator;
+import org.jsapar.error.JSaParException;
+import org.jsapar.schema.Schema;
+import org.jsapar.schema.SchemaCell;
+import org.jsapar.schema.SchemaLine;
+import org.jsapar.text.TextParseConfig;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Converts many text files from one format to another, a number of files at a time in parallel. The schemas are loaded
+ * only once and are shared by all the conversions, which makes this a much cheaper alternative than converting each
+ * file separately, for instance by launching a new JVM for each file.
+ * <p>
+ * Each file is converted by a {@link Text2TextConverter} in one of the threads of a fixed size thread pool. All errors
+ * while converting a file are written, as they occur, to an error report next to the output file,
+ * see {@link #setErrorReportNamer(Function)}. A file that fails completely, for instance because it cannot be read,
+ * does not stop the conversion of the other files. The outcome of each file together with the aggregate throughput is
+ * returned as a {@link Result}.
+ * <p>
+ * Added line manipulators are called from all of the threads, so they need to be thread safe.
+ *
+ * @see #findFiles(String)
+ * @since 2.4
+ */
+public class BatchText2TextConverter {
+    private static final String OUTPUT_SUFFIX       = ".out";
+    private static final String ERROR_REPORT_SUFFIX = ".errors";
+
+    private final Schema<? extends SchemaLine<? extends SchemaCell>> parseSchema;
+    private final Schema<? extends SchemaLine<? extends SchemaCell>> composeSchema;
+    private final TextParseConfig                                     parseConfig;
+    private final List<LineManipulator>                               manipulators = new LinkedList<>();
+
+    private int                  parallelism      = Runtime.getRuntime().availableProcessors();
+    private Charset              inputCharset     = Charset.defaultCharset();
+    private Charset              outputCharset    = Charset.defaultCharset();
+    private Function<Path, Path> outputNamer      = input -> input.resolveSibling(input.getFileName() + OUTPUT_SUFFIX);
+    private Function<Path, Path> errorReportNamer = output -> output.resolveSibling(output.getFileName() + ERROR_REPORT_SUFFIX);
+
+    /**
+     * @param parseSchema   The schema to use while parsing each file.
+     * @param composeSchema The schema to use while composing each file.
+     */
+    public BatchText2TextConverter(Schema<? extends SchemaLine<? extends SchemaCell>> parseSchema,
+                                   Schema<? extends SchemaLine<? extends SchemaCell>> composeSchema) {
+        this(parseSchema, composeSchema, new TextParseConfig());
+    }
+
+    /**
+     * @param parseSchema   The schema to use while parsing each file.
+     * @param composeSchema The schema to use while composing each file.
+     * @param parseConfig   Configuration about parsing behavior. Shared by all the conversions.
+     */
+    public BatchText2TextConverter(Schema<? extends SchemaLine<? extends SchemaCell>> parseSchema,
+                                   Schema<? extends SchemaLine<? extends SchemaCell>> composeSchema,
+                                   TextParseConfig parseConfig) {
+        this.parseSchema = Objects.requireNonNull(parseSchema);
+        this.composeSchema = Objects.requireNonNull(composeSchema);
+        this.parseConfig = Objects.requireNonNull(parseConfig);
+    }
+
+    /**
+     * @param parallelism The maximum number of files that are converted at the same time. Default is the number of
+     *                    available processors.
+     * @throws IllegalArgumentException if parallelism is less than 1.
+     */
+    public void setParallelism(int parallelism) {
+        if (parallelism < 1)
+            throw new IllegalArgumentException("Parallelism needs to be at least 1.");
+        this.parallelism = parallelism;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * @param inputCharset The character set of the input files. Default is the system default.
+     */
+    public void setInputCharset(Charset inputCharset) {
+        this.inputCharset = Objects.requireNonNull(inputCharset);
+    }
+
+    /**
+     * @param outputCharset The character set of the output files. Default is the system default.
+     */
+    public void setOutputCharset(Charset outputCharset) {
+        this.outputCharset = Objects.requireNonNull(outputCharset);
+    }
+
+    /**
+     * @param outputNamer Gives the path of the output file for each input file. Default is to add the suffix
+     *                    {@code .out} to the input file name.
+     */
+    public void setOutputNamer(Function<Path, Path> outputNamer) {
+        this.outputNamer = Objects.requireNonNull(outputNamer);
+    }
+
+    /**
+     * Sets the output directory. Each output file is written to this directory with the same file name as the input
+     * file. Input files with the same file name in different directories can therefore not be converted in the same
+     * batch, and the output directory can not be the directory of the input files, see {@link #convert(List)}.
+     *
+     * @param outputDirectory The directory to write output files to.
+     */
+    public void setOutputDirectory(Path outputDirectory) {
+        Objects.requireNonNull(outputDirectory);
+        setOutputNamer(input -> outputDirectory.resolve(input.getFileName()));
+    }
+
+    /**
+     * @param errorReportNamer Gives the path of the error report for each output file. Default is to add the suffix
+     *                         {@code .errors} to the output file name. An error report is only written for files
+     *                         where errors occurred.
+     */
+    public void setErrorReportNamer(Function<Path, Path> errorReportNamer) {
+        this.errorReportNamer = Objects.requireNonNull(errorReportNamer);
+    }
+
+    /**
+     * Adds line manipulator to each conversion. Since line manipulators are called from all of the threads, they need
+     * to be thread safe.
+     *
+     * @param manipulator The line manipulator to add.
+     * @see org.jsapar.convert.AbstractConverter#addLineManipulator(LineManipulator)
+     */
+    public void addLineManipulator(LineManipulator manipulator) {
+        manipulators.add(manipulator);
+    }
+
+    /**
+     * Converts all supplied files. Does not return until all files are converted.
+     *
+     * @param inputFiles The files to convert.
+     * @return The outcome of the conversion of each file, in the same order as the input files, and the aggregated
+     * throughput.
+     * @throws InterruptedException If interrupted while waiting for the conversions to complete. Conversions that
+     *                              have not yet started are then cancelled.
+     * @throws IllegalArgumentException If two of the files would be converted to the same output file or error report,
+     *                                  or if an output file or error report would overwrite any of the input files.
+     *                                  No file is converted then.
+     */
+    public Result convert(List<Path> inputFiles) throws InterruptedException {
+        checkTargets(inputFiles);
+        final long start = System.nanoTime();
+        // The schemas are compiled once for all files, each file only creates its own parse and compose state.
+        final ParsePlan parsePlan = ParsePlan.ofSchema(parseSchema, parseConfig);
+        final ComposePlan composePlan = ComposePlan.ofSchema(composeSchema);
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, Math.max(1, inputFiles.size())),
+                ConcurrentThreads.defaultThreadFactory(Thread.currentThread().getName() + "-batch"));
+        try {
+            List<Future<FileResult>> futures = new ArrayList<>(inputFiles.size());
+            for (Path inputFile : inputFiles)
+                futures.add(executor.submit(() -> convertFile(inputFile, parsePlan, composePlan)));
+            List<FileResult> fileResults = new ArrayList<>(futures.size());
+            for (Future<FileResult> future : futures)
+                fileResults.add(getResult(future));
+            return new Result(fileResults, System.nanoTime() - start);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Since files are converted concurrently, makes sure that no file is written by more than one conversion and that
+     * no input file is overwritten.
+     * @param inputFiles The files to convert.
+     * @throws IllegalArgumentException If any file would be written twice or if an input file would be overwritten.
+     */
+    private void checkTargets(List<Path> inputFiles) {
+        Set<Path> inputs = inputFiles.stream().map(BatchText2TextConverter::keyOf).collect(Collectors.toSet());
+        Set<Path> targets = new HashSet<>();
+        for (Path inputFile : inputFiles) {
+            Path outputFile = outputNamer.apply(inputFile);
+            for (Path target : List.of(outputFile, errorReportNamer.apply(outputFile))) {
+                Path key = keyOf(target);
+                if (inputs.contains(key))
+                    throw new IllegalArgumentException("Converting " + inputFile + " would overwrite the input file " + target + ".");
+                if (!targets.add(key))
+                    throw new IllegalArgumentException("Converting " + inputFile + " would write to " + target
+                            + ", which is already written by another conversion.");
+            }
+        }
+    }
+
+    private static Path keyOf(Path path) {
+        return path.toAbsolutePath().normalize();
+    }
+
+    private static FileResult getResult(Future<FileResult> future) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            // convertFile() handles all exceptions, so this is an error.
+            if (e.getCause() instanceof Error)
+                throw (Error) e.getCause();
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private FileResult convertFile(Path inputFile, ParsePlan parsePlan, ComposePlan composePlan) {
+        final long start = System.nanoTime();
+        final Path outputFile = outputNamer.apply(inputFile);
+        final ErrorReport errorReport = new ErrorReport(errorReportNamer.apply(outputFile), inputFile);
+        long lineCount = 0;
+        long byteCount = 0;
+        Throwable failure = null;
+        try {
+            byteCount = Files.size(inputFile);
+            try (Reader reader = Files.newBufferedReader(inputFile, inputCharset);
+                 Writer writer = Files.newBufferedWriter(outputFile, outputCharset)) {
+                lineCount = makeConverter(parsePlan, composePlan, errorReport).convert(reader, writer);
+            }
+        } catch (IOException | RuntimeException e) {
+            failure = e;
+        }
+        if (failure != null)
+            errorReport.reportFailure(failure);
+        IOException reportFailure = errorReport.close();
+        if (reportFailure != null) {
+            if (failure == null)
+                failure = reportFailure;
+            else
+                failure.addSuppressed(reportFailure);
+        }
+        return new FileResult(inputFile, outputFile, errorReport.getWrittenPath(), lineCount, byteCount,
+                errorReport.getErrorCount(), failure, System.nanoTime() - start);
+    }
+
+    private Text2TextConverter makeConverter(ParsePlan parsePlan, ComposePlan composePlan, Consumer<JSaParException> errorConsumer) {
+        Text2TextConverter converter = new Text2TextConverter(parsePlan, composePlan);
+        converter.setErrorConsumer(errorConsumer);
+        manipulators.forEach(converter::addLineManipulator);
+        return converter;
+    }
+
+    /**
+     * Writes the errors of one file to its error report as they occur, so that no errors need to be kept in memory.
+     * The report is created upon the first error. A failure to write the report does not stop the conversion, it is
+     * returned by {@link #close()} and no more errors are written.
+     */
+    private class ErrorReport implements Consumer<JSaParException> {
+        private final Path        path;
+        private final Path        inputFile;
+        private       Writer      writer;
+        private       int         errorCount;
+        private       IOException writeFailure;
+
+        ErrorReport(Path path, Path inputFile) {
+            this.path = path;
+            this.inputFile = inputFile;
+        }
+
+        @Override
+        public void accept(JSaParException error) {
+            errorCount++;
+            write(error.getMessage());
+        }
+
+        void reportFailure(Throwable failure) {
+            StringWriter stackTrace = new StringWriter();
+            try (PrintWriter printWriter = new PrintWriter(stackTrace)) {
+                failure.printStackTrace(printWriter);
+            }
+            write("Failed to convert file:");
+            write(stackTrace.toString());
+        }
+
+        private void write(String text) {
+            if (writeFailure != null)
+                return;
+            try {
+                if (writer == null) {
+                    writer = Files.newBufferedWriter(path, outputCharset);
+                    writeLine("Errors while converting file " + inputFile + ":");
+                }
+                writeLine(text);
+            } catch (IOException e) {
+                writeFailure = e;
+            }
+        }
+
+        private void writeLine(String text) throws IOException {
+            writer.write(text);
+            writer.write(System.lineSeparator());
+        }
+
+        /**
+         * @return The exception if writing the report failed, null otherwise.
+         */
+        IOException close() {
+            if (writer != null) {
+                try {
+                    writer.close();
+                } catch (IOException e) {
+                    if (writeFailure == null)
+                        writeFailure = e;
+                }
+            }
+            return writeFailure;
+        }
+
+        int getErrorCount() {
+            return errorCount;
+        }
+
+        /**
+         * @return The path of the report if it was created and completely written, null otherwise.
+         */
+        Path getWrittenPath() {
+            return writer != null && writeFailure == null ? path : null;
+        }
+    }
+
+    /**
+     * Finds the files to convert from a text pattern. The pattern can be one of:
+     * <ul>
+     * <li>The path of a directory, which selects all regular files directly within that directory, except files with
+     * the suffix {@code .out} or {@code .errors}. Those are the default names of the output files and error reports,
+     * so that converting the files of a directory again does not convert the output of an earlier run.</li>
+     * <li>A glob pattern, for instance {@code data/in/*.csv} or {@code data/**}{@code /*.txt}, see
+     * {@link java.nio.file.FileSystem#getPathMatcher(String)}. Use {@code /} as path separator. The glob is matched
+     * against the paths relative to the directory part of the pattern that precedes the first wildcard.</li>
+     * <li>The path of a file list, preceded by the character {@code @}, where each line of the file list contains the
+     * path of one file. Empty lines and lines starting with {@code #} are ignored.</li>
+     * <li>The path of a single file.</li>
+     * </ul>
+     *
+     * @param pattern The pattern that selects the files to convert.
+     * @return The files that matches the pattern, sorted by path, except for file lists where the order of the file
+     * list is kept.
+     * @throws IOException If the file list or a directory could not be read.
+     */
+    public static List<Path> findFiles(String pattern) throws IOException {
+        if (pattern.startsWith("@")) {
+            try (Stream<String> lines = Files.lines(Paths.get(pattern.substring(1)))) {
+                return lines.map(String::trim)
+                        .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+                        .map(Paths::get)
+                        .collect(Collectors.toList());
+            }
+        }
+        int globStart = indexOfGlob(pattern);
+        if (globStart < 0) {
+            Path path = Paths.get(pattern);
+            if (!Files.isDirectory(path))
+                return Collections.singletonList(path);
+            try (Stream<Path> files = Files.list(path)) {
+                return files.filter(Files::isRegularFile)
+                        .filter(file -> !isDefaultOutputName(file))
+                        .sorted()
+                        .collect(Collectors.toList());
+            }
+        }
+        // The glob is matched against paths relative to the directory part before the first wildcard.
+        int baseEnd = pattern.lastIndexOf('/', globStart);
+        Path base = baseEnd < 0 ? Paths.get(".") : Paths.get(baseEnd == 0 ? "/" : pattern.substring(0, baseEnd));
+        String glob = pattern.substring(baseEnd + 1);
+        PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + glob);
+        int maxDepth = glob.contains("**") ? Integer.MAX_VALUE : glob.split("/").length;
+        try (Stream<Path> files = Files.walk(base, maxDepth)) {
+            return files.filter(Files::isRegularFile)
+                    .filter(file -> matcher.matches(base.relativize(file)))
+                    .map(Path::normalize)
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static boolean isDefaultOutputName(Path file) {
+        String name = file.getFileName().toString();
+        return name.endsWith(OUTPUT_SUFFIX) || name.endsWith(ERROR_REPORT_SUFFIX);
+    }
+
+    private static int indexOfGlob(String pattern) {
+        for (int i = 0; i < pattern.length(); i++) {
+            if ("*?[{".indexOf(pattern.charAt(i)) >= 0)
+                return i;
+        }
+        return -1;
+    }
+
+    /**
+     * The outcome of converting one file.
+     */
+    public static final class FileResult {
+        private final Path      inputFile;
+        private final Path      outputFile;
+        private final Path      errorReport;
+        private final long      lineCount;
+        private final long      byteCount;
+        private final int       errorCount;
+        private final Throwable failure;
+        private final long      elapsedNanos;
+
+        FileResult(Path inputFile, Path outputFile, Path errorReport, long lineCount, long byteCount, int errorCount,
+                   Throwable failure, long elapsedNanos) {
+            this.inputFile = inputFile;
+            this.outputFile = outputFile;
+            this.errorReport = errorReport;
+            this.lineCount = lineCount;
+            this.byteCount = byteCount;
+            this.errorCount = errorCount;
+            this.failure = failure;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public Path getInputFile() {
+            return inputFile;
+        }
+
+        public Path getOutputFile() {
+            return outputFile;
+        }
+
+        /**
+         * @return The path of the error report or null if no error report was written.
+         */
+        public Path getErrorReport() {
+            return errorReport;
+        }
+
+        /**
+         * @return Number of converted lines.
+         */
+        public long getLineCount() {
+            return lineCount;
+        }
+
+        /**
+         * @return The size of the input file in bytes.
+         */
+        public long getByteCount() {
+            return byteCount;
+        }
+
+        /**
+         * @return Number of errors that occurred while converting lines of the file. These errors did not stop the
+         * conversion.
+         */
+        public int getErrorCount() {
+            return errorCount;
+        }
+
+        /**
+         * @return The exception that stopped the conversion of the file or null if the whole file was converted.
+         */
+        public Throwable getFailure() {
+            return failure;
+        }
+
+        /**
+         * @return True if the whole file was converted without any error.
+         */
+        public boolean isSuccessful() {
+            return failure == null && errorCount == 0;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            return "FileResult{" +
+                    "inputFile=" + inputFile +
+                    ", lineCount=" + lineCount +
+                    ", errorCount=" + errorCount +
+                    ", failure=" + failure +
+                    '}';
+        }
+    }
+
+    /**
+     * The outcome of converting a batch of files.
+     */
+    public static final class Result {
+        private static final double NANOS_PER_SECOND = 1e9;
+        private static final double BYTES_PER_MB     = 1e6;
+
+        private final List<FileResult> fileResults;
+        private final long             elapsedNanos;
+
+        Result(List<FileResult> fileResults, long elapsedNanos) {
+            this.fileResults = Collections.unmodifiableList(fileResults);
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        /**
+         * @return The outcome of each file, in the same order as the input files.
+         */
+        public List<FileResult> getFileResults() {
+            return fileResults;
+        }
+
+        /**
+         * @return The wall clock time of the whole batch.
+         */
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        public int getFileCount() {
+            return fileResults.size();
+        }
+
+        /**
+         * @return Number of files that were not converted without any error.
+         */
+        public int getUnsuccessfulFileCount() {
+            return (int) fileResults.stream().filter(r -> !r.isSuccessful()).count();
+        }
+
+        public long getLineCount() {
+            return fileResults.stream().mapToLong(FileResult::getLineCount).sum();
+        }
+
+        public long getByteCount() {
+            return fileResults.stream().mapToLong(FileResult::getByteCount).sum();
+        }
+
+        public double getFilesPerSecond() {
+            return perSecond(getFileCount());
+        }
+
+        public double getLinesPerSecond() {
+            return perSecond(getLineCount());
+        }
+
+        /**
+         * @return The number of megabytes (10<sup>6</sup> bytes) of input that were converted per second.
+         */
+        public double getMegabytesPerSecond() {
+            return perSecond(getByteCount() / BYTES_PER_MB);
+        }
+
+        private double perSecond(double amount) {
+            return elapsedNanos > 0 ? amount * NANOS_PER_SECOND / elapsedNanos : 0.0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Converted %d files (%d unsuccessful), %d lines, %.2f MB in %.3f s: %.1f files/s, %.0f lines/s, %.2f MB/s",
+                    getFileCount(), getUnsuccessfulFileCount(), getLineCount(), getByteCount() / BYTES_PER_MB,
+                    elapsedNanos / NANOS_PER_SECOND, getFilesPerSecond(), getLinesPerSecond(), getMegabytesPerSecond());
+        }
+    }
+}
@@ -8,6 +8,9 @@ import org.jsapar.convert.ConvertTask;
 import org.jsapar.parse.ParseTask;
 import org.jsapar.schema.Schema;
 
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadFactory;
+
 /**
  * A multi-threaded version of {@link BeanCollection2TextConverter} where the composer is started in a separate worker
  * thread.
@@ -34,6 +37,32 @@ public class ConcurrentBeanCollection2TextConverter<T> extends BeanCollection2Te
         return convertTaskFactory.makeConvertTask(parseTask, composer, getErrorConsumer(), getTransformer(), getManipulators());
     }
 
+    /**
+     * Sets the executor that runs the worker of each conversion. The executor needs to start running the worker in
+     * another thread without delay, so a thread pool needs to have at least one idle thread for each conversion that
+     * runs at the same time. By default, each conversion starts a new daemon thread, or a virtual thread when running
+     * on Java 21 or later. Replaces any thread factory set by {@link #setThreadFactory(ThreadFactory)}.
+     *
+     * @param executor The executor that runs the worker or null to use the default kind of threads.
+     * @see ConcurrentConsumer#setExecutor(Executor)
+     * @since 2.4
+     */
+    public void setExecutor(Executor executor) {
+        this.convertTaskFactory.setExecutor(executor);
+    }
+
+    /**
+     * Sets the thread factory that creates the worker thread of each conversion. Replaces any executor set by
+     * {@link #setExecutor(Executor)}.
+     *
+     * @param threadFactory The thread factory that creates the worker thread or null to use the default kind of
+     *                      threads.
+     * @since 2.4
+     */
+    public void setThreadFactory(ThreadFactory threadFactory) {
+        this.convertTaskFactory.setThreadFactory(threadFactory);
+    }
+
     public void registerOnStart(Runnable onStart) {
         this.convertTaskFactory.registerOnStart(onStart);
     }
@@ -5,8 +5,8 @@ import org.jsapar.parse.ParseTask;
 
 import java.util.LinkedList;
 import java.util.List;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadFactory;
 import java.util.function.Consumer;
 
 /**
@@ -26,21 +26,32 @@ import java.util.function.Consumer;
  * exception is encapsulated in a {@link JSaParException} and forwarded to the calling thread upon first available occasion.
  * <p>
  * When the internal queue is full, the producing thread starts blocking. This means that it waits for an available slot
- * in the queue before it continues parsing.
+ * in the queue before it continues parsing. If the worker thread has terminated, the producing thread does not block
+ * but the exception that terminated the worker thread, if any, is thrown instead.
+ * <p>
+ * By default, events are handed over one by one through a blocking queue. By using the constructor
+ * {@link #ConcurrentConsumer(Consumer, int, int, WaitStrategy)}, events are instead collected into batches that are
+ * handed over through a ring buffer without any locking. This gives much higher throughput when there are many small
+ * events but it requires that all calls to {@link #accept(Object)}, {@link #flush()} and {@link #close()} are made by
+ * one and the same producing thread.
+ * <p>
+ * By default, the worker is run by a new daemon thread that does not prevent the JVM from exiting. When running on
+ * Java 21 or later, the default is instead a virtual thread. Use {@link #setExecutor(Executor)} or
+ * {@link #setThreadFactory(ThreadFactory)} to decide what runs the worker. Always call {@link #close()} when
+ * done, preferably by using a try-with-resources statement, otherwise pending events may never be consumed.
  */
 public class ConcurrentConsumer<T> implements Consumer<T>, AutoCloseable, Stoppable, ConcurrentStartStop {
 
-    private final BlockingQueue<T> events;
+    private final EventHandoff<T> events;
     private volatile boolean shouldStop = false;
     private volatile boolean running = false;
     private final Consumer<T> listener;
     private Throwable exception = null;
-    private Thread thread;
+    private volatile Thread thread;
+    private Executor executor = null;
     private final List<Runnable> onStart = new LinkedList<>();
     private final List<Runnable> onStop = new LinkedList<>();
 
-    private static class END{}
-
     /**
      * Creates a concurrent line event listener that have a queue size of 1000 events.
      * @param consumer The consumer that will be called by consumer thread.
@@ -55,21 +66,64 @@ public class ConcurrentConsumer<T> implements Consumer<T>, AutoCloseable, Stoppa
      * @param queueSize   Maximum size of the queue before the producing thread starts blocking.
      */
     public ConcurrentConsumer(Consumer<T> consumer, int queueSize) {
-        events = new LinkedBlockingQueue<>(queueSize);
-        Runtime.getRuntime().addShutdownHook(new Thread(this::stop));
+        this(consumer, new QueueHandoff<>(queueSize));
+    }
+
+    /**
+     * Creates a concurrent consumer that hands over events in batches through a ring buffer. The producing thread
+     * collects events into a batch and hands over the batch to the consumer thread once it is full or when calling
+     * {@link #flush()} or {@link #close()}. All calls to {@link #accept(Object)}, {@link #flush()} and
+     * {@link #close()} need to be made by the same thread.
+     *
+     * @param consumer     The consumer that will be called by consumer thread.
+     * @param batchSize    The maximum number of events in each batch.
+     * @param batchCount   Maximum number of batches that are handed over but not yet consumed before the producing
+     *                     thread starts blocking. Rounded up to the nearest power of two.
+     * @param waitStrategy How the threads wait for each other when the consumer thread has no events to consume or
+     *                     when the producing thread is blocked.
+     * @throws IllegalArgumentException if batch size or batch count is less than 1.
+     * @since 2.4
+     */
+    public ConcurrentConsumer(Consumer<T> consumer, int batchSize, int batchCount, WaitStrategy waitStrategy) {
+        this(consumer, new BatchRingBuffer<>(batchSize, batchCount, waitStrategy));
+    }
+
+    private ConcurrentConsumer(Consumer<T> consumer, EventHandoff<T> events) {
+        this.events = events;
         this.listener = consumer;
     }
 
     @Override
     public void accept(T event)  {
         try {
-            events.put(event);
+            events.put(event, this::isStopping);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        checkException();
+    }
+
+    /**
+     * Hands over the events that are collected in the current batch to the worker thread without waiting for the batch
+     * to become full. Has no effect unless events are handed over in batches. Needs to be called by the same thread
+     * that calls {@link #accept(Object)}.
+     *
+     * @throws JSaParException if the working thread has terminated due to an exception.
+     * @since 2.4
+     */
+    public void flush() throws JSaParException {
+        try {
+            events.flush(this::isStopping);
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
         }
         checkException();
     }
 
+    private boolean isStopping() {
+        return shouldStop;
+    }
+
     private void checkException() {
         synchronized (this) {
             if (exception != null) {
@@ -83,6 +137,7 @@ public class ConcurrentConsumer<T> implements Consumer<T>, AutoCloseable, Stoppa
     }
 
     private void run() {
+        thread = Thread.currentThread();
         try {
             onStart.forEach(Runnable::run);
             running = true;
@@ -90,11 +145,7 @@ public class ConcurrentConsumer<T> implements Consumer<T>, AutoCloseable, Stoppa
                 notifyAll();
             }
             while (!shouldStop) {
-                T event = events.take();
-                // Check if it is just an event to release wait block.
-                if (event.getClass() != END.class) {
-                    listener.accept(event);
-                }
+                events.deliver(listener, this::isStopping);
             }
             synchronized (this) {
                 notifyAll();
@@ -123,15 +174,43 @@ public class ConcurrentConsumer<T> implements Consumer<T>, AutoCloseable, Stoppa
         this.onStop.add(onStop);
     }
 
+    /**
+     * Sets the executor that runs the worker. The executor needs to start running the worker in another thread without delay, since
+     * {@link #start()} does not return until the worker is running, and the worker keeps running until this consumer is
+     * stopped or closed. A thread pool executor therefore needs to have at least one idle thread for each consumer that
+     * it runs at the same time. Replaces any thread factory set by {@link #setThreadFactory(ThreadFactory)}.
+     *
+     * @param executor The executor that runs the worker or null to use the default kind of threads.
+     * @since 2.4
+     */
+    public void setExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Sets the thread factory that creates the worker thread. Replaces any executor set by
+     * {@link #setExecutor(Executor)}.
+     *
+     * @param threadFactory The thread factory that creates the worker thread or null to use the default kind of
+     *                      threads.
+     * @since 2.4
+     */
+    public void setThreadFactory(ThreadFactory threadFactory) {
+        this.executor = threadFactory == null ? null : runnable -> threadFactory.newThread(runnable).start();
+    }
+
     /**
      * Starts worker thread. If worker thread is already running, calls to this method have no effect. This method does
      * not return until the worker thread is actually running.
+     * @throws java.util.concurrent.RejectedExecutionException if the worker cannot be accepted by the executor.
      */
     public void start() {
         if(isRunning())
             return;
-        thread = new Thread(this::run, Thread.currentThread().getName() + "-listener");
-        thread.start();
+        if (executor == null)
+            ConcurrentThreads.defaultThreadFactory(Thread.currentThread().getName() + "-listener").newThread(this::run).start();
+        else
+            executor.execute(this::run);
         // Wait for the consumer thread to start before returning.
         while (!isRunning() && !shouldStop)
             try {
@@ -152,20 +231,15 @@ public class ConcurrentConsumer<T> implements Consumer<T>, AutoCloseable, Stoppa
      */
     public void stop() throws JSaParException {
         this.shouldStop = true;
-        try {
-            if(isRunning()) {
-                //noinspection unchecked
-                events.put((T) new END()); // Make sure the blocking is released immediately
-            }
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
+        if(isRunning())
+            events.wakeUp(); // Make sure the blocking is released immediately
         if(Thread.currentThread() != thread)
             checkException();
     }
 
     /**
-     * Waits for the working thread to handle all pending events, then gracefully terminates the working thread.
+     * Hands over any events collected in the current batch, waits for the working thread to handle all pending events,
+     * then gracefully terminates the working thread.
      *
      * @throws JSaParException if the working thread has terminated due to an exception.
      */
@@ -173,7 +247,8 @@ public class ConcurrentConsumer<T> implements Consumer<T>, AutoCloseable, Stoppa
     public void close() throws JSaParException {
         try {
             if(Thread.currentThread() != this.thread) {
-                while (running && !events.isEmpty()) {
+                events.flush(this::isStopping);
+                while (running && !isEmpty()) {
                     synchronized (this) {
                         wait(10L);
                     }
@@ -195,7 +270,8 @@ public class ConcurrentConsumer<T> implements Consumer<T>, AutoCloseable, Stoppa
     }
 
     /**
-     * @return Number of events in queue
+     * @return Number of events in queue, including the events collected in the current batch that are not yet handed
+     * over to the worker thread.
      */
     public int size() {
         return events.size();
@@ -205,7 +281,7 @@ public class ConcurrentConsumer<T> implements Consumer<T>, AutoCloseable, Stoppa
      * @return True if there are no events waiting in queue.
      */
     public boolean isEmpty() {
-        return events.isEmpty();
+        return events.size() == 0;
     }
 
     /**
@@ -7,6 +7,8 @@ import org.jsapar.model.Line;
 import org.jsapar.parse.ParseTask;
 
 import java.io.IOException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadFactory;
 import java.util.function.Consumer;
 
 /**
@@ -27,13 +29,22 @@ import java.util.function.Consumer;
  *
  */
 public class ConcurrentConvertTask extends ConvertTask implements ConcurrentStartStop{
+    /**
+     * The number of lines that are handed over to the worker thread at a time.
+     */
+    private static final int LINE_BATCH_SIZE  = 256;
+    /**
+     * The number of batches of lines that can be waiting for the worker thread before the parsing thread blocks.
+     */
+    private static final int LINE_BATCH_COUNT = 8;
+
     private final ConcurrentConsumer<Line> concurrentConsumer;
     /** Creates a converter
      * @param parseTask The parseTask to use while parsing
      * @param composer The composer to use while composing.
      */
     public ConcurrentConvertTask(ParseTask parseTask, Composer composer, Consumer<Line> lineConsumer, Consumer<JSaParException> errorConsumer) {
-        this(parseTask, composer, new ConcurrentConsumer<>(lineConsumer), errorConsumer);
+        this(parseTask, composer, new ConcurrentConsumer<>(lineConsumer, LINE_BATCH_SIZE, LINE_BATCH_COUNT, WaitStrategy.PARK), errorConsumer);
     }
 
     /** Creates a converter
@@ -54,6 +65,28 @@ public class ConcurrentConvertTask extends ConvertTask implements ConcurrentStar
     }
 
 
+    /**
+     * Sets the executor that runs the worker. See {@link ConcurrentConsumer#setExecutor(Executor)}.
+     *
+     * @param executor The executor that runs the worker or null to use the default kind of threads.
+     * @since 2.4
+     */
+    public void setExecutor(Executor executor) {
+        this.concurrentConsumer.setExecutor(executor);
+    }
+
+    /**
+     * Sets the thread factory that creates the worker thread. See
+     * {@link ConcurrentConsumer#setThreadFactory(ThreadFactory)}.
+     *
+     * @param threadFactory The thread factory that creates the worker thread or null to use the default kind of
+     *                      threads.
+     * @since 2.4
+     */
+    public void setThreadFactory(ThreadFactory threadFactory) {
+        this.concurrentConsumer.setThreadFactory(threadFactory);
+    }
+
     public void registerOnStart(Runnable onStart){
         this.concurrentConsumer.registerOnStart(onStart);
     }
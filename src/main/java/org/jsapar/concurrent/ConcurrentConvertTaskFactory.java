@@ -9,6 +9,8 @@ import org.jsapar.parse.ParseTask;
 
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadFactory;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
@@ -22,6 +24,8 @@ import java.util.function.Function;
 class ConcurrentConvertTaskFactory implements ConcurrentStartStop{
     private final List<Runnable>  onStart     = new LinkedList<>();
     private final List<Runnable>  onStop      = new LinkedList<>();
+    private       Executor        executor      = null;
+    private       ThreadFactory   threadFactory = null;
 
     /**
      * @param parseTask     The parse task to use
@@ -48,10 +52,31 @@ class ConcurrentConvertTaskFactory implements ConcurrentStartStop{
         ConcurrentConvertTask convertTask = new ConcurrentConvertTask(parseTask, composer, lineConsumer, errorConsumer);
         onStart.forEach(convertTask::registerOnStart);
         onStop.forEach(convertTask::registerOnStop);
+        if (executor != null)
+            convertTask.setExecutor(executor);
+        else if (threadFactory != null)
+            convertTask.setThreadFactory(threadFactory);
         return convertTask;
     }
 
 
+    /**
+     * @param executor The executor that runs the worker of each created convert task. Replaces any thread factory.
+     */
+    public void setExecutor(Executor executor) {
+        this.executor = executor;
+        this.threadFactory = null;
+    }
+
+    /**
+     * @param threadFactory The thread factory that creates the worker thread of each created convert task. Replaces any
+     *                      executor.
+     */
+    public void setThreadFactory(ThreadFactory threadFactory) {
+        this.threadFactory = threadFactory;
+        this.executor = null;
+    }
+
     public void registerOnStart(Runnable onStart){
         this.onStart.add(onStart);
     }
@@ -5,9 +5,16 @@ import org.jsapar.compose.Composer;
 import org.jsapar.convert.AbstractConverter;
 import org.jsapar.convert.ConvertTask;
 import org.jsapar.parse.ParseTask;
+import org.jsapar.parse.text.TextParseTask;
 import org.jsapar.text.TextParseConfig;
 import org.jsapar.schema.Schema;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadFactory;
+
 /**
  * A multi-threaded version of {@link org.jsapar.Text2TextConverter} where the composer is started in a separate worker
  * thread.
@@ -42,11 +49,47 @@ public class ConcurrentText2TextConverter extends Text2TextConverter implements
         super(parseSchema, composeSchema, parseConfig);
     }
 
+    @Override
+    public long convert(Reader reader, Writer writer) throws IOException {
+        if (!getParseConfig().isReuseLines())
+            return super.convert(reader, writer);
+        // Lines are handed over to the worker thread in batches, so each line needs to be a separate instance.
+        TextParseConfig parseConfig = new TextParseConfig(getParseConfig());
+        parseConfig.setReuseLines(false);
+        return execute(new TextParseTask(getParseSchema(), reader, parseConfig), makeComposer(writer));
+    }
+
     @Override
     protected ConvertTask makeConvertTask(ParseTask parseTask, Composer composer) {
         return convertTaskFactory.makeConvertTask(parseTask, composer, getErrorConsumer(), getTransformer(), getManipulators());
     }
 
+    /**
+     * Sets the executor that runs the worker of each conversion. The executor needs to start running the worker in
+     * another thread without delay, so a thread pool needs to have at least one idle thread for each conversion that
+     * runs at the same time. By default, each conversion starts a new daemon thread, or a virtual thread when running
+     * on Java 21 or later. Replaces any thread factory set by {@link #setThreadFactory(ThreadFactory)}.
+     *
+     * @param executor The executor that runs the worker or null to use the default kind of threads.
+     * @see ConcurrentConsumer#setExecutor(Executor)
+     * @since 2.4
+     */
+    public void setExecutor(Executor executor) {
+        this.convertTaskFactory.setExecutor(executor);
+    }
+
+    /**
+     * Sets the thread factory that creates the worker thread of each conversion. Replaces any executor set by
+     * {@link #setExecutor(Executor)}.
+     *
+     * @param threadFactory The thread factory that creates the worker thread or null to use the default kind of
+     *                      threads.
+     * @since 2.4
+     */
+    public void setThreadFactory(ThreadFactory threadFactory) {
+        this.convertTaskFactory.setThreadFactory(threadFactory);
+    }
+
     public void registerOnStart(Runnable onStart) {
         this.convertTaskFactory.registerOnStart(onStart);
     }
@@ -0,0 +1,26 @@
+package org.jsapar.concurrent;
+
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Internal class that decides what kind of threads the concurrent classes start when no executor is supplied. This
+ * version creates platform daemon threads. The library is packaged as a multi-release JAR where the version for
+ * Java 21 and later instead creates virtual threads, see {@code src/main/java21}.
+ */
+final class ConcurrentThreads {
+
+    private ConcurrentThreads() {
+    }
+
+    /**
+     * @param name The name of the threads.
+     * @return A thread factory that creates the default kind of threads.
+     */
+    static ThreadFactory defaultThreadFactory(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
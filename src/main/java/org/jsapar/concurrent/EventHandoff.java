@@ -0,0 +1,59 @@
+package org.jsapar.concurrent;
+
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * Internal interface for handing over events from the producing thread to the consumer thread of a
+ * {@link ConcurrentConsumer}.
+ *
+ * @param <T> The type of events.
+ */
+interface EventHandoff<T> {
+
+    /**
+     * Hands over an event. Waits while there is no room for it.
+     *
+     * @param event   The event to hand over.
+     * @param stopped Tells if the consumer thread has stopped, in which case the event is dropped instead of waiting
+     *                for room.
+     * @throws InterruptedException If the producing thread was interrupted while waiting.
+     */
+    void put(T event, BooleanSupplier stopped) throws InterruptedException;
+
+    /**
+     * Hands over the events that are collected by the producing thread but not yet handed over.
+     *
+     * @param stopped Tells if the consumer thread has stopped, in which case the events are dropped instead of waiting
+     *                for room.
+     * @throws InterruptedException If the producing thread was interrupted while waiting.
+     */
+    void flush(BooleanSupplier stopped) throws InterruptedException;
+
+    /**
+     * Called by the consumer thread. Waits for events and delivers the events that are available to supplied consumer.
+     *
+     * @param consumer The consumer to deliver the events to.
+     * @param stopped  Tells if the consumer thread should stop. Checked while waiting and, by implementations that hand
+     *                 over events in batches, between the events of a batch. An event that is no longer counted by
+     *                 {@link #size()} is always delivered.
+     * @throws InterruptedException If the consumer thread was interrupted while waiting.
+     */
+    void deliver(Consumer<? super T> consumer, BooleanSupplier stopped) throws InterruptedException;
+
+    /**
+     * Lets a consumer thread that is waiting for events check whether it should stop.
+     */
+    void wakeUp();
+
+    /**
+     * @return The number of events that are not yet delivered. Only an estimate if called by another thread than the
+     * producing thread.
+     */
+    int size();
+
+    /**
+     * Removes all events that are not yet delivered. Can only be called when the consumer thread is not running.
+     */
+    void clear();
+}
@@ -0,0 +1,461 @@
+package org.jsapar.concurrent;
+
+import org.jsapar.Text2TextConverter;
+import org.jsapar.TextComposer;
+import org.jsapar.compose.Composer;
+import org.jsapar.compose.csv.CsvComposer;
+import org.jsapar.convert.ConvertTask;
+import org.jsapar.convert.LineManipulator;
+import org.jsapar.error.JSaParException;
+import org.jsapar.model.Line;
+import org.jsapar.parse.text.TextParseTask;
+import org.jsapar.schema.CsvSchema;
+import org.jsapar.schema.CsvSchemaLine;
+import org.jsapar.schema.Schema;
+import org.jsapar.text.TextParseConfig;
+
+import java.io.CharArrayWriter;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * A multi-threaded version of {@link org.jsapar.Text2TextConverter} that spreads the conversion over several threads
+ * while the output is still written in the same order as the input.
+ * <ul>
+ * <li>The calling thread reads the input and splits it into lines. For csv input, the cells of the lines are not
+ * parsed by the calling thread, only split into raw cell values. The lines are handed over in batches to a number of
+ * worker threads.</li>
+ * <li>Each worker thread parses the cell values of the lines of one batch, applies the line manipulators or the
+ * transformer and composes the output of the batch into a buffer of its own.</li>
+ * <li>A writer thread writes the buffers to the writer in the order of the input.</li>
+ * </ul>
+ * For fixed width input, the cells are parsed by the calling thread while the line manipulators and the composing are
+ * still done by the worker threads.
+ * <p>
+ * Since lines of different batches are handled at the same time, all line manipulators, as well as the transformer,
+ * need to be thread safe. Errors are delivered to the error consumer by the writer thread, in the order of the input,
+ * before the output of the batch where they occurred is written. If the error consumer throws an exception, as the
+ * default error consumer does, the conversion stops and the exception is thrown by {@link #convert(Reader, Writer)}
+ * once the worker threads have stopped. The output of the batch where the error occurred is then not written.
+ * <p>
+ * The number of batches in progress is limited to twice the parallelism, which means that the calling thread waits if
+ * the worker threads or the writer can not keep up.
+ * <p>
+ * As with {@link ConcurrentText2TextConverter}, don't use this converter unless your input normally exceeds at least
+ * 1MB of data since the overhead of starting threads is otherwise greater than the gain.
+ * See {@link org.jsapar.convert.AbstractConverter} for details about error handling and manipulating data.
+ *
+ * @see ConcurrentText2TextConverter
+ * @since 2.4
+ */
+public class ParallelText2TextConverter extends Text2TextConverter {
+
+    /**
+     * The default number of lines of each batch that is handed over to a worker thread.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 1024;
+
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private int batchSize   = DEFAULT_BATCH_SIZE;
+
+    /**
+     * Creates a parallel text to text converter that can be used to convert between different text based formats.
+     * @param parseSchema   The schema to use while parsing
+     * @param composeSchema The schema to use wile composing.
+     */
+    public ParallelText2TextConverter(Schema<?> parseSchema, Schema<?> composeSchema) {
+        super(parseSchema, composeSchema);
+    }
+
+    /**
+     * Creates a parallel text to text converter that can be used to convert between different text based formats.
+     * @param parseSchema   The schema to use while parsing
+     * @param composeSchema The schema to use wile composing.
+     * @param parseConfig   Configuration about parsing behavior.
+     */
+    public ParallelText2TextConverter(Schema<?> parseSchema, Schema<?> composeSchema, TextParseConfig parseConfig) {
+        super(parseSchema, composeSchema, parseConfig);
+    }
+
+    /**
+     * Converts text read from the reader according to the parse schema and writes the output to the writer according
+     * to the compose schema.
+     *
+     * @param reader The reader to read input from
+     * @param writer The writer to write converted result to.
+     * @return Number of converted lines.
+     * @throws IOException In case of IO error
+     */
+    @Override
+    public long convert(Reader reader, Writer writer) throws IOException {
+        final String threadName = Thread.currentThread().getName();
+        ExecutorService workers = Executors.newFixedThreadPool(parallelism, threadFactoryOf(threadName + "-worker-"));
+        ExecutorService sequencer = Executors.newSingleThreadExecutor(threadFactoryOf(threadName + "-writer-"));
+        try {
+            return new Conversion(writer, workers, sequencer).execute(reader);
+        } finally {
+            workers.shutdownNow();
+            sequencer.shutdownNow();
+        }
+    }
+
+    /**
+     * @return The maximum number of worker threads.
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * @param parallelism The maximum number of worker threads. Default is the number of available processors.
+     */
+    public void setParallelism(int parallelism) {
+        if (parallelism < 1)
+            throw new IllegalArgumentException("Parallelism needs to be at least 1.");
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * @return The number of lines of each batch that is handed over to a worker thread.
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * @param batchSize The number of lines of each batch that is handed over to a worker thread. Default is
+     *                  {@link #DEFAULT_BATCH_SIZE}.
+     */
+    public void setBatchSize(int batchSize) {
+        if (batchSize < 1)
+            throw new IllegalArgumentException("Batch size needs to be at least 1.");
+        this.batchSize = batchSize;
+    }
+
+    private static ThreadFactory threadFactoryOf(String namePrefix) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, namePrefix + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * One execution of a conversion.
+     */
+    private final class Conversion {
+        private final Writer                    writer;
+        private final ExecutorService           workers;
+        private final ExecutorService           sequencer;
+        private final Semaphore                 permits        = new Semaphore(parallelism * 2);
+        /**
+         * The batch that errors should be added to by the current thread.
+         */
+        private final ThreadLocal<Batch>        currentBatch   = new ThreadLocal<>();
+        private final Consumer<JSaParException> errorConsumer  = getErrorConsumer();
+        private final Function<Line, List<Line>> transformer   = getTransformer();
+        private final List<LineManipulator>     manipulators   = new ArrayList<>(getManipulators());
+        private final Schema<?>                 composeSchema;
+        private final String                    lineSeparator;
+        /**
+         * The line types of the compose schema where the first line is a header line.
+         */
+        private final Set<String>               headerLineTypes;
+        private final CsvComposer               headerComposer;
+
+        // Only used by the calling thread.
+        private Batch                   batch;
+        private CompletableFuture<Void> written = CompletableFuture.completedFuture(null);
+
+        // Only used by the writer thread.
+        private boolean           anyLineWritten = false;
+        private final Set<String> writtenHeaders = new HashSet<>();
+
+        Conversion(Writer writer, ExecutorService workers, ExecutorService sequencer) {
+            this.writer = writer;
+            this.workers = workers;
+            this.sequencer = sequencer;
+            Schema<?> schema = getComposeSchema();
+            this.lineSeparator = schema.getLineSeparator();
+            if (schema instanceof CsvSchema) {
+                CsvSchema csvSchema = (CsvSchema) schema;
+                this.headerLineTypes = csvSchema.stream()
+                        .filter(CsvSchemaLine::isFirstLineAsSchema)
+                        .map(CsvSchemaLine::getLineType)
+                        .collect(Collectors.toSet());
+                this.composeSchema = headerLineTypes.isEmpty() ? csvSchema : withoutHeaderLines(csvSchema);
+                this.headerComposer = headerLineTypes.isEmpty() ? null : new CsvComposer(writer, csvSchema);
+            } else {
+                this.headerLineTypes = Set.of();
+                this.composeSchema = schema;
+                this.headerComposer = null;
+            }
+        }
+
+        /**
+         * Since the worker threads do not know whether a line is the first line of its type, header lines are
+         * written by the writer thread instead.
+         */
+        private CsvSchema withoutHeaderLines(CsvSchema schema) {
+            CsvSchema.Builder builder = CsvSchema.builder(schema)
+                    .withoutAnyLine()
+                    .withLineSeparator(schema.getLineSeparator());
+            schema.forEach(schemaLine -> builder.withLine(
+                    CsvSchemaLine.builder(schemaLine.getLineType(), schemaLine).withFirstLineAsSchema(false).build()));
+            return builder.build();
+        }
+
+        long execute(Reader reader) throws IOException {
+            TextParseConfig parseConfig = new TextParseConfig(getParseConfig());
+            // Cells are parsed by the worker threads and lines are handed over to other threads.
+            parseConfig.setLazyCells(true);
+            parseConfig.setReuseLines(false);
+            TextParseTask parseTask = new TextParseTask(getParseSchema(), reader, parseConfig);
+            parseTask.setLineConsumer(this::addLine);
+            parseTask.setErrorConsumer(e -> currentBatch.get().errors.add(e));
+            long count = 0L;
+            startBatch();
+            try {
+                count = parseTask.execute();
+                submitBatch();
+            } catch (Aborted e) {
+                // The failure is thrown below.
+            } catch (IOException | RuntimeException e) {
+                writeParsedLines(e);
+                if (e instanceof UncheckedIOException)
+                    throw ((UncheckedIOException) e).getCause();
+                throw e;
+            } finally {
+                currentBatch.remove();
+            }
+            awaitWritten();
+            return count;
+        }
+
+        /**
+         * Lets the lines that were parsed before parsing failed be written, the same way as when converting
+         * sequentially.
+         * @param failure The failure while parsing. Any failure while writing is added as suppressed to it.
+         */
+        private void writeParsedLines(Exception failure) {
+            try {
+                submitBatch();
+            } catch (Aborted e) {
+                // The failure is added below.
+            }
+            try {
+                awaitWritten();
+            } catch (IOException | RuntimeException e) {
+                failure.addSuppressed(e);
+            }
+        }
+
+        private void startBatch() {
+            batch = new Batch(batchSize);
+            currentBatch.set(batch);
+        }
+
+        private void addLine(Line line) {
+            batch.lines.add(line);
+            if (batch.lines.size() >= batchSize) {
+                submitBatch();
+                startBatch();
+            }
+        }
+
+        /**
+         * Hands over current batch to the worker threads and lets the writer thread write the result once all
+         * previous batches are written.
+         */
+        private void submitBatch() {
+            if (batch.lines.isEmpty() && batch.errors.isEmpty())
+                return;
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new UncheckedIOException(new InterruptedIOException("Interrupted while waiting for parallel conversion"));
+            }
+            if (written.isCompletedExceptionally()) {
+                permits.release();
+                throw new Aborted();
+            }
+            final Batch toConvert = batch;
+            CompletableFuture<Batch> converted = CompletableFuture.supplyAsync(() -> convertBatch(toConvert), workers);
+            written = written.thenCombineAsync(converted, (Void v, Batch b) -> {
+                writeBatch(b);
+                return null;
+            }, sequencer);
+            written.whenComplete((v, e) -> permits.release());
+        }
+
+        /**
+         * Called by a worker thread.
+         */
+        private Batch convertBatch(Batch batch) {
+            currentBatch.set(batch);
+            try {
+                Consumer<Line> lineConsumer = lineConsumerOf(new BatchComposer(batch));
+                for (Line line : batch.lines) {
+                    // Creates all cells so that cell errors are reported the same way as when not parsing lazily.
+                    line.validate();
+                    lineConsumer.accept(line);
+                }
+                batch.lines.clear();
+                return batch;
+            } finally {
+                currentBatch.remove();
+            }
+        }
+
+        private Consumer<Line> lineConsumerOf(Composer composer) {
+            if (transformer != null)
+                return line -> transformer.apply(line).forEach(composer::composeLine);
+            return ConvertTask.makeManipulateAndComposeConsumer(composer, manipulators);
+        }
+
+        /**
+         * Called by the writer thread.
+         */
+        private void writeBatch(Batch batch) {
+            batch.errors.forEach(errorConsumer);
+            if (!batch.composedAny)
+                return;
+            try {
+                if (anyLineWritten)
+                    writer.write(lineSeparator);
+                int from = 0;
+                for (Map.Entry<String, Integer> firstLine : batch.firstLineOffsets.entrySet()) {
+                    if (writtenHeaders.add(firstLine.getKey())) {
+                        batch.text.writeTo(writer, from, firstLine.getValue());
+                        headerComposer.composeHeaderLine(firstLine.getKey());
+                        from = firstLine.getValue();
+                    }
+                }
+                batch.text.writeTo(writer, from, batch.text.size());
+                anyLineWritten = true;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void awaitWritten() throws IOException {
+            try {
+                written.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for parallel conversion to complete");
+            } catch (ExecutionException e) {
+                final Throwable cause = e.getCause();
+                if (cause instanceof UncheckedIOException)
+                    throw ((UncheckedIOException) cause).getCause();
+                if (cause instanceof RuntimeException)
+                    throw (RuntimeException) cause;
+                if (cause instanceof Error)
+                    throw (Error) cause;
+                throw new IOException(cause);
+            }
+        }
+
+        /**
+         * Composes the lines of one batch into the text buffer of the batch and keeps track of where the first line
+         * of each line type with a header line begins.
+         */
+        private final class BatchComposer implements Composer {
+            private final Batch        batch;
+            private final TextComposer composer;
+
+            BatchComposer(Batch batch) {
+                this.batch = batch;
+                this.composer = new TextComposer(composeSchema, batch.text);
+            }
+
+            @Override
+            public boolean composeLine(Line line) {
+                final String lineType = line.getLineType();
+                final boolean first = headerLineTypes.contains(lineType) && !batch.firstLineOffsets.containsKey(lineType);
+                final int offset = batch.text.size() + (batch.composedAny ? lineSeparator.length() : 0);
+                if (!composer.composeLine(line))
+                    return false;
+                if (first)
+                    batch.firstLineOffsets.put(lineType, offset);
+                batch.composedAny = true;
+                return true;
+            }
+
+            @Override
+            public void setErrorConsumer(Consumer<JSaParException> errorConsumer) {
+                composer.setErrorConsumer(errorConsumer);
+            }
+        }
+    }
+
+    /**
+     * A batch of lines that is converted by one worker thread.
+     */
+    private static final class Batch {
+        private final List<Line>           lines;
+        private final List<JSaParException> errors           = new ArrayList<>();
+        private final BatchText            text             = new BatchText();
+        /**
+         * The offsets within the text where the first line of each line type with a header line begins, in order.
+         */
+        private final Map<String, Integer> firstLineOffsets = new LinkedHashMap<>();
+        private       boolean              composedAny      = false;
+
+        private Batch(int batchSize) {
+            this.lines = new ArrayList<>(batchSize);
+        }
+    }
+
+    /**
+     * The composed text of a batch.
+     */
+    private static final class BatchText extends CharArrayWriter {
+        private BatchText() {
+            super(8192);
+        }
+
+        /**
+         * Writes a part of the text to supplied writer.
+         * @param out  The writer to write to.
+         * @param from The offset of the first character to write.
+         * @param to   The offset after the last character to write.
+         * @throws IOException If there is an error writing to the writer.
+         */
+        private synchronized void writeTo(Writer out, int from, int to) throws IOException {
+            out.write(buf, from, to - from);
+        }
+    }
+
+    /**
+     * Thrown within the calling thread in order to stop parsing when the conversion has failed in another thread.
+     */
+    private static final class Aborted extends RuntimeException {
+        private static final long serialVersionUID = -2815738906427716455L;
+
+        private Aborted() {
+            super(null, null, false, false);
+        }
+    }
+}
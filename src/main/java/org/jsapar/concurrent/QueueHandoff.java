@@ -0,0 +1,66 @@
+package org.jsapar.concurrent;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * Internal class that hands over events one by one through a blocking queue. Any number of threads may produce
+ * events.
+ *
+ * @param <T> The type of events.
+ */
+final class QueueHandoff<T> implements EventHandoff<T> {
+    private static final Object END = new Object();
+    private static final long   OFFER_TIMEOUT_MILLIS = 10L;
+
+    private final BlockingQueue<Object> events;
+
+    /**
+     * @param queueSize Maximum size of the queue before the producing thread starts blocking.
+     */
+    QueueHandoff(int queueSize) {
+        this.events = new LinkedBlockingQueue<>(queueSize);
+    }
+
+    @Override
+    public void put(T event, BooleanSupplier stopped) throws InterruptedException {
+        while (!events.offer(event, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+            if (stopped.getAsBoolean())
+                return;
+        }
+    }
+
+    @Override
+    public void flush(BooleanSupplier stopped) {
+        // Events are handed over one by one.
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void deliver(Consumer<? super T> consumer, BooleanSupplier stopped) throws InterruptedException {
+        Object event = events.take();
+        // Check if it is just an event to release wait block. An event that is taken from the queue is no longer
+        // counted by size(), so it needs to be delivered even if stopping.
+        if (event != END)
+            consumer.accept((T) event);
+    }
+
+    @Override
+    public void wakeUp() {
+        // If the queue is full, the consumer thread is not waiting.
+        events.offer(END);
+    }
+
+    @Override
+    public int size() {
+        return events.size();
+    }
+
+    @Override
+    public void clear() {
+        events.clear();
+    }
+}
@@ -0,0 +1,62 @@
+package org.jsapar.concurrent;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Decides how a thread waits for the other thread while handing over events through a ring buffer. The consumer thread
+ * waits when there are no events to consume and the producing thread waits when the ring buffer is full.
+ *
+ * @see ConcurrentConsumer#ConcurrentConsumer(java.util.function.Consumer, int, int, WaitStrategy)
+ * @since 2.4
+ */
+public enum WaitStrategy {
+    /**
+     * Busy spins while waiting. Gives the lowest latency but occupies one core for each waiting thread. Only suitable
+     * when there are more cores than busy threads.
+     */
+    SPIN {
+        @Override
+        void idle(int count) {
+            Thread.onSpinWait();
+        }
+    },
+    /**
+     * Spins for a short while, then yields to other threads while waiting.
+     */
+    YIELD {
+        @Override
+        void idle(int count) {
+            if (count < SPIN_COUNT)
+                Thread.onSpinWait();
+            else
+                Thread.yield();
+        }
+    },
+    /**
+     * Spins and yields for a short while, then parks the thread for a period of time that grows the longer it waits,
+     * up to one millisecond. Uses very little CPU while waiting, at the cost of some latency.
+     */
+    PARK {
+        @Override
+        void idle(int count) {
+            if (count < SPIN_COUNT)
+                Thread.onSpinWait();
+            else if (count < SPIN_COUNT + YIELD_COUNT)
+                Thread.yield();
+            else
+                LockSupport.parkNanos(Math.min(MAX_PARK_NANOS, MIN_PARK_NANOS << Math.min(count - SPIN_COUNT - YIELD_COUNT, 10)));
+        }
+    };
+
+    private static final int  SPIN_COUNT     = 100;
+    private static final int  YIELD_COUNT    = 100;
+    private static final long MIN_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(10);
+    private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    /**
+     * Waits once.
+     * @param count The number of times that the thread has already waited for the same condition.
+     */
+    abstract void idle(int count);
+}
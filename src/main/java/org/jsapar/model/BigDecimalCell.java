@@ -6,7 +6,9 @@ import java.math.BigInteger;
 /**
  * {@link Cell} implementation carrying a decimal value of a cell. Decimal value can be assigned or retrieved either as
  * {@link BigDecimal} or as {@link BigInteger}
- * 
+ * <p>
+ * A cell created with {@link #of(String, long, int)} stores its value as an unscaled long together with a scale. The
+ * {@link BigDecimal} value of such a cell is created first when it is requested.
  *
  */
 public final class BigDecimalCell extends NumberCell  {
@@ -16,6 +18,24 @@ public final class BigDecimalCell extends NumberCell  {
      */
     private static final long serialVersionUID = -6337207320287960296L;
 
+    private static final double[] DOUBLE_POWERS_OF_TEN = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+    /**
+     * Largest absolute value of a long that can be represented exactly as a double.
+     */
+    private static final long MAX_EXACT_DOUBLE = 1L << 53;
+
+    /**
+     * The unscaled value if {@link #scaledLong} is true.
+     */
+    private final transient long    unscaledValue;
+    private final transient int     scale;
+    private final transient boolean scaledLong;
+    /**
+     * Created first when requested if {@link #scaledLong} is true.
+     */
+    private transient BigDecimal bigDecimalValue;
+
     /**
      * Creates a new decimal cell.
      * @param sName    The name of the cell.
@@ -23,6 +43,9 @@ public final class BigDecimalCell extends NumberCell  {
      */
     public BigDecimalCell(String sName, BigDecimal value) {
         super(sName, value, CellType.DECIMAL);
+        this.unscaledValue = 0L;
+        this.scale = 0;
+        this.scaledLong = false;
     }
 
     /**
@@ -31,7 +54,88 @@ public final class BigDecimalCell extends NumberCell  {
      * @param value The value of the cell.
      */
     public BigDecimalCell(String sName, BigInteger value) {
-        super(sName, new BigDecimal(value), CellType.DECIMAL);
+        this(sName, new BigDecimal(value));
+    }
+
+    private BigDecimalCell(String sName, long unscaledValue, int scale) {
+        super(sName, null, CellType.DECIMAL);
+        this.unscaledValue = unscaledValue;
+        this.scale = scale;
+        this.scaledLong = true;
+    }
+
+    /**
+     * Creates a decimal cell that stores its value as an unscaled long together with a scale. The value of the cell
+     * is unscaledValue &times; 10<sup>-scale</sup>, the same as for {@link BigDecimal#valueOf(long, int)}.
+     *
+     * @param sName         The name of the cell.
+     * @param unscaledValue The unscaled value.
+     * @param scale         The scale.
+     * @return A new decimal cell.
+     * @since 2.4
+     */
+    public static BigDecimalCell of(String sName, long unscaledValue, int scale) {
+        return new BigDecimalCell(sName, unscaledValue, scale);
+    }
+
+    /**
+     * @return True if this cell stores its value as an unscaled long together with a scale.
+     * @see #of(String, long, int)
+     * @since 2.4
+     */
+    public boolean isScaledLong() {
+        return scaledLong;
+    }
+
+    /**
+     * @return The unscaled value of this cell if {@link #isScaledLong()} is true.
+     * @throws IllegalStateException if this cell does not store its value as an unscaled long.
+     * @since 2.4
+     */
+    public long getUnscaledLong() {
+        if (!scaledLong)
+            throw new IllegalStateException("The cell " + getName() + " does not store its value as a scaled long");
+        return unscaledValue;
+    }
+
+    /**
+     * @return The scale of this cell, the same as {@link BigDecimal#scale()} of the value.
+     * @since 2.4
+     */
+    public int getScale() {
+        return scaledLong ? scale : getBigDecimalValue().scale();
+    }
+
+    /**
+     * @return The value of this cell as a BigDecimal.
+     */
+    @Override
+    public Number getValue() {
+        return getBigDecimalValue();
+    }
+
+    @Override
+    public String getStringValue() {
+        return getBigDecimalValue().toString();
+    }
+
+    @Override
+    public long getLongValue() {
+        if (scaledLong && scale >= 0 && scale <= 18) {
+            long divisor = 1L;
+            for (int i = 0; i < scale; i++)
+                divisor *= 10L;
+            return unscaledValue / divisor;
+        }
+        return getBigDecimalValue().longValue();
+    }
+
+    @Override
+    public double getDoubleValue() {
+        // Both operands are exact so the division is correctly rounded.
+        if (scaledLong && scale >= 0 && scale < DOUBLE_POWERS_OF_TEN.length && Math.abs(unscaledValue) <= MAX_EXACT_DOUBLE)
+            return unscaledValue / DOUBLE_POWERS_OF_TEN[scale];
+        return getBigDecimalValue().doubleValue();
     }
 
 
@@ -39,7 +143,15 @@ public final class BigDecimalCell extends NumberCell  {
      * @return The value of this cell as a BigDecimal.
      */
     public BigDecimal getBigDecimalValue() {
-        return (BigDecimal) super.getValue();
+        if (!scaledLong)
+            return (BigDecimal) super.getValue();
+        BigDecimal value = bigDecimalValue;
+        if (value == null) {
+            // Immutable, so it does not matter if more than one thread happens to create it.
+            value = BigDecimal.valueOf(unscaledValue, scale);
+            bigDecimalValue = value;
+        }
+        return value;
     }
 
     /**
@@ -55,6 +167,10 @@ public final class BigDecimalCell extends NumberCell  {
      */
     @Override
     public int compareValueTo(Cell<Number> right) {
+        if (right instanceof BigDecimalCell && scaledLong && ((BigDecimalCell) right).scaledLong
+                && scale == ((BigDecimalCell) right).scale) {
+            return Long.compare(unscaledValue, ((BigDecimalCell) right).unscaledValue);
+        }
         if(right instanceof BigDecimalCell){
             BigDecimal bdRight = (((BigDecimalCell)right).getBigDecimalValue());
             return getBigDecimalValue().compareTo(bdRight);
@@ -64,6 +180,15 @@ public final class BigDecimalCell extends NumberCell  {
         return getBigDecimalValue().compareTo(bdRight);
     }
 
+    /**
+     * Serializes a cell that stores its value as a scaled long in the same way as any other decimal cell.
+     *
+     * @return The object to serialize.
+     */
+    private Object writeReplace() {
+        return scaledLong ? new BigDecimalCell(getName(), getBigDecimalValue()) : this;
+    }
+
     /**
      * @param name The name of the empty cell.
      * @return A new Empty cell of supplied name.
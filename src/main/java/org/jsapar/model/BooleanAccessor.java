@@ -0,0 +1,48 @@
+package org.jsapar.model;
+
+import java.util.function.Function;
+
+/**
+ * Reads and writes one cell of a line as a boolean value. Create an instance with
+ * {@link CellAccessors#booleanOf(org.jsapar.schema.SchemaLine, String)}.
+ *
+ * @see CellAccessor
+ * @since 2.4
+ */
+public final class BooleanAccessor extends CellAccessor {
+    private final Function<Boolean, Cell<?>> cellCreator;
+
+    BooleanAccessor(String name, CellType cellType, CellSlots cellSlots, Function<Boolean, Cell<?>> cellCreator) {
+        super(name, cellType, cellSlots);
+        this.cellCreator = cellCreator;
+    }
+
+    /**
+     * Gets the boolean value of the cell. Parses the value if the cell is not a boolean cell.
+     *
+     * @param line         The line to get the value from.
+     * @param defaultValue The value to return if the line has no cell with the name of this accessor or if the cell is
+     *                     empty.
+     * @return The boolean value of the cell.
+     * @see LineUtils#getBooleanCellValue(Line, String, boolean)
+     */
+    public boolean get(Line line, boolean defaultValue) {
+        Cell<?> cell = getNonEmptyCell(line);
+        if (cell == null)
+            return defaultValue;
+        if (cell instanceof BooleanCell)
+            return cell.getBooleanValue();
+        return Boolean.parseBoolean(cell.getStringValue());
+    }
+
+    /**
+     * Puts a cell with supplied value in the line, replacing any existing cell with the same name. The type of the
+     * new cell is the type of the schema cell.
+     *
+     * @param line  The line to put the cell in.
+     * @param value The value of the cell.
+     */
+    public void set(Line line, boolean value) {
+        putCell(line, cellCreator.apply(value));
+    }
+}
@@ -16,6 +16,23 @@ public final class BooleanCell extends AbstractCell<Boolean> implements Comparab
 		super(sName, value, CellType.BOOLEAN);
 	}
 
+	/**
+	 * Creates a boolean cell without creating any new {@link Boolean} object.
+	 *
+	 * @param sName The name of the cell
+	 * @param value The value
+	 * @return A new boolean cell.
+	 * @since 2.4
+	 */
+	public static BooleanCell of(String sName, boolean value) {
+		return new BooleanCell(sName, value ? Boolean.TRUE : Boolean.FALSE);
+	}
+
+	@Override
+	public boolean getBooleanValue() {
+		return getValue();
+	}
+
 	/**
 	 * @param name The name of the empty cell.
 	 * @return A newly created empty cell of type boolean with supplied name.
@@ -30,6 +30,69 @@ public interface Cell<T> extends Serializable, Comparable<Cell<T>> {
      */
     T getValue();
 
+    /**
+     * Gets the value of this cell as a long integer. Cells that store their value as a primitive return it without
+     * creating any object. Other number cells return the long value of their number. Any other cell tries to parse
+     * its string value.
+     *
+     * @return The value of this cell as a long integer.
+     * @throws NumberFormatException If the value of this cell is not a number and its string value cannot be parsed
+     *                               as a long integer.
+     * @since 2.4
+     */
+    default long getLongValue() {
+        Object value = getValue();
+        if (value instanceof Number)
+            return ((Number) value).longValue();
+        return Long.parseLong(getStringValue());
+    }
+
+    /**
+     * Gets the value of this cell as a double precision float number. Cells that store their value as a primitive
+     * return it without creating any object. Other number cells return the double value of their number. Any other
+     * cell tries to parse its string value.
+     *
+     * @return The value of this cell as a double.
+     * @throws NumberFormatException If the value of this cell is not a number and its string value cannot be parsed
+     *                               as a double.
+     * @since 2.4
+     */
+    default double getDoubleValue() {
+        Object value = getValue();
+        if (value instanceof Number)
+            return ((Number) value).doubleValue();
+        return Double.parseDouble(getStringValue());
+    }
+
+    /**
+     * Gets the value of this cell as a boolean. Cells of any other type than boolean parse their string value with
+     * {@link Boolean#parseBoolean(String)}.
+     *
+     * @return The value of this cell as a boolean.
+     * @since 2.4
+     */
+    default boolean getBooleanValue() {
+        Object value = getValue();
+        if (value instanceof Boolean)
+            return (Boolean) value;
+        return Boolean.parseBoolean(getStringValue());
+    }
+
+    /**
+     * Gets the value of this cell as a character. Cells of any other type than character return the first character of
+     * their string value.
+     *
+     * @return The value of this cell as a character.
+     * @throws IndexOutOfBoundsException If the string value of this cell is empty.
+     * @since 2.4
+     */
+    default char getCharValue() {
+        Object value = getValue();
+        if (value instanceof Character)
+            return (Character) value;
+        return getStringValue().charAt(0);
+    }
+
     /**
      * @return the cellType
      */
@@ -0,0 +1,100 @@
+package org.jsapar.model;
+
+/**
+ * Base class of accessors that read and write one cell of a line. An accessor is resolved once against a
+ * {@link org.jsapar.schema.SchemaLine}, see {@link CellAccessors}. For lines that were created by that line schema,
+ * the cell is accessed directly by its slot, see {@link Line#getCellSlots()}, and how the value is converted is
+ * already decided by the type of the schema cell. For any other line, the cell is looked up by name.
+ * <p>
+ * Accessors are immutable and thread safe, so they can be kept in static fields and be used for any number of lines.
+ *
+ * @see CellAccessors
+ * @since 2.4
+ */
+public abstract class CellAccessor {
+    private final String    name;
+    private final CellType  cellType;
+    private final CellSlots cellSlots;
+    private final int       slot;
+
+    /**
+     * @param name      The name of the cell.
+     * @param cellType  The type of the schema cell.
+     * @param cellSlots The cell slots of the line schema.
+     */
+    CellAccessor(String name, CellType cellType, CellSlots cellSlots) {
+        this.name = name;
+        this.cellType = cellType;
+        this.cellSlots = cellSlots;
+        this.slot = cellSlots.indexOf(name);
+    }
+
+    /**
+     * @return The name of the cell.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return The type of the schema cell that this accessor was resolved against.
+     */
+    public CellType getCellType() {
+        return cellType;
+    }
+
+    /**
+     * @param line The line to get the cell from.
+     * @return The cell or null if the line has no cell with the name of this accessor.
+     */
+    public Cell<?> getCell(Line line) {
+        if (line.getCellSlots() == cellSlots)
+            return line.getCellInSlot(slot);
+        return line.getCell(name).orElse(null);
+    }
+
+    /**
+     * @param line The line to test.
+     * @return True if the line has a cell with the name of this accessor that is not empty.
+     */
+    public boolean isSet(Line line) {
+        Cell<?> cell = getCell(line);
+        return cell != null && !cell.isEmpty();
+    }
+
+    /**
+     * Removes the cell from the line.
+     * @param line The line to remove the cell from.
+     */
+    public void remove(Line line) {
+        putCell(line, null);
+    }
+
+    /**
+     * Puts a cell in the line, replacing any existing cell with the same name.
+     * @param line The line to put the cell in.
+     * @param cell The cell to put or null to remove any existing cell. Needs to have the name of this accessor.
+     */
+    void putCell(Line line, Cell<?> cell) {
+        if (line.getCellSlots() == cellSlots)
+            line.putCellInSlot(slot, cell);
+        else if (cell == null)
+            line.removeCell(name);
+        else
+            line.putCell(cell);
+    }
+
+    /**
+     * @param line The line to get the cell from.
+     * @return The cell or null if the line has no cell with the name of this accessor or if the cell is empty.
+     */
+    Cell<?> getNonEmptyCell(Line line) {
+        Cell<?> cell = getCell(line);
+        return cell == null || cell.isEmpty() ? null : cell;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{name='" + name + "', cellType=" + cellType + '}';
+    }
+}
@@ -0,0 +1,190 @@
+package org.jsapar.model;
+
+import org.jsapar.schema.SchemaCell;
+import org.jsapar.schema.SchemaLine;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.Temporal;
+import java.util.function.LongFunction;
+
+/**
+ * Creates accessors that read and write the cells of lines without looking them up by name for each line. An
+ * accessor is resolved once against a {@link SchemaLine} and can then be used for all lines of that line type:
+ * <pre>{@code
+ * IntAccessor amount = CellAccessors.intOf(schemaLine, "amount");
+ * ...
+ * int value = amount.get(line, 0);
+ * amount.set(line, value + 1);
+ * }</pre>
+ * For lines that were created by the line schema, such as the lines produced by a parser, the cell is accessed
+ * directly by its slot. For any other line, the cell is looked up by name, the same way as with {@link LineUtils}.
+ * <p>
+ * When writing, the type of the new cell is decided by the type of the schema cell, so that for instance setting an int
+ * value of a cell of type {@link CellType#DECIMAL} adds a {@link BigDecimalCell}.
+ *
+ * @see CellAccessor
+ * @see LineUtils
+ * @since 2.4
+ */
+public final class CellAccessors {
+
+    private CellAccessors() {
+    }
+
+    /**
+     * @param schemaLine The line schema of the lines to access.
+     * @param cellName   The name of the cell.
+     * @return An accessor that reads and writes the cell as an int value.
+     * @throws IllegalArgumentException If the line schema has no cell with supplied name.
+     */
+    public static IntAccessor intOf(SchemaLine<?> schemaLine, String cellName) {
+        CellType cellType = cellTypeOf(schemaLine, cellName);
+        return new IntAccessor(cellName, cellType, schemaLine.getCellSlots(), longCellCreator(cellName, cellType));
+    }
+
+    /**
+     * @param schemaLine The line schema of the lines to access.
+     * @param cellName   The name of the cell.
+     * @return An accessor that reads and writes the cell as a long value.
+     * @throws IllegalArgumentException If the line schema has no cell with supplied name.
+     */
+    public static LongAccessor longOf(SchemaLine<?> schemaLine, String cellName) {
+        CellType cellType = cellTypeOf(schemaLine, cellName);
+        return new LongAccessor(cellName, cellType, schemaLine.getCellSlots(), longCellCreator(cellName, cellType));
+    }
+
+    /**
+     * @param schemaLine The line schema of the lines to access.
+     * @param cellName   The name of the cell.
+     * @return An accessor that reads and writes the cell as a double value.
+     * @throws IllegalArgumentException If the line schema has no cell with supplied name.
+     */
+    public static DoubleAccessor doubleOf(SchemaLine<?> schemaLine, String cellName) {
+        CellType cellType = cellTypeOf(schemaLine, cellName);
+        switch (cellType) {
+            case DECIMAL:
+                return new DoubleAccessor(cellName, cellType, schemaLine.getCellSlots(),
+                        value -> new BigDecimalCell(cellName, BigDecimal.valueOf(value)));
+            case STRING:
+                return new DoubleAccessor(cellName, cellType, schemaLine.getCellSlots(),
+                        value -> new StringCell(cellName, Double.toString(value)));
+            default:
+                return new DoubleAccessor(cellName, cellType, schemaLine.getCellSlots(),
+                        value -> FloatCell.of(cellName, value));
+        }
+    }
+
+    /**
+     * @param schemaLine The line schema of the lines to access.
+     * @param cellName   The name of the cell.
+     * @return An accessor that reads and writes the cell as a boolean value.
+     * @throws IllegalArgumentException If the line schema has no cell with supplied name.
+     */
+    public static BooleanAccessor booleanOf(SchemaLine<?> schemaLine, String cellName) {
+        CellType cellType = cellTypeOf(schemaLine, cellName);
+        if (cellType == CellType.STRING)
+            return new BooleanAccessor(cellName, cellType, schemaLine.getCellSlots(),
+                    value -> new StringCell(cellName, value.toString()));
+        return new BooleanAccessor(cellName, cellType, schemaLine.getCellSlots(),
+                value -> BooleanCell.of(cellName, value));
+    }
+
+    /**
+     * @param schemaLine The line schema of the lines to access.
+     * @param cellName   The name of the cell.
+     * @return An accessor that reads the string value of the cell, whatever type it has, and writes the cell as a
+     * {@link StringCell}.
+     * @throws IllegalArgumentException If the line schema has no cell with supplied name.
+     */
+    public static ValueAccessor<String> stringOf(SchemaLine<?> schemaLine, String cellName) {
+        CellType cellType = cellTypeOf(schemaLine, cellName);
+        return new ValueAccessor<>(cellName, cellType, schemaLine.getCellSlots(), Cell::getStringValue,
+                value -> new StringCell(cellName, value));
+    }
+
+    /**
+     * @param schemaLine The line schema of the lines to access.
+     * @param cellName   The name of the cell.
+     * @return An accessor that reads and writes the cell as a {@link BigDecimal} value.
+     * @throws IllegalArgumentException If the line schema has no cell with supplied name.
+     */
+    public static ValueAccessor<BigDecimal> decimalOf(SchemaLine<?> schemaLine, String cellName) {
+        CellType cellType = cellTypeOf(schemaLine, cellName);
+        return new ValueAccessor<>(cellName, cellType, schemaLine.getCellSlots(), LineUtils::bigDecimalOfCell,
+                value -> new BigDecimalCell(cellName, value));
+    }
+
+    /**
+     * @param schemaLine The line schema of the lines to access.
+     * @param cellName   The name of the cell.
+     * @return An accessor that reads and writes the cell as a {@link LocalDate} value.
+     * @throws IllegalArgumentException If the line schema has no cell with supplied name.
+     */
+    public static ValueAccessor<LocalDate> localDateOf(SchemaLine<?> schemaLine, String cellName) {
+        CellType cellType = cellTypeOf(schemaLine, cellName);
+        return new ValueAccessor<>(cellName, cellType, schemaLine.getCellSlots(),
+                cell -> LocalDate.from(temporalOf(cell)), value -> new LocalDateCell(cellName, value));
+    }
+
+    /**
+     * @param schemaLine The line schema of the lines to access.
+     * @param cellName   The name of the cell.
+     * @return An accessor that reads and writes the cell as a {@link LocalDateTime} value.
+     * @throws IllegalArgumentException If the line schema has no cell with supplied name.
+     */
+    public static ValueAccessor<LocalDateTime> localDateTimeOf(SchemaLine<?> schemaLine, String cellName) {
+        CellType cellType = cellTypeOf(schemaLine, cellName);
+        return new ValueAccessor<>(cellName, cellType, schemaLine.getCellSlots(),
+                cell -> LocalDateTime.from(temporalOf(cell)), value -> new LocalDateTimeCell(cellName, value));
+    }
+
+    /**
+     * @param schemaLine The line schema of the lines to access.
+     * @param cellName   The name of the cell.
+     * @param enumClass  The enum class of the value.
+     * @param <E>        The enum type.
+     * @return An accessor that reads and writes the cell as an enum value.
+     * @throws IllegalArgumentException If the line schema has no cell with supplied name.
+     */
+    public static <E extends Enum<E>> ValueAccessor<E> enumOf(SchemaLine<?> schemaLine, String cellName, Class<E> enumClass) {
+        CellType cellType = cellTypeOf(schemaLine, cellName);
+        return new ValueAccessor<>(cellName, cellType, schemaLine.getCellSlots(),
+                cell -> LineUtils.enumOfCell(cell, enumClass), value -> new EnumCell<>(cellName, value));
+    }
+
+    private static CellType cellTypeOf(SchemaLine<?> schemaLine, String cellName) {
+        return schemaLine.findSchemaCell(cellName)
+                .map(SchemaCell::getCellFormat)
+                .map(cellFormat -> cellFormat.getCellType())
+                .orElseThrow(() -> new IllegalArgumentException(
+                        "The line type " + schemaLine.getLineType() + " has no cell with name " + cellName));
+    }
+
+    /**
+     * Decides the type of cell to create for integer values.
+     * @param cellName The name of the cell.
+     * @param cellType The type of the schema cell.
+     * @return A function that creates a cell of a type that suits the schema cell.
+     */
+    private static LongFunction<Cell<?>> longCellCreator(String cellName, CellType cellType) {
+        switch (cellType) {
+            case FLOAT:
+                return value -> FloatCell.of(cellName, value);
+            case DECIMAL:
+                return value -> BigDecimalCell.of(cellName, value, 0);
+            case STRING:
+                return value -> new StringCell(cellName, Long.toString(value));
+            default:
+                return value -> IntegerCell.of(cellName, value);
+        }
+    }
+
+    private static Temporal temporalOf(Cell<?> cell) {
+        Object value = cell.getValue();
+        if (value instanceof Temporal)
+            return (Temporal) value;
+        throw new IllegalStateException("The value of the cell " + cell + " cannot be cast to " + Temporal.class);
+    }
+}
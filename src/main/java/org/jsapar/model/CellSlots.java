@@ -0,0 +1,62 @@
+package org.jsapar.model;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * An immutable, ordered set of cell names where each name is assigned a slot index. A {@link Line} that is created
+ * with cell slots stores the cells with these names in an array indexed by slot instead of in a map. The same
+ * instance is shared by all lines of the same {@link org.jsapar.schema.SchemaLine}, see
+ * {@link org.jsapar.schema.SchemaLine#getCellSlots()}.
+ *
+ * @see Line#Line(String, CellSlots, long)
+ * @since 2.4
+ */
+public final class CellSlots {
+    private final String[]             names;
+    private final Map<String, Integer> indexes;
+
+    /**
+     * @param names The cell names in slot order. Each name must be unique.
+     * @throws IllegalArgumentException if the same name occurs more than once.
+     */
+    public CellSlots(Collection<String> names) {
+        this.names = names.toArray(new String[0]);
+        this.indexes = new HashMap<>(this.names.length * 4 / 3 + 1);
+        for (int i = 0; i < this.names.length; i++) {
+            if (indexes.put(this.names[i], i) != null)
+                throw new IllegalArgumentException("Cell name '" + this.names[i] + "' occurs more than once.");
+        }
+    }
+
+    /**
+     * @return The number of slots.
+     */
+    public int size() {
+        return names.length;
+    }
+
+    /**
+     * @param slot The slot index.
+     * @return The name of the cell in supplied slot.
+     */
+    public String nameAt(int slot) {
+        return names[slot];
+    }
+
+    /**
+     * @param name The name of the cell.
+     * @return The slot index of the cell with supplied name or -1 if there is no slot for that name.
+     */
+    public int indexOf(String name) {
+        Integer index = indexes.get(name);
+        return index == null ? -1 : index;
+    }
+
+    @Override
+    public String toString() {
+        return "CellSlots" + Arrays.toString(names);
+    }
+}
@@ -2,7 +2,9 @@ package org.jsapar.model;
 
 /**
  * {@link Cell} implementation carrying a character value of a cell.
- *
+ * <p>
+ * A cell created with {@link #of(String, char)} stores its value as a primitive char. Use {@link #getCharValue()} to
+ * get the value of such a cell without creating any {@link Character} object.
  */
 public final class CharacterCell extends AbstractCell<Character> implements ComparableCell<Character> {
 
@@ -11,8 +13,58 @@ public final class CharacterCell extends AbstractCell<Character> implements Comp
      */
     private static final long serialVersionUID = 8442587766024601673L;
 
+    /**
+     * The value if {@link #primitive} is true.
+     */
+    private final transient char charValue;
+    private final transient boolean primitive;
+
     public CharacterCell(String sName, Character value) {
         super(sName, value, CellType.CHARACTER);
+        this.charValue = 0;
+        this.primitive = false;
+    }
+
+    private CharacterCell(String sName, char value) {
+        super(sName, null, CellType.CHARACTER);
+        this.charValue = value;
+        this.primitive = true;
+    }
+
+    /**
+     * Creates a cell that stores its value as a primitive char.
+     *
+     * @param sName The name of the cell
+     * @param value The value
+     * @return A new character cell.
+     * @since 2.4
+     */
+    public static CharacterCell of(String sName, char value) {
+        return new CharacterCell(sName, value);
+    }
+
+    @Override
+    public Character getValue() {
+        return primitive ? Character.valueOf(charValue) : super.getValue();
+    }
+
+    @Override
+    public String getStringValue() {
+        return primitive ? String.valueOf(charValue) : super.getStringValue();
+    }
+
+    @Override
+    public char getCharValue() {
+        return primitive ? charValue : super.getValue();
+    }
+
+    /**
+     * Serializes a cell that stores its value as a primitive in the same way as any other character cell.
+     *
+     * @return The object to serialize.
+     */
+    private Object writeReplace() {
+        return primitive ? new CharacterCell(getName(), getValue()) : this;
     }
 
     /**
@@ -0,0 +1,45 @@
+package org.jsapar.model;
+
+import java.util.function.DoubleFunction;
+
+/**
+ * Reads and writes one cell of a line as a double value. Create an instance with
+ * {@link CellAccessors#doubleOf(org.jsapar.schema.SchemaLine, String)}.
+ *
+ * @see CellAccessor
+ * @since 2.4
+ */
+public final class DoubleAccessor extends CellAccessor {
+    private final DoubleFunction<Cell<?>> cellCreator;
+
+    DoubleAccessor(String name, CellType cellType, CellSlots cellSlots, DoubleFunction<Cell<?>> cellCreator) {
+        super(name, cellType, cellSlots);
+        this.cellCreator = cellCreator;
+    }
+
+    /**
+     * Gets the double value of the cell. Tries to parse the value if the cell is not a number cell.
+     *
+     * @param line         The line to get the value from.
+     * @param defaultValue The value to return if the line has no cell with the name of this accessor or if the cell is
+     *                     empty.
+     * @return The double value of the cell.
+     * @throws NumberFormatException If the cell could not be converted into a double value.
+     * @see LineUtils#getDoubleCellValue(Line, String, double)
+     */
+    public double get(Line line, double defaultValue) throws NumberFormatException {
+        Cell<?> cell = getNonEmptyCell(line);
+        return cell == null ? defaultValue : LineUtils.doubleCellValue(cell);
+    }
+
+    /**
+     * Puts a cell with supplied value in the line, replacing any existing cell with the same name. The type of the
+     * new cell is the type of the schema cell.
+     *
+     * @param line  The line to put the cell in.
+     * @param value The value of the cell.
+     */
+    public void set(Line line, double value) {
+        putCell(line, cellCreator.apply(value));
+    }
+}
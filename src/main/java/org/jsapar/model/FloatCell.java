@@ -3,12 +3,20 @@ package org.jsapar.model;
 /**
  * Float cell contains a double precision float number. Single precision float
  * values are converted into double precision values.
- * 
+ * <p>
+ * A cell created with {@link #of(String, double)} stores its value as a primitive double. Use {@link #getDoubleValue()}
+ * to get the value of such a cell without creating any {@link Double} object.
  */
 public final class FloatCell extends NumberCell {
 
     private static final long serialVersionUID = 2102712515168714171L;
 
+    /**
+     * The value if {@link #primitive} is true.
+     */
+    private final transient double doubleValue;
+    private final transient boolean primitive;
+
     /**
      * Creates a float number cell with supplied name. Converts the float value
      * into a double precision float value.
@@ -18,15 +26,75 @@ public final class FloatCell extends NumberCell {
      */
     public FloatCell(String name, Number value) {
         super(name, value, CellType.FLOAT);
+        this.doubleValue = 0.0;
+        this.primitive = false;
     }
 
+    private FloatCell(String name, double value) {
+        super(name, null, CellType.FLOAT);
+        this.doubleValue = value;
+        this.primitive = true;
+    }
 
+    /**
+     * Creates a cell that stores its value as a primitive double.
+     *
+     * @param name  The name of the cell
+     * @param value The value
+     * @return A new float cell.
+     * @since 2.4
+     */
+    public static FloatCell of(String name, double value) {
+        return new FloatCell(name, value);
+    }
+
+    /**
+     * @return The value of the cell. If the cell stores its value as a primitive, a {@link Double} is created for each
+     * call.
+     */
+    @Override
+    public Number getValue() {
+        return primitive ? Double.valueOf(doubleValue) : super.getValue();
+    }
+
+    @Override
+    public String getStringValue() {
+        return primitive ? Double.toString(doubleValue) : super.getStringValue();
+    }
+
+    @Override
+    public long getLongValue() {
+        return primitive ? (long) doubleValue : super.getValue().longValue();
+    }
+
+    @Override
+    public double getDoubleValue() {
+        return primitive ? doubleValue : super.getValue().doubleValue();
+    }
+
+    /**
+     * @return True if this cell stores its value as a primitive double.
+     * @see #of(String, double)
+     * @since 2.4
+     */
+    public boolean isPrimitive() {
+        return primitive;
+    }
 
     @Override
     public int compareValueTo(Cell<Number> right) {
         if(!(right instanceof FloatCell))
-            return Double.compare(getValue().doubleValue(), right.getValue().doubleValue());
-        return super.compareValueTo(right);
+            return Double.compare(getDoubleValue(), right.getValue().doubleValue());
+        return Double.compare(getDoubleValue(), ((FloatCell) right).getDoubleValue());
+    }
+
+    /**
+     * Serializes a cell that stores its value as a primitive in the same way as any other float cell.
+     *
+     * @return The object to serialize.
+     */
+    private Object writeReplace() {
+        return primitive ? new FloatCell(getName(), getValue()) : this;
     }
 
     /**
@@ -0,0 +1,45 @@
+package org.jsapar.model;
+
+import java.util.function.LongFunction;
+
+/**
+ * Reads and writes one cell of a line as an int value. Create an instance with
+ * {@link CellAccessors#intOf(org.jsapar.schema.SchemaLine, String)}.
+ *
+ * @see CellAccessor
+ * @since 2.4
+ */
+public final class IntAccessor extends CellAccessor {
+    private final LongFunction<Cell<?>> cellCreator;
+
+    IntAccessor(String name, CellType cellType, CellSlots cellSlots, LongFunction<Cell<?>> cellCreator) {
+        super(name, cellType, cellSlots);
+        this.cellCreator = cellCreator;
+    }
+
+    /**
+     * Gets the int value of the cell. Tries to parse the value if the cell is not a number cell.
+     *
+     * @param line         The line to get the value from.
+     * @param defaultValue The value to return if the line has no cell with the name of this accessor or if the cell is
+     *                     empty.
+     * @return The int value of the cell.
+     * @throws NumberFormatException If the cell could not be converted into an int value.
+     * @see LineUtils#getIntCellValue(Line, String, int)
+     */
+    public int get(Line line, int defaultValue) throws NumberFormatException {
+        Cell<?> cell = getNonEmptyCell(line);
+        return cell == null ? defaultValue : LineUtils.intCellValue(cell);
+    }
+
+    /**
+     * Puts a cell with supplied value in the line, replacing any existing cell with the same name. The type of the
+     * new cell is the type of the schema cell.
+     *
+     * @param line  The line to put the cell in.
+     * @param value The value of the cell.
+     */
+    public void set(Line line, int value) {
+        putCell(line, cellCreator.apply(value));
+    }
+}
@@ -2,28 +2,99 @@ package org.jsapar.model;
 
 /**
  * Integer cell that contains integer values of any length; Byte, Short, Integer and Long.
- *
+ * <p>
+ * A cell created with {@link #of(String, long)} stores its value as a primitive long. Use {@link #getLongValue()} to get
+ * the value of such a cell without creating any {@link Long} object.
  */
 public final class IntegerCell extends NumberCell {
 
     private static final long serialVersionUID = -6131249480571994885L;
 
+    /**
+     * The value if {@link #primitive} is true.
+     */
+    private final transient long longValue;
+    private final transient boolean primitive;
+
     /**
      * @param name The name of the cell
      * @param value The value
      */
     public IntegerCell(String name, Number value) {
         super(name, value, CellType.INTEGER);
+        this.longValue = 0L;
+        this.primitive = false;
+    }
+
+    private IntegerCell(String name, long value) {
+        super(name, null, CellType.INTEGER);
+        this.longValue = value;
+        this.primitive = true;
+    }
+
+    /**
+     * Creates a cell that stores its value as a primitive long.
+     *
+     * @param name  The name of the cell
+     * @param value The value
+     * @return A new integer cell.
+     * @since 2.4
+     */
+    public static IntegerCell of(String name, long value) {
+        return new IntegerCell(name, value);
     }
 
+    /**
+     * @return The value of the cell. If the cell stores its value as a primitive, a {@link Long} is created for each
+     * call.
+     */
+    @Override
+    public Number getValue() {
+        return primitive ? Long.valueOf(longValue) : super.getValue();
+    }
+
+    @Override
+    public String getStringValue() {
+        return primitive ? Long.toString(longValue) : super.getStringValue();
+    }
+
+    @Override
+    public long getLongValue() {
+        return primitive ? longValue : super.getValue().longValue();
+    }
+
+    @Override
+    public double getDoubleValue() {
+        return primitive ? longValue : super.getValue().doubleValue();
+    }
+
+    /**
+     * @return True if this cell stores its value as a primitive long.
+     * @see #of(String, long)
+     * @since 2.4
+     */
+    public boolean isPrimitive() {
+        return primitive;
+    }
 
     @Override
     public int compareValueTo(Cell<Number> right) {
         if(!(right instanceof IntegerCell))
-            return Long.compare(getValue().longValue(), right.getValue().longValue());
+            return Long.compare(getLongValue(), right.getValue().longValue());
+        if (primitive && ((IntegerCell) right).primitive)
+            return Long.compare(longValue, ((IntegerCell) right).longValue);
         return super.compareValueTo(right);
     }
 
+    /**
+     * Serializes a cell that stores its value as a primitive in the same way as any other integer cell.
+     *
+     * @return The object to serialize.
+     */
+    private Object writeReplace() {
+        return primitive ? new IntegerCell(getName(), getValue()) : this;
+    }
+
     /**
      * @param name The name of the empty cell.
      * @return A new Empty cell of supplied name.
@@ -0,0 +1,29 @@
+package org.jsapar.model;
+
+/**
+ * Source of cells of a {@link Line} that are not created until they are requested. Implemented by parsers that keep
+ * the raw text of a line and defers creating and parsing cell values until each cell is actually accessed. The
+ * cells are identified by their slot index which also denotes the order of the cells within the line.
+ *
+ * @see Line#Line(String, long, LazyCells)
+ * @since 2.4
+ */
+public interface LazyCells {
+
+    /**
+     * @return The slots of the cells that can be created by this source. The slot index of a cell is the same as
+     * the index used by {@link #createCell(int, Line)}.
+     */
+    CellSlots getCellSlots();
+
+    /**
+     * Creates the cell at supplied index. Any error that occurs while parsing the cell value is reported as a cell
+     * error on the supplied line and to the error consumer of the parser.
+     *
+     * @param index The index of the cell to create.
+     * @param line  The line that the cell belongs to.
+     * @return The created cell or null if there should be no cell at this index, for instance because the value could
+     * not be parsed or because the cell should be ignored.
+     */
+    Cell<?> createCell(int index, Line line);
+}
@@ -1,12 +1,16 @@
 package org.jsapar.model;
 
 import org.jsapar.parse.CellParseException;
+import org.jsapar.utils.LineAccess;
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.*;
 import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * A line is one row of the input buffer. Each line contains a list of cells. Cells within the line can be retrieved
@@ -18,6 +22,15 @@ import java.util.stream.Stream;
  * multiple threads access the same instance, external synchronization is required.
  * <p>
  * In order to make it easier to retrieve and alter cell values within a {@link org.jsapar.model.Line}, you may use the {@link org.jsapar.model.LineUtils} class.
+ * <p>
+ * A line that is created by a parser configured with {@link org.jsapar.text.TextParseConfig#setLazyCells(boolean)}
+ * creates each cell first when it is requested by name. Any error while parsing a cell value is then reported
+ * when the cell is first accessed, or when calling {@link #validate()}. Methods that need all the cells, such as
+ * {@link #iterator()}, {@link #size()} and {@link #getCellErrors()} creates all remaining cells first.
+ * <p>
+ * Lines created by a parser store the cells that are described by the line schema in an array indexed by the position
+ * of the schema cell, see {@link CellSlots}. Such cells are always ordered as in the schema, followed by any other cells
+ * in the order they were added.
  * @see LineUtils
  * @see Cell
  * @see Document
@@ -27,8 +40,37 @@ public class Line implements Serializable, Cloneable, Iterable<Cell> {
 
     private static final long   serialVersionUID = 6026541900371948403L;
 
+    static {
+        LineAccess.registerLineNumberSetter(Line::setLineNumber);
+    }
+
+    /**
+     * The cells that are not stored in {@link #slotCells}. When the line has cell slots, this map is created first
+     * when a cell without a slot is added.
+     */
     private Map<String, Cell> cells;
-    private Map<String, CellParseException> cellErrors = new LinkedHashMap<>();
+    /**
+     * Created first when an error is added.
+     */
+    private Map<String, CellParseException> cellErrors;
+
+    /**
+     * The slot index by cell name of the cells that are stored in {@link #slotCells}. Null if all cells are stored in
+     * {@link #cells}.
+     */
+    private transient CellSlots cellSlots;
+    private transient Cell<?>[] slotCells;
+    private transient int       slotCellCount;
+
+    /**
+     * Source of the cells that are not yet created. Null when all cells are created.
+     */
+    private transient LazyCells lazyCells;
+    /**
+     * Indicates, by slot index, the cells that are not yet created.
+     */
+    private transient boolean[] pendingCells;
+    private transient int pendingCount;
 
     /**
      * Line type.
@@ -65,6 +107,43 @@ public class Line implements Serializable, Cloneable, Iterable<Cell> {
         this.lineNumber = lineNumber;
     }
 
+    /**
+     * Creates an empty line of a specified type where cells with the names of the supplied cell slots are stored in an
+     * array, indexed by slot. Such cells are always ordered by slot, regardless of the order they are added. Any other
+     * cells are placed after them in the order they are added. Normally only used by the parser.
+     *
+     * @param sLineType  The type of the line.
+     * @param cellSlots  The cell slots to use. Normally shared by all lines of the same line schema.
+     * @param lineNumber The line number of this line.
+     * @see org.jsapar.schema.SchemaLine#getCellSlots()
+     * @since 2.4
+     */
+    public Line(String sLineType, CellSlots cellSlots, long lineNumber) {
+        this.lineType = sLineType;
+        this.cellSlots = cellSlots;
+        this.slotCells = new Cell<?>[cellSlots.size()];
+        this.lineNumber = lineNumber;
+    }
+
+    /**
+     * Creates a line of a specified type where the cells are created first when they are requested.
+     * Normally only used by the parser.
+     *
+     * @param sLineType  The type of the line.
+     * @param lineNumber The line number of this line.
+     * @param lazyCells  The source of the cells of this line.
+     * @since 2.4
+     */
+    public Line(String sLineType, long lineNumber, LazyCells lazyCells) {
+        this(sLineType, lazyCells.getCellSlots(), lineNumber);
+        this.lazyCells = lazyCells;
+        this.pendingCount = slotCells.length;
+        this.pendingCells = new boolean[pendingCount];
+        Arrays.fill(pendingCells, true);
+        if (pendingCount == 0)
+            releaseLazyCells();
+    }
+
     /**
      * Returns a clone of the internal collection that contains all the cells.
      * For better performance while iterating multiple lines, it is better to use the
@@ -77,7 +156,10 @@ public class Line implements Serializable, Cloneable, Iterable<Cell> {
      * @see #stream()
      */
     public List<Cell> getCells() {
-        return new ArrayList<>(cells.values());
+        createAllCells();
+        if (cellSlots == null)
+            return new ArrayList<>(cells.values());
+        return stream().collect(Collectors.toCollection(ArrayList::new));
     }
 
     /**
@@ -87,7 +169,8 @@ public class Line implements Serializable, Cloneable, Iterable<Cell> {
      */
     @Override
     public Iterator<Cell> iterator() {
-        return cells.values().iterator();
+        createAllCells();
+        return cellSlots == null ? cells.values().iterator() : new SlotCellIterator();
     }
 
     /**
@@ -101,11 +184,16 @@ public class Line implements Serializable, Cloneable, Iterable<Cell> {
      * @see #putCell(Cell)
      */
     public Line addCell(Cell<?> cell) {
-        Cell<?> oldCell = cells.get(cell.getName());
+        final String name = cell.getName();
+        final int slot = slotOf(name);
+        Cell<?> oldCell = slot >= 0 ? cellInSlot(slot) : getCellOrNull(name);
         if (oldCell != null)
             throw new IllegalStateException(
-                    "A cell with the name '" + cell.getName() + "' already exists. Failed to add cell.");
-        this.cells.put(cell.getName(), cell);
+                    "A cell with the name '" + name + "' already exists. Failed to add cell.");
+        if (slot >= 0)
+            setCellInSlot(slot, cell);
+        else
+            putExtraCell(cell);
         return this;
     }
 
@@ -116,7 +204,12 @@ public class Line implements Serializable, Cloneable, Iterable<Cell> {
      * @return Optional that contains the removed cell if found
      */
     public Optional<Cell> removeCell(String sName) {
-        return Optional.ofNullable(this.cells.remove(sName));
+        final int slot = slotOf(sName);
+        if (slot >= 0) {
+            createCell(slot);
+            return Optional.ofNullable(setCellInSlot(slot, null));
+        }
+        return Optional.ofNullable(cells == null ? null : cells.remove(sName));
     }
 
     /**
@@ -127,7 +220,12 @@ public class Line implements Serializable, Cloneable, Iterable<Cell> {
      * @see #addCell(Cell)
      */
     public Optional<Cell> putCell(Cell<?> cell) {
-        return Optional.ofNullable(this.cells.put(cell.getName(), cell));
+        final int slot = slotOf(cell.getName());
+        if (slot >= 0) {
+            createCell(slot);
+            return Optional.ofNullable(setCellInSlot(slot, cell));
+        }
+        return Optional.ofNullable(putExtraCell(cell));
     }
 
     /**
@@ -142,9 +240,9 @@ public class Line implements Serializable, Cloneable, Iterable<Cell> {
      */
     public <T> void putCellValue(String cellName, T value, BiFunction<String, T, Cell<? super T>> cellCreator) {
         if (value == null)
-            this.cells.remove(cellName);
+            removeCell(cellName);
         else
-            this.cells.put(cellName, cellCreator.apply(cellName, value));
+            putCell(cellCreator.apply(cellName, value));
     }
 
     /**
@@ -154,7 +252,63 @@ public class Line implements Serializable, Cloneable, Iterable<Cell> {
      * @return Optional cell that is set if there is a cell with specified name.
      */
     public Optional<Cell> getCell(String name) {
-        return Optional.ofNullable(this.cells.get(name));
+        return Optional.ofNullable(getCellOrNull(name));
+    }
+
+    private Cell<?> getCellOrNull(String name) {
+        final int slot = slotOf(name);
+        if (slot >= 0)
+            return cellInSlot(slot);
+        return cells == null ? null : cells.get(name);
+    }
+
+    /**
+     * Gets the cell in a slot of the {@link CellSlots} that this line was created with. Makes it possible for a
+     * composer to get the cells of a line without looking them up by name. Normally only used by composers.
+     *
+     * @param slot The slot index of the cell.
+     * @return The cell in supplied slot or null if there is no cell in that slot.
+     * @throws IllegalStateException if this line was not created with cell slots.
+     * @see #getCellSlots()
+     * @since 2.4
+     */
+    public Cell<?> getCellInSlot(int slot) {
+        if (cellSlots == null)
+            throw new IllegalStateException("The line " + lineNumber + " of type " + lineType + " has no cell slots.");
+        return cellInSlot(slot);
+    }
+
+    /**
+     * Puts a cell in a slot of the {@link CellSlots} that this line was created with, replacing any existing cell in
+     * that slot. Makes it possible to set the cells of a line without looking them up by name.
+     *
+     * @param slot The slot index of the cell.
+     * @param cell The cell to put or null to remove any cell in that slot. The name of the cell needs to be the name
+     *             of the slot.
+     * @return The cell that was replaced or null if there was no cell in that slot.
+     * @throws IllegalStateException    if this line was not created with cell slots.
+     * @throws IllegalArgumentException if the name of the cell is not the name of the slot.
+     * @see #getCellSlots()
+     * @see CellAccessor
+     * @since 2.4
+     */
+    public Cell<?> putCellInSlot(int slot, Cell<?> cell) {
+        if (cellSlots == null)
+            throw new IllegalStateException("The line " + lineNumber + " of type " + lineType + " has no cell slots.");
+        if (cell != null && !cell.getName().equals(cellSlots.nameAt(slot)))
+            throw new IllegalArgumentException("The cell " + cell.getName() + " can not be put in slot " + slot
+                    + " of cell " + cellSlots.nameAt(slot) + ".");
+        createCell(slot);
+        return setCellInSlot(slot, cell);
+    }
+
+    /**
+     * @return The cell slots that this line was created with or null if cells of this line are only stored by name.
+     * @see #Line(String, CellSlots, long)
+     * @since 2.4
+     */
+    public CellSlots getCellSlots() {
+        return cellSlots;
     }
 
     /**
@@ -191,7 +345,7 @@ public class Line implements Serializable, Cloneable, Iterable<Cell> {
      */
     public <T> Optional<T> getNonEmptyCellValue(String name, Class<T> valueType) throws ClassCastException {
         //noinspection unchecked
-        Cell<T> uncheckedCell = (Cell<T>) this.cells.get(name);
+        Cell<T> uncheckedCell = (Cell<T>) getCellOrNull(name);
         if(uncheckedCell == null || uncheckedCell.isEmpty())
             return Optional.empty();
 
@@ -208,7 +362,8 @@ public class Line implements Serializable, Cloneable, Iterable<Cell> {
      * @return the number of cells that this line contains.
      */
     public int size() {
-        return this.cells.size();
+        createAllCells();
+        return slotCellCount + (cells == null ? 0 : cells.size());
     }
 
     /**
@@ -278,9 +433,11 @@ public class Line implements Serializable, Cloneable, Iterable<Cell> {
             throw new AssertionError(e);
         }
 
+        createAllCells();
         // No need to make a deep copy since cells are all final.
-        clone.cells = new LinkedHashMap<>(this.cells);
-        clone.cellErrors  = new LinkedHashMap<>(this.cellErrors);
+        clone.cells = this.cells == null ? null : new LinkedHashMap<>(this.cells);
+        clone.cellErrors = this.cellErrors == null ? null : new LinkedHashMap<>(this.cellErrors);
+        clone.slotCells = this.slotCells == null ? null : this.slotCells.clone();
 
         return clone;
     }
@@ -289,6 +446,8 @@ public class Line implements Serializable, Cloneable, Iterable<Cell> {
      * @param error The cell error to add.
      */
     public void addCellError(CellParseException error) {
+        if (cellErrors == null)
+            cellErrors = new LinkedHashMap<>();
         this.cellErrors.put(error.getCellName(), error);
     }
 
@@ -296,7 +455,8 @@ public class Line implements Serializable, Cloneable, Iterable<Cell> {
      * @return True if the line has errors on any of the cells.
      */
     public boolean hasCellErrors(){
-        return !this.cellErrors.isEmpty();
+        createAllCells();
+        return this.cellErrors != null && !this.cellErrors.isEmpty();
     }
 
     /**
@@ -304,7 +464,8 @@ public class Line implements Serializable, Cloneable, Iterable<Cell> {
      * @return If there is an error for the given cell name, that error is returned.The error with the given cell name.
      */
     public Optional<CellParseException> getCellError(String cellName){
-        return Optional.ofNullable(cellErrors.get(cellName));
+        createCell(slotOf(cellName));
+        return cellErrors == null ? Optional.empty() : Optional.ofNullable(cellErrors.get(cellName));
     }
 
     /**
@@ -312,7 +473,8 @@ public class Line implements Serializable, Cloneable, Iterable<Cell> {
      * @return All cell errors of this line.
      */
     public Collection<CellParseException> getCellErrors(){
-        return cellErrors.values();
+        createAllCells();
+        return cellErrors == null ? Collections.emptyList() : cellErrors.values();
     }
 
     /**
@@ -357,7 +519,134 @@ public class Line implements Serializable, Cloneable, Iterable<Cell> {
      * @return A stream of all cells within this line.
      */
     public Stream<Cell> stream() {
-        return this.cells.values().stream();
+        createAllCells();
+        if (cellSlots == null)
+            return this.cells.values().stream();
+        return StreamSupport.stream(Spliterators.spliterator(new SlotCellIterator(), size(),
+                Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * Removes all cells and cell errors from this line. Makes it possible for a parser to reuse the same line
+     * instance for more than one line of the input.
+     *
+     * @see org.jsapar.text.TextParseConfig#setReuseLines(boolean)
+     * @since 2.4
+     */
+    public void clear() {
+        releaseLazyCells();
+        if (cells != null)
+            cells.clear();
+        if (slotCells != null) {
+            Arrays.fill(slotCells, null);
+            slotCellCount = 0;
+        }
+        if (cellErrors != null)
+            cellErrors.clear();
+    }
+
+    /**
+     * Creates all cells that are not yet created and reports any error that occurs while parsing their values. Only
+     * has effect on lines that are created by a parser that creates cells when they are requested.
+     *
+     * @return True if all the cells of this line are valid, false if there are any cell errors.
+     * @see org.jsapar.text.TextParseConfig#setLazyCells(boolean)
+     * @since 2.4
+     */
+    public boolean validate() {
+        return !hasCellErrors();
+    }
+
+    private int slotOf(String name) {
+        return cellSlots == null ? -1 : cellSlots.indexOf(name);
+    }
+
+    private Cell<?> cellInSlot(int slot) {
+        createCell(slot);
+        return slotCells[slot];
+    }
+
+    /**
+     * @param slot The slot index.
+     * @param cell The cell to store or null to remove any cell in the slot.
+     * @return The cell that was previously stored in the slot, if any.
+     */
+    private Cell<?> setCellInSlot(int slot, Cell<?> cell) {
+        Cell<?> oldCell = slotCells[slot];
+        slotCells[slot] = cell;
+        if (oldCell == null && cell != null)
+            slotCellCount++;
+        else if (oldCell != null && cell == null)
+            slotCellCount--;
+        return oldCell;
+    }
+
+    /**
+     * @param cell The cell to store by name.
+     * @return The cell with the same name that was previously stored by name, if any.
+     */
+    private Cell<?> putExtraCell(Cell<?> cell) {
+        if (cells == null)
+            cells = new LinkedHashMap<>();
+        return cells.put(cell.getName(), cell);
+    }
+
+    /**
+     * Creates the cell in supplied slot if it is not yet created.
+     *
+     * @param slot The slot index of the cell. Nothing is done if negative.
+     */
+    private void createCell(int slot) {
+        if (lazyCells == null || slot < 0 || !pendingCells[slot])
+            return;
+        pendingCells[slot] = false;
+        pendingCount--;
+        LazyCells source = lazyCells;
+        if (pendingCount == 0)
+            releaseLazyCells();
+        Cell<?> cell = source.createCell(slot, this);
+        if (cell != null)
+            setCellInSlot(slot, cell);
+    }
+
+    /**
+     * Creates all the cells that are not yet created. If the error consumer of the parser throws an exception, the
+     * cells that were not reached remain pending.
+     */
+    private void createAllCells() {
+        for (int slot = 0; lazyCells != null && slot < pendingCells.length; slot++) {
+            createCell(slot);
+        }
+    }
+
+    private void releaseLazyCells() {
+        lazyCells = null;
+        pendingCells = null;
+        pendingCount = 0;
+    }
+
+    /**
+     * Writes all cells to the same map as if they were all stored by name in order to keep the serialized form
+     * independent of how the cells are stored. A deserialized line stores all cells by name.
+     *
+     * @param out The output stream.
+     * @throws IOException If writing fails.
+     */
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        createAllCells();
+        Map<String, ?> allCells = this.cells;
+        if (cellSlots != null) {
+            Map<String, Cell<?>> slotOrdered = new LinkedHashMap<>(size() * 4 / 3 + 1);
+            for (Cell<?> cell : this)
+                slotOrdered.put(cell.getName(), cell);
+            allCells = slotOrdered;
+        }
+        ObjectOutputStream.PutField fields = out.putFields();
+        fields.put("cells", allCells);
+        fields.put("cellErrors", cellErrors == null ? new LinkedHashMap<>() : cellErrors);
+        fields.put("lineType", lineType);
+        fields.put("lineNumber", lineNumber);
+        out.writeFields();
     }
 
     /**
@@ -369,4 +658,49 @@ public class Line implements Serializable, Cloneable, Iterable<Cell> {
         return getCell(cellName).map(Cell::getValue).orElse(null);
     }
 
+    /**
+     * Iterates the cells in slot order followed by the cells without slot.
+     */
+    private final class SlotCellIterator implements Iterator<Cell> {
+        private int            nextSlot = 0;
+        private int            lastSlot = -1;
+        private Iterator<Cell> extraIterator;
+
+        @Override
+        public boolean hasNext() {
+            while (nextSlot < slotCells.length) {
+                if (slotCells[nextSlot] != null)
+                    return true;
+                nextSlot++;
+            }
+            if (extraIterator == null)
+                extraIterator = cells == null ? Collections.emptyIterator() : cells.values().iterator();
+            return extraIterator.hasNext();
+        }
+
+        @Override
+        public Cell<?> next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+            if (nextSlot < slotCells.length) {
+                lastSlot = nextSlot++;
+                return slotCells[lastSlot];
+            }
+            lastSlot = -1;
+            return extraIterator.next();
+        }
+
+        @Override
+        public void remove() {
+            if (lastSlot >= 0) {
+                if (slotCells[lastSlot] == null)
+                    throw new IllegalStateException("Cell is already removed");
+                setCellInSlot(lastSlot, null);
+            } else if (extraIterator != null) {
+                extraIterator.remove();
+            } else {
+                throw new IllegalStateException("No cell to remove");
+            }
+        }
+    }
 }
@@ -52,13 +52,16 @@ public final class LineUtils {
     /**
      * Utility function that adds a cell with the specified name and value to the end of the line or
      * replaces an existing cell if there already is one with the same name.
+     * <p>
+     * The cell stores the value as a primitive long, so {@link Cell#getValue()} of the cell returns a {@link Long}, not
+     * an {@link Integer}.
      *
      * @param line     The line to alter
      * @param cellName The name of the cell to add/replace.
      * @param value    The integer value to set.
      */
     public static void setIntCellValue(Line line, String cellName, int value) {
-        line.putCell(new IntegerCell(cellName, value));
+        line.putCell(IntegerCell.of(cellName, value));
     }
 
     /**
@@ -70,7 +73,7 @@ public final class LineUtils {
      * @param value    The long integer value to set.
      */
     public static void setLongCellValue(Line line, String cellName, long value) {
-        line.putCell(new IntegerCell(cellName, value));
+        line.putCell(IntegerCell.of(cellName, value));
     }
 
     /**
@@ -82,7 +85,7 @@ public final class LineUtils {
      * @param value    The double value to set.
      */
     public static void setDoubleCellValue(Line line, String cellName, double value) {
-        line.putCellValue(cellName, value, FloatCell::new);
+        line.putCell(FloatCell.of(cellName, value));
     }
 
     /**
@@ -94,7 +97,7 @@ public final class LineUtils {
      * @param value    The boolean value to set.
      */
     public static void setBooleanCellValue(Line line, String cellName, boolean value) {
-        line.putCellValue(cellName, value, BooleanCell::new);
+        line.putCell(BooleanCell.of(cellName, value));
     }
 
     /**
@@ -106,7 +109,7 @@ public final class LineUtils {
      * @param value    The character value to set.
      */
     public static void setCharCellValue(Line line, String cellName, char value) {
-        line.putCellValue(cellName, value, CharacterCell::new);
+        line.putCell(CharacterCell.of(cellName, value));
     }
 
     /**
@@ -256,7 +259,8 @@ public final class LineUtils {
      * @see #getNumberCellValue(Line, String)
      */
     public static int getIntCellValue(Line line, String cellName, int defaultValue) throws NumberFormatException {
-        return line.getNonEmptyCell(cellName).map(LineUtils::intCellValue).orElse(defaultValue);
+        Cell<?> cell = line.getNonEmptyCell(cellName).orElse(null);
+        return cell != null ? intCellValue(cell) : defaultValue;
     }
 
     /**
@@ -274,7 +278,9 @@ public final class LineUtils {
         return line.getNonEmptyCell(cellName).map(LineUtils::intCellValue);
     }
 
-    private static int intCellValue(Cell<?> cell) {
+    static int intCellValue(Cell<?> cell) {
+        if (cell instanceof IntegerCell)
+            return (int) cell.getLongValue();
         if (cell instanceof NumberCell) {
             NumberCell numberCell = (NumberCell) cell;
             return numberCell.getValue().intValue();
@@ -301,7 +307,8 @@ public final class LineUtils {
      * @throws NumberFormatException If the cell value could not be converted into a long integer value.
      */
     public static long getLongCellValue(Line line, String cellName, long defaultValue) throws NumberFormatException {
-        return line.getNonEmptyCell(cellName).map(LineUtils::longCellValue).orElse(defaultValue);
+        Cell<?> cell = line.getNonEmptyCell(cellName).orElse(null);
+        return cell != null ? longCellValue(cell) : defaultValue;
     }
 
     /**
@@ -318,11 +325,9 @@ public final class LineUtils {
         return line.getNonEmptyCell(cellName).map(LineUtils::longCellValue);
     }
 
-    private static long longCellValue(Cell<?> cell) {
-        if (cell instanceof NumberCell) {
-            NumberCell numberCell = (NumberCell) cell;
-            return numberCell.getValue().longValue();
-        }
+    static long longCellValue(Cell<?> cell) {
+        if (cell instanceof NumberCell)
+            return cell.getLongValue();
 
         try {
             return Long.parseLong(cell.getStringValue());
@@ -344,10 +349,8 @@ public final class LineUtils {
      */
     public static Optional<Character> getCharCellValue(Line line, String cellName) throws NumberFormatException {
         return line.getNonEmptyCell(cellName).map(cell -> {
-            if (cell instanceof CharacterCell) {
-                CharacterCell chCell = (CharacterCell) cell;
-                return chCell.getValue();
-            }
+            if (cell instanceof CharacterCell)
+                return cell.getCharValue();
 
             return cell.getStringValue().charAt(0);
         });
@@ -368,10 +371,8 @@ public final class LineUtils {
         Optional<Cell> cell = line.getNonEmptyCell(cellName);
         if (cell.isEmpty())
             return defaultValue;
-        if (cell.get() instanceof CharacterCell) {
-            CharacterCell chCell = (CharacterCell) cell.get();
-            return chCell.getValue();
-        }
+        if (cell.get() instanceof CharacterCell)
+            return cell.get().getCharValue();
 
         final String s = cell.get().getStringValue();
         return s.charAt(0);
@@ -388,10 +389,8 @@ public final class LineUtils {
      */
     public static Optional<Boolean> getBooleanCellValue(Line line, String cellName) throws IllegalStateException {
         return line.getNonEmptyCell(cellName).map(cell -> {
-            if (cell instanceof BooleanCell) {
-                BooleanCell booleanCell = (BooleanCell) cell;
-                return booleanCell.getValue();
-            }
+            if (cell instanceof BooleanCell)
+                return cell.getBooleanValue();
             return Boolean.valueOf(cell.getStringValue());
         });
     }
@@ -410,10 +409,8 @@ public final class LineUtils {
         Optional<Cell> cell = line.getNonEmptyCell(cellName);
         if (cell.isEmpty())
             return defaultValue;
-        if (cell.get() instanceof BooleanCell) {
-            BooleanCell booleanCell = (BooleanCell) cell.get();
-            return booleanCell.getValue();
-        }
+        if (cell.get() instanceof BooleanCell)
+            return cell.get().getBooleanValue();
 
         return Boolean.parseBoolean(cell.get().getStringValue());
     }
@@ -505,7 +502,7 @@ public final class LineUtils {
     }
 
     @SuppressWarnings("unchecked")
-    private static <E extends Enum<E>> E enumOfCell(Cell<?> cell, Class<E> enumClass) {
+    static <E extends Enum<E>> E enumOfCell(Cell<?> cell, Class<E> enumClass) {
         if(cell instanceof EnumCell)
             return (E) cell.getValue();
         String s = cell.getStringValue();
@@ -553,7 +550,8 @@ public final class LineUtils {
      */
     public static double getDoubleCellValue(Line line, String cellName, double defaultValue)
             throws NumberFormatException{
-        return line.getNonEmptyCell(cellName).map(LineUtils::doubleCellValue).orElse(defaultValue);
+        Cell<?> cell = line.getNonEmptyCell(cellName).orElse(null);
+        return cell != null ? doubleCellValue(cell) : defaultValue;
     }
 
     /**
@@ -571,11 +569,9 @@ public final class LineUtils {
         return line.getNonEmptyCell(cellName).map(LineUtils::doubleCellValue);
     }
 
-    private static double doubleCellValue(Cell<?> cell) {
-        if (cell instanceof NumberCell) {
-            NumberCell numberCell = (NumberCell) cell;
-            return numberCell.getValue().doubleValue();
-        }
+    static double doubleCellValue(Cell<?> cell) {
+        if (cell instanceof NumberCell)
+            return cell.getDoubleValue();
 
         try {
             return Double.parseDouble(cell.getStringValue());
@@ -599,13 +595,16 @@ public final class LineUtils {
         return line.getNonEmptyCell(cellName).map(LineUtils::bigDecimalOfCell);
     }
 
-    private static BigDecimal bigDecimalOfCell(Cell<?> cell) {
+    static BigDecimal bigDecimalOfCell(Cell<?> cell) {
         if (cell instanceof BigDecimalCell) {
             BigDecimalCell numberCell = (BigDecimalCell) cell;
             return numberCell.getBigDecimalValue();
         }
+        else if (cell instanceof IntegerCell) {
+            return BigDecimal.valueOf(cell.getLongValue());
+        }
         else if (cell instanceof NumberCell) {
-            return BigDecimal.valueOf(((FloatCell) cell).getValue().doubleValue());
+            return BigDecimal.valueOf(cell.getDoubleValue());
         }
 
         try {
@@ -0,0 +1,45 @@
+package org.jsapar.model;
+
+import java.util.function.LongFunction;
+
+/**
+ * Reads and writes one cell of a line as a long value. Create an instance with
+ * {@link CellAccessors#longOf(org.jsapar.schema.SchemaLine, String)}.
+ *
+ * @see CellAccessor
+ * @since 2.4
+ */
+public final class LongAccessor extends CellAccessor {
+    private final LongFunction<Cell<?>> cellCreator;
+
+    LongAccessor(String name, CellType cellType, CellSlots cellSlots, LongFunction<Cell<?>> cellCreator) {
+        super(name, cellType, cellSlots);
+        this.cellCreator = cellCreator;
+    }
+
+    /**
+     * Gets the long value of the cell. Tries to parse the value if the cell is not a number cell.
+     *
+     * @param line         The line to get the value from.
+     * @param defaultValue The value to return if the line has no cell with the name of this accessor or if the cell is
+     *                     empty.
+     * @return The long value of the cell.
+     * @throws NumberFormatException If the cell could not be converted into a long value.
+     * @see LineUtils#getLongCellValue(Line, String, long)
+     */
+    public long get(Line line, long defaultValue) throws NumberFormatException {
+        Cell<?> cell = getNonEmptyCell(line);
+        return cell == null ? defaultValue : LineUtils.longCellValue(cell);
+    }
+
+    /**
+     * Puts a cell with supplied value in the line, replacing any existing cell with the same name. The type of the
+     * new cell is the type of the schema cell.
+     *
+     * @param line  The line to put the cell in.
+     * @param value The value of the cell.
+     */
+    public void set(Line line, long value) {
+        putCell(line, cellCreator.apply(value));
+    }
+}
@@ -0,0 +1,61 @@
+package org.jsapar.model;
+
+import java.util.function.Function;
+
+/**
+ * Reads and writes one cell of a line as an object value. Create an instance with one of the methods of
+ * {@link CellAccessors}, for instance {@link CellAccessors#stringOf(org.jsapar.schema.SchemaLine, String)}.
+ *
+ * @param <T> The value type.
+ * @see CellAccessor
+ * @since 2.4
+ */
+public final class ValueAccessor<T> extends CellAccessor {
+    private final Function<Cell<?>, T> valueReader;
+    private final Function<T, Cell<?>> cellCreator;
+
+    ValueAccessor(String name, CellType cellType, CellSlots cellSlots, Function<Cell<?>, T> valueReader,
+                  Function<T, Cell<?>> cellCreator) {
+        super(name, cellType, cellSlots);
+        this.valueReader = valueReader;
+        this.cellCreator = cellCreator;
+    }
+
+    /**
+     * @param line The line to get the value from.
+     * @return The value of the cell or null if the line has no cell with the name of this accessor or if the cell is
+     * empty.
+     * @throws IllegalStateException    If the value of the cell is of a type that can not be converted into the value
+     *                                  type.
+     * @throws IllegalArgumentException If the value of the cell can not be parsed into the value type.
+     */
+    public T get(Line line) {
+        Cell<?> cell = getNonEmptyCell(line);
+        return cell == null ? null : valueReader.apply(cell);
+    }
+
+    /**
+     * @param line         The line to get the value from.
+     * @param defaultValue The value to return if the line has no cell with the name of this accessor or if the cell is
+     *                     empty.
+     * @return The value of the cell.
+     * @throws IllegalStateException    If the value of the cell is of a type that can not be converted into the value
+     *                                  type.
+     * @throws IllegalArgumentException If the value of the cell can not be parsed into the value type.
+     */
+    public T get(Line line, T defaultValue) {
+        T value = get(line);
+        return value == null ? defaultValue : value;
+    }
+
+    /**
+     * Puts a cell with supplied value in the line, replacing any existing cell with the same name. If supplied value
+     * is null, any existing cell is removed.
+     *
+     * @param line  The line to put the cell in.
+     * @param value The value of the cell.
+     */
+    public void set(Line line, T value) {
+        putCell(line, value == null ? null : cellCreator.apply(value));
+    }
+}
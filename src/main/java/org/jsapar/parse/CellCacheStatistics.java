@@ -0,0 +1,133 @@
+package org.jsapar.parse;
+
+/**
+ * A snapshot of the statistics of the cell value cache of one column while parsing. The cache of each column adapts
+ * its size to the values that occur, it grows for columns with few distinct values and it disables itself for
+ * columns where almost every value is unique.
+ *
+ * @see org.jsapar.text.TextParseConfig#setMaxCellCacheSize(int)
+ * @see org.jsapar.parse.text.TextParseTask#getCellCacheStatistics()
+ * @since 2.4
+ */
+public final class CellCacheStatistics {
+    private final String  lineType;
+    private final String  cellName;
+    private final long    lookups;
+    private final long    hits;
+    private final long    evictions;
+    private final int     size;
+    private final int     sizeLimit;
+    private final int     maxSize;
+    private final boolean disabled;
+
+    /**
+     * Creates a snapshot of the statistics of a cache.
+     * @param lineType  The line type of the column.
+     * @param cellName  The cell name of the column.
+     * @param lookups   The number of cell values that were looked up in the cache.
+     * @param hits      The number of cell values that were found in the cache.
+     * @param evictions The number of times that the cache was cleared because it was full.
+     * @param size      The number of cell values currently in the cache.
+     * @param sizeLimit The number of cell values that the cache currently can hold.
+     * @param maxSize   The maximum number of cell values that the cache can grow to.
+     * @param disabled  True if the cache has disabled itself.
+     */
+    public CellCacheStatistics(String lineType, String cellName, long lookups, long hits, long evictions, int size,
+                               int sizeLimit, int maxSize, boolean disabled) {
+        this.lineType = lineType;
+        this.cellName = cellName;
+        this.lookups = lookups;
+        this.hits = hits;
+        this.evictions = evictions;
+        this.size = size;
+        this.sizeLimit = sizeLimit;
+        this.maxSize = maxSize;
+        this.disabled = disabled;
+    }
+
+    /**
+     * @return The line type of the column.
+     */
+    public String getLineType() {
+        return lineType;
+    }
+
+    /**
+     * @return The cell name of the column.
+     */
+    public String getCellName() {
+        return cellName;
+    }
+
+    /**
+     * @return The number of cell values that were looked up in the cache, including lookups made after the cache was
+     * disabled.
+     */
+    public long getLookups() {
+        return lookups;
+    }
+
+    /**
+     * @return The number of cell values that were found in the cache.
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * @return The share of the lookups that were hits, a value between 0.0 and 1.0.
+     */
+    public double getHitRate() {
+        return lookups == 0L ? 0.0 : (double) hits / lookups;
+    }
+
+    /**
+     * @return The number of times that the cache was cleared because it was full.
+     */
+    public long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * @return The number of cell values currently in the cache.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * @return The number of cell values that the cache currently can hold. 0 if the cache is disabled.
+     */
+    public int getSizeLimit() {
+        return sizeLimit;
+    }
+
+    /**
+     * @return The maximum number of cell values that the cache can grow to.
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * @return True if the cache has disabled itself because too few cell values were found in the cache.
+     */
+    public boolean isDisabled() {
+        return disabled;
+    }
+
+    @Override
+    public String toString() {
+        return "CellCacheStatistics{" +
+                "lineType='" + lineType + '\'' +
+                ", cellName='" + cellName + '\'' +
+                ", lookups=" + lookups +
+                ", hits=" + hits +
+                ", evictions=" + evictions +
+                ", size=" + size +
+                ", sizeLimit=" + sizeLimit +
+                ", maxSize=" + maxSize +
+                ", disabled=" + disabled +
+                '}';
+    }
+}
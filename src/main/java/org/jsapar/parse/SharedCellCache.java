@@ -0,0 +1,129 @@
+package org.jsapar.parse;
+
+import org.jsapar.schema.SchemaCell;
+import org.jsapar.schema.SchemaCellFormat;
+
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntFunction;
+
+/**
+ * A thread safe cache of parsed cell values that can be shared by any number of parsers, also parsers that run
+ * concurrently. Since cells are immutable, a parsed cell can be re-used for every occurrence of the same text in the
+ * same column. By sharing the cache, parsers that use the same schema do not start with an empty cache and cells such
+ * as enums, booleans and common strings are only created once for the whole process. This reduces both the time spent
+ * parsing and the memory used when parsed lines are kept.
+ * <p>
+ * Values are cached per column where a column is identified by the cell name, the cell format and the locale of the
+ * schema cell. Since formats are compared by identity, parsers share the cache of a column when they use the same
+ * schema or schema cells that are copied from the same schema cell. The number of values for each column is limited.
+ * Columns where almost every value is unique disable their cache automatically so that they do not occupy any memory.
+ * <p>
+ * Use {@link org.jsapar.text.TextParseConfig#setSharedCellCache(SharedCellCache)} to let a parser use the shared cache.
+ * The same instance can be assigned to several configurations.
+ *
+ * @since 2.4
+ */
+public final class SharedCellCache {
+    /**
+     * The default maximum number of cell values that are cached for each column.
+     */
+    public static final int DEFAULT_MAX_SIZE_PER_COLUMN = 1024;
+
+    /**
+     * The maximum number of columns. Parsers of columns beyond that limit do not use the shared cache. This protects
+     * against unlimited growth if new schema cells are created for each parse, for instance from header lines.
+     */
+    private static final int MAX_COLUMNS = 4096;
+
+    private final int                                  maxSizePerColumn;
+    private final ConcurrentHashMap<ColumnKey, Object> columns = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a shared cache with the default max size per column.
+     */
+    public SharedCellCache() {
+        this(DEFAULT_MAX_SIZE_PER_COLUMN);
+    }
+
+    /**
+     * @param maxSizePerColumn The maximum number of cell values that are cached for each column.
+     */
+    public SharedCellCache(int maxSizePerColumn) {
+        if (maxSizePerColumn <= 0)
+            throw new IllegalArgumentException("Max size per column of a shared cell cache needs to be a positive value.");
+        this.maxSizePerColumn = maxSizePerColumn;
+    }
+
+    /**
+     * Internal method that returns the thread safe cache of the column of supplied schema cell. The cache of a column
+     * is created by the first caller, so all callers need to use the same type of cache.
+     *
+     * @param schemaCell   The schema cell of the column.
+     * @param cacheFactory Creates a new thread safe cache with the max size per column, if the column does not have a
+     *                     cache yet.
+     * @param <C>          The type of the cache.
+     * @return The cache of the column or null if the maximum number of columns has been reached.
+     */
+    @SuppressWarnings("unchecked")
+    public <C> C columnOf(SchemaCell schemaCell, IntFunction<C> cacheFactory) {
+        ColumnKey key = new ColumnKey(schemaCell);
+        Object column = columns.get(key);
+        if (column != null || columns.size() >= MAX_COLUMNS)
+            return (C) column;
+        return (C) columns.computeIfAbsent(key, k -> cacheFactory.apply(maxSizePerColumn));
+    }
+
+    /**
+     * @return The maximum number of cell values that are cached for each column.
+     */
+    public int getMaxSizePerColumn() {
+        return maxSizePerColumn;
+    }
+
+    /**
+     * @return The number of columns that have been added to this cache.
+     */
+    public int getColumnCount() {
+        return columns.size();
+    }
+
+    /**
+     * Removes all columns and their cached values. Parsers that are already created keep using the cache of their
+     * columns.
+     */
+    public void clear() {
+        columns.clear();
+    }
+
+    /**
+     * Identifies a column by all the properties that affect what cell is created from a text value.
+     */
+    private static final class ColumnKey {
+        private final String              name;
+        private final SchemaCellFormat<?> cellFormat;
+        private final Locale              locale;
+
+        ColumnKey(SchemaCell schemaCell) {
+            this.name = schemaCell.getName();
+            this.cellFormat = schemaCell.getCellFormat();
+            this.locale = schemaCell.getLocale();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof ColumnKey)) return false;
+            ColumnKey that = (ColumnKey) o;
+            return name.equals(that.name) &&
+                    cellFormat.equals(that.cellFormat) &&
+                    Objects.equals(locale, that.locale);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(name, cellFormat, locale);
+        }
+    }
+}
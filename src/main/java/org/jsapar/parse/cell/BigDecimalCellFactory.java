@@ -4,6 +4,8 @@ import org.jsapar.model.BigDecimalCell;
 import org.jsapar.model.Cell;
 import org.jsapar.schema.SchemaCellFormat;
 import org.jsapar.text.Format;
+import org.jsapar.text.format.DecimalFormat;
+import org.jsapar.text.format.ImpliedDecimalFormat;
 
 import java.math.BigDecimal;
 import java.text.ParseException;
@@ -22,7 +24,30 @@ public class BigDecimalCellFactory implements CellFactory {
      * @throws ParseException If there is an error parsing
      */
     @Override
-    public Cell makeCell(String name, String value, Format format) throws ParseException {
+    public BigDecimalCell makeCell(String name, String value, Format format) throws ParseException {
+        return makeCell(name, (CharSequence) value, format);
+    }
+
+    /**
+     * @param name   The name to give the newly created cell.
+     * @param value  The characters to parse.
+     * @param format The format object to use while parsing.
+     * @return A cell of type {@link BigDecimalCell}
+     * @throws ParseException If there is an error parsing
+     */
+    @Override
+    public BigDecimalCell makeCell(String name, CharSequence value, Format format) throws ParseException {
+        if (format instanceof ImpliedDecimalFormat) {
+            ImpliedDecimalFormat impliedDecimalFormat = (ImpliedDecimalFormat) format;
+            long unscaled = impliedDecimalFormat.parseUnscaled(value);
+            if (unscaled != ImpliedDecimalFormat.NOT_A_LONG)
+                return BigDecimalCell.of(name, unscaled, impliedDecimalFormat.getDecimals());
+        } else if (format instanceof DecimalFormat) {
+            BigDecimalCell cell = ((DecimalFormat) format).parseUnscaled(value,
+                    (unscaled, scale) -> BigDecimalCell.of(name, unscaled, scale));
+            if (cell != null)
+                return cell;
+        }
         return new BigDecimalCell(name, (BigDecimal) format.parse(value));
     }
 
@@ -31,7 +56,7 @@ public class BigDecimalCellFactory implements CellFactory {
      * @return A {@link java.text.NumberFormat} instance to use while parsing decimal values.
      */
     @Override
-    public Format makeFormat(Locale locale) {
+    public Format<BigDecimal> makeFormat(Locale locale) {
         return Format.ofDecimalInstance(locale);
     }
 
@@ -11,16 +11,21 @@ import java.util.Locale;
 /**
  * Parses boolean values into {@link Cell} objects
  */
-public class BooleanCellFactory implements CellFactory {
+public class BooleanCellFactory implements CellFactory<Boolean> {
     private final static Format<Boolean> defaultFormat = Format.ofBooleanInstance(true);
 
     @Override
-    public Cell makeCell(String name, String value, Format format) throws ParseException {
-        return new BooleanCell(name, (Boolean) format.parse(value));
+    public Cell<Boolean> makeCell(String name, String value, Format<Boolean> format) throws ParseException {
+        return BooleanCell.of(name, format.parse(value));
     }
 
     @Override
-    public Format makeFormat(Locale locale) {
+    public Cell<Boolean> makeCell(String name, CharSequence value, Format<Boolean> format) throws ParseException {
+        return BooleanCell.of(name, format.parse(value));
+    }
+
+    @Override
+    public Format<Boolean> makeFormat(Locale locale) {
         return defaultFormat;
     }
 
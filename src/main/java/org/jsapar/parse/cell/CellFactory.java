@@ -32,6 +32,22 @@ public interface CellFactory<T> {
      */
     Cell<? extends T> makeCell(String name, String value, Format<T> format) throws ParseException;
 
+    /**
+     * Parse and create a cell with the given name based on the characters and the provided format. Factories of cell
+     * types that can be parsed without creating a string should override this method. This implementation creates the
+     * cell from the string value of the characters. The supplied character sequence may be changed by the caller
+     * after this call, so the created cell should never keep a reference to it.
+     * @param name The name to give the newly created cell.
+     * @param value The characters to parse.
+     * @param format The format object to use while parsing.
+     * @return A new cell.
+     * @throws ParseException If parsing could not be done with the given format object.
+     * @since 2.4
+     */
+    default Cell<? extends T> makeCell(String name, CharSequence value, Format<T> format) throws ParseException {
+        return makeCell(name, value.toString(), format);
+    }
+
     /**
      * Create a default format object for the current cell type given the locale.
      * @param locale The locale to use for the format object.
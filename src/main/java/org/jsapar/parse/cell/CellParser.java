@@ -4,14 +4,19 @@ import org.jsapar.error.JSaParException;
 import org.jsapar.model.Cell;
 import org.jsapar.model.CellType;
 import org.jsapar.model.EmptyCell;
+import org.jsapar.parse.CellCacheStatistics;
 import org.jsapar.parse.CellParseException;
+import org.jsapar.parse.SharedCellCache;
 import org.jsapar.schema.SchemaCell;
 import org.jsapar.schema.SchemaException;
 import org.jsapar.text.Format;
+import org.jsapar.utils.cache.AdaptiveCache;
 import org.jsapar.utils.cache.Cache;
+import org.jsapar.utils.cache.StripedCache;
 
 import java.text.ParseException;
 import java.util.Locale;
+import java.util.Optional;
 import java.util.function.Consumer;
 
 /**
@@ -24,7 +29,14 @@ public class CellParser<S extends SchemaCell> {
     private final EmptyCell<?> emptyCell;
     private final CellFactory cellFactory;
     private Format<?> format;
-    private final Cache<String, Cell<?>> cellCache ;
+    private final Cache<? super String, Cell<?>> cellCache;
+    /**
+     * The same instance as cellCache if the cache is keyed by characters, otherwise null.
+     */
+    private final Cache<CharSequence, Cell<?>> charCache;
+    private final boolean cacheEnabled;
+    private final int actualCacheMaxSize;
+    private final boolean sharedCache;
     private static final String EMPTY_STRING = "";
 
 
@@ -34,12 +46,35 @@ public class CellParser<S extends SchemaCell> {
      * @param maxCacheSize The maximum number of cells to keep in cache while parsing. The value 0 will disable cache.
      */
     protected CellParser(S schemaCell, int maxCacheSize) {
+        this(schemaCell, maxCacheSize, null);
+    }
+
+    /**
+     * Creates cell parser according to supplied schema and with a maximum cache size.
+     * @param schemaCell The schema to use.
+     * @param maxCacheSize The maximum number of cells to keep in cache while parsing. The value 0 will disable cache.
+     * @param sharedCellCache A cache that is shared with other parsers or null if there is none. If the cache of this
+     *                        parser is enabled, the shared cache is used instead of a new cache.
+     */
+    protected CellParser(S schemaCell, int maxCacheSize, SharedCellCache sharedCellCache) {
         this.schemaCell = schemaCell;
 
         CellType cellType = schemaCell.getCellFormat().getCellType();
         cellFactory = CellFactory.getInstance(cellType);
         assert cellFactory != null;
-        cellCache = Cache.ofMaxSize(cellFactory.actualCacheMaxSize(schemaCell, maxCacheSize));
+        actualCacheMaxSize = cellFactory.actualCacheMaxSize(schemaCell, maxCacheSize);
+        Cache<CharSequence, Cell<?>> sharedColumn = actualCacheMaxSize > 0 && sharedCellCache != null
+                ? sharedCellCache.columnOf(schemaCell, StripedCache::new)
+                : null;
+        sharedCache = sharedColumn != null;
+        if (sharedColumn != null)
+            charCache = sharedColumn;
+        else if (actualCacheMaxSize > 2)
+            charCache = new AdaptiveCache<>(actualCacheMaxSize);
+        else
+            charCache = null;
+        cellCache = charCache != null ? charCache : Cache.ofMaxSize(actualCacheMaxSize);
+        cacheEnabled = actualCacheMaxSize > 0;
         format = schemaCell.getFormat();
         if(format == null)
             format  = cellFactory.makeFormat(schemaCell.getLocale());
@@ -52,6 +87,42 @@ public class CellParser<S extends SchemaCell> {
         this.emptyCell = schemaCell.makeEmptyCell();
     }
 
+    /**
+     * Creates a cell parser that shares the schema cell, format and default values with supplied cell parser but that
+     * has a new and empty cache of the same kind. A shared cell cache is thread-safe and is shared by the copy as well.
+     * Creating a copy is much cheaper than creating a new cell parser from the schema cell.
+     * @param template The cell parser to copy.
+     * @since 2.4
+     */
+    protected CellParser(CellParser<S> template) {
+        this.schemaCell = template.schemaCell;
+        this.cellFactory = template.cellFactory;
+        this.format = template.format;
+        this.defaultCell = template.defaultCell;
+        this.emptyCell = template.emptyCell;
+        this.cacheEnabled = template.cacheEnabled;
+        this.actualCacheMaxSize = template.actualCacheMaxSize;
+        this.sharedCache = template.sharedCache;
+        if (sharedCache)
+            charCache = template.charCache;
+        else if (template.charCache != null)
+            charCache = new AdaptiveCache<>(actualCacheMaxSize);
+        else
+            charCache = null;
+        cellCache = charCache != null ? charCache : Cache.ofMaxSize(actualCacheMaxSize);
+    }
+
+    /**
+     * Creates a copy of this cell parser that can be used by another thread or for another input. The copy does not
+     * share any state that changes while parsing with this instance.
+     * @return A copy of this cell parser with an empty cache.
+     * @see #CellParser(CellParser)
+     * @since 2.4
+     */
+    public CellParser<S> copy() {
+        return new CellParser<>(this);
+    }
+
     /**
      * Creates a cell with a parsed value according to the schema specification for this cell. This
      * method does not throw exception if mandatory cell does not exist. Instead, it reports an error
@@ -74,6 +145,38 @@ public class CellParser<S extends SchemaCell> {
         return doParse(sValue, errorEventListener);
     }
 
+    /**
+     * Creates a cell with a parsed value according to the schema specification for this cell. Unless there is an
+     * empty condition or the cell values are cached in a cache that is not keyed by characters, the characters are
+     * looked up in the cache and parsed by the format without creating any string first. This method does not throw exception if mandatory cell does not exist. Instead, it reports an error
+     * event and continues and may then return null.
+     *
+     * @param value              The characters of the cell value. May be changed by the caller after this call.
+     * @param errorEventListener Error event listener to deliver errors to.
+     * @return A new cell of a type according to the schema specified. Returns null if there was en error while parsing.
+     * @see Format#parse(CharSequence)
+     */
+    public Cell<?> parse(CharSequence value, Consumer<JSaParException> errorEventListener) {
+        if (value.length() == 0)
+            return parse(EMPTY_STRING, errorEventListener);
+        if ((cacheEnabled && charCache == null) || schemaCell.hasEmptyCondition())
+            return doParse(value.toString(), errorEventListener);
+        try {
+            Cell<?> cell = charCache != null ? charCache.get(value) : null;
+            if (cell == null) {
+                cell = makeCellOf(value);
+                if (charCache != null)
+                    charCache.put(value, cell);
+            }
+            validateRange(cell);
+            return cell;
+        } catch (java.text.ParseException e) {
+            errorEventListener.accept(
+                    new CellParseException(schemaCell.getName(), value.toString(), schemaCell.getCellFormat(), e));
+            return null;
+        }
+    }
+
     public boolean isDefaultValue() {
         return this.defaultCell != null;
     }
@@ -119,13 +222,21 @@ public class CellParser<S extends SchemaCell> {
         }
         Cell<?> cell = cellCache.get(sValue);
         if(cell == null) {
-            cell = cellFactory.makeCell(schemaCell.getName(), sValue, format);
+            cell = makeCellOf(sValue);
             cellCache.put(sValue, cell);
         }
         return cell;
 
     }
 
+    /**
+     * Parses a non-empty value with the cell factory, without looking it up in any cache. Both strings and other
+     * character sequences are parsed by the same method of the cell factory, which gives the same result for both.
+     */
+    private Cell<?> makeCellOf(CharSequence value) throws ParseException {
+        return cellFactory.makeCell(schemaCell.getName(), value, format);
+    }
+
 
     /**
      * Creates a new cell
@@ -172,6 +283,20 @@ public class CellParser<S extends SchemaCell> {
         }
     }
 
+    /**
+     * @param lineType The line type to report the statistics for.
+     * @return The statistics of the cell value cache or an empty optional if the cache of this cell parser does not
+     * adapt itself or if it is shared with other parsers.
+     * @since 2.4
+     */
+    public Optional<CellCacheStatistics> getCacheStatistics(String lineType) {
+        if (!(charCache instanceof AdaptiveCache))
+            return Optional.empty();
+        AdaptiveCache<?> cache = (AdaptiveCache<?>) charCache;
+        return Optional.of(new CellCacheStatistics(lineType, schemaCell.getName(), cache.getLookups(), cache.getHits(),
+                cache.getEvictions(), cache.getSize(), cache.getSizeLimit(), cache.getMaxSize(), cache.isDisabled()));
+    }
+
     public S getSchemaCell() {
         return schemaCell;
     }
@@ -201,4 +326,16 @@ public class CellParser<S extends SchemaCell> {
         return new CellParser<>(schemaCell, maxCacheSize);
     }
 
+    /**
+     * Creates cell parser according to supplied schema and with a maximum cache size.
+     * @param schemaCell The schema to use.
+     * @param maxCacheSize The maximum number of cells to keep in cache while parsing. The value 0 will disable cache.
+     * @param sharedCellCache A cache that is shared with other parsers or null if there is none.
+     * @return A {@link CellParser} instance to use for parsing supplied schemaCell.
+     * @param <S> The type of the schema cell.
+     */
+    public static <S extends SchemaCell> CellParser<S> ofSchemaCell(S schemaCell, int maxCacheSize, SharedCellCache sharedCellCache) {
+        return new CellParser<>(schemaCell, maxCacheSize, sharedCellCache);
+    }
+
 }
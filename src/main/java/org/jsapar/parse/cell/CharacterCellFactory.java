@@ -10,16 +10,22 @@ import java.util.Locale;
 /**
  * Parses character values into {@link Cell} objects
  */
-public class CharacterCellFactory implements CellFactory {
+public class CharacterCellFactory implements CellFactory<Character> {
 
     @Override
-    public Cell makeCell(String name, String value, Format format) throws ParseException {
-        final Character characterValue = (Character) format.parse(value);
-        return new CharacterCell(name, characterValue);
+    public Cell<Character> makeCell(String name, String value, Format<Character> format) throws ParseException {
+        final Character characterValue = format.parse(value);
+        return CharacterCell.of(name, characterValue);
     }
 
     @Override
-    public Format makeFormat(Locale locale) {
+    public Cell<Character> makeCell(String name, CharSequence value, Format<Character> format) throws ParseException {
+        final Character characterValue = format.parse(value);
+        return CharacterCell.of(name, characterValue);
+    }
+
+    @Override
+    public Format<Character> makeFormat(Locale locale) {
         return null;
     }
 
@@ -25,7 +25,8 @@ DateCellFactory implements CellFactory {
     @Override
     public Format makeFormat(Locale locale) {
         // If pattern is not specified we always use ISO format because Java default format sucks.
-        return Format.ofJavaTextFormat(ISO_DATE_FORMAT);
+        // The shared instance is used elsewhere, so the format needs its own copy.
+        return Format.ofJavaTextFormat((SimpleDateFormat) ISO_DATE_FORMAT.clone());
     }
 
     @Override
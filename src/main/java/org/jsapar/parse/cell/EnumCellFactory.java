@@ -21,6 +21,12 @@ public class EnumCellFactory<E extends Enum<E>> implements CellFactory<E> {
         return new EnumCell<>(name, enumValue);
     }
 
+    @Override
+    public Cell<E> makeCell(String name, CharSequence value, Format<E> format) throws ParseException {
+        E enumValue = format.parse(value);
+        return new EnumCell<>(name, enumValue);
+    }
+
     @Override
     public Format<E> makeFormat(Locale locale) {
         return null;
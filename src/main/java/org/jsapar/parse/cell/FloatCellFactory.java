@@ -3,6 +3,7 @@ package org.jsapar.parse.cell;
 import org.jsapar.model.Cell;
 import org.jsapar.model.FloatCell;
 import org.jsapar.text.Format;
+import org.jsapar.text.format.USDoubleFormat;
 
 import java.text.ParseException;
 import java.util.Locale;
@@ -13,13 +14,21 @@ import java.util.Locale;
 public class FloatCellFactory extends NumberCellFactory {
 
     @Override
-    public Cell makeCell(String name, String value, Format format) throws ParseException {
+    public FloatCell makeCell(String name, String value, Format format) throws ParseException {
         final Number number = super.parseNumber(format, value);
-        return new FloatCell(name, number instanceof Double ? (Double) number : number.doubleValue());
+        return FloatCell.of(name, number.doubleValue());
     }
 
     @Override
-    public Format makeFormat(Locale locale) {
+    public FloatCell makeCell(String name, CharSequence value, Format format) throws ParseException {
+        if (format instanceof USDoubleFormat)
+            return FloatCell.of(name, ((USDoubleFormat) format).parseDouble(value));
+        final Number number = super.parseNumber(format, value);
+        return FloatCell.of(name, number.doubleValue());
+    }
+
+    @Override
+    public Format<Number> makeFormat(Locale locale) {
         return Format.ofDoubleInstance(locale);
     }
 }
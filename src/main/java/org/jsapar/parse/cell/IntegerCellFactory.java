@@ -3,6 +3,7 @@ package org.jsapar.parse.cell;
 import org.jsapar.model.Cell;
 import org.jsapar.model.IntegerCell;
 import org.jsapar.text.Format;
+import org.jsapar.text.format.USIntegerFormat;
 
 import java.text.ParseException;
 import java.util.Locale;
@@ -12,13 +13,21 @@ import java.util.Locale;
  */
 public class IntegerCellFactory extends NumberCellFactory {
     @Override
-    public Cell makeCell(String name, String value, Format format) throws ParseException {
+    public IntegerCell makeCell(String name, String value, Format format) throws ParseException {
         Number number = super.parseNumber(format, value);
-        return new IntegerCell(name, number.longValue());
+        return IntegerCell.of(name, number.longValue());
     }
 
     @Override
-    public Format makeFormat(Locale locale) {
+    public IntegerCell makeCell(String name, CharSequence value, Format format) throws ParseException {
+        if (format instanceof USIntegerFormat)
+            return IntegerCell.of(name, ((USIntegerFormat) format).parseLong(value));
+        Number number = super.parseNumber(format, value);
+        return IntegerCell.of(name, number.longValue());
+    }
+
+    @Override
+    public Format<Number> makeFormat(Locale locale) {
         return Format.ofIntegerInstance(locale);
     }
 }
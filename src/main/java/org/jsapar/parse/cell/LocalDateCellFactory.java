@@ -23,7 +23,12 @@ public class LocalDateCellFactory extends AbstractDateTimeCellFactory {
     }
 
     @Override
-    public Cell makeCell(String name, String value, Format<TemporalAccessor> format) throws ParseException {
+    public Cell<LocalDate> makeCell(String name, String value, Format<TemporalAccessor> format) throws ParseException {
+        return new LocalDateCell(name, LocalDate.from(format.parse(value)));
+    }
+
+    @Override
+    public Cell<LocalDate> makeCell(String name, CharSequence value, Format<TemporalAccessor> format) throws ParseException {
         return new LocalDateCell(name, LocalDate.from(format.parse(value)));
     }
 
@@ -20,8 +20,13 @@ public class LocalDateTimeCellFactory extends AbstractDateTimeCellFactory{
     }
 
     @Override
-    public Cell makeCell(String name, String value, Format format) throws ParseException {
-        return new LocalDateTimeCell(name, LocalDateTime.from((TemporalAccessor) format.parse(value)));
+    public Cell<LocalDateTime> makeCell(String name, String value, Format<TemporalAccessor> format) throws ParseException {
+        return new LocalDateTimeCell(name, LocalDateTime.from(format.parse(value)));
+    }
+
+    @Override
+    public Cell<LocalDateTime> makeCell(String name, CharSequence value, Format<TemporalAccessor> format) throws ParseException {
+        return new LocalDateTimeCell(name, LocalDateTime.from(format.parse(value)));
     }
 
 }
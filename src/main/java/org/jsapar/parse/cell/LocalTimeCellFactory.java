@@ -23,8 +23,13 @@ public class LocalTimeCellFactory extends AbstractDateTimeCellFactory {
     }
 
     @Override
-    public Cell makeCell(String name, String value, Format format) throws ParseException {
-        return new LocalTimeCell(name, LocalTime.from((TemporalAccessor) format.parse(value)));
+    public Cell<LocalTime> makeCell(String name, String value, Format<TemporalAccessor> format) throws ParseException {
+        return new LocalTimeCell(name, LocalTime.from(format.parse(value)));
+    }
+
+    @Override
+    public Cell<LocalTime> makeCell(String name, CharSequence value, Format<TemporalAccessor> format) throws ParseException {
+        return new LocalTimeCell(name, LocalTime.from(format.parse(value)));
     }
 
 }
@@ -14,16 +14,20 @@ import java.util.Locale;
 public abstract class NumberCellFactory implements CellFactory {
 
     @Override
-    public Format makeFormat(Locale locale) {
+    public Format<Number> makeFormat(Locale locale) {
         return Format.ofNumberInstance(locale);
     }
 
-    Number parseNumber(Format format, String value) throws ParseException {
+    Number parseNumber(Format<?> format, String value) throws ParseException {
+        return  (Number) format.parse(value);
+    }
+
+    Number parseNumber(Format<?> format, CharSequence value) throws ParseException {
         return  (Number) format.parse(value);
     }
 
     @Override
-    public Format makeFormat(Locale locale, String pattern) {
+    public Format<Number> makeFormat(Locale locale, String pattern) {
         if (locale == null)
             locale = SchemaCellFormat.defaultLocale;
         if(pattern == null || pattern.isEmpty())
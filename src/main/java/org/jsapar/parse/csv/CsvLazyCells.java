@@ -0,0 +1,99 @@
+package org.jsapar.parse.csv;
+
+import org.jsapar.error.JSaParException;
+import org.jsapar.model.Cell;
+import org.jsapar.model.CellSlots;
+import org.jsapar.model.LazyCells;
+import org.jsapar.model.Line;
+import org.jsapar.parse.cell.CellParser;
+import org.jsapar.parse.line.LineDecoratorErrorConsumer;
+import org.jsapar.schema.CsvSchemaCell;
+import org.jsapar.utils.CharSlice;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Creates the cells of one parsed csv line from its raw cell values first when they are requested. The cells may be
+ * requested by another thread than the thread that parsed the line, see {@link Parsers}.
+ */
+final class CsvLazyCells implements LazyCells {
+    private static final String EMPTY_STRING = "";
+
+    private final Parsers parsers;
+    private final List<String> rawCells;
+    private final Consumer<JSaParException> errorConsumer;
+
+    /**
+     * @param parsers       The cell parsers of the line schema.
+     * @param rawCells      The raw cell values of the line. Must not be altered after this call.
+     * @param errorConsumer The error consumer to report cell errors to.
+     */
+    CsvLazyCells(Parsers parsers, List<String> rawCells, Consumer<JSaParException> errorConsumer) {
+        this.parsers = parsers;
+        this.rawCells = rawCells;
+        this.errorConsumer = errorConsumer;
+    }
+
+    @Override
+    public CellSlots getCellSlots() {
+        return parsers.cellSlots;
+    }
+
+    @Override
+    public Cell<?> createCell(int index, Line line) {
+        CellParser<CsvSchemaCell> cellParser = parsers.cellParsers().get(index);
+        CsvSchemaCell cellSchema = cellParser.getSchemaCell();
+        if (cellSchema.isIgnoreRead())
+            return cellSchema.isDefaultValue() ? cellParser.makeDefaultCell() : null;
+
+        LineDecoratorErrorConsumer lineErrorConsumer = new LineDecoratorErrorConsumer();
+        lineErrorConsumer.initialize(errorConsumer, line);
+        if (index < rawCells.size() && rawCells instanceof RawCells) {
+            CharSlice cellValue = ((RawCells) rawCells).get(index, new CharSlice());
+            if (cellSchema.isMaxLength())
+                cellValue.truncate(cellSchema.getMaxLength());
+            return cellParser.parse(cellValue, lineErrorConsumer);
+        }
+        String sCell = index < rawCells.size() ? rawCells.get(index) : EMPTY_STRING;
+        if (cellSchema.isMaxLength() && sCell.length() > cellSchema.getMaxLength())
+            sCell = sCell.substring(0, cellSchema.getMaxLength());
+        return cellParser.parse(sCell, lineErrorConsumer);
+    }
+
+    /**
+     * The cell parsers of a line schema together with the cell slots of the line schema. Shared by all the lines of
+     * the same line schema.
+     * <p>
+     * Since cell parsers are not thread safe, the cell parsers of the line parser are only used by the thread that
+     * created this instance. Any other thread that requests cells, for instance a worker thread of a parallel
+     * conversion, gets cell parsers of its own.
+     */
+    static final class Parsers {
+        private final List<CellParser<CsvSchemaCell>> cellParsers;
+        private final CellSlots cellSlots;
+        private final Thread owner = Thread.currentThread();
+        private final ThreadLocal<List<CellParser<CsvSchemaCell>>> otherThreadParsers;
+
+        /**
+         * @param cellParsers      The cell parsers in the same order as the supplied cell slots.
+         * @param cellParserMaker  Creates new cell parsers, equal to the supplied cell parsers, for other threads.
+         * @param cellSlots        The cell slots of the line schema.
+         */
+        Parsers(List<CellParser<CsvSchemaCell>> cellParsers,
+                Supplier<List<CellParser<CsvSchemaCell>>> cellParserMaker,
+                CellSlots cellSlots) {
+            this.cellParsers = cellParsers;
+            this.cellSlots = cellSlots;
+            this.otherThreadParsers = ThreadLocal.withInitial(cellParserMaker);
+        }
+
+        /**
+         * @return The cell parsers to use by the current thread.
+         */
+        List<CellParser<CsvSchemaCell>> cellParsers() {
+            return Thread.currentThread() == owner ? cellParsers : otherThreadParsers.get();
+        }
+    }
+}
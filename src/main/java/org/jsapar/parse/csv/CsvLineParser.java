@@ -4,6 +4,7 @@ import org.jsapar.error.JSaParException;
 import org.jsapar.model.Cell;
 import org.jsapar.model.Line;
 import org.jsapar.model.StringCell;
+import org.jsapar.parse.CellCacheStatistics;
 import org.jsapar.parse.LineParseException;
 import org.jsapar.parse.cell.CellParser;
 import org.jsapar.parse.line.LineDecoratorErrorConsumer;
@@ -11,12 +12,20 @@ import org.jsapar.parse.line.ValidationHandler;
 import org.jsapar.schema.CsvSchemaCell;
 import org.jsapar.schema.CsvSchemaLine;
 import org.jsapar.text.TextParseConfig;
+import org.jsapar.utils.CharSlice;
+import org.jsapar.utils.LineAccess;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Responsible for parsing csv lines
@@ -26,10 +35,19 @@ class CsvLineParser {
     private static final String                          EMPTY_STRING                    = "";
     private              CsvSchemaLine                   lineSchema;
     private              List<CellParser<CsvSchemaCell>> cellParsers;
+    private              CsvLazyCells.Parsers            lazyCellParsers;
+    private              int[]                           filterIndexes   = new int[0];
+    /**
+     * True if cells of this line type are skipped because of a projection.
+     */
+    private              boolean                         projected;
+    private final List<Predicate<String>>         cellFilters     = new ArrayList<>();
     private final TextParseConfig                 config;
     private              long                            usedCount                       = 0L;
     private final ValidationHandler          validationHandler          = new ValidationHandler();
     private final LineDecoratorErrorConsumer lineDecoratorErrorConsumer = new LineDecoratorErrorConsumer();
+    private              Line                            reusableLine;
+    private final CharSlice                       cellValue                  = new CharSlice();
     /**
      * Creates a csv line parser with the given line schema.
      *
@@ -48,15 +66,105 @@ class CsvLineParser {
     CsvLineParser(CsvSchemaLine lineSchema, TextParseConfig config) {
         this.lineSchema = lineSchema;
         this.config = config;
-        cellParsers = makeCellParsers(lineSchema);
+        setCellParsers(lineSchema);
+    }
+
+    /**
+     * Creates a csv line parser that shares the line schema, the compiled parts of the cell parsers and the cell
+     * filters with supplied line parser but none of the state that changes while parsing. Supplied line parser should
+     * not have been used for parsing.
+     *
+     * @param template The line parser to copy.
+     */
+    CsvLineParser(CsvLineParser template) {
+        this.lineSchema = template.lineSchema;
+        this.config = template.config;
+        this.cellParsers = template.cellParsers.stream().map(CellParser::copy).collect(Collectors.toList());
+        this.lazyCellParsers = template.lazyCellParsers != null
+                ? new CsvLazyCells.Parsers(cellParsers, cellParserMakerOf(cellParsers), lineSchema.getCellSlots())
+                : null;
+        this.filterIndexes = template.filterIndexes;
+        this.cellFilters.addAll(template.cellFilters);
+        this.projected = template.projected;
+    }
+
+    /**
+     * @param schemaLine The line schema to create cell parsers for.
+     */
+    private void setCellParsers(CsvSchemaLine schemaLine) {
+        this.cellParsers = makeCellParsers(schemaLine);
+        this.projected = config.getProjection(schemaLine.getLineType()).isPresent();
+        this.lazyCellParsers = config.isLazyCells()
+                ? new CsvLazyCells.Parsers(cellParsers, cellParserMakerOf(cellParsers), schemaLine.getCellSlots())
+                : null;
+
+        Map<String, Predicate<String>> filters = config.getCellFilters(lineSchema.getLineType());
+        cellFilters.clear();
+        filterIndexes = new int[filters.size()];
+        for (Map.Entry<String, Predicate<String>> filter : filters.entrySet()) {
+            int index = -1;
+            for (int i = 0; i < cellParsers.size(); i++) {
+                if (cellParsers.get(i).getSchemaCell().getName().equals(filter.getKey())) {
+                    index = i;
+                    break;
+                }
+            }
+            filterIndexes[cellFilters.size()] = index;
+            cellFilters.add(filter.getValue());
+        }
+    }
+
+    /**
+     * Tests the configured cell filters on the raw cell values of a line.
+     *
+     * @param rawCells The raw cell values of the line.
+     * @return True if the line passes all cell filters.
+     */
+    private boolean isPassingCellFilters(List<String> rawCells) {
+        for (int i = 0; i < filterIndexes.length; i++) {
+            int index = filterIndexes[i];
+            String value = index >= 0 && index < rawCells.size() ? rawCells.get(index) : EMPTY_STRING;
+            if (!cellFilters.get(i).test(value))
+                return false;
+        }
+        return true;
     }
 
     private List<CellParser<CsvSchemaCell>> makeCellParsers(CsvSchemaLine lineSchema) {
         return lineSchema.stream().map(this::makeCellParser).collect(Collectors.toList());
     }
 
+    /**
+     * @param cellParsers The cell parsers to create copies of.
+     * @return A supplier of new cell parsers for the same schema cells as supplied cell parsers.
+     */
+    private Supplier<List<CellParser<CsvSchemaCell>>> cellParserMakerOf(List<CellParser<CsvSchemaCell>> cellParsers) {
+        return () -> cellParsers.stream()
+                .map(CellParser::copy)
+                .collect(Collectors.toList());
+    }
+
+    private int cellCacheSizeOf(CsvSchemaLine lineSchema) {
+        return Math.min(config.getMaxCellCacheSize(), lineSchema.getOccurs() - 1);
+    }
+
     private CellParser<CsvSchemaCell> makeCellParser(CsvSchemaCell schemaCell) {
-        return CellParser.ofSchemaCell(schemaCell, Math.min(config.getMaxCellCacheSize(), lineSchema.getOccurs() - 1));
+        if (!config.isCellProjected(lineSchema.getLineType(), schemaCell.getName()))
+            schemaCell = CsvSchemaCell.builder(schemaCell.getName(), schemaCell)
+                    .withIgnoreRead(true)
+                    .withDefaultValue(null)
+                    .withMandatory(false)
+                    .build();
+        return CellParser.ofSchemaCell(schemaCell, cellCacheSizeOf(lineSchema), config.getSharedCellCache().orElse(null));
+    }
+
+    /**
+     * @return The statistics of the cell value caches of all cells that have a cache that adapts itself.
+     */
+    Stream<CellCacheStatistics> cellCacheStatistics() {
+        return cellParsers.stream()
+                .map(cellParser -> cellParser.getCacheStatistics(lineSchema.getLineType()))
+                .flatMap(Optional::stream);
     }
 
     /**
@@ -85,38 +193,103 @@ class CsvLineParser {
         }
 
         usedCount++;
-        if(lineSchema.isIgnoreRead())
+        if(lineSchema.isIgnoreRead() || !isPassingCellFilters(rawCells))
             return true;
 
-        // Create with same size as schema plus 1 to handle trailing cell separator which is quite common.
-        Line line = new Line(lineSchema.getLineType(), 1 + lineSchema.size(), lineReader.currentLineNumber());
+        if (lazyCellParsers != null)
+            return parseLazy(rawCells, lineReader.currentLineNumber(), listener, errorListener);
+
+        Line line = makeLine(lineReader.currentLineNumber());
         lineDecoratorErrorConsumer.initialize(errorListener, line);
 
-        java.util.Iterator<CellParser<CsvSchemaCell>> itParser = cellParsers.iterator();
-        for (String sCell : rawCells) {
-            if (itParser.hasNext()) {
-                addCellToLineBySchema(line, itParser.next(), sCell, lineDecoratorErrorConsumer);
+        // Cells are fetched by index so that no string is created for cells that are ignored.
+        final int schemaSize = cellParsers.size();
+        for (int i = 0; i < rawCells.size(); i++) {
+            if (i < schemaSize) {
+                addCellToLineBySchema(line, cellParsers.get(i), rawCells, i, lineDecoratorErrorConsumer);
             } else {
-                if(!addCellToLineWithoutSchema(line, sCell, errorListener))
+                if(!addCellToLineWithoutSchema(line, rawCells.get(i), errorListener))
                     return true;
             }
         }
-        if (line.size() <= 0)
+        // A line where all cells were skipped because of the projection is still a line.
+        if (line.size() <= 0 && !projected)
             return false;
 
         // We have to fill all the default values and mandatory items for remaining cells within the schema.
-        while (itParser.hasNext()) {
+        for (int i = rawCells.size(); i < schemaSize; i++) {
             if (!validationHandler.lineValidation(line.getLineNumber(), config.getOnLineInsufficient(), errorListener,
                     ()->"Insufficient number of cells could be read from the line of type " + lineSchema.getLineType())) {
                 return true;
             }
-            addCellToLineBySchema(line, itParser.next(), EMPTY_STRING, lineDecoratorErrorConsumer);
+            addCellToLineBySchema(line, cellParsers.get(i), rawCells, i, lineDecoratorErrorConsumer);
         }
 
         listener.accept( line );
         return true;
     }
 
+    /**
+     * @param lineNumber The line number of the line.
+     * @return A new line or, if configured, the same line instance as last time cleared from any cells.
+     */
+    private Line makeLine(long lineNumber) {
+        if (!config.isReuseLines())
+            return new Line(lineSchema.getLineType(), lineSchema.getCellSlots(), lineNumber);
+        if (reusableLine == null)
+            reusableLine = new Line(lineSchema.getLineType(), lineSchema.getCellSlots(), lineNumber);
+        reusableLine.clear();
+        LineAccess.setLineNumber(reusableLine, lineNumber);
+        return reusableLine;
+    }
+
+    /**
+     * Creates a line where cells are parsed first when they are requested. Validations on line level are still done
+     * here.
+     *
+     * @param rawCells      The raw cell values of the line.
+     * @param lineNumber    The line number of the line.
+     * @param listener      The event listener to receive the line.
+     * @param errorListener The error event listener.
+     * @return True (always).
+     */
+    private boolean parseLazy(List<String> rawCells,
+                              long lineNumber,
+                              Consumer<? super Line> listener,
+                              Consumer<JSaParException> errorListener) {
+        List<String> lineCells = rawCells instanceof RawCells ? ((RawCells) rawCells).copy() : List.copyOf(rawCells);
+        Line line = new Line(lineSchema.getLineType(), lineNumber,
+                new CsvLazyCells(lazyCellParsers, lineCells, errorListener));
+
+        for (int i = cellParsers.size(); i < lineCells.size(); i++) {
+            if (!addCellToLineWithoutSchema(line, lineCells.get(i), errorListener))
+                return true;
+        }
+        for (int i = lineCells.size(); i < cellParsers.size(); i++) {
+            if (!validationHandler.lineValidation(lineNumber, config.getOnLineInsufficient(), errorListener,
+                    ()->"Insufficient number of cells could be read from the line of type " + lineSchema.getLineType())) {
+                return true;
+            }
+        }
+        listener.accept(line);
+        return true;
+    }
+
+    /**
+     * @return The line schema currently used by this parser. If the first line is used as schema, this is the line
+     * schema that was built from the header line once it has been parsed.
+     */
+    CsvSchemaLine getLineSchema() {
+        return lineSchema;
+    }
+
+    /**
+     * @return True unless this parser still expects a header line that should be used as schema.
+     */
+    boolean isHeaderConsumed() {
+        return usedCount > 0 || !lineSchema.isFirstLineAsSchema();
+    }
+
     /**
      * Builds a CsvSchemaLine from a header line.
      *
@@ -146,7 +319,7 @@ class CsvLineParser {
         addMissingDefaultValuesFromMaster(schemaLineBuilder, masterLineSchema);
         checkMissingMandatoryValues(cellNames, masterLineSchema, errorListener);
         CsvSchemaLine schemaLine = schemaLineBuilder.build();
-        this.cellParsers = this.makeCellParsers(schemaLine);
+        setCellParsers(schemaLine);
         return schemaLine;
     }
 
@@ -194,14 +367,16 @@ class CsvLineParser {
      * Adds a cell to the line according to the schema.
      * @param line               The line to add a cell to
      * @param cellParser         The cell parser
-     * @param sCell              The string value of the cell
+     * @param rawCells           The string values of the cells of the line.
+     * @param index              The index of the cell. If beyond the raw cells, the cell value is empty.
      * @param errorEventListener The error event listener to report errors to.
      *
      */
     @SuppressWarnings("rawtypes")
     private void addCellToLineBySchema(Line line,
                                        CellParser<CsvSchemaCell> cellParser,
-                                       String sCell,
+                                       List<String> rawCells,
+                                       int index,
                                        Consumer<JSaParException> errorEventListener) {
 
         CsvSchemaCell cellSchema = cellParser.getSchemaCell();
@@ -210,9 +385,18 @@ class CsvLineParser {
                 line.addCell(cellParser.makeDefaultCell());
             return;
         }
-        if (cellSchema.isMaxLength() && sCell.length() > cellSchema.getMaxLength())
-            sCell = sCell.substring(0, cellSchema.getMaxLength());
-        Cell cell = cellParser.parse(sCell, errorEventListener);
+        Cell cell;
+        if (index < rawCells.size() && rawCells instanceof RawCells) {
+            CharSlice cellValue = ((RawCells) rawCells).get(index, this.cellValue);
+            if (cellSchema.isMaxLength())
+                cellValue.truncate(cellSchema.getMaxLength());
+            cell = cellParser.parse(cellValue, errorEventListener);
+        } else {
+            String sCell = index < rawCells.size() ? rawCells.get(index) : EMPTY_STRING;
+            if (cellSchema.isMaxLength() && sCell.length() > cellSchema.getMaxLength())
+                sCell = sCell.substring(0, cellSchema.getMaxLength());
+            cell = cellParser.parse(sCell, errorEventListener);
+        }
         if(cell != null){
             line.addCell(cell);
         }
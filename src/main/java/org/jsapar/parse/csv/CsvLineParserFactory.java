@@ -1,13 +1,21 @@
 package org.jsapar.parse.csv;
 
+import org.jsapar.parse.CellCacheStatistics;
+import org.jsapar.parse.line.LineMatcherIndex;
 import org.jsapar.text.TextParseConfig;
 import org.jsapar.schema.CsvSchema;
 import org.jsapar.schema.CsvSchemaLine;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Creates csv line parsers based on schema.
@@ -15,12 +23,95 @@ import java.util.List;
 class CsvLineParserFactory {
 
     private final List<CsvLineParserMatcher> lineParserMatchers;
+    /**
+     * All matchers, including those that are no longer needed.
+     */
+    private final List<CsvLineParserMatcher> allMatchers;
+    private final TextParseConfig            config;
+
+    /**
+     * Position of the control cell that line types are indexed by or -1 if line types are tested one by one.
+     */
+    private final int                                    controlPos;
+    private final LineMatcherIndex<CsvLineParserMatcher> matcherIndex;
 
     CsvLineParserFactory(CsvSchema schema, TextParseConfig config) {
-        lineParserMatchers = new LinkedList<>();
-        for (CsvSchemaLine schemaLine : schema.getSchemaLines()) {
-            lineParserMatchers.add(new CsvLineParserMatcher(schemaLine, config));
+        this(schema.getSchemaLines().stream()
+                .map(schemaLine -> new CsvLineParserMatcher(schemaLine, config))
+                .collect(Collectors.toCollection(LinkedList::new)), config);
+    }
+
+    private CsvLineParserFactory(List<CsvLineParserMatcher> lineParserMatchers, TextParseConfig config) {
+        this(lineParserMatchers, config, selectControlPos(lineParserMatchers));
+    }
+
+    private CsvLineParserFactory(List<CsvLineParserMatcher> lineParserMatchers, TextParseConfig config, int controlPos) {
+        this.config = config;
+        this.lineParserMatchers = lineParserMatchers;
+        this.allMatchers = new ArrayList<>(lineParserMatchers);
+        this.controlPos = controlPos;
+        this.matcherIndex = controlPos < 0 ? null
+                : new LineMatcherIndex<>(lineParserMatchers, matcher -> matcher.getControlLiterals().get(controlPos));
+    }
+
+    /**
+     * Selects the control cell position where most line types have a line condition with a literal value. Line types
+     * can only be indexed if all of them use the same cell separator and quote character.
+     * @param matchers The matchers of all line types.
+     * @return The selected position or -1 if it is not worth indexing line types.
+     */
+    private static int selectControlPos(List<CsvLineParserMatcher> matchers) {
+        if (matchers.isEmpty())
+            return -1;
+        CsvSchemaLine firstLine = matchers.get(0).getSchemaLine();
+        Map<Integer, Integer> literalCounts = new HashMap<>();
+        for (CsvLineParserMatcher matcher : matchers) {
+            CsvSchemaLine schemaLine = matcher.getSchemaLine();
+            if (!schemaLine.getCellSeparator().equals(firstLine.getCellSeparator()) || schemaLine.getQuoteChar() != firstLine.getQuoteChar())
+                return -1;
+            matcher.getControlLiterals().keySet().forEach(pos -> literalCounts.merge(pos, 1, Integer::sum));
+        }
+        return literalCounts.entrySet().stream()
+                .filter(e -> e.getValue() > 1)
+                .max(Map.Entry.<Integer, Integer>comparingByValue().thenComparing(Map.Entry.comparingByKey(Comparator.reverseOrder())))
+                .map(Map.Entry::getKey)
+                .orElse(-1);
+    }
+
+    /**
+     * The head of an input consists of all lines that are parsed by line types with a finite number of occurrences and
+     * of header lines that are used as schema. Once the head is consumed, the rest of the input can be parsed by
+     * independent parsers, see {@link #continuation()}.
+     * @return True if this factory will not parse any more head lines.
+     */
+    boolean isHeadConsumed() {
+        return lineParserMatchers.stream().allMatch(CsvLineParserMatcher::isHeadConsumed);
+    }
+
+    /**
+     * Creates a new factory that continues where this factory is right now. Can only be used once the head is
+     * consumed.
+     * @return A new factory with new line parsers that can be used independently of this factory.
+     * @see #isHeadConsumed()
+     */
+    CsvLineParserFactory continuation() {
+        List<CsvLineParserMatcher> continuedMatchers = new LinkedList<>();
+        for (CsvLineParserMatcher matcher : matcherIndex != null ? matcherIndex.matchers() : lineParserMatchers) {
+            continuedMatchers.add(matcher.continuation(config));
         }
+        return new CsvLineParserFactory(continuedMatchers, config);
+    }
+
+    /**
+     * Creates a new factory that starts from the beginning of an input, with new line parsers that share everything
+     * that does not change while parsing with the line parsers of this factory. Should only be called on a factory
+     * that has not been used for parsing.
+     * @return A new factory that can be used independently of this factory.
+     */
+    CsvLineParserFactory copy() {
+        return new CsvLineParserFactory(allMatchers.stream()
+                .map(CsvLineParserMatcher::new)
+                .collect(Collectors.toCollection(LinkedList::new)), config, controlPos);
     }
 
     /**
@@ -31,6 +122,8 @@ class CsvLineParserFactory {
     CsvLineParser makeLineParser(CsvLineReader lineReader) throws IOException {
         if (lineParserMatchers.isEmpty())
             return null;
+        if (matcherIndex != null)
+            return makeLineParserByIndex(lineReader);
         Iterator<CsvLineParserMatcher> iter = lineParserMatchers.iterator();
         boolean first = true;
         while (iter.hasNext()) {
@@ -56,6 +149,46 @@ class CsvLineParserFactory {
         return null;
     }
 
+    /**
+     * Reads the line once and finds the line type by the value of the indexed control cell. Empty lines are skipped.
+     * @param lineReader A {@link CsvLineReader} that can read csv lines.
+     * @return A line parser that can be used to parse the next line.
+     * @throws IOException If there is an io error.
+     */
+    private CsvLineParser makeLineParserByIndex(CsvLineReader lineReader) throws IOException {
+        CsvSchemaLine schemaLine = lineParserMatchers.get(0).getSchemaLine();
+        List<String> cells;
+        do {
+            cells = lineReader.readLine(schemaLine.getCellSeparator(), schemaLine.getQuoteChar());
+            if (cells.isEmpty() && lineReader.eofReached())
+                return null;
+        } while (cells.isEmpty());
+        // We only peek into the line to follow.
+        lineReader.reset();
+
+        final List<String> lineCells = cells;
+        String controlValue = cells.size() > controlPos ? cells.get(controlPos) : null;
+        CsvLineParserMatcher matcher = matcherIndex.findFirst(controlValue, m -> m.isMatching(lineCells));
+        if (matcher == null)
+            return null;
+        CsvLineParser lineParser = matcher.use();
+        if (!matcher.isOccursLeft()) {
+            // No longer needed
+            matcherIndex.remove(matcher);
+            lineParserMatchers.remove(matcher);
+        } else {
+            matcherIndex.matched(matcher);
+        }
+        return lineParser;
+    }
+
+    /**
+     * @return The statistics of the cell value caches of all cells that have a cache that adapts itself.
+     */
+    Stream<CellCacheStatistics> cellCacheStatistics() {
+        return allMatchers.stream().flatMap(CsvLineParserMatcher::cellCacheStatistics);
+    }
+
     boolean isEmpty() {
         return lineParserMatchers.isEmpty();
     }
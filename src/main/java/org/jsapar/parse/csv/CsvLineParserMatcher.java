@@ -1,12 +1,17 @@
 package org.jsapar.parse.csv;
 
+import org.jsapar.parse.CellCacheStatistics;
+import org.jsapar.parse.line.LineMatcherIndex;
 import org.jsapar.text.TextParseConfig;
 import org.jsapar.schema.CsvSchemaCell;
 import org.jsapar.schema.CsvSchemaLine;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 /**
  * Checks if line matches the current criteria defined within this line schema.
@@ -17,6 +22,7 @@ class CsvLineParserMatcher {
     private final CsvLineParser lineParser;
     private int occursLeft;
     private int maxControlPos;
+    private final Map<Integer, String> controlLiterals = new HashMap<>();
 
     /**
      * Creates a line parser matcher
@@ -24,19 +30,45 @@ class CsvLineParserMatcher {
      * @param config Behavior.
      */
     CsvLineParserMatcher(CsvSchemaLine schemaLine, TextParseConfig config) {
+        this(schemaLine, new CsvLineParser(schemaLine, config));
+    }
+
+    /**
+     * Creates a line parser matcher
+     * @param schemaLine The line schema to use for this matcher.
+     * @param lineParser The line parser to use when lines are matching.
+     */
+    private CsvLineParserMatcher(CsvSchemaLine schemaLine, CsvLineParser lineParser) {
         this.schemaLine = schemaLine;
         occursLeft = schemaLine.getOccurs();
-        lineParser = new CsvLineParser(schemaLine, config);
+        this.lineParser = lineParser;
         int pos = 0;
         for (CsvSchemaCell schemaCell : schemaLine) {
             if (schemaCell.hasLineCondition()) {
                 controlCells.add(new CsvControlCell(pos, schemaCell));
                 maxControlPos = pos;
+                final int literalPos = pos;
+                LineMatcherIndex.literalOf(schemaCell.getLineCondition())
+                        .ifPresent(literal -> controlLiterals.put(literalPos, literal));
             }
             pos++;
         }
     }
 
+    /**
+     * Creates a line parser matcher that shares the control cells with supplied matcher but that starts over with the
+     * number of occurrences and that has its own copy of the line parser.
+     * @param template The line parser matcher to copy. Should not have been used for parsing.
+     */
+    CsvLineParserMatcher(CsvLineParserMatcher template) {
+        this.schemaLine = template.schemaLine;
+        this.occursLeft = schemaLine.getOccurs();
+        this.lineParser = new CsvLineParser(template.lineParser);
+        this.maxControlPos = template.maxControlPos;
+        this.controlCells.addAll(template.controlCells);
+        this.controlLiterals.putAll(template.controlLiterals);
+    }
+
     /**
      * Creates a line parser object if next line to be parsed matches the criteria of this line chema.
      * @param lineReader A line reader to read the line from.
@@ -53,27 +85,69 @@ class CsvLineParserMatcher {
                 return null; // Empty line
             // We only peek into the line to follow.
             try {
-                if (cells.size() <= maxControlPos)
+                if (!isControlCellsMatching(cells))
                     return null;
-
-                for (CsvControlCell controlCell : controlCells) {
-
-                    String value = cells.get(controlCell.pos);
-                    if (value == null)
-                        return null;
-                    if (!controlCell.schemaCell.getLineCondition().test(value))
-                        return null;
-                }
             }
             finally {
                 lineReader.reset();
             }
         }
+        return use();
+    }
+
+    private boolean isControlCellsMatching(List<String> cells) {
+        if (cells.size() <= maxControlPos)
+            return false;
+
+        for (CsvControlCell controlCell : controlCells) {
+
+            String value = cells.get(controlCell.pos);
+            if (value == null)
+                return false;
+            if (!controlCell.schemaCell.getLineCondition().test(value))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Tests if an already read line matches the criteria of this line schema.
+     * @param cells The cells of a non-empty line that was read with the cell separator and quote character of this
+     *              line schema.
+     * @return True if the line matches and there are occurrences left.
+     */
+    boolean isMatching(List<String> cells) {
+        return occursLeft > 0 && (controlCells.isEmpty() || isControlCellsMatching(cells));
+    }
+
+    /**
+     * Registers one occurrence of this line type.
+     * @return The line parser to use for parsing the matching line.
+     */
+    CsvLineParser use() {
         if (!schemaLine.isOccursInfinitely())
             occursLeft--;
         return lineParser;
     }
 
+    /**
+     * @return The values, by cell position, that control cells with a literal line condition need to have.
+     */
+    Map<Integer, String> getControlLiterals() {
+        return controlLiterals;
+    }
+
+    /**
+     * @return The statistics of the cell value caches of all cells that have a cache that adapts itself.
+     */
+    Stream<CellCacheStatistics> cellCacheStatistics() {
+        return lineParser.cellCacheStatistics();
+    }
+
+    CsvSchemaLine getSchemaLine() {
+        return schemaLine;
+    }
+
     /**
      * Private internal class used to point to a control cell within a schema line.
      */
@@ -87,6 +161,29 @@ class CsvLineParserMatcher {
         }
     }
 
+    /**
+     * Creates a new matcher with a new line parser that continues where this matcher is right now. If the header line
+     * has already been used as schema, the new line parser uses the schema that was built from the header.
+     * Only matchers with infinite occurs can be continued.
+     * @param config Behavior.
+     * @return A new matcher that can be used independently of this one.
+     */
+    CsvLineParserMatcher continuation(TextParseConfig config) {
+        assert schemaLine.isOccursInfinitely() : "Only matchers with infinite occurs can be continued";
+        CsvSchemaLine parserSchemaLine = lineParser.isHeaderConsumed() && schemaLine.isFirstLineAsSchema()
+                ? CsvSchemaLine.builder(schemaLine.getLineType(), lineParser.getLineSchema()).withFirstLineAsSchema(false).build()
+                : schemaLine;
+        return new CsvLineParserMatcher(schemaLine, new CsvLineParser(parserSchemaLine, config));
+    }
+
+    /**
+     * @return True if this matcher can be used an infinite number of times and if it does not expect a header line
+     * anymore.
+     */
+    boolean isHeadConsumed() {
+        return schemaLine.isOccursInfinitely() && lineParser.isHeaderConsumed();
+    }
+
     /**
      * @return True if this line schema can be used regarding number of occurrences. False if number of occurrences are
      * exceeded.
@@ -43,6 +43,12 @@ public interface CsvLineReader {
      */
     boolean eofReached();
 
+    /**
+     * @return True if end of input was reached within a quoted cell at any time so that the cell had to be parsed again
+     * as if it was not quoted.
+     */
+    boolean eofReachedWithinQuotes();
+
     /**
      * @return The line number of the line last returned by readLine()
      */
@@ -57,4 +63,14 @@ public interface CsvLineReader {
      * Skip next line.
      */
     void skipLine() throws IOException;
+
+    /**
+     * Creates a reader that continues where this line reader stopped. Characters that were read ahead from the
+     * underlying reader but not consumed are supplied first. If {@link #reset()} was called after last call to
+     * {@link #readLine(String, char)}, the reader begins with the last line. This line reader can not be used after
+     * calling this method.
+     * @return A reader that continues where this line reader stopped.
+     * @throws IOException In case of an error in underlying IO.
+     */
+    Reader remainder() throws IOException;
 }
@@ -29,6 +29,7 @@ final class CsvLineReaderStates implements CsvLineReader {
     private final char lastEolChar;
 
     private boolean eof;
+    private boolean eofWithinQuotes;
     private boolean reset;
 
     private String cellSeparator=";";
@@ -93,6 +94,11 @@ final class CsvLineReaderStates implements CsvLineReader {
         return eof;
     }
 
+    @Override
+    public boolean eofReachedWithinQuotes() {
+        return eofWithinQuotes;
+    }
+
     @Override
     public long currentLineNumber() {
         return lineNumber;
@@ -103,6 +109,11 @@ final class CsvLineReaderStates implements CsvLineReader {
         return currentLine.isEmpty();
     }
 
+    @Override
+    public Reader remainder() throws IOException {
+        return buffer.remainder(reset);
+    }
+
     @Override
     public List<String> readLine(String cellSeparator, char quoteChar) throws IOException {
         if(reset)
@@ -127,6 +138,7 @@ final class CsvLineReaderStates implements CsvLineReader {
                 final int count = buffer.load();
                 if(count<1){
                     if(state == quotedCellState){
+                        eofWithinQuotes |= count < 0;
                         buffer.resetCell();
                         currentCellCreator.reset();
                         state=unquotedCellState;
@@ -0,0 +1,503 @@
+package org.jsapar.parse.csv;
+
+import org.jsapar.parse.LineParseException;
+import org.jsapar.schema.QuoteSyntax;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+import java.util.List;
+
+
+/**
+ * This implementation is table driven. Unquoted and quoted cell content is scanned in tight loops directly over the
+ * characters of the {@link ReadBuffer} until a character that may change the state is found. The few characters
+ * that surround quotes and cell boundaries are then classified and dispatched through a small transition table
+ * instead of through polymorphic state objects. Produces exactly the same result as {@link CsvLineReaderStates}.
+ */
+final class CsvLineReaderTable implements CsvLineReader {
+    // States
+    private static final int BEGIN_CELL = 0;
+    private static final int UNQUOTED_CELL = 1;
+    private static final int QUOTED_CELL = 2;
+    private static final int FOUND_END_QUOTE = 3;
+    private static final int FOUND_END_QUOTE_WITHIN = 4;
+
+    // Character classes
+    private static final int OTHER_CHAR = 0;
+    private static final int QUOTE_CHAR = 1;
+    private static final int SEPARATOR_CHAR = 2;
+    private static final int EOL_CHAR = 3;
+
+    // Actions
+    private static final byte START_UNQUOTED = 0;
+    private static final byte START_QUOTED = 1;
+    private static final byte BEGIN_SEPARATOR = 2;
+    private static final byte BEGIN_EOL = 3;
+    private static final byte END_QUOTE_SEPARATOR = 4;
+    private static final byte END_QUOTE_EOL = 5;
+    private static final byte REPEATED_END_QUOTE = 6;
+    private static final byte ESCAPED_QUOTE = 7;
+    private static final byte TEXT_AFTER_END_QUOTE = 8;
+    private static final byte WITHIN_QUOTE = 9;
+    private static final byte WITHIN_SEPARATOR = 10;
+    private static final byte WITHIN_EOL = 11;
+
+    /**
+     * Transitions indexed by [state][character class] when using {@link QuoteSyntax#FIRST_LAST}. States that are
+     * scanned in bulk have no entries.
+     */
+    private static final byte[][] FIRST_LAST_TRANSITIONS = {
+            /* BEGIN_CELL             */ {START_UNQUOTED, START_QUOTED, BEGIN_SEPARATOR, BEGIN_EOL},
+            /* UNQUOTED_CELL          */ null,
+            /* QUOTED_CELL            */ null,
+            /* FOUND_END_QUOTE        */ {TEXT_AFTER_END_QUOTE, REPEATED_END_QUOTE, END_QUOTE_SEPARATOR, END_QUOTE_EOL},
+            /* FOUND_END_QUOTE_WITHIN */ {TEXT_AFTER_END_QUOTE, WITHIN_QUOTE, WITHIN_SEPARATOR, WITHIN_EOL}
+    };
+
+    /**
+     * Transitions indexed by [state][character class] when using {@link QuoteSyntax#RFC4180}. States that are
+     * scanned in bulk have no entries.
+     */
+    private static final byte[][] RFC4180_TRANSITIONS = {
+            /* BEGIN_CELL             */ {START_UNQUOTED, START_QUOTED, BEGIN_SEPARATOR, BEGIN_EOL},
+            /* UNQUOTED_CELL          */ null,
+            /* QUOTED_CELL            */ null,
+            /* FOUND_END_QUOTE        */ {TEXT_AFTER_END_QUOTE, ESCAPED_QUOTE, END_QUOTE_SEPARATOR, END_QUOTE_EOL},
+            /* FOUND_END_QUOTE_WITHIN */ {TEXT_AFTER_END_QUOTE, WITHIN_QUOTE, WITHIN_SEPARATOR, WITHIN_EOL}
+    };
+
+    private final int maxLineLength;
+    private final byte[][] transitions;
+    private int state;
+    private final RawCells currentLine;
+    private final boolean crLfEol;
+    private final String lineSeparator;
+    private final char lastEolChar;
+
+    private boolean eof;
+    private boolean eofWithinQuotes;
+    private boolean reset;
+
+    private String cellSeparator=";";
+    private char lastCellSeparatorChar;
+    private boolean singleCharCellSeparator;
+    private char quoteChar='"';
+    private long lineNumber = 0;
+
+    private final ReadBuffer buffer;
+
+    private int currentCellOffset =0;
+    private int offsetFromEndQuote =0;
+    private int ignoresCount = 0;
+    private final int[] ignoresAt = new int[128];
+
+    /**
+     * @param lineSeparator  The line separator to use
+     * @param reader The reader to read characters from.
+     * @param allowReadAhead If true, reading from the reader can be optimized by reading larger chunks of data into a
+     *                       buffer but that can only be utilized if it is ok to read until the end of the file.
+     * @param maxLineLength The maximum number of characters in a line. Make sure that all lines fits within this size.
+     * @param quoteSyntax Determines the syntax of how quoted cells are parsed.
+     */
+    CsvLineReaderTable(String lineSeparator, Reader reader, boolean allowReadAhead, int maxLineLength, QuoteSyntax quoteSyntax) {
+        crLfEol = Arrays.asList("\n", "\r\n").contains(lineSeparator);
+        this.lineSeparator = lineSeparator;
+        lastEolChar = crLfEol ? '\n' : lineSeparator.charAt(lineSeparator.length()-1);
+
+        switch (quoteSyntax) {
+        case FIRST_LAST:
+            transitions = FIRST_LAST_TRANSITIONS;
+            break;
+        case RFC4180:
+            transitions = RFC4180_TRANSITIONS;
+            break;
+        default:
+            throw new AssertionError("Unsupported quote syntax while parsing: " + quoteSyntax);
+        }
+
+        currentLine = new RawCells();
+        this.maxLineLength = maxLineLength;
+        buffer = new ReadBuffer(reader, maxLineLength, (allowReadAhead ? maxLineLength : 1));
+
+        beginCell();
+    }
+
+    @Override
+    public void reset(){
+        this.eof=false;
+        this.reset=true;
+    }
+
+    @Override
+    public void skipLine() throws IOException {
+        if(reset){
+            reset = false;
+            return;
+        }
+        readLine(cellSeparator, quoteChar);
+    }
+
+    @Override
+    public boolean eofReached() {
+        return eof;
+    }
+
+    @Override
+    public boolean eofReachedWithinQuotes() {
+        return eofWithinQuotes;
+    }
+
+    @Override
+    public long currentLineNumber() {
+        return lineNumber;
+    }
+
+    @Override
+    public boolean lastLineWasEmpty() {
+        return currentLine.isEmpty();
+    }
+
+    @Override
+    public Reader remainder() throws IOException {
+        return buffer.remainder(reset);
+    }
+
+    @Override
+    public List<String> readLine(String cellSeparator, char quoteChar) throws IOException {
+        if(reset)
+            return lastLine(cellSeparator, quoteChar);
+        setLineCharacteristics(cellSeparator, quoteChar);
+        buffer.markLine();
+        lineNumber++;
+        return processLine();
+    }
+
+    private void setLineCharacteristics(String cellSeparator, char quoteChar){
+        this.cellSeparator = cellSeparator;
+        this.lastCellSeparatorChar = cellSeparator.charAt(cellSeparator.length()-1);
+        this.singleCharCellSeparator = cellSeparator.length() == 1;
+        this.quoteChar = quoteChar;
+    }
+
+    private List<String> processLine() throws IOException {
+        currentLine.clear();
+
+        while (true) {
+            if(buffer.cursor >= buffer.bufferSize){
+                final int count = buffer.load();
+                if(count<1){
+                    if(state == QUOTED_CELL){
+                        // Missing end quote. Parse the cell again as if it was unquoted.
+                        eofWithinQuotes |= count < 0;
+                        buffer.resetCell();
+                        resetCell();
+                        state = UNQUOTED_CELL;
+                        continue;
+                    }
+                    else if (count == 0){
+                        throw new LineParseException( lineNumber,
+                                "Maximum line size exceeded. More than " + maxLineLength + " bytes were read without finding a line separator or maybe there is a miss-placed start quote without matching end quote.");
+
+                    }
+                    this.eof = true;
+                    addToLineExcept(offsetFromEndQuote);
+                    return lineComplete();
+                }
+            }
+            switch (state) {
+            case UNQUOTED_CELL:
+                if (scanUnquoted())
+                    return lineComplete();
+                break;
+            case QUOTED_CELL:
+                scanQuoted();
+                break;
+            default:
+                if (transition(buffer.nextCharacter()))
+                    return lineComplete();
+            }
+        }
+    }
+
+    /**
+     * Scans unquoted cell content within the loaded part of the buffer until either a cell separator or a line
+     * separator is found or until the end of the loaded characters.
+     * @return True if end of line was reached.
+     */
+    private boolean scanUnquoted() {
+        final char[] chars = buffer.buffer;
+        final int end = buffer.bufferSize;
+        final char separatorChar = lastCellSeparatorChar;
+        final char eolChar = lastEolChar;
+        int cursor = buffer.cursor;
+        while (cursor < end) {
+            final char c = chars[cursor++];
+            if (c == separatorChar || c == eolChar) {
+                buffer.cursor = cursor;
+                if (c == separatorChar && tailOfCellMatches(cellSeparator)) {
+                    addToLineExcept(cellSeparator.length());
+                    beginCell();
+                    return false;
+                }
+                if (c == eolChar && endOfLineAddPending(0))
+                    return true;
+            }
+        }
+        buffer.cursor = cursor;
+        return false;
+    }
+
+    /**
+     * Scans quoted cell content within the loaded part of the buffer until a quote character is found or until the
+     * end of the loaded characters.
+     */
+    private void scanQuoted() {
+        final char[] chars = buffer.buffer;
+        final int end = buffer.bufferSize;
+        final char quote = quoteChar;
+        int cursor = buffer.cursor;
+        while (cursor < end) {
+            if (chars[cursor++] == quote) {
+                offsetFromEndQuote = 1;
+                state = FOUND_END_QUOTE;
+                break;
+            }
+        }
+        buffer.cursor = cursor;
+    }
+
+    private int charClass(char c) {
+        if (c == quoteChar)
+            return QUOTE_CHAR;
+        if (c == lastCellSeparatorChar)
+            return SEPARATOR_CHAR;
+        if (c == lastEolChar)
+            return EOL_CHAR;
+        return OTHER_CHAR;
+    }
+
+    /**
+     * Processes a single character in one of the states that are not scanned in bulk.
+     * @param c The character to process.
+     * @return True if end of line was reached.
+     */
+    private boolean transition(final char c) {
+        switch (transitions[state][charClass(c)]) {
+        case START_UNQUOTED:
+            state = UNQUOTED_CELL;
+            return false;
+        case START_QUOTED:
+            state = QUOTED_CELL;
+            currentCellOffset++;
+            return false;
+        case BEGIN_SEPARATOR:
+            if (singleCharCellSeparator) {
+                addEmptyToLine();
+                return false;
+            }
+            return beginEol(c);
+        case BEGIN_EOL:
+            return beginEol(c);
+        case END_QUOTE_SEPARATOR:
+            if (singleCharCellSeparator) {
+                addToLineExcept(2);
+                beginCell();
+                return false;
+            }
+            return endQuoteEol(c);
+        case END_QUOTE_EOL:
+            return endQuoteEol(c);
+        case REPEATED_END_QUOTE:
+            offsetFromEndQuote = 1;
+            return false;
+        case ESCAPED_QUOTE:
+            ignoreCurrent();
+            state = QUOTED_CELL;
+            return false;
+        case TEXT_AFTER_END_QUOTE:
+            offsetFromEndQuote++;
+            state = FOUND_END_QUOTE_WITHIN;
+            return false;
+        case WITHIN_QUOTE:
+            state = FOUND_END_QUOTE;
+            offsetFromEndQuote = 1;
+            return false;
+        case WITHIN_SEPARATOR:
+            if (tailOfCellMatches(cellSeparator)) {
+                if (cellSeparator.length() == offsetFromEndQuote)
+                    addToLineExcept(cellSeparator.length() + 1);
+                else
+                    addToLine(buffer.cellMark, buffer.cursor - buffer.cellMark - cellSeparator.length());
+                beginCell();
+                return false;
+            }
+            return withinEol(c);
+        case WITHIN_EOL:
+            return withinEol(c);
+        default:
+            throw new AssertionError("Unexpected transition while parsing csv in state " + state);
+        }
+    }
+
+    /**
+     * Processes a character that may be the last character of a line separator at the beginning of a cell.
+     * @param c The character to process.
+     * @return True if end of line was reached.
+     */
+    private boolean beginEol(final char c) {
+        if (c == lastEolChar && endOfLineAddPending(0))
+            return true; // An empty line without cells.
+        state = UNQUOTED_CELL;
+        return false;
+    }
+
+    /**
+     * Processes a character that may be the last character of a line separator directly after an end quote.
+     * @param c The character to process.
+     * @return True if end of line was reached.
+     */
+    private boolean endQuoteEol(final char c) {
+        if (c == lastEolChar && endOfLineAddPending(1))
+            return true;
+        offsetFromEndQuote++;
+        state = FOUND_END_QUOTE_WITHIN;
+        return false;
+    }
+
+    /**
+     * Processes a character that may be the last character of a line separator after text that follows an end quote.
+     * @param c The character to process.
+     * @return True if end of line was reached.
+     */
+    private boolean withinEol(final char c) {
+        if (c == lastEolChar) {
+            final int eolSize = eolMatchSize();
+            if (eolSize == offsetFromEndQuote) {
+                addToLineExcept(eolSize + offsetFromEndQuote - 1);
+                return true;
+            }
+            else if (eolSize > 0) {
+                addToLine(buffer.cellMark, buffer.cursor - buffer.cellMark - eolSize);
+                return true;
+            }
+        }
+        offsetFromEndQuote++;
+        return false;
+    }
+
+    private List<String> lineComplete() {
+        beginCell();
+        if(currentLine.isSingleBlankCell())
+            currentLine.clear();
+        return currentLine;
+    }
+
+    /**
+     * Parses last line again but use different separator and quote character.
+     * @param cellSeparator The new cell separator to use.
+     * @param quoteChar The quote character to use.
+     * @return A line
+     * @throws IOException In case of underlying io error.
+     */
+    private List<String> lastLine(String cellSeparator, char quoteChar) throws IOException {
+        reset=false;
+        if(quoteChar==this.quoteChar && cellSeparator.equals(this.cellSeparator))
+            return currentLine;
+        buffer.resetLine();
+        setLineCharacteristics(cellSeparator, quoteChar);
+        return processLine();
+    }
+
+    /**
+     * Sets state to begin of cell and resets cell offsets.
+     */
+    private void beginCell() {
+        state = BEGIN_CELL;
+        buffer.markCell();
+        resetCell();
+    }
+
+    private void resetCell(){
+        currentCellOffset=0;
+        offsetFromEndQuote=0;
+        ignoresCount=0;
+    }
+
+    /**
+     * Checks tail of current cell matches supplied string. Assumes that the current character is already checked.
+     * @param toMatch The string to match
+     * @return True if tail of current cell matches supplied string if the supplied character were to be added.
+     */
+    private boolean tailOfCellMatches(String toMatch){
+        int cellOffset = buffer.cursor -toMatch.length();
+        if(cellOffset < buffer.cellMark) {
+            return false;
+        }
+        // Scan backwards to see if characters before matches. Start at character before current.
+        for(int i = toMatch.length()-2; i>=0; i--){
+            if(toMatch.charAt(i) !=  buffer.buffer[cellOffset + i])
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Assumes that last character read was the last character of the line separator.
+     * @return The number of characters of the line separator that matches or 0 if not end of line.
+     */
+    private int eolMatchSize() {
+        if (crLfEol)
+            return (buffer.cursor > 2 && buffer.buffer[buffer.cursor - 2] == '\r') ? 2 : 1;
+        return tailOfCellMatches(lineSeparator) ? lineSeparator.length() : 0;
+    }
+
+    private boolean endOfLineAddPending(int skip){
+        int size = eolMatchSize();
+        if(size<=0)
+            return false;
+        addToLineExcept(size+skip);
+        return true;
+    }
+
+    /**
+     * Adds a completed cell to a line.
+     * @param except Number of characters to skip from end while adding cell to line.
+     */
+    private void addToLineExcept(int except) {
+        final int cellStart = buffer.cellMark + currentCellOffset;
+        addToLine(cellStart, buffer.cursor-except-cellStart);
+    }
+
+    /**
+     * Adds a completed cell to a line.
+     * @param offset Begin index
+     * @param count Number of characters to add
+     */
+    private void addToLine(int offset, int count) {
+        if (ignoresCount==0)
+            currentLine.append(buffer.buffer, offset, count);
+        else{
+            for (int i = 0; i<ignoresCount; i++) {
+                int toAdd = ignoresAt[i]-offset;
+                currentLine.append(buffer.buffer, offset, toAdd);
+                offset=ignoresAt[i]+1;
+                count-=(1+toAdd);
+            }
+            currentLine.append(buffer.buffer, offset, count);
+        }
+        currentLine.endCell();
+    }
+
+    private void addEmptyToLine() {
+        currentLine.endCell();
+        buffer.markCell();
+        currentCellOffset = 0;
+    }
+
+    private void ignoreCurrent(){
+        if(ignoresCount<ignoresAt.length)
+            ignoresAt[ignoresCount++] = buffer.cursor-1;
+    }
+
+}
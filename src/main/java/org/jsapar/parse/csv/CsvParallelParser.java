@@ -0,0 +1,387 @@
+package org.jsapar.parse.csv;
+
+import org.jsapar.error.JSaParException;
+import org.jsapar.model.Line;
+import org.jsapar.parse.text.ByteSourceReader;
+import org.jsapar.parse.text.ParsedChunk;
+import org.jsapar.schema.CsvSchema;
+import org.jsapar.schema.CsvSchemaLine;
+import org.jsapar.text.TextParseConfig;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Internal class for parsing a csv file by splitting it into chunks that are parsed in parallel.
+ * <p>
+ * The file is split into byte ranges. The beginning of each range is moved forward to the first line separator
+ * that is not within a quoted cell, assuming that the number of quote characters before it is even. That assumption is
+ * speculative since a quote character that is not first within a cell is not considered as a quote. Each range is then
+ * parsed on a worker of a {@link ForkJoinPool} with its own line parsers. The results are delivered in order on the
+ * calling thread, with line numbers adjusted to the position within the complete file. A range is only delivered if the
+ * previous range ended exactly at the end of a line. Otherwise the two ranges are merged and parsed again.
+ * <p>
+ * The head of the file, consisting of header lines that are used as schema and lines of line types with a
+ * finite number of occurrences, is parsed first. The other ranges are parsed by continuations of the line parsers
+ * that parsed the head. If the head cannot be parsed within the first range, for instance when there is a line type
+ * with a finite number of occurrences that occurs at the end of the file, the whole file is parsed sequentially
+ * instead. The file is also parsed sequentially if the character set is not one of US-ASCII, ISO-8859-1 or UTF-8 or if
+ * the line separator contains characters that are not encoded as single bytes.
+ * <p>
+ * If the schema contains line types with line conditions that can match the same line, the line type that is chosen
+ * may differ from a sequential parse.
+ * <p>
+ * The parsed lines of a chunk are kept in memory until the chunk is delivered. The number of chunks that are parsed
+ * ahead of the delivery is limited so that they span at most about 32 MB of the file, regardless of the file size.
+ * Since a parsed line takes several times as much heap as its text, the heap needed for the parsed lines is a multiple
+ * of that. This is the case also when lines are reused since each line of a chunk then has to be copied.
+ */
+public class CsvParallelParser {
+    private static final long MIN_CHUNK_SIZE = 1024L * 1024L;
+    private static final long MAX_CHUNK_SIZE = 4L * 1024L * 1024L;
+    /** The maximum total size of the chunks that are parsed but not yet delivered. */
+    private static final long MAX_IN_FLIGHT_SIZE = 32L * 1024L * 1024L;
+
+    private final Path            path;
+    private final Charset         charset;
+    private final CsvSchema       schema;
+    private final TextParseConfig parseConfig;
+    private final int             parallelism;
+    private final long            chunkSize;
+
+    /**
+     * @param path        The path of the file to parse.
+     * @param charset     The character set of the file.
+     * @param schema      The schema to use.
+     * @param parseConfig Parse configuration.
+     * @param parallelism The maximum number of threads to use while parsing.
+     */
+    public CsvParallelParser(Path path, Charset charset, CsvSchema schema, TextParseConfig parseConfig, int parallelism) {
+        this(path, charset, schema, parseConfig, parallelism, 0L);
+    }
+
+    /**
+     * @param chunkSize The size in bytes of each chunk. 0 means that chunk size is calculated from file size and
+     *                  parallelism.
+     */
+    CsvParallelParser(Path path, Charset charset, CsvSchema schema, TextParseConfig parseConfig, int parallelism, long chunkSize) {
+        this.path = path;
+        this.charset = charset;
+        this.schema = schema;
+        this.parseConfig = parseConfig;
+        this.parallelism = parallelism;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Parses the file and delivers the lines in order to supplied line consumer on the calling thread.
+     *
+     * @param lineConsumer  The line consumer which will receive each parsed line.
+     * @param errorConsumer The error consumer that will receive each error.
+     * @return Number of lines parsed
+     * @throws IOException If there is an error reading the file.
+     */
+    public long parse(Consumer<Line> lineConsumer, Consumer<JSaParException> errorConsumer) throws IOException {
+        if (schema.isEmpty())
+            return 0;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            final long chunkSize = chunkSizeOf(size);
+            final byte[] lineSeparator = encodeAsSingleBytes(lineSeparatorToFind());
+            if (parallelism < 2 || size <= chunkSize || lineSeparator == null)
+                return parseSequentially(channel, lineConsumer, errorConsumer);
+
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                return parseInChunks(channel, size, chunkSize, lineSeparator, pool, lineConsumer, errorConsumer);
+            } finally {
+                pool.shutdownNow();
+            }
+        }
+    }
+
+    private long parseSequentially(FileChannel channel, Consumer<Line> lineConsumer, Consumer<JSaParException> errorConsumer) throws IOException {
+        channel.position(0L);
+        return new CsvParser(ByteSourceReader.ofFile(channel, charset), schema, parseConfig).parse(lineConsumer, errorConsumer);
+    }
+
+    private long parseInChunks(FileChannel channel,
+                               long size,
+                               long chunkSize,
+                               byte[] lineSeparator,
+                               ForkJoinPool pool,
+                               Consumer<Line> lineConsumer,
+                               Consumer<JSaParException> errorConsumer) throws IOException {
+        final List<Long> begins = findChunkBegins(channel, size, chunkSize, lineSeparator, pool);
+        final List<Long> ends = new ArrayList<>(begins.subList(1, begins.size()));
+        ends.add(size);
+        if (begins.size() < 2)
+            return parseSequentially(channel, lineConsumer, errorConsumer);
+
+        // The head is parsed first since the other chunks need to continue where the head ended.
+        final ChunkResult first = new ChunkResult(parseConfig);
+        final CsvParser firstParser = makeParser(channel, 0L, ends.get(0), new CsvLineParserFactory(schema, parseConfig));
+        final long headCount;
+        try {
+            headCount = firstParser.parseHead(first.parsed, first.parsed.errorConsumer());
+        } catch (RuntimeException e) {
+            // Let a sequential parse report the error
+            return parseSequentially(channel, lineConsumer, errorConsumer);
+        }
+        final CsvLineParserFactory headFactory = firstParser.getLineParserFactory();
+        if (firstParser.isEofReached() || !headFactory.isHeadConsumed())
+            return parseSequentially(channel, lineConsumer, errorConsumer);
+        if (headFactory.isEmpty()) {
+            // Nothing more to parse
+            first.parsed.deliver(0L, lineConsumer, errorConsumer);
+            return headCount;
+        }
+        final CsvLineParserFactory template = headFactory.continuation();
+
+        final List<Future<ChunkResult>> futures = new ArrayList<>();
+        futures.add(pool.submit(() -> {
+            parseChunk(firstParser, first);
+            first.parsed.setParsedCount(first.parsed.getParsedCount() + headCount);
+            return first;
+        }));
+        final int maxInFlight = maxInFlightOf(chunkSize);
+        long lineNumberOffset = 0L;
+        long parsedCount = 0L;
+        int current = 0;
+        while (true) {
+            while (futures.size() < begins.size() && futures.size() - current < maxInFlight) {
+                final int index = futures.size();
+                futures.add(pool.submit(parseTask(channel, begins.get(index), ends.get(index), template)));
+            }
+            final ChunkResult result = await(futures.get(current));
+            final boolean last = current == begins.size() - 1;
+            if (!last && result.eofReached && !result.endedAtLineBoundary) {
+                // Next chunk does not begin with a new line. Merge it with current chunk and parse again.
+                futures.remove(current + 1).cancel(false);
+                begins.remove(current + 1);
+                ends.remove(current);
+                futures.set(current, pool.submit(parseTask(channel, begins.get(current), ends.get(current), template)));
+                continue;
+            }
+            result.parsed.deliver(lineNumberOffset, lineConsumer, errorConsumer);
+            parsedCount += result.parsed.getParsedCount();
+            if (last || !result.eofReached)
+                return parsedCount; // Parsing was stopped before end of chunk, same as if parsed sequentially.
+            // Reaching end of chunk counts as reading an empty line.
+            lineNumberOffset += result.readLineCount - 1;
+            futures.set(current, null);
+            current++;
+        }
+    }
+
+    private Callable<ChunkResult> parseTask(FileChannel channel, long begin, long end, CsvLineParserFactory template) {
+        if (begin == 0L) {
+            // The first chunk contains the head, which is parsed again from the beginning.
+            return () -> parseChunk(makeParser(channel, begin, end, new CsvLineParserFactory(schema, parseConfig)), new ChunkResult(parseConfig));
+        }
+        final CsvLineParserFactory factory = template.continuation();
+        return () -> parseChunk(makeParser(channel, begin, end, factory), new ChunkResult(parseConfig));
+    }
+
+    private CsvParser makeParser(FileChannel channel, long begin, long end, CsvLineParserFactory factory) throws IOException {
+        return new CsvParser(ByteSourceReader.ofFileRange(channel, charset, begin, end), schema, factory, parseConfig);
+    }
+
+    private static ChunkResult parseChunk(CsvParser parser, ChunkResult result) throws IOException {
+        try {
+            result.parsed.setParsedCount(parser.parse(result.parsed, result.parsed.errorConsumer()));
+        } catch (RuntimeException e) {
+            result.parsed.setFailure(e);
+        }
+        result.eofReached = parser.isEofReached();
+        result.endedAtLineBoundary = parser.isEndedAtLineBoundary();
+        result.readLineCount = parser.currentLineNumber();
+        return result;
+    }
+
+    /**
+     * Finds the positions where chunks begin. The first chunk always begins at position 0.
+     */
+    private List<Long> findChunkBegins(FileChannel channel, long size, long chunkSize, byte[] lineSeparator, ForkJoinPool pool) throws IOException {
+        final int count = (int) Math.min(Integer.MAX_VALUE, (size + chunkSize - 1) / chunkSize);
+        final int quote = findQuoteByte();
+        final boolean[] withinQuotes = new boolean[count];
+        if (quote >= 0) {
+            List<Callable<Long>> counters = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                final long begin = i * chunkSize;
+                final long end = Math.min(size, begin + chunkSize);
+                counters.add(() -> countQuotes(channel, begin, end, quote));
+            }
+            long quotes = 0L;
+            int i = 0;
+            for (Future<Long> future : invokeAll(pool, counters)) {
+                withinQuotes[i++] = (quotes & 1L) == 1L;
+                quotes += await(future);
+            }
+        }
+        List<Callable<Long>> finders = new ArrayList<>(count);
+        for (int i = 1; i < count; i++) {
+            final long begin = i * chunkSize;
+            final long end = Math.min(size, begin + chunkSize);
+            final boolean quoted = withinQuotes[i];
+            finders.add(() -> findLineBegin(channel, begin, end, lineSeparator, quote, quoted));
+        }
+        List<Long> begins = new ArrayList<>(count);
+        begins.add(0L);
+        for (Future<Long> future : invokeAll(pool, finders)) {
+            final long begin = await(future);
+            if (begin > 0L && begin < size)
+                begins.add(begin);
+        }
+        return begins;
+    }
+
+    private static long countQuotes(FileChannel channel, long begin, long end, int quote) throws IOException {
+        final ByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, begin, end - begin);
+        final int limit = bytes.limit();
+        long count = 0L;
+        for (int i = 0; i < limit; i++) {
+            if ((bytes.get(i) & 0xFF) == quote)
+                count++;
+        }
+        return count;
+    }
+
+    /**
+     * @return The position after the first line separator that is not within quotes or -1 if there is no such line
+     * separator within the range.
+     */
+    private static long findLineBegin(FileChannel channel, long begin, long end, byte[] lineSeparator, int quote, boolean withinQuotes) throws IOException {
+        final ByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, begin, end - begin);
+        final int limit = bytes.limit();
+        final int lastOfSeparator = lineSeparator[lineSeparator.length - 1] & 0xFF;
+        boolean quoted = withinQuotes;
+        for (int i = 0; i < limit; i++) {
+            final int b = bytes.get(i) & 0xFF;
+            if (b == quote)
+                quoted = !quoted;
+            else if (b == lastOfSeparator && !quoted && endsWith(bytes, i, lineSeparator))
+                return begin + i + 1;
+        }
+        return -1L;
+    }
+
+    private static boolean endsWith(ByteBuffer bytes, int index, byte[] toMatch) {
+        final int offset = index - toMatch.length + 1;
+        if (offset < 0)
+            return false;
+        for (int i = toMatch.length - 2; i >= 0; i--) {
+            if (bytes.get(offset + i) != toMatch[i])
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return The byte value of the quote character if all line types use the same quote character, -1 otherwise.
+     */
+    private int findQuoteByte() {
+        List<Character> quoteChars = schema.stream()
+                .filter(CsvSchemaLine::isQuoteCharUsed)
+                .map(CsvSchemaLine::getQuoteChar)
+                .distinct()
+                .collect(Collectors.toList());
+        if (quoteChars.size() != 1)
+            return -1;
+        byte[] quote = encodeAsSingleBytes(String.valueOf(quoteChars.get(0)));
+        return quote == null ? -1 : quote[0] & 0xFF;
+    }
+
+    private String lineSeparatorToFind() {
+        final String lineSeparator = schema.getLineSeparator();
+        // Both LF and CR+LF are accepted as line separator by the line reader.
+        return lineSeparator.equals("\r\n") ? "\n" : lineSeparator;
+    }
+
+    /**
+     * @return The encoded bytes of supplied string or null if the characters are not encoded as exactly one byte each.
+     */
+    private byte[] encodeAsSingleBytes(String s) {
+        if (s.isEmpty() || !ByteSourceReader.isDecodedDirectly(charset))
+            return null;
+        final int maxChar = StandardCharsets.ISO_8859_1.equals(charset) ? 0xFF : 0x7F;
+        byte[] bytes = new byte[s.length()];
+        for (int i = 0; i < s.length(); i++) {
+            final char c = s.charAt(i);
+            if (c > maxChar)
+                return null;
+            bytes[i] = (byte) c;
+        }
+        return bytes;
+    }
+
+    private long chunkSizeOf(long fileSize) {
+        if (chunkSize > 0L)
+            return chunkSize;
+        final long perThread = fileSize / (4L * Math.max(1, parallelism));
+        final long inFlightLimited = MAX_IN_FLIGHT_SIZE / (2L * Math.max(1, parallelism));
+        return Math.max(MIN_CHUNK_SIZE, Math.min(Math.min(MAX_CHUNK_SIZE, inFlightLimited), perThread));
+    }
+
+    /**
+     * @return The maximum number of chunks that are parsed but not yet delivered.
+     */
+    private int maxInFlightOf(long chunkSize) {
+        return (int) Math.max(1L, Math.min(parallelism * 2L, MAX_IN_FLIGHT_SIZE / chunkSize));
+    }
+
+    private static <T> List<Future<T>> invokeAll(ForkJoinPool pool, List<Callable<T>> tasks) throws IOException {
+        try {
+            return pool.invokeAll(tasks);
+        } catch (RuntimeException e) {
+            throw new IOException("Failed to split file into chunks", e);
+        }
+    }
+
+    private static <T> T await(Future<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for parallel parsing to complete");
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof IOException)
+                throw (IOException) cause;
+            if (cause instanceof RuntimeException)
+                throw (RuntimeException) cause;
+            if (cause instanceof Error)
+                throw (Error) cause;
+            throw new IOException(cause);
+        }
+    }
+
+    /**
+     * The result of parsing one chunk.
+     */
+    private static final class ChunkResult {
+        private final ParsedChunk parsed;
+        private       boolean     eofReached;
+        private       boolean     endedAtLineBoundary;
+        private       long        readLineCount;
+
+        private ChunkResult(TextParseConfig parseConfig) {
+            this.parsed = new ParsedChunk(parseConfig.isReuseLines());
+        }
+    }
+}
@@ -2,17 +2,20 @@ package org.jsapar.parse.csv;
 
 import org.jsapar.error.JSaParException;
 import org.jsapar.model.Line;
+import org.jsapar.parse.CellCacheStatistics;
 import org.jsapar.parse.line.ValidationHandler;
 import org.jsapar.parse.text.TextSchemaParser;
 import org.jsapar.schema.CsvSchema;
-import org.jsapar.schema.SchemaLine;
 import org.jsapar.text.TextParseConfig;
 
 import java.io.IOException;
 import java.io.Reader;
 import java.io.UncheckedIOException;
+import java.util.List;
 import java.util.Spliterator;
+import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
@@ -31,21 +34,56 @@ public class CsvParser implements TextSchemaParser {
     }
 
 
+    /**
+     * Creates a parser. The input is always read ahead into a buffer. Characters that were read ahead but not parsed
+     * can be retrieved by {@link #remainder()}.
+     * @param reader      The reader to read from.
+     * @param schema      The schema.
+     * @param parseConfig Parse configuration.
+     */
     public CsvParser(Reader reader, CsvSchema schema, TextParseConfig parseConfig) {
+        this(reader, schema, new CsvLineParserFactory(schema, parseConfig), parseConfig);
+    }
+
+    /**
+     * Creates a parser using an existing line parser factory.
+     * @param reader            The reader to read from.
+     * @param schema            The schema.
+     * @param lineParserFactory The factory to use. Can be a continuation of the factory of another parser.
+     * @param parseConfig       Parse configuration.
+     */
+    CsvParser(Reader reader, CsvSchema schema, CsvLineParserFactory lineParserFactory, TextParseConfig parseConfig) {
         this.parseConfig = parseConfig;
-        lineReader = new CsvLineReaderStates(schema.getLineSeparator(), reader, schema.stream().anyMatch(SchemaLine::isOccursInfinitely), parseConfig.getMaxLineLength(), schema.getQuoteSyntax());
+        this.lineReader = new CsvLineReaderTable(schema.getLineSeparator(), reader, true, parseConfig.getMaxLineLength(), schema.getQuoteSyntax());
         this.schema = schema;
-        this.lineParserFactory = new CsvLineParserFactory(schema, parseConfig);
+        this.lineParserFactory = lineParserFactory;
     }
-    
+
 
     @Override
     public long parse(Consumer<Line> listener, Consumer<JSaParException> errorListener) throws IOException {
         if(schema.isEmpty()) {
             return 0;
         }
+        return parseUntil(()->false, listener, errorListener);
+    }
+
+    /**
+     * Parses the head of the input, which are the lines of types with a finite number of occurrences and header lines
+     * that are used as schema. Stops as soon as the head is consumed, which may be before the first line.
+     * @param listener      The line consumer.
+     * @param errorListener The error consumer.
+     * @return Number of lines parsed.
+     * @throws IOException If there is an error reading from the input reader.
+     * @see CsvLineParserFactory#isHeadConsumed()
+     */
+    long parseHead(Consumer<Line> listener, Consumer<JSaParException> errorListener) throws IOException {
+        return parseUntil(lineParserFactory::isHeadConsumed, listener, errorListener);
+    }
+
+    private long parseUntil(BooleanSupplier done, Consumer<Line> listener, Consumer<JSaParException> errorListener) throws IOException {
         long lineNumber = 0;
-        while(true){
+        while(!done.getAsBoolean()){
             CsvLineParser lineParser = lineParserFactory.makeLineParser(lineReader);
             if(lineParser == null) {
                 if(lineParserFactory.isEmpty())
@@ -60,7 +98,7 @@ public class CsvParser implements TextSchemaParser {
             if(!lineReader.lastLineWasEmpty())
                 lineNumber++;
         }
-
+        return lineNumber;
     }
 
     public Stream<Line> stream(Consumer<JSaParException> errorListener) throws IOException {
@@ -107,6 +145,43 @@ public class CsvParser implements TextSchemaParser {
         }
 
     }
+    @Override
+    public Reader remainder() throws IOException {
+        return lineReader.remainder();
+    }
+
+    @Override
+    public List<CellCacheStatistics> cellCacheStatistics() {
+        return lineParserFactory.cellCacheStatistics().collect(Collectors.toList());
+    }
+
+    CsvLineParserFactory getLineParserFactory() {
+        return lineParserFactory;
+    }
+
+    /**
+     * @return True if end of input was reached.
+     */
+    boolean isEofReached() {
+        return lineReader.eofReached();
+    }
+
+    /**
+     * @return True if end of input was reached directly after a line separator so that the last line read was
+     * complete and end of input was never reached within a quoted cell.
+     */
+    boolean isEndedAtLineBoundary() {
+        return lineReader.eofReached() && lineReader.lastLineWasEmpty() && !lineReader.eofReachedWithinQuotes();
+    }
+
+    /**
+     * @return The line number of the last line read from the input. Reaching end of input counts as reading an empty
+     * line, unless the last line is not terminated by a line separator.
+     */
+    long currentLineNumber() {
+        return lineReader.currentLineNumber();
+    }
+
     private void handleNoParser(CsvLineReader lineReader, Consumer<JSaParException> errorEventListener)
             throws IOException {
         if (lineReader.lastLineWasEmpty())
@@ -0,0 +1,34 @@
+package org.jsapar.parse.csv;
+
+import org.jsapar.parse.text.TextSchemaParserFactory;
+import org.jsapar.schema.CsvSchema;
+import org.jsapar.text.TextParseConfig;
+
+import java.io.Reader;
+
+/**
+ * Internal class that creates the line and cell parsers of a CSV schema once. Each created {@link CsvParser} gets
+ * copies of them that share everything that does not change while parsing. The line parsers of this class are never
+ * used for parsing, which makes it thread-safe.
+ * @since 2.4
+ */
+public final class CsvParserFactory implements TextSchemaParserFactory {
+    private final CsvSchema            schema;
+    private final TextParseConfig      parseConfig;
+    private final CsvLineParserFactory lineParserFactory;
+
+    /**
+     * @param schema      The schema.
+     * @param parseConfig Parse configuration. Should not be changed after calling this constructor.
+     */
+    public CsvParserFactory(CsvSchema schema, TextParseConfig parseConfig) {
+        this.schema = schema;
+        this.parseConfig = parseConfig;
+        this.lineParserFactory = new CsvLineParserFactory(schema, parseConfig);
+    }
+
+    @Override
+    public CsvParser makeParser(Reader reader) {
+        return new CsvParser(reader, schema, lineParserFactory.copy(), parseConfig);
+    }
+}
@@ -0,0 +1,108 @@
+package org.jsapar.parse.csv;
+
+import org.jsapar.utils.CharSlice;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Holds the raw values of the cells of one csv line as consecutive characters within one array together with the end
+ * offset of each cell. A string is created only when the value of a cell is requested.
+ */
+final class RawCells extends AbstractList<String> implements RandomAccess {
+    private static final String EMPTY_CELL = "";
+
+    private char[] chars;
+    private int length = 0;
+    private int[] ends;
+    private int size = 0;
+
+    RawCells() {
+        this(new char[256], new int[16], 0, 0);
+    }
+
+    private RawCells(char[] chars, int[] ends, int length, int size) {
+        this.chars = chars;
+        this.ends = ends;
+        this.length = length;
+        this.size = size;
+    }
+
+    /**
+     * Appends characters to the cell that is currently being built.
+     * @param source The characters to append from.
+     * @param offset Begin index within source.
+     * @param count  Number of characters to append.
+     */
+    void append(char[] source, int offset, int count) {
+        Objects.checkFromIndexSize(offset, count, source.length);
+        if (length + count > chars.length)
+            chars = Arrays.copyOf(chars, Math.max(length + count, chars.length * 2));
+        System.arraycopy(source, offset, chars, length, count);
+        length += count;
+    }
+
+    /**
+     * Completes the cell that is currently being built.
+     */
+    void endCell() {
+        if (size == ends.length)
+            ends = Arrays.copyOf(ends, size * 2);
+        ends[size++] = length;
+    }
+
+    @Override
+    public void clear() {
+        length = 0;
+        size = 0;
+    }
+
+    @Override
+    public String get(int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("Index " + index + " is out of bounds for " + size + " cells");
+        final int begin = index == 0 ? 0 : ends[index - 1];
+        final int end = ends[index];
+        return begin == end ? EMPTY_CELL : new String(chars, begin, end - begin);
+    }
+
+    /**
+     * Provides the characters of a cell without creating any string.
+     * @param index  The index of the cell.
+     * @param target The slice to set to the characters of the cell. Only valid until this instance is cleared.
+     * @return The supplied target slice.
+     */
+    CharSlice get(int index, CharSlice target) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("Index " + index + " is out of bounds for " + size + " cells");
+        final int begin = index == 0 ? 0 : ends[index - 1];
+        return target.set(chars, begin, ends[index] - begin);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return True if this line consists of exactly one cell that contains nothing but white space.
+     */
+    boolean isSingleBlankCell() {
+        if (size != 1)
+            return false;
+        for (int i = 0; i < length; i++) {
+            if (chars[i] > ' ')
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return A compact copy of these cells that is not affected when this instance is reused for the next line.
+     */
+    RawCells copy() {
+        return new RawCells(Arrays.copyOf(chars, length), Arrays.copyOf(ends, size), length, size);
+    }
+}
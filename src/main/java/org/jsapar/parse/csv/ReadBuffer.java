@@ -1,6 +1,7 @@
 package org.jsapar.parse.csv;
 
 import java.io.IOException;
+import java.io.PushbackReader;
 import java.io.Reader;
 
 /**
@@ -101,4 +102,21 @@ final class ReadBuffer {
     void resetCell(){
         cursor = cellMark;
     }
+
+    /**
+     * Creates a reader that first supplies the characters of this buffer that are not yet consumed, then continues
+     * with the underlying reader. This buffer can not be used after calling this method.
+     * @param fromLineMark If true, characters from the last line mark are supplied, otherwise from the cursor.
+     * @return A reader that continues where this buffer was consumed.
+     * @throws IOException In case of underlying io error.
+     */
+    Reader remainder(boolean fromLineMark) throws IOException {
+        final int from = fromLineMark ? lineMark : cursor;
+        final int length = bufferSize - from;
+        if (length <= 0)
+            return reader;
+        PushbackReader pushbackReader = new PushbackReader(reader, length);
+        pushbackReader.unread(buffer, from, length);
+        return pushbackReader;
+    }
 }
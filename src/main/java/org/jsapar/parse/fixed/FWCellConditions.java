@@ -0,0 +1,86 @@
+package org.jsapar.parse.fixed;
+
+import org.jsapar.schema.FixedWidthSchemaCell;
+import org.jsapar.schema.FixedWidthSchemaLine;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Tests conditions on the raw text of cells of the current line by peeking into the line without consuming it.
+ */
+final class FWCellConditions {
+    private final List<FWCellCondition> conditions = new ArrayList<>();
+    private final boolean missingAsEmpty;
+
+    /**
+     * @param schemaLine      The schema line that describes the positions of the cells.
+     * @param conditionOfCell Provides the condition to test for each schema cell or null if the cell should not be
+     *                        tested.
+     * @param missingAsEmpty  If true, a cell that is missing because the line is too short is tested as an empty
+     *                        string. If false, the test results in {@link LineParserMatcherResult#EOF}.
+     */
+    FWCellConditions(FixedWidthSchemaLine schemaLine,
+                     Function<FixedWidthSchemaCell, Predicate<String>> conditionOfCell,
+                     boolean missingAsEmpty) {
+        this.missingAsEmpty = missingAsEmpty;
+        int beginPos = 0;
+        for (FixedWidthSchemaCell schemaCell : schemaLine) {
+            Predicate<String> condition = conditionOfCell.apply(schemaCell);
+            if (condition != null)
+                conditions.add(new FWCellCondition(beginPos, schemaCell.getLength(), ReadBuffer.makeTrimmer(schemaCell), condition));
+            beginPos += schemaCell.getLength();
+        }
+    }
+
+    boolean isEmpty() {
+        return conditions.isEmpty();
+    }
+
+    /**
+     * Tests all conditions on the current line. The line is not consumed.
+     * @param lineReader The buffer to read the line from.
+     * @return {@link LineParserMatcherResult#SUCCESS} if all conditions are met,
+     * {@link LineParserMatcherResult#NOT_MATCHING} if any condition is not met and {@link LineParserMatcherResult#EOF}
+     * if end of input was reached before all cells could be read, unless missing cells are tested as empty.
+     * @throws IOException If there is a problem while reading the input reader.
+     */
+    LineParserMatcherResult test(ReadBuffer lineReader) throws IOException {
+        lineReader.markLine();
+        try {
+            int read = 0;
+            for (FWCellCondition condition : conditions) {
+                int offset = condition.beginPos - read;
+                String value = lineReader.readToString(condition.trimmer, offset, condition.length);
+                if (value == null) {
+                    if (!missingAsEmpty)
+                        return LineParserMatcherResult.EOF; // EOF reached
+                    value = "";
+                }
+                if (!condition.condition.test(value))
+                    return LineParserMatcherResult.NOT_MATCHING; // Not matching criteria.
+                read = condition.beginPos + condition.length;
+            }
+            return LineParserMatcherResult.SUCCESS;
+        } finally {
+            lineReader.resetLine();
+        }
+    }
+
+    private static class FWCellCondition {
+        final int beginPos;
+        final int length;
+        final ReadBuffer.Trimmer trimmer;
+        final Predicate<String> condition;
+
+        FWCellCondition(int beginPos, int length, ReadBuffer.Trimmer trimmer, Predicate<String> condition) {
+            this.beginPos = beginPos;
+            this.length = length;
+            this.trimmer = trimmer;
+            this.condition = condition;
+        }
+    }
+}
@@ -1,23 +1,111 @@
 package org.jsapar.parse.fixed;
 
+import org.jsapar.parse.CellCacheStatistics;
+import org.jsapar.parse.line.LineMatcherIndex;
 import org.jsapar.text.TextParseConfig;
 import org.jsapar.schema.FixedWidthSchema;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Creates fixed width line parsers based on schema.
  */
 class FWLineParserFactory {
     private final List<FWLineParserMatcher> lineParserMatchers;
+    /**
+     * All matchers, including those that are no longer needed.
+     */
+    private final List<FWLineParserMatcher> allMatchers;
+    private final TextParseConfig           config;
     private LineParserMatcherResult lastResult;
 
+    /**
+     * Position of the control cell that line types are indexed by or null if line types are tested one by one.
+     */
+    private final FWLineParserMatcher.ControlPosition   controlPosition;
+    private final LineMatcherIndex<FWLineParserMatcher> matcherIndex;
+
     FWLineParserFactory(FixedWidthSchema schema, TextParseConfig config) {
-        lineParserMatchers = schema.stream()
-                .map(schemaLine -> new FWLineParserMatcher(schemaLine, config)).collect(Collectors.toList());
+        this(schema.stream()
+                .map(schemaLine -> new FWLineParserMatcher(schemaLine, config)).collect(Collectors.toList()), config);
+    }
+
+    private FWLineParserFactory(List<FWLineParserMatcher> lineParserMatchers, TextParseConfig config) {
+        this(lineParserMatchers, config, selectControlPosition(lineParserMatchers));
+    }
+
+    private FWLineParserFactory(List<FWLineParserMatcher> lineParserMatchers, TextParseConfig config, FWLineParserMatcher.ControlPosition controlPosition) {
+        this.lineParserMatchers = lineParserMatchers;
+        this.allMatchers = new ArrayList<>(lineParserMatchers);
+        this.config = config;
+        this.controlPosition = controlPosition;
+        this.matcherIndex = controlPosition == null ? null
+                : new LineMatcherIndex<>(lineParserMatchers, matcher -> matcher.getControlLiterals().get(controlPosition));
+    }
+
+    /**
+     * Selects the control cell position where most line types have a line condition with a literal value.
+     * @param matchers The matchers of all line types.
+     * @return The selected position or null if it is not worth indexing line types.
+     */
+    private static FWLineParserMatcher.ControlPosition selectControlPosition(List<FWLineParserMatcher> matchers) {
+        Map<FWLineParserMatcher.ControlPosition, Integer> literalCounts = new LinkedHashMap<>();
+        for (FWLineParserMatcher matcher : matchers) {
+            matcher.getControlLiterals().keySet().forEach(pos -> literalCounts.merge(pos, 1, Integer::sum));
+        }
+        FWLineParserMatcher.ControlPosition selected = null;
+        int selectedCount = 1;
+        for (Map.Entry<FWLineParserMatcher.ControlPosition, Integer> literalCount : literalCounts.entrySet()) {
+            if (literalCount.getValue() > selectedCount) {
+                selected = literalCount.getKey();
+                selectedCount = literalCount.getValue();
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * The head of an input consists of all lines that are parsed by line types with a finite number of occurrences.
+     * Once the head is consumed, the rest of the input can be parsed by independent parsers, see
+     * {@link #continuation()}.
+     * @return True if this factory will not parse any more head lines.
+     */
+    boolean isHeadConsumed() {
+        return lineParserMatchers.stream().allMatch(FWLineParserMatcher::isOccursInfinitely);
+    }
+
+    /**
+     * Creates a new factory that continues where this factory is right now. Can only be used once the head is
+     * consumed.
+     * @return A new factory with new line parsers that can be used independently of this factory.
+     * @see #isHeadConsumed()
+     */
+    FWLineParserFactory continuation() {
+        assert isHeadConsumed() : "Can only continue after head is consumed";
+        List<FWLineParserMatcher> matchers = matcherIndex != null ? matcherIndex.matchers() : lineParserMatchers;
+        return new FWLineParserFactory(matchers.stream()
+                .map(matcher -> new FWLineParserMatcher(matcher.getSchemaLine(), config))
+                .collect(Collectors.toList()), config);
+    }
+
+    /**
+     * Creates a new factory that starts from the beginning of an input, with new line parsers that share everything
+     * that does not change while parsing with the line parsers of this factory. Should only be called on a factory
+     * that has not been used for parsing.
+     * @return A new factory that can be used independently of this factory.
+     */
+    FWLineParserFactory copy() {
+        return new FWLineParserFactory(allMatchers.stream()
+                .map(FWLineParserMatcher::new)
+                .collect(Collectors.toList()), config, controlPosition);
     }
 
     /**
@@ -29,6 +117,8 @@ class FWLineParserFactory {
     FixedWidthLineParser makeLineParser(ReadBuffer lineReader) throws IOException {
         if(lineParserMatchers.isEmpty())
             return null;
+        if (matcherIndex != null)
+            return makeLineParserByIndex(lineReader);
         Iterator<FWLineParserMatcher> iter = lineParserMatchers.iterator();
         boolean first = true;
         boolean eof = true;
@@ -64,6 +154,66 @@ class FWLineParserFactory {
         return null;
     }
 
+    /**
+     * Reads the value of the indexed control cell and tests only the line types that may match that value.
+     * @param lineReader A reader to read input from
+     * @return A {@link FixedWidthLineParser} that can be used or null if no line parser could be found.
+     * @throws IOException In case of error in underlying IO operation
+     */
+    private FixedWidthLineParser makeLineParserByIndex(ReadBuffer lineReader) throws IOException {
+        String controlValue = controlPosition.readValue(lineReader);
+        List<FWLineParserMatcher> exhausted = new ArrayList<>(0);
+        int[] tested = {0};
+        boolean[] eof = {true};
+        FWLineParserMatcher matcher;
+        try {
+            matcher = matcherIndex.findFirst(controlValue, currentMatcher -> {
+                tested[0]++;
+                LineParserMatcherResult lineParserResult = uncheckedTest(currentMatcher, lineReader);
+                if (lineParserResult == LineParserMatcherResult.SUCCESS)
+                    return true;
+                if (lineParserResult == LineParserMatcherResult.NO_OCCURS)
+                    exhausted.add(currentMatcher);
+                if (lineParserResult != LineParserMatcherResult.EOF)
+                    eof[0] = false;
+                return false;
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        for (FWLineParserMatcher exhaustedMatcher : exhausted) {
+            matcherIndex.remove(exhaustedMatcher);
+            lineParserMatchers.remove(exhaustedMatcher);
+        }
+        if (matcher != null) {
+            if (!matcher.isOccursLeft()) {
+                // No longer needed
+                matcherIndex.remove(matcher);
+                lineParserMatchers.remove(matcher);
+            } else {
+                matcherIndex.matched(matcher);
+            }
+            lastResult = LineParserMatcherResult.SUCCESS;
+            return matcher.getLineParser();
+        }
+        // Line types that were not tested do not match the control value.
+        if (eof[0] && tested[0] == lineParserMatchers.size() + exhausted.size())
+            lastResult = LineParserMatcherResult.EOF;
+        else if (lineParserMatchers.isEmpty())
+            lastResult = LineParserMatcherResult.NO_OCCURS;
+        else
+            lastResult = LineParserMatcherResult.NOT_MATCHING;
+        return null;
+    }
+
+    private static LineParserMatcherResult uncheckedTest(FWLineParserMatcher matcher, ReadBuffer lineReader) {
+        try {
+            return matcher.testLineParserIfMatching(lineReader);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     boolean isEmpty() {
         return lineParserMatchers.isEmpty();
     }
@@ -72,4 +222,10 @@ class FWLineParserFactory {
         return lastResult;
     }
 
+    /**
+     * @return The statistics of the cell value caches of all cells that have a cache that adapts itself.
+     */
+    Stream<CellCacheStatistics> cellCacheStatistics() {
+        return allMatchers.stream().flatMap(matcher -> matcher.getLineParser().cellCacheStatistics());
+    }
 }
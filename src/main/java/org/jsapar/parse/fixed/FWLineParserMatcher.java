@@ -1,55 +1,63 @@
 package org.jsapar.parse.fixed;
 
+import org.jsapar.parse.line.LineMatcherIndex;
 import org.jsapar.text.TextParseConfig;
 import org.jsapar.schema.FixedWidthSchemaCell;
 import org.jsapar.schema.FixedWidthSchemaLine;
 
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
 
 /**
  * Tests if next line to parse can be used for the schemaLine of this instance.
  */
 class FWLineParserMatcher {
     private final FixedWidthSchemaLine schemaLine;
-    private final List<FWControlCell> controlCells =new ArrayList<>();
+    private final FWCellConditions controlCells;
     private final FixedWidthLineParser lineParser;
     private int occursLeft;
+    private final Map<ControlPosition, String> controlLiterals = new HashMap<>();
 
     FWLineParserMatcher(FixedWidthSchemaLine schemaLine, TextParseConfig config) {
         this.schemaLine = schemaLine;
         this.lineParser = new FixedWidthLineParser(schemaLine, config);
         occursLeft = schemaLine.getOccurs();
-        int beginPos=0;
+        controlCells = new FWCellConditions(schemaLine,
+                schemaCell -> schemaCell.hasLineCondition() ? schemaCell.getLineCondition() : null, false);
+        int beginPos = 0;
         for (FixedWidthSchemaCell schemaCell : schemaLine) {
-            if(schemaCell.hasLineCondition()){
-                controlCells.add(new FWControlCell(beginPos, schemaCell, ReadBuffer.makeTrimmer(schemaCell)));
+            if (schemaCell.hasLineCondition()) {
+                ControlPosition position = new ControlPosition(beginPos, schemaCell);
+                LineMatcherIndex.literalOf(schemaCell.getLineCondition())
+                        .ifPresent(literal -> controlLiterals.put(position, literal));
             }
             beginPos += schemaCell.getLength();
         }
     }
-    
+
+    /**
+     * Creates a line parser matcher that shares the control cells with supplied matcher but that starts over with the
+     * number of occurrences and that has its own copy of the line parser.
+     * @param template The line parser matcher to copy. Should not have been used for parsing.
+     */
+    FWLineParserMatcher(FWLineParserMatcher template) {
+        this.schemaLine = template.schemaLine;
+        this.lineParser = new FixedWidthLineParser(template.lineParser);
+        this.occursLeft = schemaLine.getOccurs();
+        this.controlCells = template.controlCells;
+        this.controlLiterals.putAll(template.controlLiterals);
+    }
+
     LineParserMatcherResult testLineParserIfMatching(ReadBuffer lineReader) throws IOException {
         if(occursLeft <= 0)
             return LineParserMatcherResult.NO_OCCURS;
         if(!controlCells.isEmpty()) {
             // We only peek into the line to follow.
-            lineReader.markLine();
-            try {
-                int read = 0;
-                for (FWControlCell controlCell : controlCells) {
-                    int offset = controlCell.beginPos - read;
-                    String value = lineReader.readToString(controlCell.trimmer, offset, controlCell.schemaCell.getLength());
-                    if (value == null)
-                        return LineParserMatcherResult.EOF; // EOF reached
-                    if (!controlCell.schemaCell.getLineCondition().test(value))
-                        return LineParserMatcherResult.NOT_MATCHING; // Not matching criteria.
-                    read = controlCell.beginPos + controlCell.schemaCell.getLength();
-                }
-            } finally {
-                lineReader.resetLine();
-            }
+            LineParserMatcherResult result = controlCells.test(lineReader);
+            if (result != LineParserMatcherResult.SUCCESS)
+                return result;
         }
         if (!schemaLine.isOccursInfinitely())
             occursLeft--;
@@ -60,20 +68,75 @@ class FWLineParserMatcher {
         return lineParser;
     }
 
-    private static class FWControlCell{
-        final int beginPos;
-        final FixedWidthSchemaCell schemaCell;
-        final ReadBuffer.Trimmer trimmer;
+    boolean isOccursLeft() {
+        return schemaLine.isOccursInfinitely() || occursLeft > 0;
+    }
+
+    boolean isOccursInfinitely() {
+        return schemaLine.isOccursInfinitely();
+    }
+
+    FixedWidthSchemaLine getSchemaLine() {
+        return schemaLine;
+    }
 
-        FWControlCell(int beginPos, FixedWidthSchemaCell schemaCell, ReadBuffer.Trimmer trimmer) {
+    /**
+     * @return The values, by position, that control cells with a literal line condition need to have.
+     */
+    Map<ControlPosition, String> getControlLiterals() {
+        return controlLiterals;
+    }
+
+    /**
+     * The position of a control cell within a line together with how its value is trimmed. Two control cells that are
+     * equal always have the same value on the same line.
+     */
+    static final class ControlPosition {
+        private final int                  beginPos;
+        private final FixedWidthSchemaCell schemaCell;
+        private final ReadBuffer.Trimmer   trimmer;
+
+        ControlPosition(int beginPos, FixedWidthSchemaCell schemaCell) {
             this.beginPos = beginPos;
             this.schemaCell = schemaCell;
-            this.trimmer = trimmer;
+            this.trimmer = ReadBuffer.makeTrimmer(schemaCell);
         }
-    }
 
-    boolean isOccursLeft() {
-        return schemaLine.isOccursInfinitely() || occursLeft > 0;
+        /**
+         * Reads the value of the control cell of the current line without consuming the line.
+         * @param lineReader The buffer to read the line from.
+         * @return The value or null if the line is too short or if end of input was reached.
+         * @throws IOException If there is a problem while reading the input reader.
+         */
+        String readValue(ReadBuffer lineReader) throws IOException {
+            lineReader.markLine();
+            try {
+                return lineReader.readToString(trimmer, beginPos, schemaCell.getLength());
+            } finally {
+                lineReader.resetLine();
+            }
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o)
+                return true;
+            if (o == null || getClass() != o.getClass())
+                return false;
+            ControlPosition that = (ControlPosition) o;
+            return beginPos == that.beginPos
+                    && schemaCell.getLength() == that.schemaCell.getLength()
+                    && schemaCell.isTrimPadCharacter() == that.schemaCell.isTrimPadCharacter()
+                    && schemaCell.isTrimLeadingSpaces() == that.schemaCell.isTrimLeadingSpaces()
+                    && schemaCell.getPadCharacter() == that.schemaCell.getPadCharacter()
+                    && schemaCell.getAlignment() == that.schemaCell.getAlignment()
+                    && schemaCell.getCellFormat().getCellType().isNumber() == that.schemaCell.getCellFormat().getCellType().isNumber();
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(beginPos, schemaCell.getLength(), schemaCell.getPadCharacter(), schemaCell.getAlignment());
+        }
     }
 
 }
@@ -2,8 +2,10 @@ package org.jsapar.parse.fixed;
 
 import org.jsapar.error.JSaParException;
 import org.jsapar.model.Cell;
+import org.jsapar.parse.SharedCellCache;
 import org.jsapar.parse.cell.CellParser;
 import org.jsapar.schema.FixedWidthSchemaCell;
+import org.jsapar.utils.CharSlice;
 
 import java.io.IOException;
 import java.util.function.Consumer;
@@ -13,12 +15,27 @@ import java.util.function.Consumer;
  */
 class FixedWidthCellParser extends CellParser<FixedWidthSchemaCell> {
     private final ReadBuffer.Trimmer trimmer;
+    private final CharSlice          value = new CharSlice();
 
     FixedWidthCellParser(FixedWidthSchemaCell fixedWidthSchemaCell, int maxCacheSize) {
-        super(fixedWidthSchemaCell, maxCacheSize);
+        this(fixedWidthSchemaCell, maxCacheSize, null);
+    }
+
+    FixedWidthCellParser(FixedWidthSchemaCell fixedWidthSchemaCell, int maxCacheSize, SharedCellCache sharedCellCache) {
+        super(fixedWidthSchemaCell, maxCacheSize, sharedCellCache);
         this.trimmer = ReadBuffer.makeTrimmer(fixedWidthSchemaCell);
     }
 
+    private FixedWidthCellParser(FixedWidthCellParser template) {
+        super(template);
+        this.trimmer = template.trimmer;
+    }
+
+    @Override
+    public FixedWidthCellParser copy() {
+        return new FixedWidthCellParser(this);
+    }
+
     /**
      * Builds a Cell from a reader input.
      *
@@ -28,13 +45,13 @@ class FixedWidthCellParser extends CellParser<FixedWidthSchemaCell> {
      * @throws IOException In case there is an error reading from the reader.
      */
     Cell parse(ReadBuffer lineReader, Consumer<JSaParException> errorEventListener) throws IOException {
-        String sValue = lineReader.readToString(trimmer,  0, getSchemaCell().getLength());
+        CharSlice cellValue = lineReader.readToSlice(trimmer,  0, getSchemaCell().getLength(), value);
         // If EOF
-        if(sValue == null) {
+        if(cellValue == null) {
             checkIfMandatory(errorEventListener);
             return null;
         }
-        return super.parse(sValue, errorEventListener);
+        return super.parse(cellValue, errorEventListener);
     }
 
     /**
@@ -46,4 +63,14 @@ class FixedWidthCellParser extends CellParser<FixedWidthSchemaCell> {
         return new FixedWidthCellParser(schemaCell, maxCacheSize);
     }
 
+    /**
+     * Creates fixed width cell parser according to supplied schema and with a maximum cache size.
+     * @param schemaCell The schema to use.
+     * @param maxCacheSize The maximum number of cells to keep in cache while parsing. The value 0 will disable cache.
+     * @param sharedCellCache A cache that is shared with other parsers or null if there is none.
+     */
+    static FixedWidthCellParser ofSchemaCell(FixedWidthSchemaCell schemaCell, int maxCacheSize, SharedCellCache sharedCellCache) {
+        return new FixedWidthCellParser(schemaCell, maxCacheSize, sharedCellCache);
+    }
+
 }
@@ -3,16 +3,22 @@ package org.jsapar.parse.fixed;
 import org.jsapar.error.JSaParException;
 import org.jsapar.model.Cell;
 import org.jsapar.model.Line;
+import org.jsapar.parse.CellCacheStatistics;
 import org.jsapar.parse.line.LineDecoratorErrorConsumer;
 import org.jsapar.parse.line.ValidationHandler;
 import org.jsapar.text.TextParseConfig;
 import org.jsapar.schema.FixedWidthSchemaCell;
 import org.jsapar.schema.FixedWidthSchemaLine;
+import org.jsapar.utils.LineAccess;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Parses fixed width text source on line level.
@@ -25,11 +31,33 @@ final class FixedWidthLineParser {
     private final ValidationHandler    validationHandler = new ValidationHandler();
     private final TextParseConfig            config;
     private final LineDecoratorErrorConsumer lineDecoratorErrorConsumer = new LineDecoratorErrorConsumer();
+    private final FWCellConditions           cellFilters;
+    private final boolean                    filteredOutAlways;
+    private       Line                       reusableLine;
 
     FixedWidthLineParser(FixedWidthSchemaLine lineSchema, TextParseConfig config) {
         this.lineSchema = lineSchema;
         this.config = config;
         this.cellParsers = makeCellParsers(lineSchema);
+
+        Map<String, Predicate<String>> filters = config.getCellFilters(lineSchema.getLineType());
+        this.cellFilters = new FWCellConditions(lineSchema, schemaCell -> filters.get(schemaCell.getName()), true);
+        // Filters on cells that are not in the schema are tested as if the cell was empty.
+        this.filteredOutAlways = filters.entrySet().stream()
+                .anyMatch(filter -> lineSchema.findSchemaCell(filter.getKey()).isEmpty() && !filter.getValue().test(EMPTY_STRING));
+    }
+
+    /**
+     * Creates a line parser that shares the line schema, the compiled parts of the cell parsers and the cell filters
+     * with supplied line parser but none of the state that changes while parsing.
+     * @param template The line parser to copy.
+     */
+    FixedWidthLineParser(FixedWidthLineParser template) {
+        this.lineSchema = template.lineSchema;
+        this.config = template.config;
+        this.cellParsers = template.cellParsers.stream().map(FixedWidthCellParser::copy).collect(Collectors.toList());
+        this.cellFilters = template.cellFilters;
+        this.filteredOutAlways = template.filteredOutAlways;
     }
 
     private List<FixedWidthCellParser> makeCellParsers(FixedWidthSchemaLine lineSchema) {
@@ -37,16 +65,46 @@ final class FixedWidthLineParser {
     }
 
     private FixedWidthCellParser makeCellParser(FixedWidthSchemaCell fixedWidthSchemaCell) {
-        return FixedWidthCellParser.ofSchemaCell(fixedWidthSchemaCell, Math.min(config.getMaxCellCacheSize(), lineSchema.getOccurs() - 1));
+        if (!config.isCellProjected(lineSchema.getLineType(), fixedWidthSchemaCell.getName()))
+            fixedWidthSchemaCell = FixedWidthSchemaCell.builder(fixedWidthSchemaCell.getName(), fixedWidthSchemaCell.getLength(), fixedWidthSchemaCell)
+                    .withIgnoreRead(true)
+                    .withDefaultValue(null)
+                    .withMandatory(false)
+                    .build();
+        return FixedWidthCellParser.ofSchemaCell(fixedWidthSchemaCell, Math.min(config.getMaxCellCacheSize(), lineSchema.getOccurs() - 1),
+                config.getSharedCellCache().orElse(null));
+    }
+
+    /**
+     * @return The statistics of the cell value caches of all cells that have a cache that adapts itself.
+     */
+    Stream<CellCacheStatistics> cellCacheStatistics() {
+        return cellParsers.stream()
+                .map(cellParser -> cellParser.getCacheStatistics(lineSchema.getLineType()))
+                .flatMap(Optional::stream);
     }
 
     boolean isIgnoreRead(){
         return lineSchema.isIgnoreRead();
     }
 
+    /**
+     * Tests the configured cell filters on the raw text of the current line. If the line does not pass the filters,
+     * it is skipped.
+     * @param lineReader The buffer to read the line from.
+     * @return True if the line did not pass the filters and was skipped.
+     * @throws IOException If there is a problem while reading the input reader.
+     */
+    boolean skipIfFilteredOut(ReadBuffer lineReader) throws IOException {
+        if (!filteredOutAlways && (cellFilters.isEmpty() || cellFilters.test(lineReader) != LineParserMatcherResult.NOT_MATCHING))
+            return false;
+        lineReader.skipWithinLine(lineSchema.getTotalCellLength());
+        return true;
+    }
+
     @SuppressWarnings("UnnecessaryContinue")
     public Line parse(ReadBuffer lineReader, Consumer<JSaParException> errorListener) throws IOException {
-        Line line = new Line(lineSchema.getLineType(), lineSchema.size(), lineReader.getLineNumber());
+        Line line = makeLine(lineReader.getLineNumber());
         boolean setDefaultsOnly = false;
         boolean oneRead = false;
         boolean oneIgnored = false;
@@ -109,6 +167,20 @@ final class FixedWidthLineParser {
         return line;
     }
 
+    /**
+     * @param lineNumber The line number of the line.
+     * @return A new line or, if configured, the same line instance as last time cleared from any cells.
+     */
+    private Line makeLine(long lineNumber) {
+        if (!config.isReuseLines())
+            return new Line(lineSchema.getLineType(), lineSchema.getCellSlots(), lineNumber);
+        if (reusableLine == null)
+            reusableLine = new Line(lineSchema.getLineType(), lineSchema.getCellSlots(), lineNumber);
+        reusableLine.clear();
+        LineAccess.setLineNumber(reusableLine, lineNumber);
+        return reusableLine;
+    }
+
     @SuppressWarnings("BooleanMethodIsAlwaysInverted")
     private boolean lineValidationInsufficient(ReadBuffer lineReader, Consumer<JSaParException> errorListener) {
         return validationHandler.lineValidation(lineReader.getLineNumber(), config.getOnLineInsufficient(),
@@ -0,0 +1,353 @@
+package org.jsapar.parse.fixed;
+
+import org.jsapar.error.JSaParException;
+import org.jsapar.model.Line;
+import org.jsapar.parse.text.ByteSourceReader;
+import org.jsapar.parse.text.ParsedChunk;
+import org.jsapar.schema.FixedWidthSchema;
+import org.jsapar.schema.FixedWidthSchemaLine;
+import org.jsapar.text.TextParseConfig;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * Internal class for parsing a fixed width file with constant record length by splitting it into slices that are
+ * parsed in parallel.
+ * <p>
+ * When all line types of the schema have the same total cell length, each record occupies the same number of bytes
+ * in the file, including the line separator if there is one. The file can then be split at exact record boundaries
+ * and the line number of the first line within each slice is known in advance. Before parsing, the layout of the file
+ * is verified in parallel: the line separator has to be found at the end of each record and nowhere else, and for
+ * UTF-8 all bytes have to be US-ASCII characters. The last record may lack line separator.
+ * <p>
+ * Lines of line types with a finite number of occurrences are parsed sequentially from the beginning of the file.
+ * The rest of the file is then split into slices that are parsed by continuations of the line parsers that parsed the
+ * head. The slices are delivered either in file order or in the order they are completed. In both cases the line
+ * consumer is called on the calling thread and the lines within one slice are delivered in order.
+ * <p>
+ * Files that do not fulfill the requirements above, small files and files in other character sets than US-ASCII,
+ * ISO-8859-1 and UTF-8 are parsed sequentially. If the schema contains line types with line conditions that can match
+ * the same line, the line type that is chosen may differ from a sequential parse.
+ * <p>
+ * The parsed lines of a slice are kept in memory until the slice is delivered. The number of slices that are parsed
+ * ahead of the delivery is limited so that they span at most about 32 MB of the file, regardless of the file size.
+ * Since a parsed line takes several times as much heap as its text, the heap needed for the parsed lines is a multiple
+ * of that. This is the case also when lines are reused since each line of a slice then has to be copied.
+ */
+public class FixedWidthParallelParser {
+    private static final long MIN_SLICE_SIZE = 1024L * 1024L;
+    private static final long MAX_SLICE_SIZE = 4L * 1024L * 1024L;
+    /** The maximum total size of the slices that are parsed but not yet delivered. */
+    private static final long MAX_IN_FLIGHT_SIZE = 32L * 1024L * 1024L;
+
+    private final Path             path;
+    private final Charset          charset;
+    private final FixedWidthSchema schema;
+    private final TextParseConfig  parseConfig;
+    private final int              parallelism;
+    private final boolean          ordered;
+    private final long             recordsPerSlice;
+
+    /**
+     * @param path        The path of the file to parse.
+     * @param charset     The character set of the file.
+     * @param schema      The schema to use.
+     * @param parseConfig Parse configuration.
+     * @param parallelism The maximum number of threads to use while parsing.
+     * @param ordered     If true, lines are delivered in the same order as in the file. If false, the slices of the
+     *                    file are delivered in the order they are completed.
+     */
+    public FixedWidthParallelParser(Path path, Charset charset, FixedWidthSchema schema, TextParseConfig parseConfig, int parallelism, boolean ordered) {
+        this(path, charset, schema, parseConfig, parallelism, ordered, 0L);
+    }
+
+    /**
+     * @param recordsPerSlice The number of records within each slice. 0 means that the number of records is
+     *                        calculated from file size and parallelism.
+     */
+    FixedWidthParallelParser(Path path, Charset charset, FixedWidthSchema schema, TextParseConfig parseConfig, int parallelism, boolean ordered, long recordsPerSlice) {
+        this.path = path;
+        this.charset = charset;
+        this.schema = schema;
+        this.parseConfig = parseConfig;
+        this.parallelism = parallelism;
+        this.ordered = ordered;
+        this.recordsPerSlice = recordsPerSlice;
+    }
+
+    /**
+     * Parses the file and delivers the lines to supplied line consumer on the calling thread.
+     *
+     * @param lineConsumer  The line consumer which will receive each parsed line.
+     * @param errorConsumer The error consumer that will receive each error.
+     * @return Number of lines read.
+     * @throws IOException If there is an error reading the file.
+     */
+    public long parse(Consumer<Line> lineConsumer, Consumer<JSaParException> errorConsumer) throws IOException {
+        if (schema.isEmpty())
+            return 0;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            final RecordLayout layout = recordLayout();
+            if (parallelism < 2 || layout == null || !layout.isAligned(size))
+                return parseSequentially(channel, lineConsumer, errorConsumer);
+            final long records = (size + layout.recordLength - 1) / layout.recordLength;
+            final long recordsPerSlice = recordsPerSliceOf(size, layout.recordLength);
+            if (records <= recordsPerSlice)
+                return parseSequentially(channel, lineConsumer, errorConsumer);
+
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                if (!verifyLayout(channel, size, layout, recordsPerSlice, pool))
+                    return parseSequentially(channel, lineConsumer, errorConsumer);
+                return parseInSlices(channel, size, layout.recordLength, records, recordsPerSlice, pool, lineConsumer, errorConsumer);
+            } finally {
+                pool.shutdownNow();
+            }
+        }
+    }
+
+    private long parseSequentially(FileChannel channel, Consumer<Line> lineConsumer, Consumer<JSaParException> errorConsumer) throws IOException {
+        channel.position(0L);
+        return new FixedWidthParser(ByteSourceReader.ofFile(channel, charset), schema, parseConfig).parse(lineConsumer, errorConsumer);
+    }
+
+    private long parseInSlices(FileChannel channel,
+                               long size,
+                               int recordLength,
+                               long records,
+                               long recordsPerSlice,
+                               ForkJoinPool pool,
+                               Consumer<Line> lineConsumer,
+                               Consumer<JSaParException> errorConsumer) throws IOException {
+        final FWLineParserFactory headFactory = new FWLineParserFactory(schema, parseConfig);
+        long parsedCount = 0L;
+        if (!headFactory.isHeadConsumed()) {
+            FixedWidthParser headParser = new FixedWidthParser(ByteSourceReader.ofFileRange(channel, charset, 0L, size), schema, parseConfig, headFactory);
+            parsedCount = headParser.parseHead(lineConsumer, errorConsumer);
+            if (!headFactory.isHeadConsumed() || headFactory.isEmpty())
+                return parsedCount; // All of the file was parsed as head.
+        }
+        final long headRecords = parsedCount;
+        final FWLineParserFactory template = headFactory.continuation();
+
+        final long sliceCount = (records - headRecords + recordsPerSlice - 1) / recordsPerSlice;
+        final long maxInFlight = maxInFlightOf(recordsPerSlice * recordLength);
+        final CompletionService<Slice> completed = new ExecutorCompletionService<>(pool);
+        final Deque<Future<Slice>> inOrder = new ArrayDeque<>();
+        long submitted = 0L;
+        long delivered = 0L;
+        while (delivered < sliceCount) {
+            while (submitted < sliceCount && submitted - delivered < maxInFlight) {
+                final long firstRecord = headRecords + submitted * recordsPerSlice;
+                final long begin = firstRecord * recordLength;
+                final long end = Math.min(size, begin + recordsPerSlice * recordLength);
+                final FWLineParserFactory factory = template.continuation();
+                final Callable<Slice> task = () -> parseSlice(channel, firstRecord, begin, end, factory);
+                if (ordered)
+                    inOrder.add(pool.submit(task));
+                else
+                    completed.submit(task);
+                submitted++;
+            }
+            final Slice slice = ordered ? await(inOrder.poll()) : await(take(completed));
+            slice.parsed.deliver(slice.firstRecord, lineConsumer, errorConsumer);
+            parsedCount += slice.parsed.getParsedCount();
+            delivered++;
+        }
+        return parsedCount;
+    }
+
+    private Slice parseSlice(FileChannel channel, long firstRecord, long begin, long end, FWLineParserFactory factory) throws IOException {
+        final Slice slice = new Slice(firstRecord, parseConfig);
+        final FixedWidthParser parser = new FixedWidthParser(ByteSourceReader.ofFileRange(channel, charset, begin, end), schema, parseConfig, factory);
+        try {
+            slice.parsed.setParsedCount(parser.parse(slice.parsed, slice.parsed.errorConsumer()));
+        } catch (RuntimeException e) {
+            slice.parsed.setFailure(e);
+        }
+        return slice;
+    }
+
+    /**
+     * Verifies in parallel that each record of the file has the expected layout.
+     */
+    private boolean verifyLayout(FileChannel channel, long size, RecordLayout layout, long recordsPerSlice, ForkJoinPool pool) throws IOException {
+        if (!layout.isVerificationNeeded())
+            return true;
+        final long sliceSize = recordsPerSlice * layout.recordLength;
+        List<Callable<Boolean>> verifiers = new ArrayList<>();
+        for (long begin = 0L; begin < size; begin += sliceSize) {
+            final long sliceBegin = begin;
+            final long sliceEnd = Math.min(size, begin + sliceSize);
+            verifiers.add(() -> layout.verify(channel.map(FileChannel.MapMode.READ_ONLY, sliceBegin, sliceEnd - sliceBegin)));
+        }
+        final List<Future<Boolean>> results;
+        try {
+            results = pool.invokeAll(verifiers);
+        } catch (RuntimeException e) {
+            throw new IOException("Failed to verify layout of file", e);
+        }
+        for (Future<Boolean> result : results) {
+            if (!await(result))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return The layout of each record or null if the records of the file do not have a constant length in bytes.
+     */
+    private RecordLayout recordLayout() {
+        final boolean asciiOnly = StandardCharsets.UTF_8.equals(charset);
+        final int maxChar;
+        if (asciiOnly || StandardCharsets.US_ASCII.equals(charset))
+            maxChar = 0x7F;
+        else if (StandardCharsets.ISO_8859_1.equals(charset))
+            maxChar = 0xFF;
+        else
+            return null;
+        final int[] cellLengths = schema.stream().mapToInt(FixedWidthSchemaLine::getTotalCellLength).distinct().toArray();
+        if (cellLengths.length != 1 || cellLengths[0] <= 0)
+            return null;
+        final String lineSeparator = schema.getLineSeparator();
+        final int[] separator = new int[lineSeparator.length()];
+        for (int i = 0; i < separator.length; i++) {
+            final char c = lineSeparator.charAt(i);
+            if (c > maxChar)
+                return null;
+            separator[i] = c;
+        }
+        return new RecordLayout(cellLengths[0], separator, asciiOnly);
+    }
+
+    private long recordsPerSliceOf(long fileSize, int recordLength) {
+        if (recordsPerSlice > 0L)
+            return recordsPerSlice;
+        final long perThread = fileSize / (4L * parallelism);
+        final long inFlightLimited = MAX_IN_FLIGHT_SIZE / (2L * parallelism);
+        final long sliceSize = Math.max(MIN_SLICE_SIZE, Math.min(Math.min(MAX_SLICE_SIZE, inFlightLimited), perThread));
+        return Math.max(1L, sliceSize / recordLength);
+    }
+
+    /**
+     * @return The maximum number of slices that are parsed but not yet delivered.
+     */
+    private long maxInFlightOf(long sliceSize) {
+        return Math.max(1L, Math.min(parallelism * 2L, MAX_IN_FLIGHT_SIZE / sliceSize));
+    }
+
+    private static Future<Slice> take(CompletionService<Slice> completed) throws IOException {
+        try {
+            return completed.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for parallel parsing to complete");
+        }
+    }
+
+    private static <T> T await(Future<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for parallel parsing to complete");
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof IOException)
+                throw (IOException) cause;
+            if (cause instanceof RuntimeException)
+                throw (RuntimeException) cause;
+            if (cause instanceof Error)
+                throw (Error) cause;
+            throw new IOException(cause);
+        }
+    }
+
+    /**
+     * The byte layout of a record: the cells followed by the line separator, if any.
+     */
+    private static final class RecordLayout {
+        private final int     cellLength;
+        private final int[]   separator;
+        private final int     recordLength;
+        private final boolean asciiOnly;
+        private final boolean crLf;
+
+        private RecordLayout(int cellLength, int[] separator, boolean asciiOnly) {
+            this.cellLength = cellLength;
+            this.separator = separator;
+            this.recordLength = cellLength + separator.length;
+            this.asciiOnly = asciiOnly;
+            // Both LF and CR+LF are accepted as line separator by the line loader.
+            this.crLf = separator.length > 0 && separator[separator.length - 1] == '\n';
+        }
+
+        /**
+         * @return True if the file ends with a complete record or with a record that lacks only the line separator.
+         */
+        private boolean isAligned(long size) {
+            final long remainder = size % recordLength;
+            return remainder == 0L || (separator.length > 0 && remainder == cellLength);
+        }
+
+        private boolean isVerificationNeeded() {
+            return asciiOnly || separator.length > 0;
+        }
+
+        /**
+         * @param bytes The bytes of a range of the file that begins at a record boundary.
+         * @return True if all records within supplied range have the expected layout.
+         */
+        private boolean verify(ByteBuffer bytes) {
+            final int limit = bytes.limit();
+            final int lastOfSeparator = separator.length > 0 ? separator[separator.length - 1] : -1;
+            int column = 0;
+            for (int i = 0; i < limit; i++) {
+                final int b = bytes.get(i) & 0xFF;
+                if (asciiOnly && b >= 0x80)
+                    return false;
+                if (column >= cellLength) {
+                    if (b != separator[column - cellLength])
+                        return false;
+                } else if (b == lastOfSeparator || (crLf && b == '\r' && column == cellLength - 1)) {
+                    return false;
+                }
+                if (++column == recordLength)
+                    column = 0;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * The result of parsing one slice.
+     */
+    private static final class Slice {
+        private final long        firstRecord;
+        private final ParsedChunk parsed;
+
+        private Slice(long firstRecord, TextParseConfig parseConfig) {
+            this.firstRecord = firstRecord;
+            this.parsed = new ParsedChunk(parseConfig.isReuseLines());
+        }
+    }
+}
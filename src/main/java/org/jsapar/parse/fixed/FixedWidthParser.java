@@ -2,18 +2,21 @@ package org.jsapar.parse.fixed;
 
 import org.jsapar.error.JSaParException;
 import org.jsapar.model.Line;
+import org.jsapar.parse.CellCacheStatistics;
 import org.jsapar.parse.line.ValidationHandler;
 import org.jsapar.parse.text.TextSchemaParser;
 import org.jsapar.schema.FixedWidthSchema;
 import org.jsapar.schema.FixedWidthSchemaCell;
-import org.jsapar.schema.SchemaLine;
 import org.jsapar.text.TextParseConfig;
 
 import java.io.IOException;
 import java.io.Reader;
 import java.io.UncheckedIOException;
+import java.util.List;
 import java.util.Spliterator;
+import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
@@ -25,14 +28,33 @@ public class FixedWidthParser implements TextSchemaParser {
     private final TextParseConfig  config;
     private final ValidationHandler validationHandler = new ValidationHandler();
     private final ReadBuffer lineReader;
+    private final FWLineParserFactory lineParserFactory;
     private final int minLineLength;
 
 
+    /**
+     * Creates a parser. The input is always read ahead into a buffer. Characters that were read ahead but not parsed
+     * can be retrieved by {@link #remainder()}.
+     * @param reader The reader to read from.
+     * @param schema The schema.
+     * @param config Parse configuration.
+     */
     public FixedWidthParser(Reader reader, FixedWidthSchema schema, TextParseConfig config) {
+        this(reader, schema, config, new FWLineParserFactory(schema, config));
+    }
+
+    /**
+     * Creates a parser using an existing line parser factory.
+     * @param reader            The reader to read from.
+     * @param schema            The schema.
+     * @param config            Parse configuration.
+     * @param lineParserFactory The factory to use. Can be a continuation of the factory of another parser.
+     */
+    FixedWidthParser(Reader reader, FixedWidthSchema schema, TextParseConfig config, FWLineParserFactory lineParserFactory) {
         this.schema = schema;
         this.config = config;
-        boolean allowReadAhead = schema.stream().anyMatch(SchemaLine::isOccursInfinitely);
-        this.lineReader = new ReadBuffer(schema.getLineSeparator(), reader, config.getMaxLineLength(), (allowReadAhead ? config.getMaxLineLength(): 1));
+        this.lineParserFactory = lineParserFactory;
+        this.lineReader = new ReadBuffer(schema.getLineSeparator(), reader, config.getMaxLineLength(), config.getMaxLineLength());
         minLineLength = schema.stream().mapToInt(sl->sl.stream().mapToInt(FixedWidthSchemaCell::getLength).sum()).min().orElse(1);
     }
 
@@ -52,8 +74,24 @@ public class FixedWidthParser implements TextSchemaParser {
 
     @Override
     public long parse(Consumer<Line> lineEventListener, Consumer<JSaParException> errorListener) throws IOException {
-        FWLineParserFactory lineParserFactory = new FWLineParserFactory(getSchema(), config);
-        while(true){
+        return parseUntil(()->false, lineEventListener, errorListener);
+    }
+
+    /**
+     * Parses the head of the input, which are the lines of types with a finite number of occurrences. Stops as soon as
+     * the head is consumed, which may be before the first line.
+     * @param lineEventListener The line consumer.
+     * @param errorListener     The error consumer.
+     * @return Number of lines read.
+     * @throws IOException If there is an error reading from the input reader.
+     * @see FWLineParserFactory#isHeadConsumed()
+     */
+    long parseHead(Consumer<Line> lineEventListener, Consumer<JSaParException> errorListener) throws IOException {
+        return parseUntil(lineParserFactory::isHeadConsumed, lineEventListener, errorListener);
+    }
+
+    private long parseUntil(BooleanSupplier done, Consumer<Line> lineEventListener, Consumer<JSaParException> errorListener) throws IOException {
+        while(!done.getAsBoolean()){
             if(lineParserFactory.isEmpty())
                 return lineReader.getLineNumber();
             int lineLength = lineReader.nextLine(minLineLength);
@@ -69,6 +107,8 @@ public class FixedWidthParser implements TextSchemaParser {
                 else
                     return lineReader.getLineNumber()-1;
             }
+            if(lineParser.skipIfFilteredOut(lineReader))
+                continue;
             Line line = lineParser.parse(lineReader, errorListener);
             if(lineParser.isIgnoreRead())
                 continue;
@@ -77,6 +117,7 @@ public class FixedWidthParser implements TextSchemaParser {
             else if(lineReader.eofReached())
                 return lineReader.getLineNumber()-1; // End of stream.
         }
+        return lineReader.getLineNumber();
     }
 
     @Override
@@ -85,7 +126,6 @@ public class FixedWidthParser implements TextSchemaParser {
             return Stream.empty();
         }
         try {
-            FWLineParserFactory lineParserFactory = new FWLineParserFactory(getSchema(), config);
             Spliterator<Line> spliterator = new Spliterator<>() {
                 @Override
                 public boolean tryAdvance(Consumer<? super Line> action) {
@@ -102,6 +142,8 @@ public class FixedWidthParser implements TextSchemaParser {
                             handleNoParser(lineReader.getLineNumber(), lineParserFactory.getLastResult(), errorConsumer);
                             return lineParserFactory.getLastResult() == LineParserMatcherResult.NOT_MATCHING;
                         }
+                        if (lineParser.skipIfFilteredOut(lineReader))
+                            return true;
                         Line line = lineParser.parse(lineReader, errorConsumer);
                         if (lineParser.isIgnoreRead())
                             return true;
@@ -137,4 +179,18 @@ public class FixedWidthParser implements TextSchemaParser {
         }
     }
 
+    @Override
+    public Reader remainder() throws IOException {
+        return lineReader.remainder();
+    }
+
+    @Override
+    public List<CellCacheStatistics> cellCacheStatistics() {
+        return lineParserFactory.cellCacheStatistics().collect(Collectors.toList());
+    }
+
+    FWLineParserFactory getLineParserFactory() {
+        return lineParserFactory;
+    }
+
 }
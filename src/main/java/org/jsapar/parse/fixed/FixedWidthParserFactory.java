@@ -0,0 +1,34 @@
+package org.jsapar.parse.fixed;
+
+import org.jsapar.parse.text.TextSchemaParserFactory;
+import org.jsapar.schema.FixedWidthSchema;
+import org.jsapar.text.TextParseConfig;
+
+import java.io.Reader;
+
+/**
+ * Internal class that creates the line and cell parsers of a fixed width schema once. Each created
+ * {@link FixedWidthParser} gets copies of them that share everything that does not change while parsing. The line
+ * parsers of this class are never used for parsing, which makes it thread-safe.
+ * @since 2.4
+ */
+public final class FixedWidthParserFactory implements TextSchemaParserFactory {
+    private final FixedWidthSchema    schema;
+    private final TextParseConfig     parseConfig;
+    private final FWLineParserFactory lineParserFactory;
+
+    /**
+     * @param schema      The schema.
+     * @param parseConfig Parse configuration. Should not be changed after calling this constructor.
+     */
+    public FixedWidthParserFactory(FixedWidthSchema schema, TextParseConfig parseConfig) {
+        this.schema = schema;
+        this.parseConfig = parseConfig;
+        this.lineParserFactory = new FWLineParserFactory(schema, parseConfig);
+    }
+
+    @Override
+    public FixedWidthParser makeParser(Reader reader) {
+        return new FixedWidthParser(reader, schema, parseConfig, lineParserFactory.copy());
+    }
+}
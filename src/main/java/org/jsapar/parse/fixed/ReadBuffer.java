@@ -2,8 +2,10 @@ package org.jsapar.parse.fixed;
 
 import org.jsapar.parse.LineParseException;
 import org.jsapar.schema.FixedWidthSchemaCell;
+import org.jsapar.utils.CharSlice;
 
 import java.io.IOException;
+import java.io.PushbackReader;
 import java.io.Reader;
 import java.util.Arrays;
 
@@ -20,11 +22,12 @@ final class ReadBuffer {
     private              int        lineEnd;
     private              int        nextLineBegin = 0;
 
-    private final char[]  buffer;
-    private       int     cursor     = 0;
-    private       int     bufferSize = 0;
-    private       long    lineNumber = 0;
-    private       boolean eof        = false;
+    private final char[]    buffer;
+    private final CharSlice stringSlice = new CharSlice();
+    private       int       cursor     = 0;
+    private       int       bufferSize = 0;
+    private       long      lineNumber = 0;
+    private       boolean   eof        = false;
 
     /**
      * @param reader      The reader to read from
@@ -122,8 +125,21 @@ final class ReadBuffer {
      * @throws IOException If there is a problem while reading the input reader.
      */
     String readToString(Trimmer trimmer, int offset, int length) throws IOException {
+        CharSlice cell = readToSlice(trimmer, offset, length, stringSlice);
+        if (cell == null)
+            return null;
+        return cell.length() == 0 ? EMPTY_STRING : cell.toString();
+    }
+
+    /**
+     * Reads the trimmed characters of a cell without creating any string.
+     * @param target The slice to set to the characters of the cell within this buffer. Only valid until next read.
+     * @return The supplied target slice. Null if end of input stream was reached.
+     * @throws IOException If there is a problem while reading the input reader.
+     */
+    CharSlice readToSlice(Trimmer trimmer, int offset, int length, CharSlice target) throws IOException {
         if (length == 0)
-            return EMPTY_STRING;
+            return target.set(buffer, 0, 0);
 
         cursor += offset;
         int required = cursor + length - bufferSize;
@@ -142,12 +158,12 @@ final class ReadBuffer {
         if (length < 0)
             return null; //EOL
         if (length == 0)
-            return EMPTY_STRING;
+            return target.set(buffer, 0, 0);
         final int fieldEnd = cursor + length;
         int cellBegin = trimmer.findBegin(buffer, cursor, fieldEnd);
         int cellEnd = trimmer.findEnd(buffer, cellBegin, fieldEnd);
         cursor = fieldEnd;
-        return new String(buffer, cellBegin, cellEnd - cellBegin);
+        return target.set(buffer, cellBegin, cellEnd - cellBegin);
     }
 
 
@@ -345,10 +361,31 @@ final class ReadBuffer {
         return lineNumber;
     }
 
+    /**
+     * Creates a reader that first supplies the characters of this buffer that are not yet consumed, then continues
+     * with the underlying reader. This buffer can not be used after calling this method.
+     * @return A reader that continues where this buffer was consumed.
+     * @throws IOException In case of underlying io error.
+     */
+    Reader remainder() throws IOException {
+        final int from = lineLoader.consumed();
+        final int length = bufferSize - from;
+        if (length <= 0)
+            return reader;
+        PushbackReader pushbackReader = new PushbackReader(reader, length);
+        pushbackReader.unread(buffer, from, length);
+        return pushbackReader;
+    }
+
     private interface LineLoader {
         int nextLine(int allocate) throws IOException;
 
         int remainsForLine();
+
+        /**
+         * @return The position in the buffer of the first character that is not consumed.
+         */
+        int consumed();
     }
 
     /**
@@ -373,6 +410,11 @@ final class ReadBuffer {
         public int remainsForLine() {
             return 0;
         }
+
+        @Override
+        public int consumed() {
+            return cursor;
+        }
     }
 
     private final class LineLoaderCRLF implements LineLoader {
@@ -411,6 +453,11 @@ final class ReadBuffer {
         public int remainsForLine() {
             return lineEnd - cursor;
         }
+
+        @Override
+        public int consumed() {
+            return nextLineBegin;
+        }
     }
 
     private final class LineLoaderCustom implements LineLoader {
@@ -455,6 +502,11 @@ final class ReadBuffer {
         public int remainsForLine() {
             return lineEnd - cursor;
         }
+
+        @Override
+        public int consumed() {
+            return nextLineBegin;
+        }
     }
 
     /**
@@ -0,0 +1,184 @@
+package org.jsapar.parse.line;
+
+import org.jsapar.schema.EqualsCellValueCondition;
+import org.jsapar.schema.MatchingCellValueCondition;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Internal class that indexes line matchers by the literal value that one control cell of the line needs to have. Finds
+ * the same matcher as if all matchers were tested in a list where the most recently matching matcher is moved first,
+ * but only tests the matchers that require the actual control value and the matchers that have no literal condition
+ * on the control cell.
+ *
+ * @param <M> The type of the matchers.
+ */
+public final class LineMatcherIndex<M> {
+
+    private static final Comparator<Entry<?>> RANK_ORDER = Comparator.<Entry<?>>comparingLong(e -> -e.lastMatched)
+            .thenComparingInt(e -> e.order);
+
+    private final Map<String, Deque<Entry<M>>> byControlValue = new HashMap<>();
+    private final Deque<Entry<M>>              unindexed      = new ArrayDeque<>();
+    private final Map<M, Entry<M>>             entries        = new IdentityHashMap<>();
+    private       long                         matchCount     = 0L;
+
+    /**
+     * @param matchers       The matchers in the order they should be tested initially.
+     * @param controlValueOf Provides the literal value that the control cell needs to have for each matcher, or null if
+     *                       the matcher does not have any literal condition on the control cell.
+     */
+    public LineMatcherIndex(List<M> matchers, Function<M, String> controlValueOf) {
+        int order = 0;
+        for (M matcher : matchers) {
+            Entry<M> entry = new Entry<>(matcher, order++, controlValueOf.apply(matcher));
+            entries.put(matcher, entry);
+            if (entry.controlValue == null)
+                unindexed.addLast(entry);
+            else
+                byControlValue.computeIfAbsent(entry.controlValue, k -> new ArrayDeque<>()).addLast(entry);
+        }
+    }
+
+    /**
+     * Finds the first matcher that matches in the current order of the matchers. Only matchers that may match the
+     * supplied control value are tested.
+     *
+     * @param controlValue The value of the control cell of the line or null if it is not known, in which case all the
+     *                     matchers are tested.
+     * @param isMatching   Tests if a matcher is matching.
+     * @return The first matching matcher or null if none is matching.
+     */
+    public M findFirst(String controlValue, Predicate<M> isMatching) {
+        if (controlValue == null) {
+            for (Entry<M> entry : inRankOrder()) {
+                if (isMatching.test(entry.matcher))
+                    return entry.matcher;
+            }
+            return null;
+        }
+        Deque<Entry<M>> indexed = byControlValue.get(controlValue);
+        if (indexed == null)
+            return findFirst(unindexed.iterator(), isMatching);
+        if (unindexed.isEmpty())
+            return findFirst(indexed.iterator(), isMatching);
+
+        // Both queues are ordered by rank, merge them.
+        Iterator<Entry<M>> itIndexed = indexed.iterator();
+        Iterator<Entry<M>> itUnindexed = unindexed.iterator();
+        Entry<M> nextIndexed = itIndexed.next();
+        Entry<M> nextUnindexed = itUnindexed.next();
+        while (nextIndexed != null || nextUnindexed != null) {
+            Entry<M> entry;
+            if (nextUnindexed == null || (nextIndexed != null && RANK_ORDER.compare(nextIndexed, nextUnindexed) < 0)) {
+                entry = nextIndexed;
+                nextIndexed = itIndexed.hasNext() ? itIndexed.next() : null;
+            } else {
+                entry = nextUnindexed;
+                nextUnindexed = itUnindexed.hasNext() ? itUnindexed.next() : null;
+            }
+            if (isMatching.test(entry.matcher))
+                return entry.matcher;
+        }
+        return null;
+    }
+
+    private M findFirst(Iterator<Entry<M>> entries, Predicate<M> isMatching) {
+        while (entries.hasNext()) {
+            Entry<M> entry = entries.next();
+            if (isMatching.test(entry.matcher))
+                return entry.matcher;
+        }
+        return null;
+    }
+
+    /**
+     * Registers that a matcher was used so that it is tested first next time.
+     *
+     * @param matcher The matcher that was used.
+     */
+    public void matched(M matcher) {
+        Entry<M> entry = entries.get(matcher);
+        Deque<Entry<M>> queue = queueOf(entry);
+        entry.lastMatched = ++matchCount;
+        if (queue.peekFirst() != entry) {
+            queue.remove(entry);
+            queue.addFirst(entry);
+        }
+    }
+
+    /**
+     * Removes a matcher that will not be used anymore.
+     *
+     * @param matcher The matcher to remove.
+     */
+    public void remove(M matcher) {
+        Entry<M> entry = entries.remove(matcher);
+        if (entry == null)
+            return;
+        Deque<Entry<M>> queue = queueOf(entry);
+        queue.remove(entry);
+        if (queue.isEmpty() && entry.controlValue != null)
+            byControlValue.remove(entry.controlValue);
+    }
+
+    /**
+     * @return All matchers in the order they would be tested if the control value was unknown.
+     */
+    public List<M> matchers() {
+        return inRankOrder().stream().map(e -> e.matcher).collect(Collectors.toList());
+    }
+
+    public boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    private List<Entry<M>> inRankOrder() {
+        List<Entry<M>> all = new ArrayList<>(entries.values());
+        all.sort(RANK_ORDER);
+        return all;
+    }
+
+    private Deque<Entry<M>> queueOf(Entry<M> entry) {
+        return entry.controlValue == null ? unindexed : byControlValue.get(entry.controlValue);
+    }
+
+    /**
+     * @param condition A line condition.
+     * @return The only value that supplied condition is satisfied with, if that is known. Otherwise an empty optional.
+     */
+    public static Optional<String> literalOf(Predicate<String> condition) {
+        if (condition instanceof EqualsCellValueCondition) {
+            EqualsCellValueCondition equalsCondition = (EqualsCellValueCondition) condition;
+            return equalsCondition.isIgnoreCase() ? Optional.empty() : Optional.of(equalsCondition.getValue());
+        }
+        if (condition instanceof MatchingCellValueCondition)
+            return ((MatchingCellValueCondition) condition).getLiteral();
+        return Optional.empty();
+    }
+
+    private static final class Entry<M> {
+        private final M      matcher;
+        private final int    order;
+        private final String controlValue;
+        private       long   lastMatched = 0L;
+
+        private Entry(M matcher, int order, String controlValue) {
+            this.matcher = matcher;
+            this.order = order;
+            this.controlValue = controlValue;
+        }
+    }
+}
@@ -0,0 +1,426 @@
+package org.jsapar.parse.text;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Internal class that reads characters from a source of raw bytes. For the character sets US-ASCII, ISO-8859-1 and
+ * UTF-8, the bytes are decoded directly into the character buffer of the caller by a specialized loop instead of
+ * going through a {@link java.nio.charset.CharsetDecoder} and its intermediate buffers. ISO-8859-1 and US-ASCII are
+ * decoded by plain widening of each byte and UTF-8 uses the same fast path as long as characters are in the ASCII range.
+ * <p>
+ * Malformed input is replaced with the replacement character U+FFFD, the same way as {@link InputStreamReader} does.
+ * <p>
+ * Use the factory methods to create a reader. They fall back to the standard readers of the JDK for other
+ * character sets.
+ */
+public final class ByteSourceReader extends Reader {
+    private static final char REPLACEMENT = '\uFFFD';
+    private static final int  STAGING_SIZE = 8 * 1024;
+    private static final int  MAPPED_WINDOW_SIZE = 256 * 1024 * 1024;
+
+    private enum Decoding {LATIN1, ASCII, UTF8}
+
+    private final ByteSource source;
+    private       ByteBuffer bytes;
+    private final Decoding   decoding;
+    private       boolean    sourceExhausted;
+    private       int        pendingLowSurrogate = -1;
+
+    private ByteSourceReader(ByteSource source, ByteBuffer bytes, Decoding decoding) {
+        this.source = source;
+        this.bytes = bytes;
+        this.decoding = decoding;
+    }
+
+    /**
+     * @param charset The character set to test.
+     * @return True if the supplied character set is decoded by this class, false if factory methods falls back to
+     * standard readers.
+     */
+    public static boolean isDecodedDirectly(Charset charset) {
+        return decodingOf(charset) != null;
+    }
+
+    private static Decoding decodingOf(Charset charset) {
+        if (StandardCharsets.ISO_8859_1.equals(charset))
+            return Decoding.LATIN1;
+        if (StandardCharsets.US_ASCII.equals(charset))
+            return Decoding.ASCII;
+        if (StandardCharsets.UTF_8.equals(charset))
+            return Decoding.UTF8;
+        return null;
+    }
+
+    /**
+     * Creates a reader that reads characters from an input stream.
+     * @param inputStream The input stream to read bytes from. The input stream is closed when the reader is closed.
+     * @param charset     The character set of the input.
+     * @return A reader that decodes the bytes of the input stream.
+     */
+    public static Reader ofInputStream(InputStream inputStream, Charset charset) {
+        Decoding decoding = decodingOf(charset);
+        if (decoding == null)
+            return new InputStreamReader(inputStream, charset);
+        ByteBuffer staging = ByteBuffer.allocate(STAGING_SIZE);
+        staging.flip();
+        return new ByteSourceReader(new ByteSource() {
+            @Override
+            public ByteBuffer next(ByteBuffer bytes) throws IOException {
+                bytes.compact();
+                int count;
+                try {
+                    count = inputStream.read(bytes.array(), bytes.arrayOffset() + bytes.position(), bytes.remaining());
+                    if (count > 0)
+                        bytes.position(bytes.position() + count);
+                } finally {
+                    bytes.flip();
+                }
+                return count < 0 ? null : bytes;
+            }
+
+            @Override
+            public void close() throws IOException {
+                inputStream.close();
+            }
+        }, staging, decoding);
+    }
+
+    /**
+     * Creates a reader that reads characters from a channel.
+     * @param channel The channel to read bytes from. The channel is closed when the reader is closed.
+     * @param charset The character set of the input.
+     * @return A reader that decodes the bytes of the channel.
+     */
+    public static Reader ofChannel(ReadableByteChannel channel, Charset charset) {
+        Decoding decoding = decodingOf(charset);
+        if (decoding == null)
+            return Channels.newReader(channel, charset);
+        ByteBuffer staging = ByteBuffer.allocate(STAGING_SIZE);
+        staging.flip();
+        return new ByteSourceReader(new ByteSource() {
+            @Override
+            public ByteBuffer next(ByteBuffer bytes) throws IOException {
+                bytes.compact();
+                int count;
+                try {
+                    count = channel.read(bytes);
+                } finally {
+                    bytes.flip();
+                }
+                return count < 0 ? null : bytes;
+            }
+
+            @Override
+            public void close() throws IOException {
+                channel.close();
+            }
+        }, staging, decoding);
+    }
+
+    /**
+     * Creates a reader that reads characters from the remaining bytes of a byte buffer. The bytes are decoded directly
+     * from the supplied buffer without copying them. The position of the supplied buffer is advanced while reading.
+     * @param byteBuffer The buffer to read bytes from.
+     * @param charset    The character set of the input.
+     * @return A reader that decodes the bytes of the buffer.
+     */
+    public static Reader ofByteBuffer(ByteBuffer byteBuffer, Charset charset) {
+        Decoding decoding = decodingOf(charset);
+        if (decoding == null)
+            return Channels.newReader(new ByteBufferChannel(byteBuffer), charset);
+        return new ByteSourceReader(bytes -> null, byteBuffer, decoding);
+    }
+
+    /**
+     * Creates a reader that reads characters from a file by mapping it into memory. The bytes are decoded directly
+     * from the mapped memory without copying them. Files larger than what can be mapped at once are mapped one window
+     * at a time.
+     * @param fileChannel The channel of the file to read. Reading starts at the current position of the channel. The
+     *                    channel is closed when the reader is closed.
+     * @param charset     The character set of the input.
+     * @return A reader that decodes the bytes of the file.
+     * @throws IOException In case of an error while mapping the file.
+     */
+    public static Reader ofFile(FileChannel fileChannel, Charset charset) throws IOException {
+        return ofFile(fileChannel, charset, MAPPED_WINDOW_SIZE);
+    }
+
+    static Reader ofFile(FileChannel fileChannel, Charset charset, int windowSize) throws IOException {
+        Decoding decoding = decodingOf(charset);
+        if (decoding == null)
+            return Channels.newReader(fileChannel, charset);
+        MappedFileSource source = new MappedFileSource(fileChannel, fileChannel.size(), windowSize, true);
+        return new ByteSourceReader(source, source.map(fileChannel.position()), decoding);
+    }
+
+    /**
+     * Creates a reader that reads characters from a range of bytes within a file by mapping it into memory. Several
+     * readers may read different ranges of the same file concurrently. The range needs to begin at the first byte of a
+     * character.
+     * @param fileChannel The channel of the file to read. The channel is not closed when the reader is closed.
+     * @param charset     The character set of the input. Needs to be one of the character sets that are decoded
+     *                    directly, see {@link #isDecodedDirectly(Charset)}.
+     * @param begin       The position within the file of the first byte to read.
+     * @param end         The position within the file after the last byte to read.
+     * @return A reader that decodes the bytes of the file range.
+     * @throws IOException In case of an error while mapping the file.
+     * @throws IllegalArgumentException If the supplied character set is not decoded directly.
+     */
+    public static Reader ofFileRange(FileChannel fileChannel, Charset charset, long begin, long end) throws IOException {
+        Decoding decoding = decodingOf(charset);
+        if (decoding == null)
+            throw new IllegalArgumentException("Reading a range of a file is not supported for character set " + charset);
+        MappedFileSource source = new MappedFileSource(fileChannel, end, MAPPED_WINDOW_SIZE, false);
+        return new ByteSourceReader(source, source.map(begin), decoding);
+    }
+
+    @Override
+    public int read(char[] cbuf, int off, int len) throws IOException {
+        if (len <= 0)
+            return 0;
+        int count = 0;
+        if (pendingLowSurrogate >= 0) {
+            cbuf[off] = (char) pendingLowSurrogate;
+            pendingLowSurrogate = -1;
+            if (len == 1)
+                return 1;
+            count = 1;
+        }
+        while (true) {
+            count += decode(cbuf, off + count, len - count);
+            if (count > 0)
+                return count;
+            if (sourceExhausted)
+                return -1; // All bytes are decoded once the source is exhausted.
+            final ByteBuffer next = source.next(bytes);
+            if (next == null)
+                sourceExhausted = true;
+            else
+                bytes = next;
+        }
+    }
+
+    /**
+     * Decodes available bytes into supplied character buffer.
+     * @return Number of decoded characters. Returns 0 if more bytes are needed.
+     */
+    private int decode(char[] cbuf, int off, int len) {
+        switch (decoding) {
+        case LATIN1:
+            return decodeLatin1(cbuf, off, len);
+        case ASCII:
+            return decodeAscii(cbuf, off, len);
+        default:
+            return decodeUtf8(cbuf, off, len);
+        }
+    }
+
+    private int decodeLatin1(char[] cbuf, int off, int len) {
+        final ByteBuffer in = this.bytes;
+        final int begin = in.position();
+        final int count = Math.min(len, in.limit() - begin);
+        for (int i = 0; i < count; i++) {
+            cbuf[off + i] = (char) (in.get(begin + i) & 0xFF);
+        }
+        in.position(begin + count);
+        return count;
+    }
+
+    private int decodeAscii(char[] cbuf, int off, int len) {
+        final ByteBuffer in = this.bytes;
+        final int begin = in.position();
+        final int count = Math.min(len, in.limit() - begin);
+        for (int i = 0; i < count; i++) {
+            final byte b = in.get(begin + i);
+            cbuf[off + i] = b >= 0 ? (char) b : REPLACEMENT;
+        }
+        in.position(begin + count);
+        return count;
+    }
+
+    private int decodeUtf8(char[] cbuf, final int off, int len) {
+        final ByteBuffer in = this.bytes;
+        final int limit = in.limit();
+        final int end = off + len;
+        int pos = in.position();
+        int dst = off;
+        while (dst < end && pos < limit) {
+            final int b = in.get(pos);
+            if (b >= 0) {
+                cbuf[dst++] = (char) b;
+                pos++;
+                continue;
+            }
+            final int lead = b & 0xFF;
+            if (lead < 0xC2 || lead > 0xF4) {
+                cbuf[dst++] = REPLACEMENT;
+                pos++;
+                continue;
+            }
+            final int size = lead >= 0xF0 ? 4 : lead >= 0xE0 ? 3 : 2;
+            final int available = Math.min(size, limit - pos);
+            final int valid = validPrefix(in, pos, lead, available);
+            if (valid < available || (valid < size && sourceExhausted)) {
+                // Malformed or truncated. Replace the valid prefix the same way as the decoders of the JDK do.
+                cbuf[dst++] = REPLACEMENT;
+                pos += valid;
+                continue;
+            }
+            if (valid < size)
+                break; // Need more bytes
+            int codePoint = lead & (0xFF >> (size + 1));
+            for (int i = 1; i < size; i++)
+                codePoint = (codePoint << 6) | (in.get(pos + i) & 0x3F);
+            pos += size;
+            if (size < 4) {
+                cbuf[dst++] = Character.isSurrogate((char) codePoint) ? REPLACEMENT : (char) codePoint;
+            } else {
+                cbuf[dst++] = Character.highSurrogate(codePoint);
+                if (dst < end)
+                    cbuf[dst++] = Character.lowSurrogate(codePoint);
+                else
+                    pendingLowSurrogate = Character.lowSurrogate(codePoint);
+            }
+        }
+        in.position(pos);
+        return dst - off;
+    }
+
+    /**
+     * @param in        The bytes.
+     * @param pos       The position of the lead byte.
+     * @param lead      The lead byte.
+     * @param available The number of bytes of the sequence that are available.
+     * @return The number of bytes, from the lead byte, that are valid as the beginning of a UTF-8 sequence.
+     */
+    private static int validPrefix(ByteBuffer in, int pos, int lead, int available) {
+        if (available < 2)
+            return available;
+        final int second = in.get(pos + 1) & 0xFF;
+        final boolean secondValid;
+        switch (lead) {
+        case 0xE0:
+            secondValid = second >= 0xA0 && second <= 0xBF; // Overlong
+            break;
+        case 0xF0:
+            secondValid = second >= 0x90 && second <= 0xBF; // Overlong
+            break;
+        case 0xF4:
+            secondValid = second >= 0x80 && second <= 0x8F; // Beyond max code point
+            break;
+        default:
+            secondValid = (second & 0xC0) == 0x80;
+        }
+        if (!secondValid)
+            return 1;
+        for (int i = 2; i < available; i++) {
+            if ((in.get(pos + i) & 0xC0) != 0x80)
+                return i;
+        }
+        return available;
+    }
+
+    @Override
+    public void close() throws IOException {
+        source.close();
+    }
+
+    /**
+     * The source of bytes to decode.
+     */
+    private interface ByteSource {
+        /**
+         * Provides more bytes to decode. The remaining bytes of the current buffer needs to be the first bytes of the
+         * returned buffer. The buffers are ready for reading both before and after the call.
+         * @param bytes The current buffer.
+         * @return The buffer to continue decoding from, which may be the same instance as the current buffer, or null
+         * if end of input was reached.
+         * @throws IOException In case of underlying io error.
+         */
+        ByteBuffer next(ByteBuffer bytes) throws IOException;
+
+        default void close() throws IOException {
+        }
+    }
+
+    /**
+     * Maps a file into memory, one window at a time.
+     */
+    private static final class MappedFileSource implements ByteSource {
+        private final FileChannel fileChannel;
+        private final long        end;
+        private final int         windowSize;
+        private final boolean     closeChannel;
+        private       long        windowBegin;
+
+        private MappedFileSource(FileChannel fileChannel, long end, int windowSize, boolean closeChannel) {
+            this.fileChannel = fileChannel;
+            this.end = end;
+            this.windowSize = windowSize;
+            this.closeChannel = closeChannel;
+        }
+
+        private ByteBuffer map(long begin) throws IOException {
+            this.windowBegin = begin;
+            final long size = Math.min(windowSize, Math.max(0L, end - begin));
+            return fileChannel.map(FileChannel.MapMode.READ_ONLY, begin, size);
+        }
+
+        @Override
+        public ByteBuffer next(ByteBuffer bytes) throws IOException {
+            if (windowBegin + bytes.limit() >= end)
+                return null;
+            // Next window overlaps the remaining bytes of current window.
+            return map(windowBegin + bytes.position());
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closeChannel)
+                fileChannel.close();
+        }
+    }
+
+    /**
+     * Presents a byte buffer as a channel so that it can be decoded by the standard readers of the JDK.
+     */
+    private static final class ByteBufferChannel implements ReadableByteChannel {
+        private final ByteBuffer source;
+        private       boolean    open = true;
+
+        private ByteBufferChannel(ByteBuffer source) {
+            this.source = source;
+        }
+
+        @Override
+        public int read(ByteBuffer dst) {
+            if (!source.hasRemaining())
+                return -1;
+            final int count = Math.min(dst.remaining(), source.remaining());
+            final ByteBuffer slice = source.slice();
+            slice.limit(count);
+            dst.put(slice);
+            source.position(source.position() + count);
+            return count;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return open;
+        }
+
+        @Override
+        public void close() {
+            open = false;
+        }
+    }
+}
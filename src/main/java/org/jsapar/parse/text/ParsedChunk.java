@@ -0,0 +1,132 @@
+package org.jsapar.parse.text;
+
+import org.jsapar.error.JSaParException;
+import org.jsapar.model.Line;
+import org.jsapar.parse.LineParseException;
+import org.jsapar.utils.LineAccess;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Internal class that collects the result of parsing one chunk of an input that is parsed in parallel. Lines and
+ * errors are kept in the order they were produced so that they can later be delivered, with line numbers adjusted to
+ * the position of the chunk within the complete input.
+ */
+public final class ParsedChunk implements Consumer<Line> {
+    private final List<Line>            lines          = new ArrayList<>();
+    private final List<JSaParException> errors         = new ArrayList<>();
+    private final List<Integer>         errorPositions = new ArrayList<>();
+    private       RuntimeException      failure;
+    private       long                  parsedCount;
+    private       Consumer<JSaParException> deliveredErrorConsumer;
+    private final boolean               copyLines;
+
+    public ParsedChunk() {
+        this(false);
+    }
+
+    /**
+     * @param copyLines If true, a copy of each line is kept. Needed when the parser reuses line instances.
+     * @see org.jsapar.text.TextParseConfig#setReuseLines(boolean)
+     */
+    public ParsedChunk(boolean copyLines) {
+        this.copyLines = copyLines;
+    }
+
+    @Override
+    public void accept(Line line) {
+        lines.add(copyLines ? line.clone() : line);
+    }
+
+    /**
+     * @return An error consumer that collects errors of this chunk. Errors that occur once the chunk has been
+     * delivered, for instance while accessing cells of lines that are parsed lazily, are passed directly to the error
+     * consumer that the chunk was delivered to.
+     */
+    public Consumer<JSaParException> errorConsumer() {
+        return error -> {
+            if (deliveredErrorConsumer != null) {
+                deliveredErrorConsumer.accept(error);
+                return;
+            }
+            errors.add(error);
+            errorPositions.add(lines.size());
+        };
+    }
+
+    /**
+     * Registers that the parsing of this chunk was aborted by an exception. The exception is thrown when the chunk is
+     * delivered, after all lines and errors that preceded it.
+     * @param failure The exception that aborted parsing.
+     */
+    public void setFailure(RuntimeException failure) {
+        this.failure = failure;
+    }
+
+    /**
+     * @return The number of lines parsed within this chunk, as counted by the parser.
+     */
+    public long getParsedCount() {
+        return parsedCount;
+    }
+
+    /**
+     * @param parsedCount The number of lines parsed within this chunk, as counted by the parser.
+     */
+    public void setParsedCount(long parsedCount) {
+        this.parsedCount = parsedCount;
+    }
+
+    /**
+     * @return The number of lines collected by this chunk.
+     */
+    public int size() {
+        return lines.size();
+    }
+
+    /**
+     * Delivers all collected lines and errors to supplied consumers in the order they were produced. Lines are
+     * removed from this chunk while delivered.
+     * @param lineNumberOffset The number of lines of the input that precede this chunk. Added to the line number of
+     *                         each line and error.
+     * @param lineConsumer     The consumer of the lines.
+     * @param errorConsumer    The consumer of the errors.
+     * @throws RuntimeException The exception that aborted parsing of this chunk, if any.
+     */
+    public void deliver(long lineNumberOffset, Consumer<Line> lineConsumer, Consumer<JSaParException> errorConsumer) {
+        deliveredErrorConsumer = errorConsumer;
+        int errorIndex = 0;
+        for (int i = 0; i < lines.size(); i++) {
+            errorIndex = deliverErrors(errorIndex, i, lineNumberOffset, errorConsumer);
+            final Line line = lines.set(i, null);
+            if (lineNumberOffset != 0)
+                LineAccess.setLineNumber(line, line.getLineNumber() + lineNumberOffset);
+            lineConsumer.accept(line);
+        }
+        deliverErrors(errorIndex, lines.size(), lineNumberOffset, errorConsumer);
+        lines.clear();
+        if (failure != null) {
+            renumber(failure, lineNumberOffset);
+            throw failure;
+        }
+    }
+
+    private int deliverErrors(int errorIndex, int position, long lineNumberOffset, Consumer<JSaParException> errorConsumer) {
+        while (errorIndex < errors.size() && errorPositions.get(errorIndex) <= position) {
+            final JSaParException error = errors.get(errorIndex++);
+            renumber(error, lineNumberOffset);
+            errorConsumer.accept(error);
+        }
+        return errorIndex;
+    }
+
+    private static void renumber(RuntimeException error, long lineNumberOffset) {
+        if (lineNumberOffset != 0 && error instanceof LineParseException) {
+            final LineParseException lineError = (LineParseException) error;
+            if (lineError.getLineNumber() > 0)
+                lineError.setLineNumber(lineError.getLineNumber() + lineNumberOffset);
+        }
+    }
+}
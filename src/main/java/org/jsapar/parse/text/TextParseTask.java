@@ -1,6 +1,7 @@
 package org.jsapar.parse.text;
 
 import org.jsapar.parse.AbstractParseTask;
+import org.jsapar.parse.CellCacheStatistics;
 import org.jsapar.parse.ParseTask;
 import org.jsapar.schema.Schema;
 import org.jsapar.schema.SchemaCell;
@@ -9,6 +10,7 @@ import org.jsapar.text.TextParseConfig;
 
 import java.io.IOException;
 import java.io.Reader;
+import java.util.List;
 import java.util.function.Consumer;
 
 /**
@@ -56,6 +58,33 @@ public class TextParseTask extends AbstractParseTask implements ParseTask, AutoC
         return parser.parse(getLineConsumer(), getErrorConsumer());
     }
 
+    /**
+     * Creates a reader that continues where parsing stopped. Parsing reads ahead from the input reader, so if parsing
+     * stops before the end of the input, for instance because all lines of a schema with a finite number of
+     * occurrences have been parsed, some characters may have been read from the input reader without being parsed.
+     * The returned reader supplies those characters first, then the rest of the input reader. Use it to continue
+     * parsing the same input with another schema. This task can not be executed again after calling this method.
+     *
+     * @return A reader that continues where parsing stopped.
+     * @throws IOException If there is an error reading the input
+     * @since 2.4
+     */
+    public Reader getRemainingInput() throws IOException {
+        return parser.remainder();
+    }
+
+    /**
+     * Returns the statistics of the cell value cache of each column. Only columns where the cache adapts itself to
+     * the values that occur are included, see {@link TextParseConfig#setMaxCellCacheSize(int)}. Call this method after
+     * {@link #execute()} to find out which columns benefit from caching.
+     *
+     * @return A snapshot of the statistics of the cell value caches, in the order of the schema.
+     * @since 2.4
+     */
+    public List<CellCacheStatistics> getCellCacheStatistics() {
+        return parser.cellCacheStatistics();
+    }
+
     /**
      * Closes the attached reader
      * @throws IOException In case of error while closing.
@@ -2,6 +2,7 @@ package org.jsapar.parse.text;
 
 import org.jsapar.error.JSaParException;
 import org.jsapar.model.Line;
+import org.jsapar.parse.CellCacheStatistics;
 import org.jsapar.parse.csv.CsvParser;
 import org.jsapar.parse.fixed.FixedWidthParser;
 import org.jsapar.schema.*;
@@ -9,6 +10,7 @@ import org.jsapar.text.TextParseConfig;
 
 import java.io.IOException;
 import java.io.Reader;
+import java.util.List;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
 
@@ -42,6 +44,27 @@ public interface TextSchemaParser {
      */
     Stream<Line> stream(Consumer<JSaParException> errorConsumer) throws IOException;
 
+    /**
+     * Creates a reader that continues where this parser stopped. The parser reads ahead from the input reader into
+     * a buffer, so when parsing stops before the end of the input, for instance because there are no more lines to
+     * parse according to the number of occurrences of the schema lines, some characters may have been read from the
+     * input reader without being parsed. These characters are supplied first by the returned reader, followed by the
+     * rest of the input reader. This parser can not be used after calling this method.
+     * @return A reader that continues where this parser stopped.
+     * @since 2.4
+     * @throws IOException If there is an error reading from the input reader.
+     */
+    Reader remainder() throws IOException;
+
+    /**
+     * @return The statistics of the cell value caches of all cells that have a cache that adapts itself, in the order
+     * of the schema.
+     * @since 2.4
+     */
+    default List<CellCacheStatistics> cellCacheStatistics() {
+        return List.of();
+    }
+
 
         /**
          * Internal method to create a schema parser using this schema.
@@ -0,0 +1,44 @@
+package org.jsapar.parse.text;
+
+import org.jsapar.parse.csv.CsvParserFactory;
+import org.jsapar.parse.fixed.FixedWidthParserFactory;
+import org.jsapar.schema.CsvSchema;
+import org.jsapar.schema.FixedWidthSchema;
+import org.jsapar.schema.Schema;
+import org.jsapar.schema.SchemaCell;
+import org.jsapar.schema.SchemaLine;
+import org.jsapar.text.TextParseConfig;
+
+import java.io.Reader;
+
+/**
+ * Internal interface for a schema that has been compiled once into the parts of a {@link TextSchemaParser} that do not
+ * change while parsing. Implementations are thread-safe. Each created parser gets its own copy of the state that
+ * changes while parsing, such as buffers and cell caches, which makes creating a parser much cheaper than creating it
+ * from the schema.
+ * @since 2.4
+ */
+public interface TextSchemaParserFactory {
+
+    /**
+     * Creates a new parser for one input. The created parser can only be used by one thread at a time but this method
+     * can be called concurrently by any number of threads.
+     * @param reader The reader to use for the parser.
+     * @return A new schema based text parser.
+     */
+    TextSchemaParser makeParser(Reader reader);
+
+    /**
+     * Internal method to compile a schema into a parser factory.
+     * @param schema      The schema to create parsers for.
+     * @param parseConfig The parse configuration. Should not be changed after calling this method.
+     * @return A parser factory for supplied schema.
+     */
+    static TextSchemaParserFactory ofSchema(Schema<? extends SchemaLine<? extends SchemaCell>> schema, TextParseConfig parseConfig) {
+        if (schema instanceof CsvSchema)
+            return new CsvParserFactory((CsvSchema) schema, parseConfig);
+        if (schema instanceof FixedWidthSchema)
+            return new FixedWidthParserFactory((FixedWidthSchema) schema, parseConfig);
+        throw new IllegalArgumentException("Unsupported schema type: " + schema.getClass() + " while parsing.");
+    }
+}
@@ -0,0 +1,50 @@
+package org.jsapar.schema;
+
+import java.util.function.Predicate;
+
+/**
+ * A {@link Predicate} that matches if the value equals a specified string. Since the value to match against is known,
+ * parsers can use it to quickly find the line type of a line without testing all the line types of the schema.
+ * @since 2.4
+ */
+public class EqualsCellValueCondition implements Predicate<String> {
+    private final String value;
+    private final boolean ignoreCase;
+
+    /**
+     * Creates a condition that matches if the value equals supplied value.
+     * @param value The value to compare against.
+     */
+    public EqualsCellValueCondition(String value) {
+        this(value, false);
+    }
+
+    /**
+     * Creates a condition that matches if the value equals supplied value.
+     * @param value      The value to compare against.
+     * @param ignoreCase If true, upper and lower case are considered equal.
+     */
+    public EqualsCellValueCondition(String value, boolean ignoreCase) {
+        this.value = value;
+        this.ignoreCase = ignoreCase;
+    }
+
+    /**
+     * @return The value to compare against.
+     */
+    public String getValue() {
+        return value;
+    }
+
+    /**
+     * @return True if upper and lower case are considered equal.
+     */
+    public boolean isIgnoreCase() {
+        return ignoreCase;
+    }
+
+    @Override
+    public boolean test(String value) {
+        return ignoreCase ? this.value.equalsIgnoreCase(value) : this.value.equals(value);
+    }
+}
@@ -1,5 +1,6 @@
 package org.jsapar.schema;
 
+import java.util.Optional;
 import java.util.function.Predicate;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -9,6 +10,7 @@ import java.util.regex.Pattern;
  * @see Pattern
  */
 public class MatchingCellValueCondition implements Predicate<String> {
+    private static final String SPECIAL_CHARACTERS = "\\^$.|?*+()[]{}";
     private final Pattern pattern;
 
     /**
@@ -27,6 +29,22 @@ public class MatchingCellValueCondition implements Predicate<String> {
         return pattern.pattern();
     }
 
+    /**
+     * @return The only value that this condition matches if the regular expression is a plain literal without any
+     * special characters or if it is quoted as a whole. Otherwise an empty optional.
+     * @since 2.4
+     */
+    public Optional<String> getLiteral() {
+        String regex = pattern.pattern();
+        if (regex.startsWith("\\Q") && regex.endsWith("\\E") && regex.length() >= 4 && regex.indexOf("\\E") == regex.length() - 2)
+            return Optional.of(regex.substring(2, regex.length() - 2));
+        for (int i = 0; i < regex.length(); i++) {
+            if (SPECIAL_CHARACTERS.indexOf(regex.charAt(i)) >= 0)
+                return Optional.empty();
+        }
+        return Optional.of(regex);
+    }
+
     @Override
     public boolean test(String value) {
         Matcher m = pattern.matcher(value);
@@ -1,5 +1,6 @@
 package org.jsapar.schema;
 
+import org.jsapar.model.CellSlots;
 import org.jsapar.model.Line;
 
 import java.util.*;
@@ -25,6 +26,11 @@ public abstract class SchemaLine<C extends SchemaCell> implements Cloneable, Ite
      */
     private Map<String, C> schemaCells = new LinkedHashMap<>();
 
+    /**
+     * The slot indexes of the schema cells, created when first needed and discarded whenever the schema cells change.
+     */
+    private CellSlots cellSlots;
+
     /**
      * The number of times this type of line occurs in the corresponding input or output.
      *
@@ -377,6 +383,7 @@ public abstract class SchemaLine<C extends SchemaCell> implements Cloneable, Ite
         try {
             SchemaLine<C> clone = (SchemaLine<C>) super.clone();
             clone.schemaCells = new LinkedHashMap<>();
+            clone.cellSlots = null;
 
             for (C cell : this.schemaCells.values()) {
                 clone.addSchemaCell((C) cell.clone());
@@ -403,6 +410,25 @@ public abstract class SchemaLine<C extends SchemaCell> implements Cloneable, Ite
      */
     public void addSchemaCell(C cell) {
         this.schemaCells.put(cell.getName(), cell);
+        this.cellSlots = null;
+    }
+
+    /**
+     * Provides the slot index of each schema cell by name. The same instance is returned as long as the schema cells
+     * of this line are not changed, which makes it possible to share it between all the lines that are parsed with
+     * this line schema and to detect when a line was created with the same cell layout.
+     *
+     * @return The cell slots of this line schema in the order of the schema cells.
+     * @since 2.4
+     */
+    public CellSlots getCellSlots() {
+        CellSlots slots = this.cellSlots;
+        if (slots == null) {
+            // Immutable, so it does not matter if more than one thread happens to create it.
+            slots = new CellSlots(schemaCells.keySet());
+            this.cellSlots = slots;
+        }
+        return slots;
     }
 
     /**
@@ -429,5 +455,6 @@ public abstract class SchemaLine<C extends SchemaCell> implements Cloneable, Ite
      */
     public void clear(){
         schemaCells.clear();
+        cellSlots = null;
     }
 }
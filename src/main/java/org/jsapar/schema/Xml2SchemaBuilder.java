@@ -456,7 +456,7 @@ public class Xml2SchemaBuilder implements SchemaXmlTypes, XmlTypes {
         if(xmlEqual != null){
             boolean ignoreCase = parseBooleanAttribute(xmlEqual, "ignorecase").orElse(false);
             String value = getAttributeValue(xmlEqual, "value");
-            return ignoreCase ? value::equalsIgnoreCase : value::equals;
+            return new EqualsCellValueCondition(value, ignoreCase);
         }
         throw new SchemaException("Expected line condition is missing");
     }
@@ -2,6 +2,7 @@ package org.jsapar.text;
 
 import org.jsapar.model.CellType;
 import org.jsapar.text.format.*;
+import org.jsapar.utils.CharSlice;
 
 import java.math.BigDecimal;
 import java.text.ParseException;
@@ -31,6 +32,34 @@ public interface Format<T> {
      */
     T parse(String stringValue) throws ParseException;
 
+    /**
+     * Parses an instance of type T from the supplied characters. Implementations that can parse without creating a
+     * string should override this method. This implementation parses the string value of the supplied characters.
+     * The supplied character sequence may be changed by the caller after this call, so implementations should never
+     * keep a reference to it.
+     * @param value The characters to parse from.
+     * @return A parsed object.
+     * @throws ParseException If parsing fails for any reason.
+     * @since 2.4
+     */
+    default T parse(CharSequence value) throws ParseException {
+        return parse(value.toString());
+    }
+
+    /**
+     * Parses an instance of type T from a range within a character array. This implementation calls
+     * {@link #parse(CharSequence)} with a view of the range.
+     * @param buffer The characters to parse from.
+     * @param offset The index of the first character to parse.
+     * @param length The number of characters to parse.
+     * @return A parsed object.
+     * @throws ParseException If parsing fails for any reason.
+     * @since 2.4
+     */
+    default T parse(char[] buffer, int offset, int length) throws ParseException {
+        return parse(new CharSlice(buffer, offset, length));
+    }
+
     /**
      * Formats supplied object into string.
      * @param value The value to format. Usually it should be of the type T but this method is a bit more generous and
@@ -40,6 +69,44 @@ public interface Format<T> {
      */
     String format(Object value) throws IllegalArgumentException;
 
+    /**
+     * Formats a long integer value into string. Implementations that can format a primitive value without creating any
+     * object should override this method. This implementation formats a {@link Long}.
+     * @param value The value to format.
+     * @return A string that is formatted from the supplied value.
+     * @throws IllegalArgumentException If this format does not support numbers.
+     * @since 2.4
+     */
+    default String format(long value) throws IllegalArgumentException {
+        return format((Object) value);
+    }
+
+    /**
+     * Formats a double precision float value into string. Implementations that can format a primitive value without
+     * creating any object should override this method. This implementation formats a {@link Double}.
+     * @param value The value to format.
+     * @return A string that is formatted from the supplied value.
+     * @throws IllegalArgumentException If this format does not support numbers.
+     * @since 2.4
+     */
+    default String format(double value) throws IllegalArgumentException {
+        return format((Object) value);
+    }
+
+    /**
+     * Formats a decimal value that is represented by an unscaled long and a scale into string. Implementations that
+     * can format such a value without creating any object should override this method. This implementation formats a
+     * {@link BigDecimal}.
+     * @param unscaledValue The unscaled value.
+     * @param scale         The scale, as in {@link BigDecimal#valueOf(long, int)}.
+     * @return A string that is formatted from the supplied value.
+     * @throws IllegalArgumentException If this format does not support numbers.
+     * @since 2.4
+     */
+    default String format(long unscaledValue, int scale) throws IllegalArgumentException {
+        return format(BigDecimal.valueOf(unscaledValue, scale));
+    }
+
     /**
      * @param format The java.text.Format to use.
      * @param <T> The return type.
@@ -202,7 +269,7 @@ public interface Format<T> {
      * @return An instance that formats and parses date time objects.
      */
     static  Format<TemporalAccessor>  ofDateTimeInstance(Locale locale, String pattern, CellType cellType){
-        return ofDateTimeInstance(DateTimeFormatter.ofPattern(pattern, locale), cellType);
+        return new DateTimeFormat(pattern, locale, cellType, ZoneId.systemDefault());
     }    /**
      * @param locale  The locale to use
      * @param pattern The date pattern to use according to {@link DateTimeFormatter}. Required.
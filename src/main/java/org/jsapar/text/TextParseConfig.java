@@ -1,12 +1,28 @@
 package org.jsapar.text;
 
 import org.jsapar.error.ValidationAction;
+import org.jsapar.parse.SharedCellCache;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
 
 /**
  * Configuration that controls behavior while parsing text.
  */
 public class TextParseConfig {
 
+    /**
+     * The upper limit of the max cell cache size.
+     */
+    private static final int MAX_CELL_CACHE_SIZE_LIMIT = 4096;
+
     /**
      * The action to take if the cell value conditions of the line does not match any of the defined line types
      * within the schema. Default is to throw exception.
@@ -30,7 +46,7 @@ public class TextParseConfig {
      * The maximum number of cell values that are cached while parsing. 0 or negative value means that caching is disabled. For inputs
      * where each cell on each line contains a unique value, you may gain some speed by disabling the cache.
      * <p>
-     * The default max cache size is 1 and the maximum value is 100. Setting a higher value will not have any further
+     * The default max cache size is 256 and the maximum value is 4096. Setting a higher value will not have any further
      * effect.
      * <p>
      * For each column or schema-cell the library knows that a distinct string value will always result in exactly the same cell value.
@@ -48,9 +64,10 @@ public class TextParseConfig {
      * the cache. It reduces a lot of calls to new.
      * <p>
      * As usual when caching; some will gain and some will lose. In this case we gain a lot for columns where value does
-     * not change a lot but loose some for columns where each value is unique.
+     * not change a lot but loose some for columns where each value is unique. For that reason, caches with a max size
+     * larger than 2 adapt themselves to the values of each column.
      */
-    private int maxCellCacheSize = 1;
+    private int maxCellCacheSize = 256;
 
     /**
      * The maximum number of characters that can occur on one line. Default is 8k. Since this size is used to allocate
@@ -60,6 +77,56 @@ public class TextParseConfig {
      */
     private int maxLineLength = 1024 * 8;
 
+    /**
+     * If true, the cells of each parsed line are created first when they are requested. Default is false.
+     */
+    private boolean lazyCells = false;
+
+    /**
+     * If true, the parser reuses one line instance per line type for all the lines it parses. Default is false.
+     */
+    private boolean reuseLines = false;
+
+    /**
+     * A cell value cache that is shared with other parsers or null if each parser has its own cache.
+     */
+    private SharedCellCache sharedCellCache = null;
+
+    /**
+     * The names of the cells to parse, by line type. Line types that are not present are parsed completely.
+     */
+    private final Map<String, Set<String>> projections = new HashMap<>();
+
+    /**
+     * Predicates on raw cell values that lines must pass, by line type and cell name.
+     */
+    private final Map<String, Map<String, Predicate<String>>> cellFilters = new HashMap<>();
+
+    /**
+     * Creates a configuration with default values.
+     */
+    public TextParseConfig() {
+    }
+
+    /**
+     * Creates a copy of an existing configuration. Changes of the copy have no effect on the original configuration.
+     *
+     * @param config The configuration to copy.
+     * @since 2.4
+     */
+    public TextParseConfig(TextParseConfig config) {
+        this.onUndefinedLineType = config.onUndefinedLineType;
+        this.onLineInsufficient = config.onLineInsufficient;
+        this.onLineOverflow = config.onLineOverflow;
+        this.maxCellCacheSize = config.maxCellCacheSize;
+        this.maxLineLength = config.maxLineLength;
+        this.lazyCells = config.lazyCells;
+        this.reuseLines = config.reuseLines;
+        this.sharedCellCache = config.sharedCellCache;
+        this.projections.putAll(config.projections);
+        config.cellFilters.forEach((lineType, filters) -> cellFilters.put(lineType, new LinkedHashMap<>(filters)));
+    }
+
     /**
      * @return The action to take if the cell value conditions of the line does not match any of the defined line types
      * within the schema. Default is to throw exception.
@@ -126,7 +193,7 @@ public class TextParseConfig {
      * The maximum number of cell values that are cached while parsing. 0 or negative value means that caching is disabled. For inputs
      * where each cell on each line contains a unique value, you may gain some speed by disabling the cache.
      * <p>
-     * The default max cache size is 1 and the maximum value is 100. Setting a higher value will not have any further
+     * The default max cache size is 256 and the maximum value is 4096. Setting a higher value will not have any further
      * effect.
      * <p>
      * For each column or schema-cell the library knows that a distinct string value will always result in exactly the same cell value.
@@ -145,12 +212,19 @@ public class TextParseConfig {
      * <p>
      * As usual when caching; some will gain and some will lose. In this case we gain a lot for columns where value does
      * not change a lot but loose some for columns where each value is unique.
+     * <p>
+     * If the max cache size is larger than 2, the cache of each column adapts itself to the values that occur. It
+     * starts small and grows towards the max size as long as entries need to be evicted, which is typical for columns
+     * with a limited number of distinct values such as country codes, status flags or currencies. When it has reached
+     * the max size and less than half of the values are found in the cache, the cache disables itself, which is
+     * typical for columns with unique values such as identities or amounts. The statistics of these caches are
+     * available from {@link org.jsapar.parse.text.TextParseTask#getCellCacheStatistics()}.
      *
      * @param maxCellCacheSize The maximum number of cell values that are cached while parsing. 0 or negative value means that caching is disabled. For inputs
      *                         where each cell on each line contains a unique value, you may gain some speed by disabling the cache.
      */
     public void setMaxCellCacheSize(int maxCellCacheSize) {
-        this.maxCellCacheSize = Math.max(maxCellCacheSize, 100);
+        this.maxCellCacheSize = Math.min(maxCellCacheSize, MAX_CELL_CACHE_SIZE_LIMIT);
     }
 
     /**
@@ -171,4 +245,160 @@ public class TextParseConfig {
     public void setMaxLineLength(int maxLineLength) {
         this.maxLineLength = maxLineLength;
     }
+
+    /**
+     * @return True if the cells of each parsed line are created first when they are requested.
+     * @see #setLazyCells(boolean)
+     * @since 2.4
+     */
+    public boolean isLazyCells() {
+        return lazyCells;
+    }
+
+    /**
+     * If set to true, each parsed line keeps the raw text of its cells and a cell value is first parsed when the cell
+     * is requested from the line, for instance by {@link org.jsapar.model.Line#getCell(String)} or by any of the
+     * methods of {@link org.jsapar.model.LineUtils}. This saves a lot of work when parsing wide inputs where only a few
+     * of the cells are used by the consumer of the lines.
+     * <p>
+     * Errors while parsing a cell value are then reported to the error consumer when the cell is first accessed, or
+     * when calling {@link org.jsapar.model.Line#validate()}, instead of while parsing. Errors on line level, such as
+     * undefined line types or insufficient number of cells, are still reported while parsing. Each line should be
+     * accessed by one thread at a time, but different lines may be accessed by different threads, also while the
+     * parser is still running. Cell values that are requested by another thread than the parsing thread are parsed by
+     * cell parsers of that thread.
+     * <p>
+     * Currently only has effect when parsing csv. Default is false.
+     *
+     * @param lazyCells If true, the cells of each parsed line are created first when they are requested.
+     * @since 2.4
+     */
+    public void setLazyCells(boolean lazyCells) {
+        this.lazyCells = lazyCells;
+    }
+
+    /**
+     * @return True if the parser reuses one line instance per line type for all the lines it parses.
+     * @see #setReuseLines(boolean)
+     * @since 2.4
+     */
+    public boolean isReuseLines() {
+        return reuseLines;
+    }
+
+    /**
+     * If set to true, the parser keeps one line instance for each line type and clears and fills it again for each
+     * line that it parses. This avoids creating new objects for every line, which is useful for pure streaming
+     * conversions where each line is consumed and then forgotten.
+     * <p>
+     * The line that is passed to a line consumer is only valid until the consumer returns. A consumer that needs to
+     * keep a line, for instance in a collection, in another thread, or in a stream that is not consumed immediately,
+     * needs to keep a {@link org.jsapar.model.Line#clone()} of it. Has no effect together with
+     * {@link #setLazyCells(boolean)}. Lines are never reused when parsing in parallel, when converting concurrently or
+     * when parsing to a stream. Default is false.
+     *
+     * @param reuseLines If true, the parser reuses one line instance per line type for all the lines it parses.
+     * @since 2.4
+     */
+    public void setReuseLines(boolean reuseLines) {
+        this.reuseLines = reuseLines;
+    }
+
+    /**
+     * @return The cell value cache that is shared with other parsers, if any.
+     * @see #setSharedCellCache(SharedCellCache)
+     * @since 2.4
+     */
+    public Optional<SharedCellCache> getSharedCellCache() {
+        return Optional.ofNullable(sharedCellCache);
+    }
+
+    /**
+     * Lets the parser use a cell value cache that is shared with other parsers, also parsers that run concurrently,
+     * instead of creating a new cache for each column. A parser that uses a shared cache does not start with an empty
+     * cache, which is useful when many inputs are parsed with the same schema, for instance one parse task per file.
+     * Columns where the cache is disabled, see {@link #setMaxCellCacheSize(int)}, do not use the shared cache either.
+     * Default is null, which means that each parser has its own cache.
+     *
+     * @param sharedCellCache The cache to share or null to let each parser have its own cache.
+     * @since 2.4
+     */
+    public void setSharedCellCache(SharedCellCache sharedCellCache) {
+        this.sharedCellCache = sharedCellCache;
+    }
+
+    /**
+     * Limits which cells that are parsed for lines of a specified line type. All other cells of that line type are
+     * skipped while parsing, as if they were configured to be ignored in the schema, which means that no value is
+     * parsed and no cell is added to the line, not even if there is a default value. Mandatory checks are not done for
+     * skipped cells. Line types that have no projection are parsed completely.
+     * <p>
+     * This can save a lot of work when only a few of the cells of a wide input are needed.
+     *
+     * @param lineType  The line type of the lines to limit.
+     * @param cellNames The names of the cells to parse. Names that are not present in the schema are ignored.
+     * @see #getProjection(String)
+     * @since 2.4
+     */
+    public void setProjection(String lineType, String... cellNames) {
+        projections.put(lineType, Collections.unmodifiableSet(new HashSet<>(Arrays.asList(cellNames))));
+    }
+
+    /**
+     * @param lineType The line type.
+     * @return The names of the cells that are parsed for lines of supplied line type or an empty optional if all cells
+     * are parsed.
+     * @see #setProjection(String, String...)
+     * @since 2.4
+     */
+    public Optional<Set<String>> getProjection(String lineType) {
+        return Optional.ofNullable(projections.get(lineType));
+    }
+
+    /**
+     * @param lineType The line type.
+     * @param cellName The name of the cell.
+     * @return True if the cell with supplied name should be parsed for lines of supplied line type.
+     * @see #setProjection(String, String...)
+     * @since 2.4
+     */
+    public boolean isCellProjected(String lineType, String cellName) {
+        Set<String> projection = projections.get(lineType);
+        return projection == null || projection.contains(cellName);
+    }
+
+    /**
+     * Adds a filter on the raw text value of a cell. Lines of the specified line type where the raw text of the cell
+     * does not pass the filter are skipped while parsing, before any cell of the line is parsed and before the line is
+     * created. Skipped lines are neither passed to the line consumer nor reported as errors. If more than one filter
+     * is added for the same cell, all of them need to pass.
+     * <p>
+     * The raw text is the same text that would otherwise be parsed into the cell value. For csv this is the text
+     * without any quotes, for fixed width this is the text with pad characters trimmed. A missing cell is tested as an
+     * empty string. The cell does not need to be part of any projection.
+     * <p>
+     * This is considerably faster than filtering parsed lines when a large portion of the lines are not used.
+     *
+     * @param lineType   The line type of the lines to filter.
+     * @param cellName   The name of the cell to test.
+     * @param cellFilter The filter that the raw text of the cell needs to pass for the line to be parsed.
+     * @see #getCellFilters(String)
+     * @see #setProjection(String, String...)
+     * @since 2.4
+     */
+    public void addCellFilter(String lineType, String cellName, Predicate<String> cellFilter) {
+        cellFilters.computeIfAbsent(lineType, k -> new LinkedHashMap<>())
+                .merge(cellName, cellFilter, Predicate::and);
+    }
+
+    /**
+     * @param lineType The line type.
+     * @return The filters on raw text values of cells, by cell name, that lines of supplied line type need to pass
+     * to be parsed. Empty if there are no filters for the line type.
+     * @see #addCellFilter(String, String, Predicate)
+     * @since 2.4
+     */
+    public Map<String, Predicate<String>> getCellFilters(String lineType) {
+        return Collections.unmodifiableMap(cellFilters.getOrDefault(lineType, Collections.emptyMap()));
+    }
 }
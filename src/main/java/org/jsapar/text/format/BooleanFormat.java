@@ -148,6 +148,62 @@ public class BooleanFormat implements Format<Boolean> {
     }
 
 
+    /**
+     * Parses supplied characters in the same way as {@link #parse(String)} but without creating any string.
+     * @param toParse The characters to parse.
+     * @return true or false depending on the characters to parse.
+     * @throws ParseException If the characters do not represent any of the true or false values.
+     */
+    @Override
+    public Boolean parse(CharSequence toParse) throws ParseException {
+        if (contentEquals(trueValue, toParse))
+            return Boolean.TRUE;
+        if (contentEquals(falseValue, toParse))
+            return Boolean.FALSE;
+
+        if (ignoreCase) {
+            if (startsWith(toParse, trueValue, true))
+                return Boolean.TRUE;
+            if (startsWith(toParse, falseValue, true))
+                return Boolean.FALSE;
+        }
+        for (String value : optionalTrue) {
+            if (startsWith(toParse, value, ignoreCase))
+                return Boolean.TRUE;
+        }
+        for (String value : optionalFalse) {
+            if (startsWith(toParse, value, ignoreCase))
+                return Boolean.FALSE;
+        }
+        throw new ParseException("The value " + toParse + " could not be parsed into a boolean value.", 0);
+    }
+
+    private static boolean contentEquals(String value, CharSequence toParse) {
+        return value.length() == toParse.length() && startsWith(toParse, value, false);
+    }
+
+    /**
+     * Same as {@link String#regionMatches(boolean, int, String, int, int)} from the beginning of both.
+     */
+    private static boolean startsWith(CharSequence toParse, String prefix, boolean ignoreCase) {
+        final int length = prefix.length();
+        if (toParse.length() < length)
+            return false;
+        for (int i = 0; i < length; i++) {
+            char c1 = toParse.charAt(i);
+            char c2 = prefix.charAt(i);
+            if (c1 == c2)
+                continue;
+            if (!ignoreCase)
+                return false;
+            char u1 = Character.toUpperCase(c1);
+            char u2 = Character.toUpperCase(c2);
+            if (u1 != u2 && Character.toLowerCase(u1) != Character.toLowerCase(u2))
+                return false;
+        }
+        return true;
+    }
+
     private Optional<Boolean> matchValue(Stream<String> values, Boolean result, String toParse, boolean ignoreCase) {
         return values
                 .filter(v->toParse.regionMatches(ignoreCase, 0, v, 0, v.length()))
@@ -0,0 +1,289 @@
+package org.jsapar.text.format;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.util.Optional;
+
+/**
+ * Internal class that is a specialized parser and formatter compiled from the pattern and the symbols of a
+ * {@link DecimalFormat}. Only plain patterns are compiled, that is patterns without prefix, suffix, exponent, multiplier
+ * or non-ASCII digits, where negative numbers only have a minus sign prefix.
+ * <p>
+ * Both parsing and formatting only handle the most common values, such as decimal numbers with at most 18 significant
+ * digits. For any other value, null is returned and the caller needs to fall back to the {@link DecimalFormat}. Values
+ * that are handled give exactly the same result as the {@link DecimalFormat} would. An instance is immutable and
+ * thread safe, unlike the {@link DecimalFormat} it was compiled from.
+ */
+final class CompiledNumberPattern {
+    private static final int      MAX_LONG_DIGITS     = 18;
+    private static final long     MAX_EXACT_MANTISSA  = 1L << 53;
+    private static final double[] EXACT_POWERS_OF_TEN = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+    private static final long[]   POWERS_OF_TEN       = {1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L,
+            10_000_000L, 100_000_000L, 1_000_000_000L, 10_000_000_000L, 100_000_000_000L, 1_000_000_000_000L,
+            10_000_000_000_000L, 100_000_000_000_000L, 1_000_000_000_000_000L, 10_000_000_000_000_000L,
+            100_000_000_000_000_000L, 1_000_000_000_000_000_000L};
+
+    private final char    decimalSeparator;
+    private final char    groupingSeparator;
+    private final boolean groupingUsed;
+    private final boolean ignoreSpaces;
+    private final int     groupingSize;
+    private final String  minusPrefix;
+    private final boolean parseIntegerOnly;
+    private final boolean parseBigDecimal;
+    private final int     minimumIntegerDigits;
+    private final int     minimumFractionDigits;
+    private final int     maximumFractionDigits;
+    private final boolean decimalSeparatorAlwaysShown;
+    private final boolean formatSupported;
+    private final ScannedDigits<Number> toNumber = this::toNumber;
+
+    private CompiledNumberPattern(DecimalFormat decimalFormat, DecimalFormatSymbols symbols) {
+        this.decimalSeparator = symbols.getDecimalSeparator();
+        this.groupingSeparator = symbols.getGroupingSeparator();
+        this.groupingUsed = decimalFormat.isGroupingUsed() && decimalFormat.getGroupingSize() > 0;
+        // Same as in NumberFormat where all spaces are removed before parsing.
+        this.ignoreSpaces = Character.isSpaceChar(groupingSeparator);
+        this.groupingSize = decimalFormat.getGroupingSize();
+        this.minusPrefix = decimalFormat.getNegativePrefix();
+        this.parseIntegerOnly = decimalFormat.isParseIntegerOnly();
+        this.parseBigDecimal = decimalFormat.isParseBigDecimal();
+        this.minimumIntegerDigits = decimalFormat.getMinimumIntegerDigits();
+        this.minimumFractionDigits = decimalFormat.getMinimumFractionDigits();
+        this.maximumFractionDigits = decimalFormat.getMaximumFractionDigits();
+        this.decimalSeparatorAlwaysShown = decimalFormat.isDecimalSeparatorAlwaysShown();
+        this.formatSupported = minimumIntegerDigits >= 1
+                && minimumIntegerDigits <= MAX_LONG_DIGITS
+                && decimalFormat.getMaximumIntegerDigits() > MAX_LONG_DIGITS
+                && minimumFractionDigits <= maximumFractionDigits
+                && decimalFormat.toPattern().indexOf('E') < 0;
+    }
+
+    /**
+     * Compiles supplied decimal format if it has a plain pattern.
+     * @param decimalFormat The decimal format to compile. The compiled pattern is not affected if the decimal format
+     *                      is changed afterwards.
+     * @return The compiled pattern or an empty optional if the pattern of the decimal format is not plain enough.
+     */
+    static Optional<CompiledNumberPattern> compile(DecimalFormat decimalFormat) {
+        DecimalFormatSymbols symbols = decimalFormat.getDecimalFormatSymbols();
+        String minusPrefix = decimalFormat.getNegativePrefix();
+        if (symbols.getZeroDigit() != '0'
+                || decimalFormat.getMultiplier() != 1
+                || !decimalFormat.getPositivePrefix().isEmpty()
+                || !decimalFormat.getPositiveSuffix().isEmpty()
+                || !decimalFormat.getNegativeSuffix().isEmpty()
+                || minusPrefix.isEmpty()
+                || isPartOfNumber(minusPrefix.charAt(0), symbols)
+                || symbols.getDecimalSeparator() == symbols.getGroupingSeparator())
+            return Optional.empty();
+        return Optional.of(new CompiledNumberPattern(decimalFormat, symbols));
+    }
+
+    private static boolean isPartOfNumber(char c, DecimalFormatSymbols symbols) {
+        return (c >= '0' && c <= '9') || c == symbols.getDecimalSeparator() || c == symbols.getGroupingSeparator();
+    }
+
+    /**
+     * Parses supplied characters into a {@link Long}, a {@link Double} or, if the decimal format parses big decimal,
+     * into a {@link BigDecimal}, the same way as the decimal format would.
+     * @param value The characters to parse.
+     * @return The parsed number or null if the value needs to be parsed by the decimal format. Invalid values are
+     * never handled here.
+     */
+    Number parse(CharSequence value) {
+        return scan(value, toNumber);
+    }
+
+    /**
+     * Parses supplied characters into an unscaled value and a scale, the same way as the decimal format would parse
+     * them into a {@link BigDecimal}.
+     * @param value   The characters to parse.
+     * @param factory Called with the unscaled value and the scale of the parsed value.
+     * @param <R>     The type of the result.
+     * @return The result of the factory or null if the value needs to be parsed by the decimal format. Invalid values
+     * are never handled here.
+     */
+    <R> R parseUnscaled(CharSequence value, org.jsapar.text.format.DecimalFormat.UnscaledValueFactory<R> factory) {
+        return scan(value, (negative, unscaled, fractionDigits) ->
+                factory.apply(negative ? -unscaled : unscaled, fractionDigits));
+    }
+
+    /**
+     * Called with the digits of a scanned value.
+     */
+    @FunctionalInterface
+    private interface ScannedDigits<R> {
+        R make(boolean negative, long unscaled, int fractionDigits);
+    }
+
+    private <R> R scan(CharSequence value, ScannedDigits<R> digitsFactory) {
+        final int length = value.length();
+        int pos = skipSpaces(value, 0);
+        boolean negative = false;
+        if (pos < length && value.charAt(pos) == '-') {
+            negative = true;
+            pos++;
+        } else if (startsWith(value, pos, minusPrefix)) {
+            negative = true;
+            pos += minusPrefix.length();
+        }
+        long unscaled = 0L;
+        int significantDigits = 0;
+        int digits = 0;
+        int fractionDigits = 0;
+        boolean decimal = false;
+        for (pos = skipSpaces(value, pos); pos < length; pos = skipSpaces(value, pos + 1)) {
+            char c = value.charAt(pos);
+            if (c >= '0' && c <= '9') {
+                digits++;
+                if (decimal)
+                    fractionDigits++;
+                if (unscaled != 0L || c != '0') {
+                    if (++significantDigits > MAX_LONG_DIGITS)
+                        return null;
+                    unscaled = unscaled * 10L + (c - '0');
+                }
+            } else if (c == decimalSeparator && !decimal && !parseIntegerOnly) {
+                decimal = true;
+            } else if (c == groupingSeparator && groupingUsed && !ignoreSpaces && !decimal
+                    && digits > 0 && isDigitAt(value, pos + 1)) {
+                continue;
+            } else {
+                // Exponent, invalid character etc.
+                return null;
+            }
+        }
+        if (digits == 0)
+            return null;
+        return digitsFactory.make(negative, unscaled, fractionDigits);
+    }
+
+    private Number toNumber(boolean negative, long unscaled, int fractionDigits) {
+        if (parseBigDecimal)
+            return BigDecimal.valueOf(negative ? -unscaled : unscaled, fractionDigits);
+
+        while (fractionDigits > 0 && unscaled % 10L == 0L && unscaled != 0L) {
+            unscaled /= 10L;
+            fractionDigits--;
+        }
+        if (unscaled == 0L)
+            return negative && !parseIntegerOnly ? (Number) (-0.0) : (Number) 0L;
+        if (fractionDigits == 0)
+            return negative ? -unscaled : unscaled;
+        if (unscaled > MAX_EXACT_MANTISSA || fractionDigits >= EXACT_POWERS_OF_TEN.length)
+            return null;
+        // Both operands are exact so the quotient is correctly rounded, the same as the decimal format does.
+        double result = unscaled / EXACT_POWERS_OF_TEN[fractionDigits];
+        return negative ? -result : result;
+    }
+
+    private int skipSpaces(CharSequence value, int pos) {
+        if (ignoreSpaces) {
+            while (pos < value.length() && Character.isSpaceChar(value.charAt(pos)))
+                pos++;
+        }
+        return pos;
+    }
+
+    private static boolean isDigitAt(CharSequence value, int pos) {
+        if (pos >= value.length())
+            return false;
+        char c = value.charAt(pos);
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean startsWith(CharSequence value, int pos, String prefix) {
+        if (value.length() - pos < prefix.length())
+            return false;
+        for (int i = 0; i < prefix.length(); i++) {
+            if (value.charAt(pos + i) != prefix.charAt(i))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Formats supplied value the same way as the decimal format would.
+     * @param value The value to format.
+     * @return The formatted value or null if the value needs to be formatted by the decimal format.
+     */
+    String format(long value) {
+        return format(value, 0);
+    }
+
+    /**
+     * Formats supplied value the same way as the decimal format would.
+     * @param value The value to format.
+     * @return The formatted value or null if the value needs to be formatted by the decimal format.
+     */
+    String format(double value) {
+        if (value == (long) value && Math.abs(value) < MAX_EXACT_MANTISSA
+                && (value != 0.0 || Double.doubleToRawLongBits(value) == 0L))
+            return format((long) value);
+        return null;
+    }
+
+    /**
+     * Formats supplied value the same way as the decimal format would.
+     * @param value The value to format.
+     * @return The formatted value or null if the value needs to be formatted by the decimal format.
+     */
+    String format(BigDecimal value) {
+        BigInteger unscaled = value.unscaledValue();
+        if (value.scale() < 0 || unscaled.bitLength() > 63)
+            return null;
+        return format(unscaled.longValue(), value.scale());
+    }
+
+    /**
+     * Formats a decimal value that is represented by an unscaled long and a scale the same way as the decimal format
+     * would.
+     * @param unscaledValue The unscaled value.
+     * @param scale         The scale.
+     * @return The formatted value or null if the value needs to be formatted by the decimal format, for instance if
+     * it needs to be rounded.
+     */
+    String format(long unscaledValue, int scale) {
+        if (!formatSupported || scale < 0 || scale >= POWERS_OF_TEN.length || unscaledValue == Long.MIN_VALUE)
+            return null;
+        final long absolute = Math.abs(unscaledValue);
+        long integerPart = absolute / POWERS_OF_TEN[scale];
+        long fractionPart = absolute % POWERS_OF_TEN[scale];
+        int fractionDigits = scale;
+        while (fractionDigits > minimumFractionDigits && fractionPart % 10L == 0L) {
+            fractionPart /= 10L;
+            fractionDigits--;
+        }
+        if (fractionDigits > maximumFractionDigits)
+            return null; // Needs rounding
+
+        StringBuilder sb = new StringBuilder(24);
+        if (unscaledValue < 0L)
+            sb.append(minusPrefix);
+        String integerDigits = Long.toString(integerPart);
+        final int integerLength = Math.max(integerDigits.length(), minimumIntegerDigits);
+        for (int i = integerLength; i > 0; i--) {
+            int digitIndex = integerDigits.length() - i;
+            sb.append(digitIndex < 0 ? '0' : integerDigits.charAt(digitIndex));
+            if (groupingUsed && i > 1 && (i - 1) % groupingSize == 0)
+                sb.append(groupingSeparator);
+        }
+        if (fractionDigits > 0 || minimumFractionDigits > 0 || decimalSeparatorAlwaysShown)
+            sb.append(decimalSeparator);
+        final int totalFractionDigits = Math.max(fractionDigits, minimumFractionDigits);
+        if (totalFractionDigits > 0) {
+            String fraction = Long.toString(fractionPart);
+            for (int i = fraction.length(); i < fractionDigits; i++)
+                sb.append('0');
+            if (fractionDigits > 0)
+                sb.append(fraction);
+            for (int i = fractionDigits; i < totalFractionDigits; i++)
+                sb.append('0');
+        }
+        return sb.toString();
+    }
+}
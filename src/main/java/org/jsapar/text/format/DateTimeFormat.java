@@ -8,19 +8,72 @@ import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.TemporalAccessor;
 import java.util.Date;
+import java.util.Locale;
+import java.util.Optional;
 
+/**
+ * Formats and parses date and time values using a {@link DateTimeFormatter}. When created from a pattern where all
+ * fields are numeric with fixed width, such as <code>yyyy-MM-dd</code> or <code>yyyyMMdd HHmmss</code>, the values
+ * are parsed and formatted by a specialized parser and formatter that reads and writes the digits at fixed offsets.
+ * Values of the ISO formatters {@link DateTimeFormatter#ISO_DATE}, {@link DateTimeFormatter#ISO_LOCAL_DATE},
+ * {@link DateTimeFormatter#ISO_DATE_TIME}, {@link DateTimeFormatter#ISO_LOCAL_DATE_TIME},
+ * {@link DateTimeFormatter#ISO_TIME} and {@link DateTimeFormatter#ISO_LOCAL_TIME} are parsed in the same way when
+ * they have the most common layout.
+ * Any other value is handled by the {@link DateTimeFormatter}.
+ */
 public class DateTimeFormat implements Format<TemporalAccessor> {
-    private final DateTimeFormatter formatter;
-    private final CellType cellType;
-    private final ZoneId zoneId;
+    private final DateTimeFormatter    formatter;
+    private final CellType             cellType;
+    private final ZoneId               zoneId;
+    private final FixedDateTimePattern fixedParser;
+    private final FixedDateTimePattern fixedFormatter;
 
     public DateTimeFormat(DateTimeFormatter formatter, CellType cellType, ZoneId zoneId) {
+        this(formatter, cellType, zoneId, fixedPatternOfIso(formatter), null);
+    }
+
+    /**
+     * Creates an instance from a pattern.
+     * @param pattern  The pattern as in {@link DateTimeFormatter#ofPattern(String, Locale)}.
+     * @param locale   The locale to use.
+     * @param cellType The type of cell to parse and produce.
+     * @param zoneId   The time zone id that is used when parsing and composing from an Instant.
+     * @since 2.4
+     */
+    public DateTimeFormat(String pattern, Locale locale, CellType cellType, ZoneId zoneId) {
+        this(DateTimeFormatter.ofPattern(pattern, locale), cellType, zoneId, FixedDateTimePattern.compile(pattern));
+    }
+
+    private DateTimeFormat(DateTimeFormatter formatter, CellType cellType, ZoneId zoneId,
+                           Optional<FixedDateTimePattern> fixedPattern) {
+        this(formatter, cellType, zoneId, fixedPattern.orElse(null), fixedPattern.orElse(null));
+    }
+
+    private DateTimeFormat(DateTimeFormatter formatter, CellType cellType, ZoneId zoneId,
+                           FixedDateTimePattern fixedParser, FixedDateTimePattern fixedFormatter) {
         this.formatter = formatter;
         this.zoneId = zoneId;
         if(cellType!=null && !cellType.isTemporal())
             throw new IllegalArgumentException("Only temporal cell types are allowed in DateTimeFormat. " + cellType + " does not parse or" +
                     " compose objects that implements java.time.temporal.Temporal");
         this.cellType = cellType;
+        this.fixedParser = fixedParser;
+        this.fixedFormatter = fixedFormatter;
+    }
+
+    /**
+     * The ISO formatters accept more than the fixed pattern when parsing and do not always format the same way as the
+     * fixed pattern, for instance seconds are omitted when zero. Therefore they are only used for parsing.
+     */
+    private static FixedDateTimePattern fixedPatternOfIso(DateTimeFormatter formatter) {
+        String pattern = null;
+        if (formatter == DateTimeFormatter.ISO_DATE || formatter == DateTimeFormatter.ISO_LOCAL_DATE)
+            pattern = "uuuu-MM-dd";
+        else if (formatter == DateTimeFormatter.ISO_DATE_TIME || formatter == DateTimeFormatter.ISO_LOCAL_DATE_TIME)
+            pattern = "uuuu-MM-dd'T'HH:mm:ss";
+        else if (formatter == DateTimeFormatter.ISO_TIME || formatter == DateTimeFormatter.ISO_LOCAL_TIME)
+            pattern = "HH:mm:ss";
+        return pattern == null ? null : FixedDateTimePattern.compile(pattern).orElse(null);
     }
 
     public ZoneId getZoneId() {
@@ -34,11 +87,26 @@ public class DateTimeFormat implements Format<TemporalAccessor> {
 
     @Override
     public TemporalAccessor parse(String stringValue) {
-        return formatter.parse(stringValue);
+        return parse((CharSequence) stringValue);
+    }
+
+    @Override
+    public TemporalAccessor parse(CharSequence value) {
+        if (fixedParser != null) {
+            TemporalAccessor temporal = fixedParser.parse(value);
+            if (temporal != null)
+                return temporal;
+        }
+        return formatter.parse(value);
     }
 
     @Override
     public String format(Object value) {
+        if (fixedFormatter != null) {
+            String formatted = fixedFormatter.format(value instanceof Instant ? ((Instant) value).atZone(zoneId) : value);
+            if (formatted != null)
+                return formatted;
+        }
         if(value instanceof Instant)
             return formatter.format(((Instant) value).atZone(zoneId));
         if(value instanceof TemporalAccessor)
@@ -40,8 +40,49 @@ public class DecimalFormat implements Format<BigDecimal> {
         return (BigDecimal) numberFormat.parse(stringValue);
     }
 
+    @Override
+    public BigDecimal parse(CharSequence value) throws ParseException {
+        return (BigDecimal) numberFormat.parse(value);
+    }
+
+    /**
+     * Parses supplied characters into an unscaled value and a scale without creating any {@link BigDecimal}. Only
+     * values with at most 18 significant digits of plain patterns, such as the default patterns of most locales, are
+     * handled.
+     * @param value   The characters to parse.
+     * @param factory Called with the unscaled value and the scale of the parsed value. The parsed value is the same
+     *                as {@link BigDecimal#valueOf(long, int)} of these.
+     * @param <R>     The type of the result.
+     * @return The result of the factory or null if the value cannot be handled this way. Use
+     * {@link #parse(CharSequence)} in that case.
+     * @since 2.4
+     */
+    public <R> R parseUnscaled(CharSequence value, UnscaledValueFactory<R> factory) {
+        return numberFormat.parseUnscaled(value, factory);
+    }
+
     @Override
     public String format(Object value) {
         return numberFormat.format(value);
     }
+
+    @Override
+    public String format(long unscaledValue, int scale) {
+        return numberFormat.format(unscaledValue, scale);
+    }
+
+    /**
+     * Creates the result of {@link #parseUnscaled(CharSequence, UnscaledValueFactory)}.
+     * @param <R> The type of the result.
+     * @since 2.4
+     */
+    @FunctionalInterface
+    public interface UnscaledValueFactory<R> {
+        /**
+         * @param unscaledValue The unscaled value.
+         * @param scale         The scale.
+         * @return The result.
+         */
+        R apply(long unscaledValue, int scale);
+    }
 }
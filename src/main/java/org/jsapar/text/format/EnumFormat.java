@@ -27,6 +27,7 @@ public class EnumFormat<E extends Enum<E>> implements Format<E> {
     private final Map<String, E> enumByUValue = new HashMap<>();
     private final Map<E, String> valueByEnum  = new HashMap<>();
     private final Class<E>       enumClass;
+    private volatile TextValues<E> textValues;
 
     /**
      * Creates a default enum format where values are the same as the Enum constants.
@@ -121,6 +122,7 @@ public class EnumFormat<E extends Enum<E>> implements Format<E> {
         this.enumByValue.putIfAbsent(value, enumConstant);
         this.enumByUValue.putIfAbsent(value.toUpperCase(), enumConstant);
         this.valueByEnum.putIfAbsent(enumConstant, value);
+        this.textValues = null;
     }
 
     /**
@@ -133,6 +135,7 @@ public class EnumFormat<E extends Enum<E>> implements Format<E> {
         this.enumByValue.put(value, enumConstant);
         this.enumByUValue.put(value.toUpperCase(), enumConstant);
         this.valueByEnum.put(enumConstant, value);
+        this.textValues = null;
     }
 
     /**
@@ -178,6 +181,33 @@ public class EnumFormat<E extends Enum<E>> implements Format<E> {
         throw new ParseException("There is no enum constant matching the value '" + toParse + "' for  enum class " + enumClass.getName(), 0 );
     }
 
+    /**
+     * Parses supplied characters in the same way as {@link #parse(String)} but without creating any string. When case
+     * is ignored, the characters are compared one by one ignoring case instead of converting the input to upper case.
+     * @param toParse The characters to parse
+     * @return The enum constant that the characters represent.
+     * @throws ParseException If there is no enum constant matching the characters.
+     */
+    @Override
+    public E parse(CharSequence toParse) throws ParseException {
+        TextValues<E> values = this.textValues;
+        if (values == null) {
+            values = new TextValues<>(enumByValue, enumByUValue);
+            this.textValues = values;
+        }
+        E enumValue = values.exact.get(toParse);
+        if(enumValue != null)
+            return enumValue;
+
+        if(ignoreCase){
+            enumValue = values.upperCase.get(toParse);
+            if(enumValue != null)
+                return enumValue;
+        }
+
+        throw new ParseException("There is no enum constant matching the value '" + toParse + "' for  enum class " + enumClass.getName(), 0 );
+    }
+
     /**
      * @return A collection of all the text values of this enum format.
      */
@@ -213,4 +243,84 @@ public class EnumFormat<E extends Enum<E>> implements Format<E> {
     public boolean isIgnoreCase() {
         return ignoreCase;
     }
+
+    /**
+     * Immutable snapshot of the text values that can be looked up by any character sequence.
+     */
+    private static final class TextValues<E> {
+        private final CharSequenceTable<E> exact;
+        private final CharSequenceTable<E> upperCase;
+
+        private TextValues(Map<String, E> enumByValue, Map<String, E> enumByUValue) {
+            this.exact = new CharSequenceTable<>(enumByValue, false);
+            this.upperCase = new CharSequenceTable<>(enumByUValue, true);
+        }
+    }
+
+    /**
+     * Open addressing hash table with string keys where the lookup is done with a character sequence, optionally
+     * ignoring case, without creating any string.
+     */
+    private static final class CharSequenceTable<E> {
+        private final boolean  ignoreCase;
+        private final String[] keys;
+        private final Object[] values;
+        private final int      mask;
+
+        private CharSequenceTable(Map<String, E> map, boolean ignoreCase) {
+            this.ignoreCase = ignoreCase;
+            int capacity = Integer.highestOneBit(Math.max(map.size(), 1) * 2) * 2;
+            this.keys = new String[capacity];
+            this.values = new Object[capacity];
+            this.mask = capacity - 1;
+            map.forEach((key, value) -> {
+                int index = hash(key) & mask;
+                while (keys[index] != null)
+                    index = (index + 1) & mask;
+                keys[index] = key;
+                values[index] = value;
+            });
+        }
+
+        @SuppressWarnings("unchecked")
+        private E get(CharSequence key) {
+            int index = hash(key) & mask;
+            String candidate;
+            while ((candidate = keys[index]) != null) {
+                if (matches(candidate, key))
+                    return (E) values[index];
+                index = (index + 1) & mask;
+            }
+            return null;
+        }
+
+        private int hash(CharSequence key) {
+            int h = 0;
+            for (int i = 0; i < key.length(); i++) {
+                h = 31 * h + (ignoreCase ? fold(key.charAt(i)) : key.charAt(i));
+            }
+            return h ^ (h >>> 16);
+        }
+
+        private boolean matches(String candidate, CharSequence key) {
+            final int length = candidate.length();
+            if (key.length() != length)
+                return false;
+            for (int i = 0; i < length; i++) {
+                char c1 = candidate.charAt(i);
+                char c2 = key.charAt(i);
+                if (c1 != c2 && (!ignoreCase || fold(c1) != fold(c2)))
+                    return false;
+            }
+            return true;
+        }
+
+        /**
+         * Two characters are equal ignoring case, as in {@link String#equalsIgnoreCase(String)}, if and only if their
+         * folded characters are equal.
+         */
+        private static char fold(char c) {
+            return Character.toLowerCase(Character.toUpperCase(c));
+        }
+    }
 }
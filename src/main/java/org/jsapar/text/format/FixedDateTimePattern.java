@@ -0,0 +1,229 @@
+package org.jsapar.text.format;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.Month;
+import java.time.OffsetDateTime;
+import java.time.Year;
+import java.time.ZonedDateTime;
+import java.time.temporal.TemporalAccessor;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Internal class that is a specialized parser and formatter compiled from a {@link java.time.format.DateTimeFormatter}
+ * pattern where all fields are numeric with fixed width, such as <code>yyyy-MM-dd</code>, <code>yyyyMMdd</code>,
+ * <code>yyyy-MM-dd HH:mm:ss</code> or <code>HHmmss</code>. The supported pattern letters are <code>yyyy</code>,
+ * <code>uuuu</code>, <code>MM</code>, <code>dd</code>, <code>HH</code>, <code>mm</code>, <code>ss</code> and
+ * <code>SSS</code>. Literals may be any non-letter characters or quoted text.
+ * <p>
+ * The digits are read at fixed offsets and a {@link LocalDate}, {@link LocalTime} or {@link LocalDateTime} is
+ * created directly. Only valid values of exactly the pattern length are handled, for any other value null is returned
+ * and the caller needs to fall back to the {@link java.time.format.DateTimeFormatter}, which then parses the value or
+ * reports the error. An instance is immutable and thread safe.
+ */
+final class FixedDateTimePattern {
+    private static final int YEAR   = 0;
+    private static final int MONTH  = 1;
+    private static final int DAY    = 2;
+    private static final int HOUR   = 3;
+    private static final int MINUTE = 4;
+    private static final int SECOND = 5;
+    private static final int MILLI  = 6;
+
+    private static final int[] WIDTHS = {4, 2, 2, 2, 2, 2, 3};
+
+    /**
+     * The literal characters of the layout. The positions of the fields are not used.
+     */
+    private final char[]    layout;
+    private final boolean[] literal;
+    private final int[]     offsets;
+    private final boolean   date;
+    private final boolean   time;
+
+    private FixedDateTimePattern(char[] layout, boolean[] literal, int[] offsets) {
+        this.layout = layout;
+        this.literal = literal;
+        this.offsets = offsets;
+        this.date = offsets[YEAR] >= 0;
+        this.time = offsets[HOUR] >= 0;
+    }
+
+    /**
+     * Compiles supplied pattern if it only contains numeric fixed width fields.
+     * @param pattern The pattern as in {@link java.time.format.DateTimeFormatter#ofPattern(String)}.
+     * @return The compiled pattern or an empty optional if the pattern can not be compiled.
+     */
+    static Optional<FixedDateTimePattern> compile(String pattern) {
+        StringBuilder layout = new StringBuilder(pattern.length());
+        StringBuilder literal = new StringBuilder(pattern.length());
+        int[] offsets = new int[WIDTHS.length];
+        Arrays.fill(offsets, -1);
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c == '\'') {
+                int end = pattern.indexOf('\'', i + 1);
+                if (end <= i + 1 || (end + 1 < pattern.length() && pattern.charAt(end + 1) == '\''))
+                    return Optional.empty(); // Escaped quote or unterminated
+                for (int j = i + 1; j < end; j++) {
+                    layout.append(pattern.charAt(j));
+                    literal.append('L');
+                }
+                i = end;
+            } else if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z')) {
+                int count = 1;
+                while (i + count < pattern.length() && pattern.charAt(i + count) == c)
+                    count++;
+                int field = fieldOf(c);
+                if (field < 0 || count != WIDTHS[field] || offsets[field] >= 0)
+                    return Optional.empty();
+                offsets[field] = layout.length();
+                for (int j = 0; j < count; j++) {
+                    layout.append('0');
+                    literal.append('F');
+                }
+                i += count - 1;
+            } else if ("[]{}#".indexOf(c) >= 0) {
+                return Optional.empty(); // Optional sections and reserved characters
+            } else {
+                layout.append(c);
+                literal.append('L');
+            }
+        }
+        boolean anyDate = offsets[YEAR] >= 0 || offsets[MONTH] >= 0 || offsets[DAY] >= 0;
+        boolean allDate = offsets[YEAR] >= 0 && offsets[MONTH] >= 0 && offsets[DAY] >= 0;
+        boolean anyTime = offsets[HOUR] >= 0 || offsets[MINUTE] >= 0 || offsets[SECOND] >= 0 || offsets[MILLI] >= 0;
+        boolean validTime = offsets[HOUR] >= 0 && offsets[MINUTE] >= 0 && (offsets[MILLI] < 0 || offsets[SECOND] >= 0);
+        if (anyDate != allDate || anyTime != validTime || !(anyDate || anyTime))
+            return Optional.empty();
+        boolean[] isLiteral = new boolean[literal.length()];
+        for (int i = 0; i < isLiteral.length; i++)
+            isLiteral[i] = literal.charAt(i) == 'L';
+        return Optional.of(new FixedDateTimePattern(layout.toString().toCharArray(), isLiteral, offsets));
+    }
+
+    private static int fieldOf(char c) {
+        switch (c) {
+            case 'y':
+            case 'u':
+                return YEAR;
+            case 'M':
+                return MONTH;
+            case 'd':
+                return DAY;
+            case 'H':
+                return HOUR;
+            case 'm':
+                return MINUTE;
+            case 's':
+                return SECOND;
+            case 'S':
+                return MILLI;
+            default:
+                return -1;
+        }
+    }
+
+    /**
+     * @param value The characters to parse.
+     * @return A {@link LocalDate}, {@link LocalTime} or {@link LocalDateTime} depending on the fields of the pattern
+     * or null if the value needs to be parsed by the {@link java.time.format.DateTimeFormatter}.
+     */
+    TemporalAccessor parse(CharSequence value) {
+        if (value.length() != layout.length)
+            return null;
+        for (int i = 0; i < layout.length; i++) {
+            if (literal[i] ? value.charAt(i) != layout[i] : !isDigit(value.charAt(i)))
+                return null;
+        }
+        LocalDate localDate = null;
+        if (date) {
+            int year = read(value, YEAR);
+            int month = read(value, MONTH);
+            int day = read(value, DAY);
+            if (year < 1 || month < 1 || month > 12 || day < 1 || day > Month.of(month).length(Year.isLeap(year)))
+                return null;
+            localDate = LocalDate.of(year, month, day);
+        }
+        LocalTime localTime = null;
+        if (time) {
+            int hour = read(value, HOUR);
+            int minute = read(value, MINUTE);
+            int second = offsets[SECOND] >= 0 ? read(value, SECOND) : 0;
+            int milli = offsets[MILLI] >= 0 ? read(value, MILLI) : 0;
+            if (hour > 23 || minute > 59 || second > 59)
+                return null;
+            localTime = LocalTime.of(hour, minute, second, milli * 1_000_000);
+        }
+        if (localDate == null)
+            return localTime;
+        return localTime == null ? localDate : LocalDateTime.of(localDate, localTime);
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private int read(CharSequence value, int field) {
+        final int offset = offsets[field];
+        int result = 0;
+        for (int i = offset; i < offset + WIDTHS[field]; i++)
+            result = result * 10 + (value.charAt(i) - '0');
+        return result;
+    }
+
+    /**
+     * @param value The value to format.
+     * @return The formatted value or null if the value needs to be formatted by the
+     * {@link java.time.format.DateTimeFormatter}, for instance if it does not have all the fields of the pattern.
+     */
+    String format(Object value) {
+        LocalDate localDate = null;
+        LocalTime localTime = null;
+        if (value instanceof LocalDate) {
+            localDate = (LocalDate) value;
+        } else if (value instanceof LocalTime) {
+            localTime = (LocalTime) value;
+        } else if (value instanceof LocalDateTime) {
+            localDate = ((LocalDateTime) value).toLocalDate();
+            localTime = ((LocalDateTime) value).toLocalTime();
+        } else if (value instanceof ZonedDateTime) {
+            localDate = ((ZonedDateTime) value).toLocalDate();
+            localTime = ((ZonedDateTime) value).toLocalTime();
+        } else if (value instanceof OffsetDateTime) {
+            localDate = ((OffsetDateTime) value).toLocalDate();
+            localTime = ((OffsetDateTime) value).toLocalTime();
+        } else {
+            return null;
+        }
+        if ((date && (localDate == null || localDate.getYear() < 1 || localDate.getYear() > 9999))
+                || (time && localTime == null))
+            return null;
+
+        char[] chars = layout.clone();
+        if (date) {
+            write(chars, YEAR, localDate.getYear());
+            write(chars, MONTH, localDate.getMonthValue());
+            write(chars, DAY, localDate.getDayOfMonth());
+        }
+        if (time) {
+            write(chars, HOUR, localTime.getHour());
+            write(chars, MINUTE, localTime.getMinute());
+            write(chars, SECOND, localTime.getSecond());
+            write(chars, MILLI, localTime.getNano() / 1_000_000);
+        }
+        return new String(chars);
+    }
+
+    private void write(char[] chars, int field, int value) {
+        final int offset = offsets[field];
+        if (offset < 0)
+            return;
+        for (int i = offset + WIDTHS[field] - 1; i >= offset; i--) {
+            chars[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+}
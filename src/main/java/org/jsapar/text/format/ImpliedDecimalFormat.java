@@ -12,8 +12,17 @@ import java.math.BigInteger;
  */
 public class ImpliedDecimalFormat implements Format<BigDecimal> {
 
+    /**
+     * Returned by {@link #parseUnscaled(CharSequence)} when the value cannot be parsed into a long.
+     */
+    public static final long NOT_A_LONG = Long.MIN_VALUE;
+    /**
+     * Any integer with at most this number of digits fits in a long.
+     */
+    private static final int MAX_LONG_DIGITS = 18;
+
     private final int decimals;
-    private final java.text.DecimalFormat integerFormat = new java.text.DecimalFormat("0");
+    private final JavaTextFormat<Number> integerFormat = new JavaTextFormat<>(new java.text.DecimalFormat("0"), CellType.INTEGER);
 
     /**
      * @param decimals Number of decimals to imply
@@ -56,6 +65,40 @@ public class ImpliedDecimalFormat implements Format<BigDecimal> {
         return integerFormat.format(value);
     }
 
+    /**
+     * Formats a long integer value without creating any object other than the result.
+     * @param value The value to format.
+     * @return The formatted string.
+     */
+    @Override
+    public String format(long value) {
+        return format(value, 0);
+    }
+
+    /**
+     * Formats a decimal value that is represented by an unscaled long and a scale. Unless the value needs to be rounded,
+     * that is if the scale is greater than the number of implied decimals, the value is formatted without creating any
+     * {@link BigDecimal}.
+     * @param unscaledValue The unscaled value.
+     * @param scale         The scale.
+     * @return The formatted string.
+     */
+    @Override
+    public String format(long unscaledValue, int scale) {
+        if (scale > decimals)
+            return format(BigDecimal.valueOf(unscaledValue, scale));
+        if (unscaledValue == 0L)
+            return "0";
+        String digits = Long.toString(unscaledValue);
+        int zeros = decimals - scale;
+        if (zeros == 0)
+            return digits;
+        StringBuilder sb = new StringBuilder(digits.length() + zeros).append(digits);
+        for (int i = 0; i < zeros; i++)
+            sb.append('0');
+        return sb.toString();
+    }
+
     @Override
     public String toString() {
         return "Implied decimal with " + decimals + " decimals";
@@ -71,4 +114,49 @@ public class ImpliedDecimalFormat implements Format<BigDecimal> {
         return new BigDecimal(s).movePointLeft(decimals);
     }
 
+    /**
+     * Parses supplied characters in the same way as {@link #parse(String)}. Unless the value has more than 18 digits,
+     * no string is created.
+     * @param s The characters to parse.
+     * @return The parsed value.
+     */
+    @Override
+    public BigDecimal parse(CharSequence s) {
+        long unscaled = parseUnscaled(s);
+        if (unscaled == NOT_A_LONG)
+            return parse(s.toString());
+        return BigDecimal.valueOf(unscaled, decimals);
+    }
+
+    /**
+     * Parses supplied integer text into the unscaled value of a decimal number where the scale is the number of
+     * implied decimals. No {@link BigDecimal} or string is created. The result is the same as the unscaled value of
+     * {@link #parse(String)}.
+     * @param s The text to parse.
+     * @return The unscaled value or {@link #NOT_A_LONG} if the text is not a plain integer with at most 18 digits or if
+     * the number of implied decimals is negative. Use {@link #parse(String)} in that case.
+     */
+    public long parseUnscaled(CharSequence s) {
+        final int length = s.length();
+        if (decimals < 0 || length == 0)
+            return NOT_A_LONG;
+        int pos = 0;
+        boolean negative = false;
+        char first = s.charAt(0);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            pos++;
+        }
+        if (pos == length || length - pos > MAX_LONG_DIGITS)
+            return NOT_A_LONG;
+        long value = 0L;
+        for (; pos < length; pos++) {
+            int digit = s.charAt(pos) - '0';
+            if (digit < 0 || digit > 9)
+                return NOT_A_LONG;
+            value = value * 10L + digit;
+        }
+        return negative ? -value : value;
+    }
+
 }
@@ -8,11 +8,17 @@ import java.text.ParsePosition;
 
 /**
  * Formats and parses using a java.text.Format. Requires that all characters are parsed from the supplied value.
+ * <p>
+ * Instances of java.text.Format are not thread safe. In order to make it possible to share this format, and thereby
+ * the schema that it belongs to, between threads, the thread that created this instance uses the supplied
+ * java.text.Format while any other thread uses its own clone of it.
  * @param <T>
  */
 public class JavaTextFormat<T> implements Format<T> {
     private final java.text.Format format;
     private final CellType cellType;
+    private final Thread owner = Thread.currentThread();
+    private final ThreadLocal<java.text.Format> otherThreadFormats;
 
     /**
      * @param format The text format to format with
@@ -21,6 +27,14 @@ public class JavaTextFormat<T> implements Format<T> {
     public JavaTextFormat(java.text.Format format, CellType cellType) {
         this.cellType = cellType;
         this.format = format;
+        this.otherThreadFormats = ThreadLocal.withInitial(() -> (java.text.Format) format.clone());
+    }
+
+    /**
+     * @return The java.text.Format to use by the current thread.
+     */
+    protected java.text.Format textFormat() {
+        return Thread.currentThread() == owner ? format : otherThreadFormats.get();
     }
 
     @Override
@@ -32,7 +46,7 @@ public class JavaTextFormat<T> implements Format<T> {
     @Override
     public T parse(String stringValue) throws ParseException {
         ParsePosition pos = new ParsePosition(0);
-        T value = (T) format.parseObject(stringValue, pos);
+        T value = (T) textFormat().parseObject(stringValue, pos);
         if (pos.getIndex() < stringValue.length())
             // It is not acceptable to parse only a part of the string. That can happen for instance if there is a space
             // in an integer value.
@@ -44,6 +58,6 @@ public class JavaTextFormat<T> implements Format<T> {
 
     @Override
     public String format(Object value) {
-        return format.format(value);
+        return textFormat().format(value);
     }
 }
@@ -4,6 +4,7 @@ import org.jsapar.model.CellType;
 import org.jsapar.text.Format;
 import org.jsapar.utils.StringUtils;
 
+import java.math.BigDecimal;
 import java.text.DecimalFormat;
 import java.text.DecimalFormatSymbols;
 import java.text.ParseException;
@@ -16,9 +17,14 @@ import java.util.function.Function;
  * Formats and parses number objects.
  * As of JDK 9 some locales have got new decimal symbols. This is implementation has a work-around to also still be
  * able to parse the old format since they are still widely used.
+ * <p>
+ * Plain patterns, such as the default patterns of most locales, are compiled into a specialized parser and formatter
+ * that handles the most common values without using the {@link java.text.DecimalFormat}. Other patterns and values
+ * fall back to the {@link java.text.DecimalFormat}.
  */
 public class NumberFormat extends JavaTextFormat<Number> implements Format<Number> {
     private final List<Function<String, String>> mappers = new ArrayList<>(3);
+    private final CompiledNumberPattern compiledPattern;
 
     /**
      * Creates an instance
@@ -32,7 +38,7 @@ public class NumberFormat extends JavaTextFormat<Number> implements Format<Numbe
 
     /**
      * Creates an instance
-     * @param numberFormat The number format to use while paring and formatting.
+     * @param numberFormat The number format to use while paring and formatting. Should not be changed after this call.
      * @param cellType The type of cell to create
      */
     public NumberFormat(java.text.NumberFormat numberFormat, CellType cellType) {
@@ -40,8 +46,10 @@ public class NumberFormat extends JavaTextFormat<Number> implements Format<Numbe
         if(!cellType.isNumber())
             throw new IllegalArgumentException("Only number cell types are allowed in NumberFormat. " + cellType + " does not parse or" +
                     " compose objects of type Number");
+        CompiledNumberPattern compiled = null;
         if(numberFormat instanceof java.text.DecimalFormat) {
             DecimalFormat decimalFormat = (DecimalFormat) numberFormat;
+            compiled = CompiledNumberPattern.compile(decimalFormat).orElse(null);
 
             char groupingSeparator = decimalFormat.getDecimalFormatSymbols().getGroupingSeparator();
 
@@ -59,6 +67,7 @@ public class NumberFormat extends JavaTextFormat<Number> implements Format<Numbe
                 mappers.add(s -> replaceExponent(s, exp));
             }
         }
+        this.compiledPattern = compiled;
     }
 
     public NumberFormat(Locale locale, CellType cellType) {
@@ -80,12 +89,89 @@ public class NumberFormat extends JavaTextFormat<Number> implements Format<Numbe
 
     @Override
     public Number parse(String stringValue) throws ParseException {
+        return parse((CharSequence) stringValue);
+    }
+
+    @Override
+    public Number parse(CharSequence value) throws ParseException {
+        if (compiledPattern != null) {
+            Number number = compiledPattern.parse(value);
+            if (number != null)
+                return number;
+        }
+        return parseByTextFormat(value.toString());
+    }
+
+    /**
+     * Parses supplied characters into an unscaled value and a scale by using the compiled pattern.
+     * @param value   The characters to parse.
+     * @param factory Called with the unscaled value and the scale of the parsed value.
+     * @param <R>     The type of the result.
+     * @return The result of the factory or null if the value needs to be parsed by {@link #parse(CharSequence)}.
+     */
+    <R> R parseUnscaled(CharSequence value, org.jsapar.text.format.DecimalFormat.UnscaledValueFactory<R> factory) {
+        return compiledPattern == null ? null : compiledPattern.parseUnscaled(value, factory);
+    }
+
+    /**
+     * Parses without using the compiled pattern.
+     * @param stringValue The string value to parse from.
+     * @return A parsed number.
+     * @throws ParseException If parsing fails for any reason.
+     */
+    Number parseByTextFormat(String stringValue) throws ParseException {
         for (Function<String, String> mapper : mappers) {
             stringValue = mapper.apply(stringValue);
         }
         return super.parse(stringValue);
     }
 
+    @Override
+    public String format(Object value) {
+        if (compiledPattern != null) {
+            String formatted = null;
+            if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte)
+                formatted = compiledPattern.format(((Number) value).longValue());
+            else if (value instanceof Double)
+                formatted = compiledPattern.format(((Double) value).doubleValue());
+            else if (value instanceof BigDecimal)
+                formatted = compiledPattern.format((BigDecimal) value);
+            if (formatted != null)
+                return formatted;
+        }
+        return super.format(value);
+    }
+
+    @Override
+    public String format(long value) {
+        if (compiledPattern != null) {
+            String formatted = compiledPattern.format(value);
+            if (formatted != null)
+                return formatted;
+        }
+        return ((java.text.NumberFormat) textFormat()).format(value);
+    }
+
+    @Override
+    public String format(double value) {
+        if (compiledPattern != null) {
+            String formatted = compiledPattern.format(value);
+            if (formatted != null)
+                return formatted;
+        }
+        return ((java.text.NumberFormat) textFormat()).format(value);
+    }
+
+    @Override
+    public String format(long unscaledValue, int scale) {
+        if (compiledPattern != null) {
+            String formatted = compiledPattern.format(unscaledValue, scale);
+            if (formatted != null)
+                return formatted;
+        }
+        return super.format(BigDecimal.valueOf(unscaledValue, scale));
+    }
+
     @Override
     public String toString() {
         return "NumberFormat";
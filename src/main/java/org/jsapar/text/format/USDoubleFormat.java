@@ -6,6 +6,16 @@ import org.jsapar.text.Format;
 import java.text.ParseException;
 
 public class USDoubleFormat implements Format<Number> {
+    /**
+     * All integers up to this value are exactly representable as a double.
+     */
+    private static final long     MAX_EXACT_MANTISSA = 1L << 53;
+    /**
+     * The powers of ten that are exactly representable as a double.
+     */
+    private static final double[] EXACT_POWERS_OF_TEN = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+
     @Override
     public CellType cellType() {
         return CellType.FLOAT;
@@ -20,8 +30,73 @@ public class USDoubleFormat implements Format<Number> {
         }
     }
 
+    @Override
+    public Number parse(CharSequence value) throws ParseException {
+        return parseDouble(value);
+    }
+
+    /**
+     * Parses a double precision float value from supplied characters. Plain decimal numbers without exponent, where
+     * both the digits and the power of ten of the decimals are exactly representable as double, are parsed without
+     * creating any object. The result is always the same as of {@link Double#parseDouble(String)}.
+     * @param value The characters to parse.
+     * @return The parsed value.
+     * @throws ParseException If the characters do not represent a float number.
+     * @since 2.4
+     */
+    public double parseDouble(CharSequence value) throws ParseException {
+        final int length = value.length();
+        int pos = 0;
+        boolean negative = false;
+        if (length > 0) {
+            char first = value.charAt(0);
+            if (first == '-' || first == '+') {
+                negative = first == '-';
+                pos++;
+            }
+        }
+        long mantissa = 0L;
+        int digits = 0;
+        int decimals = 0;
+        boolean point = false;
+        for (; pos < length; pos++) {
+            char c = value.charAt(pos);
+            if (c >= '0' && c <= '9') {
+                mantissa = mantissa * 10L + (c - '0');
+                if (mantissa > MAX_EXACT_MANTISSA)
+                    return parseDoubleFromString(value);
+                digits++;
+                if (point)
+                    decimals++;
+            } else if (c == '.' && !point) {
+                point = true;
+            } else {
+                // Exponent, white space, NaN, Infinity etc.
+                return parseDoubleFromString(value);
+            }
+        }
+        if (digits == 0 || decimals >= EXACT_POWERS_OF_TEN.length)
+            return parseDoubleFromString(value);
+        // Both operands are exact so the quotient is correctly rounded.
+        double result = decimals == 0 ? (double) mantissa : mantissa / EXACT_POWERS_OF_TEN[decimals];
+        return negative ? -result : result;
+    }
+
+    private double parseDoubleFromString(CharSequence value) throws ParseException {
+        try {
+            return Double.parseDouble(value.toString());
+        }catch (NumberFormatException e){
+            throw new ParseException("Failed to parse float number from value [" + value+"]", 0);
+        }
+    }
+
     @Override
     public String format(Object value) throws IllegalArgumentException {
         return value.toString();
     }
+
+    @Override
+    public String format(double value) {
+        return Double.toString(value);
+    }
 }
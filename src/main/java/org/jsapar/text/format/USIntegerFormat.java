@@ -21,11 +21,36 @@ public class USIntegerFormat implements Format<Number> {
         }
     }
 
+    @Override
+    public Number parse(CharSequence value) throws ParseException {
+        return parseLong(value);
+    }
+
+    /**
+     * Parses a long integer value from supplied characters without creating any object.
+     * @param value The characters to parse.
+     * @return The parsed value.
+     * @throws ParseException If the characters do not represent a long integer value.
+     * @since 2.4
+     */
+    public long parseLong(CharSequence value) throws ParseException {
+        try {
+            return Long.parseLong(value, 0, value.length(), 10);
+        }catch (NumberFormatException e){
+            throw new ParseException("Failed to parse integer from value [" + value+"]", 0);
+        }
+    }
+
     @Override
     public String format(Object value) throws IllegalArgumentException {
         return value.toString();
     }
 
+    @Override
+    public String format(long value) {
+        return Long.toString(value);
+    }
+
     @Override
     public String toString() {
         return "USIntegerFormat";
@@ -0,0 +1,95 @@
+package org.jsapar.utils;
+
+import java.util.Objects;
+
+/**
+ * Internal class that is a mutable {@link CharSequence} view of a range within a character array. The characters are
+ * not copied, so the content of the view changes if the underlying array is modified. A single instance can be reused
+ * for consecutive ranges while parsing so that no string needs to be created for values that are parsed into other
+ * types. A string is created first when {@link #toString()} is called.
+ */
+public final class CharSlice implements CharSequence {
+    private static final char[] NO_CHARS = new char[0];
+
+    private char[] chars  = NO_CHARS;
+    private int    offset = 0;
+    private int    length = 0;
+
+    /**
+     * Creates an empty view.
+     */
+    public CharSlice() {
+    }
+
+    /**
+     * @param chars  The underlying characters.
+     * @param offset The index of the first character of the view within chars.
+     * @param length The number of characters of the view.
+     */
+    public CharSlice(char[] chars, int offset, int length) {
+        set(chars, offset, length);
+    }
+
+    /**
+     * Moves this view to a new range.
+     * @param chars  The underlying characters.
+     * @param offset The index of the first character of the view within chars.
+     * @param length The number of characters of the view.
+     * @return This instance.
+     * @throws IndexOutOfBoundsException If the range is not within the supplied array.
+     */
+    public CharSlice set(char[] chars, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, chars.length);
+        this.chars = chars;
+        this.offset = offset;
+        this.length = length;
+        return this;
+    }
+
+    /**
+     * Limits the length of this view.
+     * @param maxLength The maximum number of characters of the view.
+     * @return This instance.
+     */
+    public CharSlice truncate(int maxLength) {
+        if (maxLength >= 0 && length > maxLength)
+            length = maxLength;
+        return this;
+    }
+
+    /**
+     * @return The underlying character array.
+     */
+    public char[] array() {
+        return chars;
+    }
+
+    /**
+     * @return The index of the first character of the view within the underlying character array.
+     */
+    public int offset() {
+        return offset;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        Objects.checkIndex(index, length);
+        return chars[offset + index];
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        Objects.checkFromToIndex(start, end, length);
+        return new String(chars, offset + start, end - start);
+    }
+
+    @Override
+    public String toString() {
+        return new String(chars, offset, length);
+    }
+}
@@ -0,0 +1,39 @@
+package org.jsapar.utils;
+
+import org.jsapar.model.Line;
+
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Internal class that gives the parsers access to the parts of {@link Line} that are not public. The methods are
+ * registered by the {@link Line} class when it is initialized, which always happens before there is any line to
+ * access.
+ * @since 2.4
+ */
+public final class LineAccess {
+    private static ObjLongConsumer<Line> lineNumberSetter;
+
+    private LineAccess() {
+    }
+
+    /**
+     * Internal method that is called once by the {@link Line} class when it is initialized.
+     * @param setter Assigns the line number of a line.
+     * @throws IllegalStateException If a setter is already registered.
+     */
+    public static void registerLineNumberSetter(ObjLongConsumer<Line> setter) {
+        if (lineNumberSetter != null)
+            throw new IllegalStateException("The line number setter is already registered");
+        lineNumberSetter = setter;
+    }
+
+    /**
+     * Assigns the line number of a line, for instance when a line instance is reused or when lines of an input that
+     * was parsed in parallel chunks are renumbered according to their position in the complete input.
+     * @param line       The line to alter.
+     * @param lineNumber The line number of the line within the input source.
+     */
+    public static void setLineNumber(Line line, long lineNumber) {
+        lineNumberSetter.accept(line, lineNumber);
+    }
+}
@@ -0,0 +1,269 @@
+package org.jsapar.utils.cache;
+
+import java.util.Arrays;
+
+/**
+ * A cache with character sequence keys that adapts its size to the values that actually occur. It is intended for
+ * caching the cells of one column while parsing.
+ * <p>
+ * The entries are stored in an open addressed hash table. Keys are compared by their characters, so looking up a key
+ * that is a reusable view of a parse buffer, such as {@link org.jsapar.utils.CharSlice}, does not create any string.
+ * A string is created first when a new entry is stored.
+ * <p>
+ * The cache starts small and keeps track of its hit rate. Each time a number of lookups have been made, the cache is
+ * adapted:
+ * <ul>
+ * <li>If entries had to be evicted because the cache was full, the cache grows until it reaches its max size. This is
+ * typical for columns with a limited number of distinct values, such as country codes, status flags or currencies.</li>
+ * <li>If entries still had to be evicted when the cache has reached its max size and less than half of the lookups
+ * were hits, the cache disables itself. This is typical for columns where almost every value is unique, such as
+ * identities or amounts. A disabled cache never returns a value and ignores all new values.</li>
+ * </ul>
+ * When the cache is full, all entries are evicted at once.
+ * <p>
+ * This class is not thread safe.
+ *
+ * @param <V> The value type
+ * @since 2.4
+ */
+public final class AdaptiveCache<V> implements Cache<CharSequence, V> {
+    /**
+     * The initial maximum number of entries.
+     */
+    static final int INITIAL_SIZE = 8;
+
+    /**
+     * The number of lookups between each time the cache is adapted.
+     */
+    static final int WINDOW = 256;
+
+    private static final int MIN_HITS_PER_WINDOW = WINDOW / 2;
+
+    /**
+     * Used until the first entry is added so that a cache that is never used costs nothing to create. Never written to.
+     */
+    private static final String[] NO_KEYS   = new String[1];
+    private static final int[]    NO_HASHES = new int[1];
+    private static final Object[] NO_VALUES = new Object[1];
+
+    private final int maxSize;
+
+    private int      sizeLimit;
+    private int      size;
+    private String[] keys;
+    private int[]    hashes;
+    private Object[] values;
+    private boolean  disabled;
+
+    private long lookups;
+    private long hits;
+    private long evictions;
+    private int  windowLookups;
+    private int  windowHits;
+    private int  windowEvictions;
+
+    /**
+     * @param maxSize The maximum number of entries that the cache can grow to.
+     */
+    public AdaptiveCache(int maxSize) {
+        if (maxSize <= 0)
+            throw new IllegalArgumentException("Max size of an adaptive cache needs to be a positive value.");
+        this.maxSize = maxSize;
+        this.sizeLimit = Math.min(INITIAL_SIZE, maxSize);
+        this.keys = NO_KEYS;
+        this.hashes = NO_HASHES;
+        this.values = NO_VALUES;
+    }
+
+    private void allocate(int sizeLimit) {
+        this.sizeLimit = sizeLimit;
+        int capacity = Integer.highestOneBit(sizeLimit) << 2;
+        this.keys = new String[capacity];
+        this.hashes = new int[capacity];
+        this.values = new Object[capacity];
+        this.size = 0;
+    }
+
+    @Override
+    public V get(CharSequence key) {
+        return get(key, disabled ? 0 : hashOf(key));
+    }
+
+    /**
+     * @param key  The key.
+     * @param hash The hash code of the key as returned by {@link #hashOf(CharSequence)}.
+     * @return A value stored in cache or null if there is none.
+     */
+    @SuppressWarnings("unchecked")
+    V get(CharSequence key, int hash) {
+        lookups++;
+        if (disabled)
+            return null;
+        final int mask = keys.length - 1;
+        V value = null;
+        for (int i = spread(hash) & mask; keys[i] != null; i = (i + 1) & mask) {
+            if (hashes[i] == hash && keys[i].contentEquals(key)) {
+                value = (V) values[i];
+                hits++;
+                windowHits++;
+                break;
+            }
+        }
+        if (++windowLookups == WINDOW)
+            adapt();
+        return value;
+    }
+
+    @Override
+    public void put(CharSequence key, V value) {
+        if (!disabled)
+            put(key, hashOf(key), value);
+    }
+
+    /**
+     * @param key   The key.
+     * @param hash  The hash code of the key as returned by {@link #hashOf(CharSequence)}.
+     * @param value The value.
+     */
+    void put(CharSequence key, int hash, V value) {
+        if (disabled)
+            return;
+        if (keys == NO_KEYS)
+            allocate(sizeLimit);
+        int i = indexOf(key, hash);
+        if (keys[i] == null) {
+            if (size >= sizeLimit) {
+                evictAll();
+                i = indexOf(key, hash);
+            }
+            keys[i] = key.toString();
+            hashes[i] = hash;
+            size++;
+        }
+        values[i] = value;
+    }
+
+    private int indexOf(CharSequence key, int hash) {
+        final int mask = keys.length - 1;
+        int i = spread(hash) & mask;
+        while (keys[i] != null && (hashes[i] != hash || !keys[i].contentEquals(key)))
+            i = (i + 1) & mask;
+        return i;
+    }
+
+    private void evictAll() {
+        Arrays.fill(keys, null);
+        Arrays.fill(values, null);
+        size = 0;
+        evictions++;
+        windowEvictions++;
+    }
+
+    /**
+     * Grows or disables the cache depending on the outcome of the lookups since last time.
+     */
+    private void adapt() {
+        if (windowEvictions > 0) {
+            if (sizeLimit < maxSize)
+                grow();
+            else if (windowHits < MIN_HITS_PER_WINDOW)
+                disable();
+        }
+        windowLookups = 0;
+        windowHits = 0;
+        windowEvictions = 0;
+    }
+
+    private void grow() {
+        String[] oldKeys = keys;
+        int[] oldHashes = hashes;
+        Object[] oldValues = values;
+        allocate((int) Math.min((long) sizeLimit * 2, maxSize));
+        final int mask = keys.length - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldKeys[j] == null)
+                continue;
+            int i = spread(oldHashes[j]) & mask;
+            while (keys[i] != null)
+                i = (i + 1) & mask;
+            keys[i] = oldKeys[j];
+            hashes[i] = oldHashes[j];
+            values[i] = oldValues[j];
+            size++;
+        }
+    }
+
+    private void disable() {
+        disabled = true;
+        keys = new String[1];
+        hashes = new int[1];
+        values = new Object[1];
+        size = 0;
+    }
+
+    /**
+     * @param key The key.
+     * @return The same hash code as the string with the same characters would have.
+     */
+    static int hashOf(CharSequence key) {
+        if (key instanceof String)
+            return key.hashCode();
+        int hash = 0;
+        for (int i = 0; i < key.length(); i++)
+            hash = 31 * hash + key.charAt(i);
+        return hash;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * @return True if this cache has disabled itself because too few lookups were hits.
+     */
+    public boolean isDisabled() {
+        return disabled;
+    }
+
+    /**
+     * @return The number of lookups, including the lookups made after the cache was disabled.
+     */
+    public long getLookups() {
+        return lookups;
+    }
+
+    /**
+     * @return The number of lookups that returned a value.
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * @return The number of times that all entries were evicted because the cache was full.
+     */
+    public long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * @return The current number of entries.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * @return The number of entries that the cache can hold before it needs to grow or to evict entries.
+     */
+    public int getSizeLimit() {
+        return disabled ? 0 : sizeLimit;
+    }
+
+    /**
+     * @return The maximum number of entries that the cache can grow to.
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+}
@@ -0,0 +1,86 @@
+package org.jsapar.utils.cache;
+
+/**
+ * A thread safe cache with character sequence keys. The keys are distributed by their hash code over a number of
+ * stripes where each stripe is an {@link AdaptiveCache} that is guarded by its own lock. Threads that look up
+ * different keys therefore seldom have to wait for each other.
+ * <p>
+ * Each stripe adapts itself independently the same way as an {@link AdaptiveCache} does, which means that the cache
+ * disables itself if almost every key is unique.
+ *
+ * @param <V> The value type
+ * @since 2.4
+ */
+public final class StripedCache<V> implements Cache<CharSequence, V> {
+    private static final int MAX_STRIPES = 16;
+
+    private final AdaptiveCache<V>[] stripes;
+    private final int                stripeShift;
+
+    /**
+     * @param maxSize The maximum number of entries that the cache can grow to in total.
+     */
+    @SuppressWarnings("unchecked")
+    public StripedCache(int maxSize) {
+        if (maxSize <= 0)
+            throw new IllegalArgumentException("Max size of a striped cache needs to be a positive value.");
+        int stripeCount = Integer.highestOneBit(Math.max(1, Math.min(MAX_STRIPES, maxSize / AdaptiveCache.INITIAL_SIZE)));
+        this.stripes = (AdaptiveCache<V>[]) new AdaptiveCache<?>[stripeCount];
+        for (int i = 0; i < stripeCount; i++)
+            stripes[i] = new AdaptiveCache<>((maxSize + stripeCount - 1) / stripeCount);
+        this.stripeShift = Integer.SIZE - Integer.numberOfTrailingZeros(stripeCount);
+    }
+
+    /**
+     * Selects the stripe by the high bits of the hash code since the low bits are used within the stripe.
+     * @param hash The hash code of the key.
+     * @return The stripe of the key.
+     */
+    private AdaptiveCache<V> stripeOf(int hash) {
+        return stripeShift == Integer.SIZE ? stripes[0] : stripes[(hash * 0x9E3779B9) >>> stripeShift];
+    }
+
+    @Override
+    public V get(CharSequence key) {
+        final int hash = AdaptiveCache.hashOf(key);
+        AdaptiveCache<V> stripe = stripeOf(hash);
+        synchronized (stripe) {
+            return stripe.get(key, hash);
+        }
+    }
+
+    @Override
+    public void put(CharSequence key, V value) {
+        final int hash = AdaptiveCache.hashOf(key);
+        AdaptiveCache<V> stripe = stripeOf(hash);
+        synchronized (stripe) {
+            stripe.put(key, hash, value);
+        }
+    }
+
+    /**
+     * @return The current number of entries of all stripes.
+     */
+    public int getSize() {
+        int size = 0;
+        for (AdaptiveCache<V> stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.getSize();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * @return True if all stripes have disabled themselves because too few lookups were hits.
+     */
+    public boolean isDisabled() {
+        for (AdaptiveCache<V> stripe : stripes) {
+            synchronized (stripe) {
+                if (!stripe.isDisabled())
+                    return false;
+            }
+        }
+        return true;
+    }
+}
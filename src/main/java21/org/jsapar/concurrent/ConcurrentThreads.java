@@ -0,0 +1,22 @@
+package org.jsapar.concurrent;
+
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Internal class that decides what kind of threads the concurrent classes start when no executor is supplied. This
+ * version, that is used on Java 21 and later, creates virtual threads so that many concurrent conversions can share a
+ * small pool of carrier threads.
+ */
+final class ConcurrentThreads {
+
+    private ConcurrentThreads() {
+    }
+
+    /**
+     * @param name The name of the threads.
+     * @return A thread factory that creates the default kind of threads.
+     */
+    static ThreadFactory defaultThreadFactory(String name) {
+        return Thread.ofVirtual().name(name).factory();
+    }
+}
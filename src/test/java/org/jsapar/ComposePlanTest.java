@@ -0,0 +1,99 @@
+package org.jsapar;
+
+import org.jsapar.model.*;
+import org.jsapar.schema.*;
+import org.junit.Test;
+
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.*;
+
+public class ComposePlanTest {
+
+    private static final CsvSchema csvSchema = CsvSchema.builder()
+            .withLine(CsvSchemaLine.builder("Person")
+                    .withFirstLineAsSchema(true)
+                    .withCell("Name")
+                    .withCell("Amount", c -> c.withType(CellType.DECIMAL).withPattern("#,##0.00").withLocale(Locale.US))
+                    .build())
+            .withLineSeparator("\n")
+            .build();
+
+    private static final FixedWidthSchema fixedWidthSchema = FixedWidthSchema.builder()
+            .withLine(FixedWidthSchemaLine.builder("Person")
+                    .withCell("Name", 8)
+                    .withCell("Amount", 10, c -> c.withType(CellType.DECIMAL).withPattern("#,##0.00").withLocale(Locale.US)
+                            .withAlignment(FixedWidthSchemaCell.Alignment.RIGHT))
+                    .build())
+            .withLineSeparator("\n")
+            .build();
+
+    private static Line person(String name, String amount) {
+        return new Line("Person")
+                .addCell(new StringCell("Name", name))
+                .addCell(new BigDecimalCell("Amount", new BigDecimal(amount)));
+    }
+
+    private static String compose(ComposePlan plan, Line... lines) {
+        StringWriter writer = new StringWriter();
+        TextComposer composer = new TextComposer(plan, writer);
+        for (Line line : lines)
+            composer.composeLine(line);
+        return writer.toString();
+    }
+
+    private static String compose(Schema<?> schema, Line... lines) {
+        StringWriter writer = new StringWriter();
+        TextComposer composer = new TextComposer(schema, writer);
+        for (Line line : lines)
+            composer.composeLine(line);
+        return writer.toString();
+    }
+
+    @Test
+    public void compose_csv_headerForEachComposer() {
+        ComposePlan plan = ComposePlan.ofSchema(csvSchema);
+        Line[] lines = {person("Erik;S", "1234.5"), person("Anna", "-2")};
+        String expected = "Name;Amount\n\"Erik;S\";1,234.50\nAnna;-2.00";
+        assertEquals(expected, compose(csvSchema, lines));
+        assertEquals(expected, compose(plan, lines));
+        assertEquals(expected, compose(plan, lines));
+    }
+
+    @Test
+    public void compose_fixedWidth() {
+        ComposePlan plan = ComposePlan.ofSchema(fixedWidthSchema);
+        Line[] lines = {person("Erik", "1234.5"), person("Anna", "-2")};
+        assertEquals(compose(fixedWidthSchema, lines), compose(plan, lines));
+        assertEquals("Erik      1,234.50\nAnna         -2.00", compose(plan, lines));
+    }
+
+    @Test
+    public void compose_concurrently() throws Exception {
+        ComposePlan plan = ComposePlan.ofSchema(csvSchema);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int n = 1; n <= 300; n++) {
+                        assertEquals("Name;Amount\nN" + n + ";" + n + ",000.25",
+                                compose(plan, person("N" + n, n + "000.25")));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures)
+                future.get();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package org.jsapar;
+
+import org.jsapar.model.CellType;
+import org.jsapar.model.Line;
+import org.jsapar.model.LineUtils;
+import org.jsapar.parse.CollectingConsumer;
+import org.jsapar.schema.*;
+import org.jsapar.text.TextParseConfig;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+public class ParsePlanTest {
+
+    private static final CsvSchema csvSchema = CsvSchema.builder()
+            .withLine(CsvSchemaLine.builder("Header")
+                    .withOccurs(1)
+                    .withCell("Type", c -> c.withLineCondition(v -> v.equals("H")))
+                    .withCell("Name")
+                    .build())
+            .withLine(CsvSchemaLine.builder("Amount")
+                    .withCell("Type", c -> c.withLineCondition(v -> v.equals("A")))
+                    .withCell("Amount", c -> c.withType(CellType.DECIMAL).withPattern("#,##0.00").withLocale(Locale.US))
+                    .withCell("Date", c -> c.withType(CellType.DATE).withPattern("yyyy-MM-dd HH:mm"))
+                    .build())
+            .withLineSeparator("\n")
+            .build();
+
+    private static List<Line> parse(TextParser parser, String input) throws IOException {
+        List<Line> lines = new ArrayList<>();
+        parser.parseForEach(new StringReader(input), lines::add);
+        return lines;
+    }
+
+    private static String input(int n) {
+        return "H;Name" + n + "\n" +
+                "A;" + n + ",000.50;2020-01-" + (10 + n % 20) + " 12:" + (10 + n % 50) + "\n" +
+                "A;-" + n + ".25;2021-02-" + (10 + n % 18) + " 03:04\n";
+    }
+
+    @Test
+    public void parse_sameAsFromSchema_repeatedly() throws IOException {
+        ParsePlan plan = ParsePlan.ofSchema(csvSchema);
+        for (int i = 0; i < 3; i++) {
+            List<Line> expected = parse(new TextParser(csvSchema), input(i));
+            List<Line> actual = parse(new TextParser(plan), input(i));
+            assertEquals(3, actual.size());
+            assertEquals(expected.toString(), actual.toString());
+        }
+    }
+
+    @Test
+    public void parse_firstLineAsSchema_eachInput() throws IOException {
+        CsvSchema schema = CsvSchema.builder()
+                .withLine(CsvSchemaLine.builder("Person").withFirstLineAsSchema(true).withCells("a", "b").build())
+                .build();
+        ParsePlan plan = ParsePlan.ofSchema(schema);
+        TextParser parser = new TextParser(plan);
+        List<Line> first = parse(parser, "Last;First\r\nSvensson;Erik");
+        List<Line> second = parse(parser, "First;Last\r\nErik;Svensson");
+        assertEquals("Svensson", LineUtils.getStringCellValue(first.get(0), "Last"));
+        assertEquals("Svensson", LineUtils.getStringCellValue(second.get(0), "Last"));
+        assertEquals("Erik", LineUtils.getStringCellValue(second.get(0), "First"));
+    }
+
+    @Test
+    public void parse_fixedWidth_occursStartsOver() throws IOException {
+        FixedWidthSchema schema = FixedWidthSchema.builder()
+                .withLine(FixedWidthSchemaLine.builder("Header").withOccurs(1).withCell("Title", 5).build())
+                .withLine(FixedWidthSchemaLine.builder("Person").withCell("Name", 5).build())
+                .withLineSeparator("\n")
+                .build();
+        ParsePlan plan = ParsePlan.ofSchema(schema);
+        for (int i = 0; i < 2; i++) {
+            List<Line> lines = parse(new TextParser(plan), "Names\nErik \nAnna ");
+            assertEquals(List.of("Header", "Person", "Person"),
+                    lines.stream().map(Line::getLineType).collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    public void ofSchema_configIsCopied() throws IOException {
+        TextParseConfig config = new TextParseConfig();
+        ParsePlan plan = ParsePlan.ofSchema(csvSchema, config);
+        config.setReuseLines(true);
+        assertFalse(plan.getParseConfig().isReuseLines());
+        plan.getParseConfig().setReuseLines(true);
+        assertFalse(plan.getParseConfig().isReuseLines());
+        List<Line> lines = parse(new TextParser(plan), input(1));
+        assertNotSame(lines.get(1), lines.get(2));
+    }
+
+    @Test
+    public void getParseConfig_changed() throws IOException {
+        TextParser parser = new TextParser(ParsePlan.ofSchema(csvSchema));
+        TextParseConfig config = parser.getParseConfig();
+        config.setReuseLines(true);
+        assertFalse(parser.getParseConfig().isReuseLines());
+        List<Line> planLines = parse(parser, input(1));
+        assertNotSame(planLines.get(1), planLines.get(2));
+
+        parser.setParseConfig(config);
+        assertSame(config, parser.getParseConfig());
+        List<Line> lines = parse(parser, input(1));
+        assertSame(lines.get(1), lines.get(2));
+    }
+
+    @Test
+    public void stream() throws IOException {
+        TextParser parser = new TextParser(ParsePlan.ofSchema(csvSchema));
+        assertEquals(3, parser.stream(new StringReader(input(1))).count());
+    }
+
+    @Test
+    public void parse_concurrently() throws Exception {
+        ParsePlan plan = ParsePlan.ofSchema(csvSchema);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(executor.submit(() -> {
+                    SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm");
+                    for (int n = 0; n < 300; n++) {
+                        CollectingConsumer<Line> lines = new CollectingConsumer<>();
+                        TextParser parser = new TextParser(plan);
+                        parser.parseForEach(new StringReader(input(n)), lines);
+                        Line amount = lines.getCollected().get(1);
+                        assertEquals(new BigDecimal(n + "000.50"), LineUtils.getDecimalCellValue(amount, "Amount").orElseThrow());
+                        assertEquals(dateFormat.parse("2020-01-" + (10 + n % 20) + " 12:" + (10 + n % 50)),
+                                LineUtils.getDateCellValue(amount, "Date").orElseThrow());
+                        assertEquals(new BigDecimal("-" + n + ".25"),
+                                LineUtils.getDecimalCellValue(lines.getCollected().get(2), "Amount").orElseThrow());
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures)
+                future.get();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -76,6 +76,22 @@ public class Text2TextConverterTest {
     }
 
 
+    @Test
+    public void testConvert_plans() throws IOException, JSaParException {
+        FixedWidthSchema inputSchema = makeFixedWidthPersonSchema();
+        CsvSchema outputSchema = makeCsvPersonSchema();
+        ParsePlan parsePlan = ParsePlan.ofSchema(inputSchema);
+        ComposePlan composePlan = ComposePlan.ofSchema(outputSchema);
+        for (int i = 0; i < 2; i++) {
+            StringWriter writer = new StringWriter();
+            Text2TextConverter converter = new Text2TextConverter(parsePlan, composePlan);
+            assertSame(inputSchema, converter.getParseSchema());
+            assertSame(outputSchema, converter.getComposeSchema());
+            converter.convert(new StringReader("Jonas Stenberg " + LN + "Frida Bergsten "), writer);
+            assertEquals("Jonas;Stenberg|Frida;Bergsten", writer.toString());
+        }
+    }
+
     @Test
     public void testConvert_error() throws IOException, JSaParException {
         String toParse = "Jonas 41       " + LN + "Frida ERROR    ";
@@ -10,6 +10,7 @@ import org.jsapar.parse.CellParseException;
 import org.jsapar.parse.DocumentBuilderLineConsumer;
 import org.jsapar.parse.CollectingConsumer;
 import org.jsapar.parse.text.TextParseTask;
+import org.jsapar.schema.CsvSchema;
 import org.jsapar.schema.FixedWidthSchema;
 import org.junit.Assert;
 import org.junit.Test;
@@ -108,6 +109,54 @@ public class TextParseTaskTest {
         assertEquals("Stenberg", LineUtils.getStringCellValue(doc.getLine(1), "Last name"));
     }
 
+    @Test
+    public void testGetRemainingInput_fixed_finiteOccurs() throws IOException {
+        FixedWidthSchema schema = FixedWidthSchema.builder()
+                .withLine("Person", line -> line.withOccurs(2).withCell("First name", 5).withCell("Last name", 8))
+                .build();
+        TextParseTask parser = new TextParseTask(schema, new StringReader("JonasStenberg\nLinusStenberg\nNils;Holgersson\n"));
+        DocumentBuilderLineConsumer listener = new DocumentBuilderLineConsumer();
+        parser.setLineConsumer(listener);
+        assertEquals(2, parser.execute());
+        assertEquals(2, listener.getDocument().size());
+        assertEquals("Nils;Holgersson\n", readAll(parser.getRemainingInput()));
+    }
+
+    @Test
+    public void testGetRemainingInput_fixed_flat() throws IOException {
+        FixedWidthSchema schema = FixedWidthSchema.builder()
+                .withLineSeparator("")
+                .withLine("Person", line -> line.withOccurs(1).withCell("First name", 5).withCell("Last name", 8))
+                .build();
+        TextParseTask parser = new TextParseTask(schema, new StringReader("JonasStenbergLinusStenberg"));
+        parser.setLineConsumer(line -> assertEquals("Jonas", LineUtils.getStringCellValue(line, "First name")));
+        parser.execute();
+        assertEquals("LinusStenberg", readAll(parser.getRemainingInput()));
+    }
+
+    @Test
+    public void testGetRemainingInput_csv_finiteOccurs() throws IOException {
+        CsvSchema schema = CsvSchema.builder()
+                .withLine("header", line -> line.withOccurs(1).withCells("First name", "Last name"))
+                .build();
+        TextParseTask parser = new TextParseTask(schema, new StringReader("Jonas;\"Sten\nberg\"\r\nLinus;Stenberg\r\n"));
+        List<String> lastNames = new ArrayList<>();
+        parser.setLineConsumer(line -> lastNames.add(LineUtils.getStringCellValue(line, "Last name")));
+        parser.execute();
+        assertEquals(1, lastNames.size());
+        assertEquals("Sten\nberg", lastNames.get(0));
+        assertEquals("Linus;Stenberg\r\n", readAll(parser.getRemainingInput()));
+    }
+
+    private static String readAll(Reader reader) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        char[] buffer = new char[16];
+        for (int read = reader.read(buffer); read >= 0; read = reader.read(buffer)) {
+            sb.append(buffer, 0, read);
+        }
+        return sb.toString();
+    }
+
     private Document build(String toParse, FixedWidthSchema schema) throws IOException {
         Reader reader = new StringReader(toParse);
         TextParseTask parser = new TextParseTask(schema, reader);
@@ -4,13 +4,20 @@ import org.jsapar.error.ValidationAction;
 import org.jsapar.model.Cell;
 import org.jsapar.model.Line;
 import org.jsapar.schema.CsvSchema;
+import org.jsapar.schema.FixedWidthSchema;
 import org.jsapar.schema.Schema;
 import org.jsapar.text.TextParseConfig;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.Reader;
 import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -50,6 +57,88 @@ public class TextParserTest {
         }
     }
 
+    @Test
+    public void stream_reuseLines() throws IOException {
+        CsvSchema schema = CsvSchema.builder()
+                .withLine("a", l->l.withCells("x", "y"))
+                .build();
+        TextParseConfig config = new TextParseConfig();
+        config.setReuseLines(true);
+        TextParser parser = new TextParser(schema, config);
+        try(Reader reader = new StringReader("a;b\nc;d\ne;f")) {
+            List<Line> result = parser.stream(reader).collect(Collectors.toList());
+            assertEquals(List.of("a", "c", "e"), result.stream()
+                    .map(line -> line.getCell("x").map(Cell::getStringValue).orElse(null))
+                    .collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    public void parseForEach_inputStream() throws IOException {
+        CsvSchema schema = CsvSchema.builder()
+                .withLine("a", l->l.withCell("a").withCell("b"))
+                .build();
+        byte[] bytes = "Åsa;Öberg\nÄrla;Ärlig".getBytes(StandardCharsets.ISO_8859_1);
+        List<Line> result = new ArrayList<>();
+        TextParser parser = new TextParser(schema);
+        assertEquals(2, parser.parseForEach(new ByteArrayInputStream(bytes), StandardCharsets.ISO_8859_1, result::add));
+        assertEquals("Öberg", result.get(0).getCell("b").map(Cell::getStringValue).orElse(null));
+        assertEquals("Ärla", result.get(1).getCell("a").map(Cell::getStringValue).orElse(null));
+    }
+
+    @Test
+    public void parseForEach_byteBuffer() throws IOException {
+        CsvSchema schema = CsvSchema.builder()
+                .withLine("a", l->l.withCell("a").withCell("b"))
+                .build();
+        ByteBuffer bytes = ByteBuffer.wrap("€uro;Öberg\nÄrla;Ärlig".getBytes(StandardCharsets.UTF_8));
+        List<Line> result = new ArrayList<>();
+        TextParser parser = new TextParser(schema);
+        assertEquals(2, parser.parseForEach(bytes, StandardCharsets.UTF_8, result::add));
+        assertEquals("€uro", result.get(0).getCell("a").map(Cell::getStringValue).orElse(null));
+        assertEquals("Ärlig", result.get(1).getCell("b").map(Cell::getStringValue).orElse(null));
+    }
+
+    @Test
+    public void parseForEach_path() throws IOException {
+        FixedWidthSchema schema = FixedWidthSchema.builder()
+                .withLine("a", l->l.withCell("a", 4).withCell("b", 5))
+                .build();
+        Path path = Files.createTempFile("jsapar", ".txt");
+        try {
+            Files.write(path, "Åsa Öberg\nÄrlaÄrlig\n".getBytes(StandardCharsets.UTF_8));
+            List<Line> result = new ArrayList<>();
+            TextParser parser = new TextParser(schema);
+            assertEquals(2, parser.parseForEach(path, result::add));
+            assertEquals("Öberg", result.get(0).getCell("b").map(Cell::getStringValue).orElse(null));
+            assertEquals("Ärlig", result.get(1).getCell("b").map(Cell::getStringValue).orElse(null));
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    public void parseForEachWithRemainder() throws IOException {
+        CsvSchema headerSchema = CsvSchema.builder()
+                .withLine("header", l -> l.withOccurs(1).withCells("h1", "h2"))
+                .build();
+        CsvSchema bodySchema = CsvSchema.builder()
+                .withLine("body", l -> l.withCells("text"))
+                .build();
+        Reader reader = new StringReader("h1;h2\nREST OF STREAM\nmore\n");
+        List<Line> headers = new ArrayList<>();
+        TextParseResult result = new TextParser(headerSchema).parseForEachWithRemainder(reader, headers::add);
+        assertEquals(1, result.getLineCount());
+        assertEquals("h2", headers.get(0).getCell("h2").map(Cell::getStringValue).orElse(null));
+        assertSame(result.getRemainingInput(), result.getRemainingInput());
+
+        List<Line> body = new ArrayList<>();
+        assertEquals(2, new TextParser(bodySchema).parseForEach(result.getRemainingInput(), body::add));
+        assertEquals(List.of("REST OF STREAM", "more"), body.stream()
+                .map(line -> line.getCell("text").map(Cell::getStringValue).orElse(null))
+                .collect(Collectors.toList()));
+    }
+
     private Schema<?> makeInputSchema() {
         return CsvSchema.builder().build();
     }
@@ -35,6 +35,33 @@ public class CsvLineComposerTest {
 
     }
 
+    @Test
+    public void testOutput_cellSlots() throws JSaParException {
+        CsvSchemaLine schemaLine = CsvSchemaLine.builder("A")
+                .withCellSeparator(";")
+                .withCells("First Name", "Last Name", "Age")
+                .build();
+        CsvSchemaLine otherSchemaLine = CsvSchemaLine.builder("A")
+                .withCells("Last Name", "First Name")
+                .build();
+
+        Line sameSlotsLine = new Line("A", schemaLine.getCellSlots(), 1L);
+        sameSlotsLine.addCell(new StringCell("Last Name", "Stenberg"));
+        sameSlotsLine.addCell(new StringCell("First Name", "Jonas"));
+        Line otherSlotsLine = new Line("A", otherSchemaLine.getCellSlots(), 2L);
+        otherSlotsLine.addCell(new StringCell("First Name", "Nils"));
+        otherSlotsLine.addCell(new StringCell("Last Name", "Svensson"));
+        otherSlotsLine.addCell(new StringCell("Age", "42"));
+        StringWriter writer = new StringWriter();
+
+        CsvLineComposer lineComposer = new CsvLineComposer(writer, schemaLine, "\n", QuoteSyntax.FIRST_LAST);
+        lineComposer.compose(sameSlotsLine);
+        lineComposer.compose(otherSlotsLine);
+        lineComposer.compose(sameSlotsLine);
+
+        assertEquals("Jonas;Stenberg;Nils;Svensson;42Jonas;Stenberg;", writer.toString());
+    }
+
     @Test
     public void testOutput_ignoreWrite() throws JSaParException {
         CsvSchemaLine schemaLine = CsvSchemaLine.builder("A")
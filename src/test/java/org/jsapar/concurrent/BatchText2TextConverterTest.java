@@ -0,0 +1,178 @@
+package org.jsapar.concurrent;
+
+import org.jsapar.model.CellType;
+import org.jsapar.schema.*;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+public class BatchText2TextConverterTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static final CsvSchema csvSchema = CsvSchema.builder()
+            .withLine(CsvSchemaLine.builder("Person")
+                    .withCell("Id", c -> c.withType(CellType.INTEGER))
+                    .withCells("First name", "Last name")
+                    .build())
+            .withLineSeparator("\n")
+            .build();
+
+    private static final FixedWidthSchema fixedWidthSchema = FixedWidthSchema.builder()
+            .withLine(FixedWidthSchemaLine.builder("Person")
+                    .withCell("Id", 4, c -> c.withType(CellType.INTEGER).withAlignment(FixedWidthSchemaCell.Alignment.RIGHT))
+                    .withCell("First name", 6)
+                    .withCell("Last name", 6)
+                    .build())
+            .withLineSeparator("\n")
+            .build();
+
+    private Path write(Path dir, String name, String content) throws IOException {
+        Path path = dir.resolve(name);
+        Files.createDirectories(path.getParent());
+        return Files.write(path, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String read(Path path) throws IOException {
+        return new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void convert() throws Exception {
+        Path in = folder.newFolder("in").toPath();
+        Path out = folder.newFolder("out").toPath();
+        List<Path> files = new ArrayList<>();
+        for (int i = 0; i < 10; i++)
+            files.add(write(in, "file" + i + ".csv", i + ";Jonas;Berg\n" + (i + 100) + ";Frida;Sten\n"));
+
+        BatchText2TextConverter converter = new BatchText2TextConverter(csvSchema, fixedWidthSchema);
+        converter.setParallelism(3);
+        converter.setInputCharset(StandardCharsets.UTF_8);
+        converter.setOutputCharset(StandardCharsets.UTF_8);
+        converter.setOutputDirectory(out);
+        BatchText2TextConverter.Result result = converter.convert(files);
+
+        assertEquals(10, result.getFileCount());
+        assertEquals(0, result.getUnsuccessfulFileCount());
+        assertEquals(20, result.getLineCount());
+        assertEquals(files.stream().mapToLong(f -> f.toFile().length()).sum(), result.getByteCount());
+        assertTrue(result.getLinesPerSecond() > 0.0);
+        for (int i = 0; i < 10; i++) {
+            BatchText2TextConverter.FileResult fileResult = result.getFileResults().get(i);
+            assertEquals(files.get(i), fileResult.getInputFile());
+            assertEquals(out.resolve("file" + i + ".csv"), fileResult.getOutputFile());
+            assertNull(fileResult.getErrorReport());
+            assertEquals(String.format("%4dJonas Berg  \n%4dFrida Sten  ", i, i + 100), read(fileResult.getOutputFile()));
+        }
+    }
+
+    @Test
+    public void convert_errorReports() throws Exception {
+        Path in = folder.newFolder("in").toPath();
+        Path good = write(in, "good.csv", "1;Jonas;Berg\n");
+        Path bad = write(in, "bad.csv", "1;Jonas;Berg\nx;Frida;Sten\n3;Erik;Ek\n");
+        Path missing = in.resolve("missing.csv");
+
+        BatchText2TextConverter converter = new BatchText2TextConverter(csvSchema, fixedWidthSchema);
+        BatchText2TextConverter.Result result = converter.convert(List.of(good, bad, missing));
+
+        assertEquals(2, result.getUnsuccessfulFileCount());
+        BatchText2TextConverter.FileResult goodResult = result.getFileResults().get(0);
+        assertTrue(goodResult.isSuccessful());
+        assertEquals(in.resolve("good.csv.out"), goodResult.getOutputFile());
+        assertFalse(Files.exists(in.resolve("good.csv.out.errors")));
+
+        BatchText2TextConverter.FileResult badResult = result.getFileResults().get(1);
+        assertNull(badResult.getFailure());
+        assertEquals(1, badResult.getErrorCount());
+        assertEquals(in.resolve("bad.csv.out.errors"), badResult.getErrorReport());
+        assertTrue(read(badResult.getErrorReport()).contains("x"));
+
+        BatchText2TextConverter.FileResult missingResult = result.getFileResults().get(2);
+        assertNotNull(missingResult.getFailure());
+        assertTrue(read(missingResult.getErrorReport()).contains("Failed to convert file"));
+    }
+
+    @Test
+    public void convert_errorReportNotWritable() throws Exception {
+        Path in = folder.newFolder("in").toPath();
+        Path bad = write(in, "bad.csv", "1;Jonas;Berg\nx;Frida;Sten\ny;Erik;Ek\n");
+
+        BatchText2TextConverter converter = new BatchText2TextConverter(csvSchema, fixedWidthSchema);
+        converter.setErrorReportNamer(output -> in.resolve("missing/bad.errors"));
+        BatchText2TextConverter.FileResult badResult = converter.convert(List.of(bad)).getFileResults().get(0);
+
+        assertEquals(2, badResult.getErrorCount());
+        assertNull(badResult.getErrorReport());
+        assertTrue(badResult.getFailure() instanceof IOException);
+        assertEquals(3, badResult.getLineCount());
+    }
+
+    @Test
+    public void convert_sameOutputFile() throws Exception {
+        Path in = folder.newFolder("in").toPath();
+        Path out = folder.newFolder("out").toPath();
+        List<Path> files = List.of(write(in, "a/x.csv", "1;Jonas;Berg\n"), write(in, "b/x.csv", "2;Frida;Sten\n"));
+
+        BatchText2TextConverter converter = new BatchText2TextConverter(csvSchema, fixedWidthSchema);
+        converter.setOutputDirectory(out);
+        try {
+            converter.convert(files);
+            fail("Expected exception");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("x.csv"));
+        }
+        assertFalse(Files.exists(out.resolve("x.csv")));
+    }
+
+    @Test
+    public void convert_outputIsInput() throws Exception {
+        Path in = folder.newFolder("in").toPath();
+        Path file = write(in, "x.csv", "1;Jonas;Berg\n");
+
+        BatchText2TextConverter converter = new BatchText2TextConverter(csvSchema, fixedWidthSchema);
+        converter.setOutputDirectory(in);
+        try {
+            converter.convert(List.of(file));
+            fail("Expected exception");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("overwrite"));
+        }
+        assertEquals("1;Jonas;Berg\n", read(file));
+    }
+
+    @Test
+    public void findFiles() throws IOException {
+        Path dir = folder.getRoot().toPath();
+        Path a = write(dir, "a.csv", "");
+        Path b = write(dir, "b.txt", "");
+        Path c = write(dir, "sub/c.csv", "");
+        Path list = write(dir, "list.txt", "# Files\n" + c + "\n\n" + a + "\n");
+        // Output and error report of an earlier run.
+        write(dir, "a.csv.out", "");
+        write(dir, "b.txt.out.errors", "");
+
+        assertEquals(List.of(a, b, list), BatchText2TextConverter.findFiles(dir.toString()));
+        assertEquals(List.of(a), BatchText2TextConverter.findFiles(dir + "/*.csv"));
+        assertEquals(List.of(c), BatchText2TextConverter.findFiles(dir + "/**/*.csv"));
+        assertEquals(List.of(a, c), BatchText2TextConverter.findFiles(dir + "/{*,*/*}.csv"));
+        assertEquals(List.of(c, a), BatchText2TextConverter.findFiles("@" + list));
+        assertEquals(List.of(b), BatchText2TextConverter.findFiles(b.toString()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void setParallelism_zero() {
+        new BatchText2TextConverter(csvSchema, fixedWidthSchema).setParallelism(0);
+    }
+}
@@ -0,0 +1,64 @@
+package org.jsapar.concurrent;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compares the throughput of handing over events one by one through the queue of {@link ConcurrentConsumer} with
+ * handing over events in batches through the ring buffer, using each of the wait strategies. Not run as part of the
+ * unit tests. Run the main method, optionally with the number of events as argument.
+ */
+public class ConcurrentConsumerBenchmark {
+    private static final int BATCH_SIZE  = 256;
+    private static final int BATCH_COUNT = 8;
+    private static final int ROUNDS      = 5;
+
+    private static final class Counter implements java.util.function.Consumer<Object> {
+        private long count = 0;
+        private long hash  = 0;
+
+        @Override
+        public void accept(Object event) {
+            count++;
+            hash += System.identityHashCode(event);
+        }
+    }
+
+    private interface ConsumerMaker {
+        ConcurrentConsumer<Object> make(Counter counter);
+    }
+
+    public static void main(String[] args) {
+        final int events = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+        final Object[] payload = new Object[1024];
+        for (int i = 0; i < payload.length; i++)
+            payload[i] = new Object();
+
+        LongAdder blackhole = new LongAdder();
+        run("queue", events, payload, blackhole, ConcurrentConsumer::new);
+        for (WaitStrategy waitStrategy : WaitStrategy.values())
+            run("ring " + waitStrategy, events, payload, blackhole,
+                    counter -> new ConcurrentConsumer<>(counter, BATCH_SIZE, BATCH_COUNT, waitStrategy));
+        System.out.println("(" + blackhole.sum() + ")");
+    }
+
+    private static void run(String name, int events, Object[] payload, LongAdder blackhole, ConsumerMaker maker) {
+        // The first round is warm up.
+        double best = Double.MAX_VALUE;
+        for (int round = 0; round <= ROUNDS; round++) {
+            Counter counter = new Counter();
+            long start = System.nanoTime();
+            try (ConcurrentConsumer<Object> consumer = maker.make(counter)) {
+                consumer.start();
+                for (int i = 0; i < events; i++)
+                    consumer.accept(payload[i & (payload.length - 1)]);
+            }
+            long elapsed = System.nanoTime() - start;
+            if (counter.count != events)
+                throw new IllegalStateException(name + " consumed " + counter.count + " of " + events + " events");
+            blackhole.add(counter.hash);
+            if (round > 0)
+                best = Math.min(best, (double) elapsed / events);
+        }
+        System.out.printf("%-12s %8.1f ns/event%n", name, best);
+    }
+}
@@ -5,7 +5,12 @@ import org.jsapar.model.Line;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.Assert.*;
 
@@ -126,4 +131,91 @@ public class ConcurrentLineConsumerTest {
 
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testBatched_inOrder() {
+        for (WaitStrategy waitStrategy : WaitStrategy.values()) {
+            List<Integer> consumed = new ArrayList<>();
+            try (ConcurrentConsumer<Integer> instance = new ConcurrentConsumer<>(consumed::add, 7, 3, waitStrategy)) {
+                instance.start();
+                for (int i = 0; i < 1000; i++)
+                    instance.accept(i);
+            }
+            assertEquals(waitStrategy.name(), 1000, consumed.size());
+            for (int i = 0; i < 1000; i++)
+                assertEquals(i, consumed.get(i).intValue());
+        }
+    }
+
+    @Test
+    public void testBatched_sizeBeforeStart() {
+        try (ConcurrentConsumer<Line> instance = new ConcurrentConsumer<>(event -> count.getAndIncrement(), 2, 4, WaitStrategy.PARK)) {
+            instance.accept(new Line(""));
+            instance.accept(new Line(""));
+            instance.accept(new Line(""));
+            assertEquals(3, instance.size());
+            assertFalse(instance.isEmpty());
+            instance.start();
+        }
+        assertEquals(3, count.get());
+    }
+
+    @Test
+    public void testBatched_flush() throws Exception {
+        try (ConcurrentConsumer<Line> instance = new ConcurrentConsumer<>(event -> count.getAndIncrement(), 100, 2, WaitStrategy.PARK)) {
+            instance.start();
+            instance.accept(new Line(""));
+            instance.flush();
+            for (int i = 0; i < 1000 && count.get() == 0; i++)
+                Thread.sleep(1L);
+            assertEquals(1, count.get());
+            assertTrue(instance.isEmpty());
+        }
+    }
+
+    @Test
+    public void testBatched_exceptionFromListener() {
+        try (ConcurrentConsumer<Line> instance = new ConcurrentConsumer<>(event -> {
+            throw new AssertionError("Testing error");
+        }, 4, 2, WaitStrategy.YIELD)) {
+            instance.start();
+            // Would block forever on a full ring buffer unless the producer notices that the worker has terminated.
+            for (int i = 0; i < 100; i++)
+                instance.accept(new Line(""));
+            fail("Exception expected");
+        } catch (JSaParException e) {
+            assertEquals("Testing error", e.getCause().getMessage());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBatched_zeroBatchSize() {
+        new ConcurrentConsumer<Line>(event -> {}, 0, 2, WaitStrategy.PARK);
+    }
+
+    @Test
+    public void testSetExecutor() {
+        ExecutorService executor = Executors.newCachedThreadPool(r -> new Thread(r, "pooled-worker"));
+        AtomicReference<String> threadName = new AtomicReference<>();
+        try (ConcurrentConsumer<Line> instance = new ConcurrentConsumer<>(event -> threadName.set(Thread.currentThread().getName()))) {
+            instance.setExecutor(executor);
+            instance.start();
+            assertTrue(instance.isRunning());
+            instance.accept(new Line(""));
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals("pooled-worker", threadName.get());
+    }
+
+    @Test
+    public void testSetThreadFactory() {
+        AtomicReference<String> threadName = new AtomicReference<>();
+        try (ConcurrentConsumer<Line> instance = new ConcurrentConsumer<>(event -> threadName.set(Thread.currentThread().getName()), 16, 2, WaitStrategy.PARK)) {
+            instance.setThreadFactory(r -> new Thread(r, "factory-worker"));
+            instance.start();
+            instance.accept(new Line(""));
+        }
+        assertEquals("factory-worker", threadName.get());
+    }
+
+}
@@ -1,13 +1,18 @@
 package org.jsapar.concurrent;
 
+import org.jsapar.Text2TextConverter;
 import org.jsapar.error.JSaParException;
 import org.jsapar.schema.*;
+import org.jsapar.text.TextParseConfig;
 import org.junit.Assert;
 import org.junit.Test;
 
 import java.io.IOException;
 import java.io.StringReader;
 import java.io.StringWriter;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  */
@@ -43,4 +48,52 @@ public class ConcurrentText2TextConverterTest {
 
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testConvert_executor() throws IOException, JSaParException {
+        CsvSchema schema = CsvSchema.builder()
+                .withLine(CsvSchemaLine.builder("Person")
+                        .withCells("First name", "Last name")
+                        .build())
+                .withLineSeparator("\n")
+                .build();
+        AtomicInteger started = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            ConcurrentText2TextConverter converter = new ConcurrentText2TextConverter(schema, schema);
+            converter.setExecutor(runnable -> {
+                started.incrementAndGet();
+                executor.execute(runnable);
+            });
+            for (int i = 0; i < 3; i++) {
+                StringWriter writer = new StringWriter();
+                converter.convert(new StringReader("Jonas;Stenberg\nFrida;Bergsten"), writer);
+                Assert.assertEquals("Jonas;Stenberg\nFrida;Bergsten", writer.toString());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        Assert.assertEquals(3, started.get());
+    }
+
+    @Test
+    public void testConvert_reuseLines() throws IOException {
+        CsvSchema schema = CsvSchema.builder()
+                .withLine(CsvSchemaLine.builder("Value")
+                        .withCells("Name", "Number")
+                        .build())
+                .withLineSeparator("\n")
+                .build();
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < 5000; i++)
+            input.append('v').append(i).append(';').append(i).append('\n');
+        TextParseConfig config = new TextParseConfig();
+        config.setReuseLines(true);
+
+        StringWriter expected = new StringWriter();
+        new Text2TextConverter(schema, schema, config).convert(new StringReader(input.toString()), expected);
+        StringWriter actual = new StringWriter();
+        new ConcurrentText2TextConverter(schema, schema, config).convert(new StringReader(input.toString()), actual);
+        Assert.assertEquals(expected.toString(), actual.toString());
+        Assert.assertTrue(config.isReuseLines());
+    }
+}
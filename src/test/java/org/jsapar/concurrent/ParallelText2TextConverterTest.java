@@ -0,0 +1,140 @@
+package org.jsapar.concurrent;
+
+import org.jsapar.Text2TextConverter;
+import org.jsapar.error.JSaParException;
+import org.jsapar.model.CellType;
+import org.jsapar.model.LineUtils;
+import org.jsapar.parse.CellParseException;
+import org.jsapar.schema.*;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+public class ParallelText2TextConverterTest {
+
+    private static final CsvSchema csvSchema = CsvSchema.builder()
+            .withLine(CsvSchemaLine.builder("Person")
+                    .withCell("Id", c -> c.withType(CellType.INTEGER))
+                    .withCells("First name", "Last name")
+                    .build())
+            .withLineSeparator("\n")
+            .build();
+
+    private static final FixedWidthSchema fixedWidthSchema = FixedWidthSchema.builder()
+            .withLine(FixedWidthSchemaLine.builder("Person")
+                    .withCell("Id", 6, c -> c.withType(CellType.INTEGER).withAlignment(FixedWidthSchemaCell.Alignment.RIGHT))
+                    .withCell("First name", 8)
+                    .withCell("Last name", 10)
+                    .build())
+            .withLineSeparator("\n")
+            .build();
+
+    private static String csvInput(int count) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++)
+            sb.append(i).append(";First").append(i % 7).append(";Last").append(i % 13).append('\n');
+        return sb.toString();
+    }
+
+    private static String convertSequentially(Text2TextConverter converter, String input) throws IOException {
+        StringWriter writer = new StringWriter();
+        converter.convert(new StringReader(input), writer);
+        return writer.toString();
+    }
+
+    private static ParallelText2TextConverter parallel(Schema<?> parseSchema, Schema<?> composeSchema) {
+        ParallelText2TextConverter converter = new ParallelText2TextConverter(parseSchema, composeSchema);
+        converter.setParallelism(4);
+        converter.setBatchSize(10);
+        return converter;
+    }
+
+    @Test
+    public void convert_csvToFixedWidth() throws IOException {
+        String input = csvInput(1000);
+        ParallelText2TextConverter converter = parallel(csvSchema, fixedWidthSchema);
+        StringWriter writer = new StringWriter();
+        assertEquals(1000, converter.convert(new StringReader(input), writer));
+        assertEquals(convertSequentially(new Text2TextConverter(csvSchema, fixedWidthSchema), input), writer.toString());
+    }
+
+    @Test
+    public void convert_fixedWidthToCsv() throws IOException {
+        String input = convertSequentially(new Text2TextConverter(csvSchema, fixedWidthSchema), csvInput(500));
+        ParallelText2TextConverter converter = parallel(fixedWidthSchema, csvSchema);
+        StringWriter writer = new StringWriter();
+        assertEquals(500, converter.convert(new StringReader(input), writer));
+        assertEquals(csvInput(500).trim(), writer.toString());
+    }
+
+    @Test
+    public void convert_manipulatorAndHeader() throws IOException {
+        CsvSchema composeSchema = CsvSchema.builder()
+                .withLine(CsvSchemaLine.builder("Person")
+                        .withCells("Last name", "Id")
+                        .withFirstLineAsSchema(true)
+                        .build())
+                .withLineSeparator("\r\n")
+                .build();
+        String input = csvInput(300);
+        // The header line is written before the first line that is not skipped, which is within a later batch.
+        Text2TextConverter sequential = new Text2TextConverter(csvSchema, composeSchema);
+        sequential.addLineManipulator(line -> LineUtils.getIntCellValue(line, "Id", 0) >= 25);
+        ParallelText2TextConverter converter = parallel(csvSchema, composeSchema);
+        converter.addLineManipulator(line -> LineUtils.getIntCellValue(line, "Id", 0) >= 25);
+
+        StringWriter writer = new StringWriter();
+        converter.convert(new StringReader(input), writer);
+        String expected = convertSequentially(sequential, input);
+        assertTrue(expected.startsWith("Last name;Id\r\nLast12;25\r\n"));
+        assertEquals(expected, writer.toString());
+    }
+
+    @Test
+    public void convert_errorsInOrder() throws IOException {
+        String input = csvInput(100).replace("\n17;", "\nx17;").replace("\n85;", "\ny85;");
+        List<JSaParException> errors = new ArrayList<>();
+        ParallelText2TextConverter converter = parallel(csvSchema, fixedWidthSchema);
+        converter.setErrorConsumer(errors::add);
+        StringWriter writer = new StringWriter();
+        converter.convert(new StringReader(input), writer);
+        assertEquals(List.of("x17", "y85"), errors.stream()
+                .map(e -> ((CellParseException) e).getCellValue())
+                .collect(Collectors.toList()));
+        assertEquals(100, writer.toString().split("\n").length);
+    }
+
+    @Test(expected = JSaParException.class)
+    public void convert_errorThrows() throws IOException {
+        String input = csvInput(1000).replace("\n170;", "\nx170;");
+        parallel(csvSchema, fixedWidthSchema).convert(new StringReader(input), new StringWriter());
+    }
+
+    @Test
+    public void convert_manipulatorThrows() throws IOException {
+        ParallelText2TextConverter converter = parallel(csvSchema, fixedWidthSchema);
+        converter.addLineManipulator(line -> {
+            if (line.getLineNumber() == 333)
+                throw new IllegalStateException("Failing line");
+            return true;
+        });
+        try {
+            converter.convert(new StringReader(csvInput(10000)), new StringWriter());
+            fail("Expected exception");
+        } catch (IllegalStateException e) {
+            assertEquals("Failing line", e.getMessage());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void setParallelism_zero() {
+        new ParallelText2TextConverter(csvSchema, fixedWidthSchema).setParallelism(0);
+    }
+}
@@ -3,10 +3,16 @@ package org.jsapar.convert;
 import org.jsapar.ConverterMain;
 import org.junit.After;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 import static org.junit.Assert.*;
 
@@ -16,6 +22,9 @@ public class ConverterMainTest {
     private final PrintStream           originalOut = System.out;
     private final PrintStream           originalErr = System.err;
 
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
     @Before
     public void setUpStreams() {
         System.setOut(new PrintStream(outContent));
@@ -35,4 +44,36 @@ public class ConverterMainTest {
         String out = outContent.toString();
         assertTrue(out.contains("Usage"));
     }
-}
\ No newline at end of file
+
+    private Path write(Path dir, String name, String content) throws IOException {
+        return Files.write(dir.resolve(name), content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void run_batch() throws IOException {
+        Path dir = folder.newFolder("in").toPath();
+        Path outDir = folder.newFolder("out").toPath();
+        Path inSchema = write(folder.getRoot().toPath(), "in.xml", "<?xml version='1.0' encoding='UTF-8'?>"
+                + "<schema xmlns='http://jsapar.tigris.org/JSaParSchema/2.0'>"
+                + "<csvschema lineseparator='\\n'><line linetype='Person'>"
+                + "<cell name='First name'/><cell name='Last name'/>"
+                + "</line></csvschema></schema>");
+        Path outSchema = write(folder.getRoot().toPath(), "out.xml", "<?xml version='1.0' encoding='UTF-8'?>"
+                + "<schema xmlns='http://jsapar.tigris.org/JSaParSchema/2.0'>"
+                + "<csvschema lineseparator='\\n'><line linetype='Person' cellseparator='|'>"
+                + "<cell name='Last name'/><cell name='First name'/>"
+                + "</line></csvschema></schema>");
+        write(dir, "a.csv", "Jonas;Stenberg\nFrida;Bergsten");
+        write(dir, "b.csv", "Erik;Ek");
+
+        ConverterMain instance = new ConverterMain();
+        instance.run(new String[]{"-in.schema", inSchema.toString(), "-out.schema", outSchema.toString(),
+                "-in.files", dir + "/*.csv", "-out.dir", outDir.toString(), "-threads", "2"});
+        String out = outContent.toString();
+        assertEquals("", errContent.toString());
+        assertTrue(out, out.contains("Converted 2 files (0 unsuccessful), 3 lines"));
+        assertTrue(out, out.contains("lines/s"));
+        assertEquals("Stenberg|Jonas\nBergsten|Frida", new String(Files.readAllBytes(outDir.resolve("a.csv")), StandardCharsets.UTF_8));
+        assertEquals("Ek|Erik", new String(Files.readAllBytes(outDir.resolve("b.csv")), StandardCharsets.UTF_8));
+    }
+}
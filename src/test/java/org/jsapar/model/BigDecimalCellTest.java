@@ -37,4 +37,21 @@ public class BigDecimalCellTest {
         assertEquals(0, new BigDecimalCell("test", BigDecimal.ONE).compareValueTo(new BigDecimalCell("test", BigDecimal.ONE)));
 
     }
-}
\ No newline at end of file
+
+    @Test
+    public void of_scaledLong() {
+        BigDecimalCell cell = BigDecimalCell.of("test", -12345L, 2);
+        assertTrue(cell.isScaledLong());
+        assertEquals(-12345L, cell.getUnscaledLong());
+        assertEquals(2, cell.getScale());
+        assertEquals(new BigDecimal("-123.45"), cell.getValue());
+        assertEquals(new BigDecimal("-123.45"), cell.getBigDecimalValue());
+        assertEquals("-123.45", cell.getStringValue());
+        assertEquals(-123L, cell.getLongValue());
+        assertEquals(-123.45, cell.getDoubleValue(), 0.0);
+        assertEquals(new BigDecimalCell("test", new BigDecimal("-123.45")), cell);
+        assertEquals(0, cell.compareValueTo(new BigDecimalCell("test", new BigDecimal("-123.450"))));
+        assertTrue(cell.compareValueTo(BigDecimalCell.of("test", -12344L, 2)) < 0);
+    }
+
+}
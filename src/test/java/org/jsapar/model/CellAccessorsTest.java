@@ -0,0 +1,130 @@
+package org.jsapar.model;
+
+import org.jsapar.schema.CsvSchemaLine;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.Assert.*;
+
+public class CellAccessorsTest {
+
+    private enum Color {RED, GREEN}
+
+    private CsvSchemaLine schemaLine;
+
+    @Before
+    public void setUp() {
+        schemaLine = CsvSchemaLine.builder("Item")
+                .withCell("id", c -> c.withType(CellType.INTEGER))
+                .withCell("price", c -> c.withType(CellType.DECIMAL))
+                .withCell("weight", c -> c.withType(CellType.FLOAT))
+                .withCell("active", c -> c.withType(CellType.BOOLEAN))
+                .withCell("name")
+                .withCell("date", c -> c.withType(CellType.LOCAL_DATE))
+                .build();
+    }
+
+    private Line slotLine() {
+        return new Line("Item", schemaLine.getCellSlots(), 1);
+    }
+
+    @Test
+    public void intOf_slotLine() {
+        IntAccessor id = CellAccessors.intOf(schemaLine, "id");
+        Line line = slotLine();
+        assertEquals(-1, id.get(line, -1));
+        assertFalse(id.isSet(line));
+        id.set(line, 42);
+        assertEquals(42, id.get(line, -1));
+        assertTrue(id.isSet(line));
+        assertEquals(42, LineUtils.getIntCellValue(line, "id", -1));
+        assertSame(CellType.INTEGER, id.getCell(line).getCellType());
+        id.remove(line);
+        assertFalse(line.isCellSet("id"));
+    }
+
+    @Test
+    public void intOf_namedLine() {
+        IntAccessor id = CellAccessors.intOf(schemaLine, "id");
+        Line line = new Line("Item");
+        line.addCell(new StringCell("id", "17"));
+        assertEquals(17, id.get(line, -1));
+        id.set(line, 18);
+        assertEquals(18, LineUtils.getIntCellValue(line, "id", -1));
+        id.remove(line);
+        assertFalse(line.isCellSet("id"));
+    }
+
+    @Test
+    public void intOf_decimalSchemaCell() {
+        IntAccessor price = CellAccessors.intOf(schemaLine, "price");
+        Line line = slotLine();
+        price.set(line, 12);
+        assertSame(CellType.DECIMAL, price.getCell(line).getCellType());
+        assertEquals(0, new BigDecimal("12").compareTo(LineUtils.getDecimalCellValue(line, "price").orElseThrow()));
+    }
+
+    @Test
+    public void longOf() {
+        LongAccessor id = CellAccessors.longOf(schemaLine, "id");
+        Line line = slotLine();
+        id.set(line, 1L << 40);
+        assertEquals(1L << 40, id.get(line, 0L));
+    }
+
+    @Test
+    public void doubleOf() {
+        DoubleAccessor weight = CellAccessors.doubleOf(schemaLine, "weight");
+        DoubleAccessor price = CellAccessors.doubleOf(schemaLine, "price");
+        Line line = slotLine();
+        assertEquals(0.5, weight.get(line, 0.5), 1e-9);
+        weight.set(line, 1.25);
+        price.set(line, 3.5);
+        assertEquals(1.25, weight.get(line, 0.0), 1e-9);
+        assertSame(CellType.FLOAT, weight.getCell(line).getCellType());
+        assertSame(CellType.DECIMAL, price.getCell(line).getCellType());
+        assertEquals(3.5, price.get(line, 0.0), 1e-9);
+    }
+
+    @Test
+    public void booleanOf() {
+        BooleanAccessor active = CellAccessors.booleanOf(schemaLine, "active");
+        BooleanAccessor name = CellAccessors.booleanOf(schemaLine, "name");
+        Line line = slotLine();
+        assertTrue(active.get(line, true));
+        active.set(line, false);
+        name.set(line, true);
+        assertFalse(active.get(line, true));
+        assertSame(CellType.BOOLEAN, active.getCell(line).getCellType());
+        assertSame(CellType.STRING, name.getCell(line).getCellType());
+        assertTrue(name.get(line, false));
+    }
+
+    @Test
+    public void valueAccessors() {
+        ValueAccessor<String> name = CellAccessors.stringOf(schemaLine, "name");
+        ValueAccessor<BigDecimal> price = CellAccessors.decimalOf(schemaLine, "price");
+        ValueAccessor<LocalDate> date = CellAccessors.localDateOf(schemaLine, "date");
+        ValueAccessor<Color> color = CellAccessors.enumOf(schemaLine, "name", Color.class);
+        Line line = slotLine();
+        assertNull(name.get(line));
+        assertEquals("none", name.get(line, "none"));
+        price.set(line, new BigDecimal("9.99"));
+        date.set(line, LocalDate.of(2024, 2, 29));
+        color.set(line, Color.GREEN);
+        assertEquals(new BigDecimal("9.99"), price.get(line));
+        assertEquals(LocalDate.of(2024, 2, 29), date.get(line));
+        assertEquals(Color.GREEN, color.get(line));
+        assertEquals("GREEN", name.get(line));
+        name.set(line, null);
+        assertFalse(line.isCellSet("name"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void intOf_unknownCell() {
+        CellAccessors.intOf(schemaLine, "missing");
+    }
+}
@@ -29,4 +29,13 @@ public class CharacterCellTest {
         assertEquals("a", cell.getStringValue());
     }
 
-}
\ No newline at end of file
+    @Test
+    public void of_primitive() {
+        CharacterCell cell = CharacterCell.of("test", '\u00e5');
+        assertEquals('\u00e5', cell.getCharValue());
+        assertEquals(Character.valueOf('\u00e5'), cell.getValue());
+        assertEquals("\u00e5", cell.getStringValue());
+        assertEquals(new CharacterCell("test", '\u00e5'), cell);
+    }
+
+}
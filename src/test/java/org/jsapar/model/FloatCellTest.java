@@ -32,4 +32,16 @@ public class FloatCellTest {
         //noinspection EqualsWithItself
         assertEquals(0, c1.compareTo(c1));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void of_primitive() {
+        FloatCell cell = FloatCell.of("test", 12.5);
+        assertTrue(cell.isPrimitive());
+        assertEquals(12.5, cell.getDoubleValue(), 0.0);
+        assertEquals(12L, cell.getLongValue());
+        assertEquals(Double.valueOf(12.5), cell.getValue());
+        assertEquals(new FloatCell("test", 12.5), cell);
+        assertTrue(cell.compareValueTo(new FloatCell("test2", 13.0)) < 0);
+    }
+
+}
@@ -38,4 +38,19 @@ public class IntegerCellTest {
         assertTrue(c3.compareValueTo(c1) <0);
     }
 
-}
\ No newline at end of file
+    @Test
+    public void of_primitive() {
+        IntegerCell cell = IntegerCell.of("test", 123L);
+        assertTrue(cell.isPrimitive());
+        assertEquals(123L, cell.getLongValue());
+        assertEquals(123.0, cell.getDoubleValue(), 0.0001);
+        assertEquals(Long.valueOf(123L), cell.getValue());
+        assertEquals("123", cell.getStringValue());
+        assertEquals(new IntegerCell("test", 123L), cell);
+        assertEquals(new IntegerCell("test", 123L).hashCode(), cell.hashCode());
+        assertEquals(0, cell.compareValueTo(new IntegerCell("test2", 123)));
+        assertTrue(cell.compareValueTo(IntegerCell.of("test2", 124L)) < 0);
+        assertFalse(new IntegerCell("test", 123L).isPrimitive());
+    }
+
+}
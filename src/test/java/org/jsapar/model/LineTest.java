@@ -4,6 +4,15 @@ import org.jsapar.parse.CellParseException;
 import org.jsapar.schema.SchemaCellFormat;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+
 import static org.junit.Assert.*;
 
 public class LineTest {
@@ -189,4 +198,66 @@ public class LineTest {
         fail("Should throw exception");
     }
 
+    @Test
+    public void testCellSlots() {
+        CellSlots slots = new CellSlots(List.of("FirstName", "LastName"));
+        Line line = new Line("TestLine", slots, 1L);
+        line.addCell(new StringCell("Extra", "x"));
+        line.addCell(new StringCell("LastName", "Svensson"));
+        line.addCell(new StringCell("FirstName", "Nils"));
+
+        assertSame(slots, line.getCellSlots());
+        assertEquals(3, line.size());
+        assertEquals("Nils", line.getCellInSlot(0).getStringValue());
+        assertEquals(List.of("FirstName", "LastName", "Extra"),
+                line.stream().map(Cell::getName).collect(Collectors.toList()));
+
+        Iterator<Cell> it = line.iterator();
+        it.next();
+        it.remove();
+        assertNull(line.getCellInSlot(0));
+        assertFalse(line.getCell("FirstName").isPresent());
+        assertEquals(2, line.size());
+
+        Line clone = line.clone();
+        clone.putCell(new StringCell("FirstName", "Erik"));
+        assertFalse(line.getCell("FirstName").isPresent());
+        assertEquals("Erik", clone.getCellInSlot(0).getStringValue());
+    }
+
+    @Test
+    public void testCellSlots_serialize() throws IOException, ClassNotFoundException {
+        Line line = new Line("TestLine", new CellSlots(List.of("FirstName", "LastName")), 1L);
+        line.addCell(new StringCell("LastName", "Svensson"));
+        line.addCell(new StringCell("Extra", "x"));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(line);
+        }
+        Line read;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            read = (Line) in.readObject();
+        }
+        assertNull(read.getCellSlots());
+        assertEquals(List.of("LastName", "Extra"), read.stream().map(Cell::getName).collect(Collectors.toList()));
+        assertFalse(read.hasCellErrors());
+        assertEquals(1L, read.getLineNumber());
+    }
+
+    @Test
+    public void testPutCellInSlot() {
+        Line line = new Line("TestLine", new CellSlots(List.of("FirstName", "LastName")), 1L);
+        assertNull(line.putCellInSlot(1, new StringCell("LastName", "Svensson")));
+        assertEquals("Svensson", line.getCell("LastName").map(Cell::getStringValue).orElse(null));
+        assertEquals("Svensson", line.putCellInSlot(1, null).getStringValue());
+        assertFalse(line.isCellSet("LastName"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPutCellInSlot_wrongName() {
+        Line line = new Line("TestLine", new CellSlots(List.of("FirstName", "LastName")), 1L);
+        line.putCellInSlot(0, new StringCell("LastName", "Svensson"));
+    }
+
 }
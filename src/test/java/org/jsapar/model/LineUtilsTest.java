@@ -312,4 +312,20 @@ public class LineUtilsTest {
         assertFalse(line.containsNonEmptyCell("LastName"));
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testPrimitiveCellValues() {
+        Line line = new Line("Test");
+        LineUtils.setLongCellValue(line, "count", 12345678901L);
+        LineUtils.setDoubleCellValue(line, "amount", 12.25);
+        LineUtils.setBooleanCellValue(line, "flag", true);
+        LineUtils.setCharCellValue(line, "code", 'X');
+
+        assertEquals(12345678901L, LineUtils.getLongCellValue(line, "count", 0L));
+        assertEquals(12.25, LineUtils.getDoubleCellValue(line, "amount", 0.0), 0.0);
+        assertTrue(LineUtils.getBooleanCellValue(line, "flag", false));
+        assertEquals('X', LineUtils.getCharCellValue(line, "code", ' '));
+        assertEquals(new BigDecimal("12345678901"), LineUtils.getDecimalCellValue(line, "count").orElseThrow());
+        assertEquals(12345678901L, line.getExistingCell("count").getLongValue());
+    }
+
+}
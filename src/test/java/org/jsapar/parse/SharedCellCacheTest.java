@@ -0,0 +1,116 @@
+package org.jsapar.parse;
+
+import org.jsapar.TextParser;
+import org.jsapar.model.Cell;
+import org.jsapar.model.CellType;
+import org.jsapar.model.Line;
+import org.jsapar.schema.CsvSchema;
+import org.jsapar.schema.CsvSchemaCell;
+import org.jsapar.text.TextParseConfig;
+import org.jsapar.utils.cache.Cache;
+import org.jsapar.utils.cache.StripedCache;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+
+import static org.junit.Assert.*;
+
+public class SharedCellCacheTest {
+
+    private static final CsvSchema SCHEMA = CsvSchema.builder()
+            .withLine("person", l -> l
+                    .withCell("name")
+                    .withCell("country")
+                    .withCell("active", c -> c.withType(CellType.BOOLEAN)))
+            .build();
+
+    private static List<Line> parse(String text, TextParseConfig config) throws IOException {
+        List<Line> lines = new ArrayList<>();
+        new TextParser(SCHEMA, config).parseForEach(new StringReader(text), lines::add);
+        return lines;
+    }
+
+    private static Cell<?> cellOf(Line line, String name) {
+        return line.getCell(name).orElseThrow();
+    }
+
+    @Test
+    public void parse_sharedBetweenParsers() throws IOException {
+        SharedCellCache sharedCellCache = new SharedCellCache();
+        TextParseConfig config = new TextParseConfig();
+        config.setSharedCellCache(sharedCellCache);
+
+        List<Line> first = parse("Anna;SE;true\nBert;NO;false\n", config);
+        List<Line> second = parse("Cecilia;NO;true\nDavid;SE;false\n", config);
+        assertSame(cellOf(first.get(0), "country"), cellOf(second.get(1), "country"));
+        assertSame(cellOf(first.get(1), "country"), cellOf(second.get(0), "country"));
+        assertSame(cellOf(first.get(0), "active"), cellOf(second.get(0), "active"));
+        assertEquals("NO", cellOf(second.get(0), "country").getStringValue());
+        assertEquals(3, sharedCellCache.getColumnCount());
+
+        List<Line> notShared = parse("Erik;SE;true\n", new TextParseConfig());
+        assertNotSame(cellOf(first.get(0), "country"), cellOf(notShared.get(0), "country"));
+        assertEquals(cellOf(first.get(0), "country"), cellOf(notShared.get(0), "country"));
+    }
+
+    @Test
+    public void columnOf_differentFormat() {
+        SharedCellCache sharedCellCache = new SharedCellCache(10);
+        CsvSchemaCell text = CsvSchemaCell.builder("amount").build();
+        CsvSchemaCell integer = CsvSchemaCell.builder("amount").withType(CellType.INTEGER).build();
+        CsvSchemaCell other = CsvSchemaCell.builder("other").build();
+        IntFunction<Cache<CharSequence, Cell<?>>> factory = StripedCache::new;
+        assertNotNull(sharedCellCache.columnOf(text, factory));
+        assertSame(sharedCellCache.columnOf(text, factory),
+                sharedCellCache.columnOf(CsvSchemaCell.builder("amount", text).build(), factory));
+        assertNotSame(sharedCellCache.columnOf(text, factory), sharedCellCache.columnOf(integer, factory));
+        assertNotSame(sharedCellCache.columnOf(text, factory), sharedCellCache.columnOf(other, factory));
+        assertEquals(3, sharedCellCache.getColumnCount());
+        assertEquals(10, sharedCellCache.getMaxSizePerColumn());
+
+        sharedCellCache.clear();
+        assertEquals(0, sharedCellCache.getColumnCount());
+    }
+
+    @Test
+    public void parse_concurrent() throws Exception {
+        SharedCellCache sharedCellCache = new SharedCellCache();
+        TextParseConfig config = new TextParseConfig();
+        config.setSharedCellCache(sharedCellCache);
+        String[] countries = {"SE", "NO", "DK", "FI"};
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 2000; i++)
+            text.append("Name").append(i).append(';').append(countries[i % 4]).append(';').append(i % 3 == 0).append('\n');
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<List<Line>>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++)
+                futures.add(executor.submit(() -> parse(text.toString(), config)));
+            List<Line> expected = parse(text.toString(), new TextParseConfig());
+            for (Future<List<Line>> future : futures) {
+                List<Line> lines = future.get();
+                assertEquals(expected.size(), lines.size());
+                for (int i = 0; i < lines.size(); i++) {
+                    assertEquals(cellOf(expected.get(i), "name"), cellOf(lines.get(i), "name"));
+                    assertEquals(cellOf(expected.get(i), "country"), cellOf(lines.get(i), "country"));
+                    assertEquals(cellOf(expected.get(i), "active"), cellOf(lines.get(i), "active"));
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void create_zeroSize() {
+        new SharedCellCache(0);
+    }
+}
@@ -7,7 +7,7 @@ import org.junit.Test;
 import java.math.BigDecimal;
 import java.util.Locale;
 
-import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.*;
 
 public class BigDecimalCellFactoryTest {
 
@@ -21,5 +21,22 @@ public class BigDecimalCellFactoryTest {
         assertEquals(new BigDecimal("3.14"), cell.getValue());
     }
 
+    @Test
+    public void testMakeCell_scaledLong() throws Exception {
+        Format<BigDecimal> format = Format.ofDecimalInstance(Locale.GERMAN);
+        BigDecimalCell cell = (BigDecimalCell) cellFactory.makeCell("test", "-1234,50", format);
+        assertTrue(cell.isScaledLong());
+        assertEquals(-123450L, cell.getUnscaledLong());
+        assertEquals(2, cell.getScale());
+        assertEquals(new BigDecimal("-1234.50"), cell.getValue());
+    }
+
+    @Test
+    public void testMakeCell_tooManyDigits() throws Exception {
+        Format<BigDecimal> format = Format.ofDecimalInstance(Locale.US);
+        BigDecimalCell cell = (BigDecimalCell) cellFactory.makeCell("test", "1234567890.1234567890", format);
+        assertFalse(cell.isScaledLong());
+        assertEquals(new BigDecimal("1234567890.1234567890"), cell.getValue());
+    }
 
 }
\ No newline at end of file
@@ -7,6 +7,7 @@ import org.jsapar.schema.MatchingCellValueCondition;
 import org.jsapar.schema.SchemaCell;
 import org.jsapar.schema.SchemaException;
 import org.jsapar.schema.StringSchemaCell;
+import org.jsapar.utils.CharSlice;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -315,6 +316,30 @@ public class CellParserTest {
         assertEquals("Cell='test' Value='12345' Expected: CellType=INTEGER, Format={USIntegerFormat} - The value is above maximum range limit (100).", errorListener.getCollected().get(0).getMessage());
     }
 
+    @Test
+    public void testParse_charSequence() {
+        CollectingConsumer<JSaParException> errorListener = new CollectingConsumer<>();
+        CharSlice value = new CharSlice("  4711 17.5".toCharArray(), 2, 4);
 
+        CellParser<?> integerParser = new CellParser<>(StringSchemaCell.builder("i").withType(CellType.INTEGER).build(), 0);
+        Cell<?> cell = integerParser.parse(value, errorListener);
+        assertEquals(4711L, cell.getLongValue());
+        assertEquals(4711L, integerParser.parse(value, errorListener).getLongValue());
 
-}
\ No newline at end of file
+        CellParser<?> floatParser = new CellParser<>(StringSchemaCell.builder("f").withType(CellType.FLOAT).build(), 1);
+        assertEquals(17.5, floatParser.parse(value.set(value.array(), 7, 4), errorListener).getDoubleValue(), 0.0);
+        assertEquals("", integerParser.parse(value.set(value.array(), 0, 0), errorListener).getStringValue());
+        assertTrue(errorListener.getCollected().isEmpty());
+    }
+
+    @Test
+    public void testParse_charSequence_error() {
+        SchemaCell schemaCell = StringSchemaCell.builder("test").withType(CellType.INTEGER).withMaxValue("100").build();
+        CellParser<?> cellParser = new CellParser<>(schemaCell, 0);
+        CollectingConsumer<JSaParException> errorListener = new CollectingConsumer<>();
+        assertNull(cellParser.parse(new StringBuilder("12345"), errorListener));
+        assertNull(cellParser.parse(new StringBuilder("12x"), errorListener));
+        assertEquals(2, errorListener.getCollected().size());
+        assertEquals("Cell='test' Value='12345' Expected: CellType=INTEGER, Format={USIntegerFormat} - The value is above maximum range limit (100).", errorListener.getCollected().get(0).getMessage());
+    }
+}
@@ -5,6 +5,8 @@ import org.jsapar.text.TextParseConfig;
 import org.junit.Test;
 
 import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
 import java.util.Arrays;
 import java.util.List;
 
@@ -71,6 +73,11 @@ public class CsvLineParserMatcherTest {
             return false;
         }
 
+        @Override
+        public boolean eofReachedWithinQuotes() {
+            return false;
+        }
+
         @Override
         public long currentLineNumber() {
             return 0;
@@ -84,5 +91,10 @@ public class CsvLineParserMatcherTest {
         @Override
         public void skipLine() {
         }
+
+        @Override
+        public Reader remainder() {
+            return new StringReader("");
+        }
     }
 }
\ No newline at end of file
@@ -47,7 +47,7 @@ public class CsvLineParserTest {
     }
 
     private CsvLineReader makeCsvLineReaderForString(String sLine) {
-        return new CsvLineReaderStates("\n", new StringReader(sLine), true, 8 * 1024, QuoteSyntax.FIRST_LAST);
+        return new CsvLineReaderTable("\n", new StringReader(sLine), true, 8 * 1024, QuoteSyntax.FIRST_LAST);
     }
 
     @Test
@@ -11,6 +11,10 @@ import static org.junit.Assert.*;
 
 public class CsvLineReaderStatesTest {
 
+    CsvLineReader makeLineReader(String lineSeparator, Reader reader, boolean allowReadAhead, int maxLineLength, QuoteSyntax quoteSyntax) {
+        return new CsvLineReaderStates(lineSeparator, reader, allowReadAhead, maxLineLength, quoteSyntax);
+    }
+
     @Test
     public void testReset() throws IOException
     {
@@ -25,7 +29,7 @@ public class CsvLineReaderStatesTest {
 
     private void doTestReset(boolean allowReadAhead) throws IOException {
         Reader reader = new StringReader("First;line|second,'line'|third,line||fifth;one");
-        CsvLineReaderStates item = new CsvLineReaderStates("|", reader, allowReadAhead, 64, QuoteSyntax.FIRST_LAST);
+        CsvLineReader item = makeLineReader("|", reader, allowReadAhead, 64, QuoteSyntax.FIRST_LAST);
         assertArrayEquals(new String[]{"First", "line"}, item.readLine(";", (char) 0).toArray());
         assertArrayEquals(new String[]{"second,'line'"}, item.readLine(";", (char) 0).toArray());
         item.reset();
@@ -46,7 +50,7 @@ public class CsvLineReaderStatesTest {
     @Test
     public void testReadLine() throws IOException{
         Reader reader = new StringReader("First;line|second,'line'|third,line||fifth;one");
-        CsvLineReaderStates item = new CsvLineReaderStates("|", reader, true, 32, QuoteSyntax.FIRST_LAST);
+        CsvLineReader item = makeLineReader("|", reader, true, 32, QuoteSyntax.FIRST_LAST);
         assertArrayEquals( new String[]{"First", "line"}, item.readLine(";", (char) 0).toArray());
         assertArrayEquals( new String[]{"second", "line"}, item.readLine(",", '\'').toArray());
         assertArrayEquals( new String[]{"third", "line"}, item.readLine(",", '\'').toArray());
@@ -57,7 +61,7 @@ public class CsvLineReaderStatesTest {
     @Test
     public void testReadLine_first_line_empty() throws IOException{
         Reader reader = new StringReader("|First;line|second,'line'");
-        CsvLineReaderStates item = new CsvLineReaderStates("|", reader, true, 64, QuoteSyntax.FIRST_LAST);
+        CsvLineReader item = makeLineReader("|", reader, true, 64, QuoteSyntax.FIRST_LAST);
         assertArrayEquals( new String[]{}, item.readLine(",", '\'').toArray());
         assertArrayEquals( new String[]{"First", "line"}, item.readLine(";", (char) 0).toArray());
         assertArrayEquals( new String[]{"second", "line"}, item.readLine(",", '\'').toArray());
@@ -67,56 +71,56 @@ public class CsvLineReaderStatesTest {
     @Test
     public void testReadLine_unquoted() throws IOException {
         Reader reader = new StringReader("A;B;;C");
-        CsvLineReaderStates lineReader = new CsvLineReaderStates("|", reader, true, 64, QuoteSyntax.FIRST_LAST);
+        CsvLineReader lineReader = makeLineReader("|", reader, true, 64, QuoteSyntax.FIRST_LAST);
         assertArrayEquals(new String[]{"A", "B", "", "C"}, lineReader.readLine(";", '"').toArray());
     }
 
     @Test
     public void testReadLine_unquoted_last_char_matches_cell_break() throws IOException {
         Reader reader = new StringReader("A;=B;=C=;=D");
-        CsvLineReaderStates lineReader = new CsvLineReaderStates("|", reader, true, 64, QuoteSyntax.FIRST_LAST);
+        CsvLineReader lineReader = makeLineReader("|", reader, true, 64, QuoteSyntax.FIRST_LAST);
         assertArrayEquals(new String[]{"A", "B", "C=", "D"}, lineReader.readLine(";=", '"').toArray());
     }
 
     @Test
     public void testReadLine_unquoted_first_char_matches_last_char_of_cell_break() throws IOException {
         Reader reader = new StringReader("=A;%=B;%=C=C;%==");
-        CsvLineReaderStates lineReader = new CsvLineReaderStates("|", reader, true, 64, QuoteSyntax.FIRST_LAST);
+        CsvLineReader lineReader = makeLineReader("|", reader, true, 64, QuoteSyntax.FIRST_LAST);
         assertArrayEquals(new String[]{"=A", "B", "C=C", "="}, lineReader.readLine(";%=", '"').toArray());
     }
 
     @Test
     public void testReadLine_unquoted_first_char_matches_last_char_of_line_break() throws IOException {
         Reader reader = new StringReader("A;B|;C;D%|a;b;c;d");
-        CsvLineReaderStates lineReader = new CsvLineReaderStates("%|", reader, true, 64, QuoteSyntax.FIRST_LAST);
+        CsvLineReader lineReader = makeLineReader("%|", reader, true, 64, QuoteSyntax.FIRST_LAST);
         assertArrayEquals(new String[]{"A", "B|", "C", "D"}, lineReader.readLine(";", '"').toArray());
     }
 
     @Test
     public void testSplit_cellSeparatorThatIsReservedRegexpChars() throws IOException {
         Reader reader = new StringReader("A[|]B[|][|][");
-        CsvLineReaderStates lineReader = new CsvLineReaderStates("\n", reader, true, 64, QuoteSyntax.FIRST_LAST);
+        CsvLineReader lineReader = makeLineReader("\n", reader, true, 64, QuoteSyntax.FIRST_LAST);
         assertArrayEquals(new String[]{"A", "B", "", "["}, lineReader.readLine("[|]", '"').toArray());
     }
 
     @Test
     public void testSplit_lastCellEmpty() throws IOException {
         Reader reader = new StringReader("A;B;");
-        CsvLineReaderStates lineReader = new CsvLineReaderStates("|", reader, true, 64, QuoteSyntax.FIRST_LAST);
+        CsvLineReader lineReader = makeLineReader("|", reader, true, 64, QuoteSyntax.FIRST_LAST);
         assertArrayEquals(new String[]{"A", "B", ""}, lineReader.readLine(";", '"').toArray());
     }
 
     @Test
     public void testSplit_firstCellEmpty() throws IOException {
         Reader reader = new StringReader(";A;B");
-        CsvLineReaderStates lineReader = new CsvLineReaderStates("|", reader, true, 64, QuoteSyntax.FIRST_LAST);
+        CsvLineReader lineReader = makeLineReader("|", reader, true, 64, QuoteSyntax.FIRST_LAST);
         assertArrayEquals(new String[]{"", "A", "B"}, lineReader.readLine(";", '"').toArray());
     }
 
     @Test
     public void testSplit_quoted() throws IOException {
         Reader reader = new StringReader("A;/B/;;C\nA;/B/;//;/C/\r\n/A/;/B/;;/C/\n/A/;B;//;/C/\r\n/A/;/B/;//;C");
-        CsvLineReaderStates lineReader = new CsvLineReaderStates("\n", reader, true, 64, QuoteSyntax.FIRST_LAST);
+        CsvLineReader lineReader = makeLineReader("\n", reader, true, 64, QuoteSyntax.FIRST_LAST);
         assertArrayEquals(new String[]{"A", "B", "", "C"}, lineReader.readLine(";", '/').toArray());
         assertArrayEquals(new String[]{"A", "B", "", "C"}, lineReader.readLine(";", '/').toArray());
         assertArrayEquals(new String[]{"A", "B", "", "C"}, lineReader.readLine(";", '/').toArray());
@@ -129,7 +133,7 @@ public class CsvLineReaderStatesTest {
     @Test
     public void testParse_escaped_quote_rfc4180() throws IOException {
         Reader reader = new StringReader("/aaa/;/b//bb/;/ccc//;c/;//ddd/;///;ee/;//;//ff//\nf/");
-        CsvLineReaderStates lineReader = new CsvLineReaderStates("\n", reader, true, 64, QuoteSyntax.RFC4180);
+        CsvLineReader lineReader = makeLineReader("\n", reader, true, 64, QuoteSyntax.RFC4180);
         Object[] result = lineReader.readLine(";", '/').toArray();
         assertArrayEquals(new String[]{"aaa", "b/bb", "ccc/;c", "/ddd", "/;ee", "", "/ff/\nf"}, result);
         assertArrayEquals(new String[0], lineReader.readLine(";", '/').toArray());
@@ -139,7 +143,7 @@ public class CsvLineReaderStatesTest {
     @Test
     public void testSplit_quoted_multi_line_separator() throws IOException {
         Reader reader = new StringReader("A;/B/;;C|+A;/B/;//;/C/C|+/A/;/B/;;/C/|+/A/;B;//;/C/|+/A/;/B/;//;C|+/A/;./B/;.//;.C");
-        CsvLineReaderStates lineReader = new CsvLineReaderStates("|+", reader, true, 64, QuoteSyntax.FIRST_LAST);
+        CsvLineReader lineReader = makeLineReader("|+", reader, true, 64, QuoteSyntax.FIRST_LAST);
         assertArrayEquals(new String[]{"A", "B", "", "C"}, lineReader.readLine(";", '/').toArray());
         assertArrayEquals(new String[]{"A", "B", "", "/C/C"}, lineReader.readLine(";", '/').toArray());
         assertArrayEquals(new String[]{"A", "B", "", "C"}, lineReader.readLine(";", '/').toArray());
@@ -153,7 +157,7 @@ public class CsvLineReaderStatesTest {
     @Test
     public void testSplit_quotedCellSeparator() throws IOException {
         Reader reader = new StringReader("A;/B;B/;;C");
-        CsvLineReaderStates lineReader = new CsvLineReaderStates("|", reader, true, 64, QuoteSyntax.FIRST_LAST);
+        CsvLineReader lineReader = makeLineReader("|", reader, true, 64, QuoteSyntax.FIRST_LAST);
         assertArrayEquals(new String[]{"A", "B;B", "", "C"}, lineReader.readLine(";", '/').toArray());
         assertArrayEquals(new String[0], lineReader.readLine(";", '/').toArray());
         assertTrue(lineReader.eofReached());
@@ -162,7 +166,7 @@ public class CsvLineReaderStatesTest {
     @Test
     public void testSplit_quote_not_firstCharacter() throws IOException {
         Reader reader = new StringReader("A; /B;B/;;C");
-        CsvLineReaderStates lineReader = new CsvLineReaderStates("|", reader, true, 64, QuoteSyntax.FIRST_LAST);
+        CsvLineReader lineReader = makeLineReader("|", reader, true, 64, QuoteSyntax.FIRST_LAST);
         assertArrayEquals(new String[]{"A", " /B","B/", "", "C"}, lineReader.readLine(";", '/').toArray());
         assertArrayEquals(new String[0], lineReader.readLine(";", '/').toArray());
         assertTrue(lineReader.eofReached());
@@ -171,7 +175,7 @@ public class CsvLineReaderStatesTest {
     @Test
     public void testSplit_quote_not_last_character() throws IOException {
         Reader reader = new StringReader("A;/B/ ;;C|A;//ABC;;C|A;//ABC//;;C");
-        CsvLineReaderStates lineReader = new CsvLineReaderStates("|", reader, true, 64, QuoteSyntax.FIRST_LAST);
+        CsvLineReader lineReader = makeLineReader("|", reader, true, 64, QuoteSyntax.FIRST_LAST);
         assertArrayEquals(new String[]{"A", "/B/ ", "", "C"}, lineReader.readLine(";", '/').toArray());
         assertArrayEquals(new String[]{"A", "//ABC", "", "C"}, lineReader.readLine(";", '/').toArray());
         assertArrayEquals(new String[]{"A", "/ABC/", "", "C"}, lineReader.readLine(";", '/').toArray());
@@ -182,7 +186,7 @@ public class CsvLineReaderStatesTest {
     @Test
     public void testSplit_multiLineCell() throws IOException {
         Reader reader = new StringReader("A;/BB;;C|Second;S;S|Third;T/;T|Fourth");
-        CsvLineReaderStates lineReader = new CsvLineReaderStates("|", reader, true, 64, QuoteSyntax.FIRST_LAST);
+        CsvLineReader lineReader = makeLineReader("|", reader, true, 64, QuoteSyntax.FIRST_LAST);
         assertArrayEquals(new String[]{"A", "BB;;C|Second;S;S|Third;T", "T"}, lineReader.readLine(";", '/').toArray());
         assertArrayEquals(new String[]{"Fourth"}, lineReader.readLine(";", '/').toArray());
         assertArrayEquals(new String[0], lineReader.readLine(";", '/').toArray());
@@ -192,7 +196,7 @@ public class CsvLineReaderStatesTest {
     @Test
     public void testSplit_multiLineCellWithLineBreakFirst() throws IOException {
         Reader reader = new StringReader("A;B;/|Second;S;S|Third;T/;T|Fourth");
-        CsvLineReaderStates s = new CsvLineReaderStates("|", reader, true, 64, QuoteSyntax.FIRST_LAST);
+        CsvLineReader s = makeLineReader("|", reader, true, 64, QuoteSyntax.FIRST_LAST);
         String[] result = s.readLine(";", '/').toArray(new String[0]);
         assertArrayEquals(new String[]{"A", "B", "|Second;S;S|Third;T", "T"}, result);
     }
@@ -200,7 +204,7 @@ public class CsvLineReaderStatesTest {
     @Test
     public void testReadLine_endQuoteWithinCell() throws IOException {
         Reader reader = new StringReader("A;/B/B;;C|A;//B;//;/C/|/A/;/B/;;/C/C|A;;/B/B;/C/|/A/;/B;/B;C");
-        CsvLineReaderStates lineReader = new CsvLineReaderStates("|", reader, true, 64, QuoteSyntax.FIRST_LAST);
+        CsvLineReader lineReader = makeLineReader("|", reader, true, 64, QuoteSyntax.FIRST_LAST);
         assertArrayEquals(new String[]{"A", "/B/B", "", "C"}, lineReader.readLine(";", '/').toArray());
         assertArrayEquals(new String[]{"A", "//B", "", "C"}, lineReader.readLine(";", '/').toArray());
         assertArrayEquals(new String[]{"A", "B", "", "/C/C"}, lineReader.readLine(";", '/').toArray());
@@ -213,7 +217,7 @@ public class CsvLineReaderStatesTest {
     @Test()
     public void testReadLine_missingEndQuote() throws IOException {
         Reader reader = new StringReader("A;/B;;C");
-        CsvLineReaderStates lineReader = new CsvLineReaderStates("|", reader, true, 64, QuoteSyntax.FIRST_LAST);
+        CsvLineReader lineReader = makeLineReader("|", reader, true, 64, QuoteSyntax.FIRST_LAST);
         assertArrayEquals(new String[]{"A", "/B", "", "C"}, lineReader.readLine(";", '/').toArray());
     }
 
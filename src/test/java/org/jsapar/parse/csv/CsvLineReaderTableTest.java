@@ -0,0 +1,65 @@
+package org.jsapar.parse.csv;
+
+import org.jsapar.schema.QuoteSyntax;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Runs all the tests of {@link CsvLineReaderStatesTest} against the table driven implementation.
+ */
+public class CsvLineReaderTableTest extends CsvLineReaderStatesTest {
+
+    @Override
+    CsvLineReader makeLineReader(String lineSeparator, Reader reader, boolean allowReadAhead, int maxLineLength, QuoteSyntax quoteSyntax) {
+        return new CsvLineReaderTable(lineSeparator, reader, allowReadAhead, maxLineLength, quoteSyntax);
+    }
+
+    @Test
+    public void testReadLine_bufferReloadedWithinCells() throws IOException {
+        Reader reader = new StringReader("Aaaa;/Bb;b/;Cccc\r\nDddd;/E//e/;Ffff");
+        CsvLineReader lineReader = new CsvLineReaderTable("\r\n", reader, false, 64, QuoteSyntax.RFC4180);
+        assertArrayEquals(new String[]{"Aaaa", "Bb;b", "Cccc"}, lineReader.readLine(";", '/').toArray());
+        assertArrayEquals(new String[]{"Dddd", "E/e", "Ffff"}, lineReader.readLine(";", '/').toArray());
+        assertTrue(lineReader.eofReached());
+    }
+
+    @Test
+    public void testReadLine_sameResultAsStates() throws IOException {
+        final String alphabet = "ab;/\n\r|";
+        Random random = new Random(4711);
+        for (QuoteSyntax quoteSyntax : QuoteSyntax.values()) {
+            for (String lineSeparator : new String[]{"\n", "\r\n", "|"}) {
+                for (int i = 0; i < 2000; i++) {
+                    StringBuilder sb = new StringBuilder();
+                    int length = random.nextInt(40);
+                    for (int j = 0; j < length; j++)
+                        sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+                    String input = sb.toString();
+                    CsvLineReader expected = new CsvLineReaderStates(lineSeparator, new StringReader(input), true, 64, quoteSyntax);
+                    CsvLineReader actual = new CsvLineReaderTable(lineSeparator, new StringReader(input), true, 64, quoteSyntax);
+                    do {
+                        assertEquals(input, readLineOrError(expected), readLineOrError(actual));
+                        assertEquals(input, expected.eofReached(), actual.eofReached());
+                    } while (!expected.eofReached());
+                }
+            }
+        }
+    }
+
+    private static Object readLineOrError(CsvLineReader lineReader) throws IOException {
+        try {
+            return List.copyOf(lineReader.readLine(";", '/'));
+        } catch (RuntimeException e) {
+            return e.getClass();
+        }
+    }
+}
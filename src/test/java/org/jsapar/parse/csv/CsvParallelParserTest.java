@@ -0,0 +1,215 @@
+package org.jsapar.parse.csv;
+
+import org.jsapar.error.JSaParException;
+import org.jsapar.error.ValidationAction;
+import org.jsapar.model.Line;
+import org.jsapar.parse.LineParseException;
+import org.jsapar.schema.CsvSchema;
+import org.jsapar.text.TextParseConfig;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class CsvParallelParserTest {
+
+    private Path path;
+
+    @Before
+    public void setUp() throws IOException {
+        path = Files.createTempFile("jsapar", ".csv");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Files.delete(path);
+    }
+
+    @Test
+    public void parse_quotedCellsWithLineSeparators() throws IOException {
+        CsvSchema schema = CsvSchema.builder()
+                .withLine("a", l -> l.withCells("a", "b", "c"))
+                .build();
+        Random random = new Random(4711);
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            sb.append(i).append(';');
+            sb.append(random.nextBoolean() ? "\"x\ny;\"\"z\"" : "xyz").append(';');
+            sb.append(random.nextBoolean() ? "\"\n\"" : "\"q\"");
+            sb.append('\n');
+        }
+        String text = sb.toString();
+        for (int chunkSize : new int[]{7, 16, 33, 100}) {
+            assertSameAsSequential(schema, new TextParseConfig(), text, StandardCharsets.UTF_8, chunkSize);
+        }
+    }
+
+    @Test
+    public void parse_quoteWithinUnquotedCell() throws IOException {
+        CsvSchema schema = CsvSchema.builder()
+                .withLine("a", l -> l.withCells("a", "b"))
+                .build();
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            sb.append(i).append(i % 3 == 0 ? ";5\"\n" : ";\"x\ny\"\n");
+        }
+        for (int chunkSize : new int[]{5, 12, 40}) {
+            assertSameAsSequential(schema, new TextParseConfig(), sb.toString(), StandardCharsets.UTF_8, chunkSize);
+        }
+    }
+
+    @Test
+    public void parse_crlf_lastLineNotTerminated() throws IOException {
+        CsvSchema schema = CsvSchema.builder()
+                .withLineSeparator("\r\n")
+                .withLine("a", l -> l.withCells("a", "b"))
+                .build();
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            sb.append(i).append(";\"Ärlig\r\nÖberg\"\r\n");
+        }
+        sb.append("last;line");
+        assertSameAsSequential(schema, new TextParseConfig(), sb.toString(), StandardCharsets.UTF_8, 20);
+    }
+
+    @Test
+    public void parse_firstLineAsSchema() throws IOException {
+        CsvSchema schema = CsvSchema.builder()
+                .withLine("a", l -> l.withFirstLineAsSchema(true).withCells("a", "b", "c"))
+                .build();
+        StringBuilder sb = new StringBuilder("c;a\n");
+        for (int i = 0; i < 100; i++) {
+            sb.append(i).append(";A").append(i).append('\n');
+        }
+        List<Line> lines = assertSameAsSequential(schema, new TextParseConfig(), sb.toString(), StandardCharsets.UTF_8, 16);
+        assertEquals("A99", lines.get(99).getCell("a").map(c -> c.getStringValue()).orElse(null));
+        assertEquals(101, lines.get(99).getLineNumber());
+    }
+
+    @Test
+    public void parse_headerLineWithFiniteOccurs() throws IOException {
+        CsvSchema schema = CsvSchema.builder()
+                .withLine("header", l -> l.withOccurs(2).withCells("name", "date"))
+                .withLine("row", l -> l.withCells("a", "b"))
+                .build();
+        StringBuilder sb = new StringBuilder("first;2020\nsecond;2021\n");
+        for (int i = 0; i < 100; i++) {
+            sb.append(i).append(";\"B;\n").append(i).append("\"\n");
+        }
+        List<Line> lines = assertSameAsSequential(schema, new TextParseConfig(), sb.toString(), StandardCharsets.UTF_8, 10);
+        assertEquals("header", lines.get(1).getLineType());
+        assertEquals("row", lines.get(2).getLineType());
+    }
+
+    @Test
+    public void parse_finiteOccursAtEnd_parsedSequentially() throws IOException {
+        CsvSchema schema = CsvSchema.builder()
+                .withLine("row", l -> l.withOccurs(50).withCells("a", "b"))
+                .withLine("footer", l -> l.withOccurs(1).withCells("count"))
+                .build();
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 50; i++) {
+            sb.append(i).append(";B\n");
+        }
+        sb.append("50\n");
+        List<Line> lines = assertSameAsSequential(schema, new TextParseConfig(), sb.toString(), StandardCharsets.UTF_8, 16);
+        assertEquals("footer", lines.get(50).getLineType());
+    }
+
+    @Test
+    public void parse_errorsWithLineNumbers() throws IOException {
+        CsvSchema schema = CsvSchema.builder()
+                .withLine("a", l -> l.withCell("type", c -> c.withLineCondition(v -> v.equals("A"))).withCell("b"))
+                .build();
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            sb.append(i % 7 == 0 ? "X" : "A").append(';').append(i).append('\n');
+        }
+        TextParseConfig config = new TextParseConfig();
+        config.setOnUndefinedLineType(ValidationAction.ERROR);
+        assertSameAsSequential(schema, config, sb.toString(), StandardCharsets.UTF_8, 8);
+    }
+
+    @Test
+    public void parse_exceptionWithLineNumber() throws IOException {
+        CsvSchema schema = CsvSchema.builder()
+                .withLine("a", l -> l.withCell("type", c -> c.withLineCondition(v -> v.equals("A"))).withCell("b"))
+                .build();
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            sb.append(i == 77 ? "X" : "A").append(';').append(i).append('\n');
+        }
+        Files.write(path, sb.toString().getBytes(StandardCharsets.UTF_8));
+        List<Line> lines = new ArrayList<>();
+        try {
+            new CsvParallelParser(path, StandardCharsets.UTF_8, schema, new TextParseConfig(), 4, 16)
+                    .parse(lines::add, e -> {throw e;});
+            fail("Should throw");
+        } catch (LineParseException e) {
+            assertEquals(78, e.getLineNumber());
+        }
+        assertEquals(77, lines.size());
+    }
+
+    @Test
+    public void parse_otherCharset_parsedSequentially() throws IOException {
+        CsvSchema schema = CsvSchema.builder()
+                .withLine("a", l -> l.withCells("a", "b"))
+                .build();
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            sb.append(i).append(";Åsa\n");
+        }
+        assertSameAsSequential(schema, new TextParseConfig(), sb.toString(), StandardCharsets.UTF_16, 16);
+    }
+
+    @Test
+    public void parse_reuseLines_linesAreCopied() throws IOException {
+        CsvSchema schema = CsvSchema.builder()
+                .withLine("a", l -> l.withCells("a", "b"))
+                .build();
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            sb.append(i).append(";B").append(i).append('\n');
+        }
+        TextParseConfig config = new TextParseConfig();
+        config.setReuseLines(true);
+        List<Line> lines = assertSameAsSequential(schema, config, sb.toString(), StandardCharsets.UTF_8, 16);
+        assertEquals("B0", lines.get(0).getCell("b").map(c -> c.getStringValue()).orElse(null));
+        assertEquals("B99", lines.get(99).getCell("b").map(c -> c.getStringValue()).orElse(null));
+    }
+
+    private List<Line> assertSameAsSequential(CsvSchema schema, TextParseConfig config, String text, Charset charset, int chunkSize) throws IOException {
+        List<String> expected = new ArrayList<>();
+        long expectedCount = new CsvParser(new StringReader(text), schema, config)
+                .parse(l -> expected.add(l.toString()), e -> expected.add(describe(e)));
+
+        Files.write(path, text.getBytes(charset));
+        List<String> actual = new ArrayList<>();
+        List<Line> lines = new ArrayList<>();
+        long actualCount = new CsvParallelParser(path, charset, schema, config, 4, chunkSize)
+                .parse(l -> {
+                    lines.add(l);
+                    actual.add(l.toString());
+                }, e -> actual.add(describe(e)));
+        assertEquals(expected, actual);
+        assertEquals(expectedCount, actualCount);
+        return lines;
+    }
+
+    private static String describe(JSaParException e) {
+        return e instanceof LineParseException ? "Error at line " + ((LineParseException) e).getLineNumber() : e.getMessage();
+    }
+}
@@ -1,21 +1,34 @@
 package org.jsapar.parse.csv;
 
+import org.jsapar.error.JSaParException;
 import org.jsapar.error.ValidationAction;
 import org.jsapar.model.Cell;
+import org.jsapar.model.CellType;
 import org.jsapar.model.Line;
+import org.jsapar.model.LineUtils;
+import org.jsapar.model.StringCell;
+import org.jsapar.parse.CellCacheStatistics;
+import org.jsapar.parse.CellParseException;
 import org.jsapar.schema.CsvSchema;
 import org.jsapar.schema.CsvSchemaCell;
 import org.jsapar.schema.CsvSchemaLine;
+import org.jsapar.schema.EqualsCellValueCondition;
+import org.jsapar.schema.MatchingCellValueCondition;
 import org.jsapar.text.TextParseConfig;
 import org.junit.Test;
 
 import java.io.IOException;
 import java.io.StringReader;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 public class CsvParserTest {
 
@@ -115,6 +128,198 @@ public class CsvParserTest {
         assertEquals(0, errorCount.get());
     }
 
+    @Test
+    public void parse_lazyCells_sameAsEager() throws IOException {
+        CsvSchema schema = CsvSchema.builder()
+                .withLine("a", l -> l
+                        .withCell("text", c -> c.withMaxLength(3))
+                        .withCell("number", c -> c.withType(CellType.INTEGER))
+                        .withCell("ignored", c -> c.withIgnoreRead(true).withDefaultValue("x"))
+                        .withCell("last", c -> c.withDefaultValue("default")))
+                .build();
+        String text = "abcdef;\"1\"\"\";ignore;\"L;1\"\nq;2;;\n;;\nr;4;5;6;7\n";
+        TextParseConfig config = new TextParseConfig();
+        List<String> expected = new ArrayList<>();
+        new CsvParser(new StringReader(text), schema, config).parse(l -> expected.add(l.toString()), e -> expected.add(e.getMessage()));
+
+        config.setLazyCells(true);
+        List<String> actual = new ArrayList<>();
+        new CsvParser(new StringReader(text), schema, config).parse(l -> actual.add(l.toString()), e -> actual.add(e.getMessage()));
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void parse_lazyCells_errorReportedOnAccess() throws IOException {
+        CsvSchema schema = CsvSchema.builder()
+                .withLine("a", l -> l
+                        .withCell("name")
+                        .withCell("number", c -> c.withType(CellType.INTEGER)))
+                .build();
+        TextParseConfig config = new TextParseConfig();
+        config.setLazyCells(true);
+        List<JSaParException> errors = new ArrayList<>();
+        List<Line> lines = new ArrayList<>();
+        new CsvParser(new StringReader("john;x\njane;y"), schema, config).parse(lines::add, errors::add);
+        assertEquals(2, lines.size());
+        assertEquals(0, errors.size());
+
+        Line first = lines.get(0);
+        assertEquals("john", first.getCell("name").map(Cell::getStringValue).orElse(null));
+        assertEquals(0, errors.size());
+        assertFalse(first.getCell("number").isPresent());
+        assertEquals(1, errors.size());
+        assertEquals(1, ((CellParseException) errors.get(0)).getLineNumber());
+        assertTrue(first.getCellError("number").isPresent());
+        assertFalse(first.getCell("number").isPresent());
+        assertEquals(1, errors.size());
+
+        Line second = lines.get(1);
+        assertFalse(second.validate());
+        assertEquals(2, errors.size());
+        assertEquals(1, second.size());
+    }
+
+    @Test
+    public void parse_lazyCells_alteredLineKeepsOrder() throws IOException {
+        CsvSchema schema = CsvSchema.builder()
+                .withLine("a", l -> l.withCells("a", "b", "c"))
+                .build();
+        TextParseConfig config = new TextParseConfig();
+        config.setLazyCells(true);
+        List<Line> lines = new ArrayList<>();
+        new CsvParser(new StringReader("1;2;3"), schema, config).parse(lines::add, e -> {throw e;});
+        Line line = lines.get(0);
+        line.putCell(new StringCell("d", "4"));
+        line.putCell(new StringCell("b", "B"));
+        line.removeCell("c");
+        assertEquals("1B4", line.stream().map(Cell::getStringValue).collect(Collectors.joining()));
+        assertTrue(line.validate());
+    }
+
+    @Test
+    public void parse_projection() throws IOException {
+        CsvSchema schema = CsvSchema.builder()
+                .withLine("a", l -> l
+                        .withCell("text")
+                        .withCell("number", c -> c.withType(CellType.INTEGER).withMandatory(true))
+                        .withCell("default", c -> c.withDefaultValue("x"))
+                        .withCell("last"))
+                .build();
+        TextParseConfig config = new TextParseConfig();
+        config.setProjection("a", "last", "text");
+        for (boolean lazy : new boolean[]{false, true}) {
+            config.setLazyCells(lazy);
+            List<Line> lines = new ArrayList<>();
+            new CsvParser(new StringReader("A;x;;B\nC;;;D"), schema, config).parse(lines::add, e -> {throw e;});
+            assertEquals(2, lines.size());
+            assertEquals("AB", lines.get(0).stream().map(Cell::getStringValue).collect(Collectors.joining()));
+            assertEquals("CD", lines.get(1).stream().map(Cell::getStringValue).collect(Collectors.joining()));
+        }
+    }
+
+    @Test
+    public void parse_projectionOfUnknownCell() throws IOException {
+        CsvSchema schema = CsvSchema.builder()
+                .withLine("P", l -> l.withCells("A", "B", "C"))
+                .build();
+        TextParseConfig config = new TextParseConfig();
+        config.setProjection("P", "Nope");
+        List<Line> lines = new ArrayList<>();
+        new CsvParser(new StringReader("a;b;c\nx;y;z\n"), schema, config).parse(lines::add, e -> {throw e;});
+        assertEquals(2, lines.size());
+        assertEquals(0, lines.get(0).size());
+        assertEquals(2, lines.get(1).getLineNumber());
+    }
+
+    @Test
+    public void parse_projectionShortFirstLine() throws IOException {
+        CsvSchema schema = CsvSchema.builder()
+                .withLine("P", l -> l.withCells("A", "B", "C"))
+                .build();
+        TextParseConfig config = new TextParseConfig();
+        config.setProjection("P", "C");
+        config.setOnLineInsufficient(ValidationAction.NONE);
+        List<Line> lines = new ArrayList<>();
+        new CsvParser(new StringReader("a;b\na;b;c\nx;y;z\n"), schema, config).parse(lines::add, e -> {throw e;});
+        assertEquals(3, lines.size());
+        assertEquals("c", LineUtils.getStringCellValue(lines.get(1), "C"));
+        assertEquals("z", LineUtils.getStringCellValue(lines.get(2), "C"));
+        assertFalse(lines.get(2).getCell("A").isPresent());
+    }
+
+    @Test
+    public void parse_cellFilter() throws IOException {
+        CsvSchema schema = CsvSchema.builder()
+                .withLine("a", l -> l
+                        .withCell("type")
+                        .withCell("number", c -> c.withType(CellType.INTEGER)))
+                .build();
+        TextParseConfig config = new TextParseConfig();
+        config.addCellFilter("a", "type", v -> v.startsWith("A"));
+        config.addCellFilter("a", "type", v -> v.length() == 2);
+        List<Line> lines = new ArrayList<>();
+        new CsvParser(new StringReader("A1;1\nX;bad\nA2;2\nA33;bad\n\"A\";bad"), schema, config).parse(lines::add, e -> {throw e;});
+        assertEquals(2, lines.size());
+        assertEquals(3, lines.get(1).getLineNumber());
+        assertEquals("A2", lines.get(1).getCell("type").map(Cell::getStringValue).orElse(null));
+    }
+
+    @Test
+    public void parse_literalLineConditions_sameAsSequentialScan() throws IOException {
+        CsvSchema indexed = makeRecordTypeSchema(true);
+        CsvSchema scanned = makeRecordTypeSchema(false);
+        String text = "H;head\nA;1\nB;2\n\nA;3\nC;x;y\nX;4\nB;5\nQ;6";
+        TextParseConfig config = new TextParseConfig();
+        config.setOnUndefinedLineType(ValidationAction.ERROR);
+        List<String> expected = new ArrayList<>();
+        new CsvParser(new StringReader(text), scanned, config).parse(l -> expected.add(l.toString()), e -> expected.add(e.getMessage()));
+        List<String> actual = new ArrayList<>();
+        new CsvParser(new StringReader(text), indexed, config).parse(l -> actual.add(l.toString()), e -> actual.add(e.getMessage()));
+        assertEquals(expected, actual);
+        assertEquals(8, actual.size());
+    }
+
+    private CsvSchema makeRecordTypeSchema(boolean literalConditions) {
+        return CsvSchema.builder()
+                .withLine("header", l -> l.withOccurs(1)
+                        .withCell("type", c -> c.withLineCondition(literalConditions ? new EqualsCellValueCondition("H") : "H"::equals))
+                        .withCell("text"))
+                .withLine("a", l -> l
+                        .withCell("type", c -> c.withLineCondition(literalConditions ? new MatchingCellValueCondition("A") : "A"::equals))
+                        .withCell("number", c -> c.withType(CellType.INTEGER)))
+                .withLine("b", l -> l
+                        .withCell("type", c -> c.withLineCondition(literalConditions ? new EqualsCellValueCondition("B") : "B"::equals))
+                        .withCell("number", c -> c.withType(CellType.INTEGER)))
+                .withLine("c", l -> l
+                        .withCell("type", c -> c.withLineCondition(new MatchingCellValueCondition("[CQ]")))
+                        .withCell("first", c -> c.withLineCondition(v -> !v.isEmpty()))
+                        .withCell("second"))
+                .build();
+    }
+
+    @Test
+    public void parse_reuseLines() throws IOException {
+        CsvSchema schema = CsvSchema.builder()
+                .withLine("a", l -> l.withCell("a").withCell("number", c -> c.withType(CellType.INTEGER)))
+                .build();
+        TextParseConfig config = new TextParseConfig();
+        config.setReuseLines(true);
+        config.setOnUndefinedLineType(ValidationAction.ERROR);
+        List<Line> lines = new ArrayList<>();
+        List<Line> copies = new ArrayList<>();
+        new CsvParser(new StringReader("x;1\ny;bad\nz"), schema, config).parse(l -> {
+            lines.add(l);
+            copies.add(l.clone());
+        }, e -> {});
+        assertEquals(3, lines.size());
+        assertSame(lines.get(0), lines.get(2));
+        assertEquals("Line type=[a] number=1 {a=x[STRING], number=1[INTEGER]}", copies.get(0).toString());
+        assertTrue(copies.get(1).hasCellErrors());
+        assertFalse(copies.get(2).hasCellErrors());
+        assertEquals(3, copies.get(2).getLineNumber());
+        assertEquals("z", copies.get(2).getCell("a").map(Cell::getStringValue).orElse(null));
+    }
+
     public CsvSchema makePersonCsvSchema() {
         return CsvSchema.builder()
                     .withLine(CsvSchemaLine.builder("Person")
@@ -125,4 +330,41 @@ public class CsvParserTest {
                     .build();
     }
 
+
+    @Test
+    public void parse_cellCacheStatistics() throws IOException {
+        CsvSchema schema = CsvSchema.builder()
+                .withLine("a", l -> l
+                        .withCell("id", c -> c.withType(CellType.INTEGER))
+                        .withCell("country"))
+                .build();
+        String[] countries = {"SE", "NO", "DK", "FI", "IS"};
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 5000; i++)
+            text.append(i).append(';').append(countries[i % countries.length]).append('\n');
+        CsvParser parser = new CsvParser(new StringReader(text.toString()), schema, new TextParseConfig());
+        List<Line> lines = new ArrayList<>();
+        parser.parse(lines::add, e -> fail(e.getMessage()));
+        assertEquals(5000, lines.size());
+        assertEquals(4711, LineUtils.getIntCellValue(lines.get(4711), "id", -1));
+        assertEquals("FI", lines.get(4713).getCell("country").map(Cell::getStringValue).orElse(null));
+        assertSame(lines.get(3).getCell("country").orElse(null), lines.get(4713).getCell("country").orElse(null));
+
+        List<CellCacheStatistics> statistics = parser.cellCacheStatistics();
+        assertEquals(2, statistics.size());
+        CellCacheStatistics idStatistics = statistics.get(0);
+        assertEquals("a", idStatistics.getLineType());
+        assertEquals("id", idStatistics.getCellName());
+        assertTrue(idStatistics.isDisabled());
+        assertEquals(5000, idStatistics.getLookups());
+        assertEquals(0, idStatistics.getHits());
+
+        CellCacheStatistics countryStatistics = statistics.get(1);
+        assertEquals("country", countryStatistics.getCellName());
+        assertFalse(countryStatistics.isDisabled());
+        assertEquals(5, countryStatistics.getSize());
+        assertEquals(4995, countryStatistics.getHits());
+        assertEquals(0.999, countryStatistics.getHitRate(), 1e-9);
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,202 @@
+package org.jsapar.parse.fixed;
+
+import org.jsapar.error.JSaParException;
+import org.jsapar.error.ValidationAction;
+import org.jsapar.model.Line;
+import org.jsapar.parse.LineParseException;
+import org.jsapar.schema.FixedWidthSchema;
+import org.jsapar.text.TextParseConfig;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class FixedWidthParallelParserTest {
+
+    private Path path;
+
+    @Before
+    public void setUp() throws IOException {
+        path = Files.createTempFile("jsapar", ".txt");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Files.delete(path);
+    }
+
+    @Test
+    public void parse_flat() throws IOException {
+        FixedWidthSchema schema = FixedWidthSchema.builder()
+                .withLineSeparator("")
+                .withLine("a", l -> l.withCell("id", 4).withCell("name", 6))
+                .build();
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            sb.append(String.format("%04dName%02d", i, i % 100));
+        }
+        for (int recordsPerSlice : new int[]{1, 7, 30}) {
+            assertSameAsSequential(schema, new TextParseConfig(), sb.toString(), StandardCharsets.ISO_8859_1, recordsPerSlice, true);
+        }
+    }
+
+    @Test
+    public void parse_lineSeparator_lastLineNotTerminated() throws IOException {
+        FixedWidthSchema schema = FixedWidthSchema.builder()
+                .withLine("a", l -> l.withCell("id", 4).withCell("name", 6))
+                .build();
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            sb.append(String.format("%04dÅsa %02d\n", i, i));
+        }
+        sb.setLength(sb.length() - 1);
+        List<Line> lines = assertSameAsSequential(schema, new TextParseConfig(), sb.toString(), StandardCharsets.ISO_8859_1, 7, true);
+        assertEquals(100, lines.size());
+        assertEquals("Åsa 99", lines.get(99).getCell("name").map(c -> c.getStringValue()).orElse(null));
+    }
+
+    @Test
+    public void parse_crlf() throws IOException {
+        FixedWidthSchema schema = FixedWidthSchema.builder()
+                .withLineSeparator("\r\n")
+                .withLine("a", l -> l.withCell("id", 4).withCell("name", 6))
+                .build();
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            sb.append(String.format("%04dName%02d\r\n", i, i));
+        }
+        assertSameAsSequential(schema, new TextParseConfig(), sb.toString(), StandardCharsets.UTF_8, 9, true);
+    }
+
+    @Test
+    public void parse_headerAndConditions() throws IOException {
+        FixedWidthSchema schema = FixedWidthSchema.builder()
+                .withLine("header", l -> l.withOccurs(1).withCell("date", 10))
+                .withLine("debit", l -> l.withCell("type", 1, c -> c.withLineCondition(v -> v.equals("D"))).withCell("amount", 9))
+                .withLine("credit", l -> l.withCell("type", 1, c -> c.withLineCondition(v -> v.equals("C"))).withCell("amount", 9))
+                .build();
+        StringBuilder sb = new StringBuilder("2021-01-01\n");
+        for (int i = 0; i < 100; i++) {
+            sb.append(i % 3 == 0 ? 'D' : 'C').append(String.format("%09d\n", i));
+        }
+        List<Line> lines = assertSameAsSequential(schema, new TextParseConfig(), sb.toString(), StandardCharsets.US_ASCII, 8, true);
+        assertEquals("header", lines.get(0).getLineType());
+        assertEquals("debit", lines.get(1).getLineType());
+        assertEquals(2, lines.get(1).getLineNumber());
+    }
+
+    @Test
+    public void parse_unordered() throws IOException {
+        FixedWidthSchema schema = FixedWidthSchema.builder()
+                .withLine("a", l -> l.withCell("id", 4).withCell("name", 6))
+                .build();
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            sb.append(String.format("%04dName%02d\n", i, i));
+        }
+        List<Line> lines = assertSameAsSequential(schema, new TextParseConfig(), sb.toString(), StandardCharsets.UTF_8, 3, false);
+        for (int i = 0; i < lines.size(); i++) {
+            assertEquals(i + 1, lines.get(i).getLineNumber());
+        }
+    }
+
+    @Test
+    public void parse_errorsWithLineNumbers() throws IOException {
+        FixedWidthSchema schema = FixedWidthSchema.builder()
+                .withLine("a", l -> l.withCell("type", 1, c -> c.withLineCondition(v -> v.equals("A"))).withCell("b", 3))
+                .build();
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            sb.append(i % 7 == 0 ? "X" : "A").append(String.format("%03d\n", i));
+        }
+        TextParseConfig config = new TextParseConfig();
+        config.setOnUndefinedLineType(ValidationAction.ERROR);
+        assertSameAsSequential(schema, config, sb.toString(), StandardCharsets.UTF_8, 6, true);
+    }
+
+    @Test
+    public void parse_exceptionWithLineNumber() throws IOException {
+        FixedWidthSchema schema = FixedWidthSchema.builder()
+                .withLine("a", l -> l.withCell("type", 1, c -> c.withLineCondition(v -> v.equals("A"))).withCell("b", 3))
+                .build();
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            sb.append(i == 77 ? "X" : "A").append(String.format("%03d\n", i));
+        }
+        Files.write(path, sb.toString().getBytes(StandardCharsets.UTF_8));
+        List<Line> lines = new ArrayList<>();
+        try {
+            new FixedWidthParallelParser(path, StandardCharsets.UTF_8, schema, new TextParseConfig(), 4, true, 10)
+                    .parse(lines::add, e -> {throw e;});
+            fail("Should throw");
+        } catch (LineParseException e) {
+            assertEquals(78, e.getLineNumber());
+        }
+        assertEquals(77, lines.size());
+    }
+
+    @Test
+    public void parse_varyingLineLength_parsedSequentially() throws IOException {
+        FixedWidthSchema schema = FixedWidthSchema.builder()
+                .withLine("a", l -> l.withCell("id", 4).withCell("name", 6))
+                .build();
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            sb.append(String.format("%04dName%02d\n", i, i));
+            if (i == 50)
+                sb.append("0050B\n");
+        }
+        assertSameAsSequential(schema, new TextParseConfig(), sb.toString(), StandardCharsets.UTF_8, 5, true);
+    }
+
+    @Test
+    public void parse_nonAsciiUtf8_parsedSequentially() throws IOException {
+        FixedWidthSchema schema = FixedWidthSchema.builder()
+                .withLine("a", l -> l.withCell("id", 4).withCell("name", 6))
+                .build();
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            sb.append(String.format("%04dÅsa %02d\n", i, i));
+        }
+        assertSameAsSequential(schema, new TextParseConfig(), sb.toString(), StandardCharsets.UTF_8, 5, true);
+    }
+
+    private List<Line> assertSameAsSequential(FixedWidthSchema schema, TextParseConfig config, String text, Charset charset, int recordsPerSlice, boolean ordered) throws IOException {
+        List<String> expected = new ArrayList<>();
+        long expectedCount = new FixedWidthParser(new StringReader(text), schema, config)
+                .parse(l -> expected.add(l.toString()), e -> expected.add(describe(e)));
+
+        Files.write(path, text.getBytes(charset));
+        List<Line> lines = new ArrayList<>();
+        List<String> actual = new ArrayList<>();
+        long actualCount = new FixedWidthParallelParser(path, charset, schema, config, 4, ordered, recordsPerSlice)
+                .parse(l -> {
+                    lines.add(l);
+                    actual.add(l.toString());
+                }, e -> actual.add(describe(e)));
+        if (!ordered) {
+            lines.sort(Comparator.comparingLong(Line::getLineNumber));
+            actual.clear();
+            lines.forEach(l -> actual.add(l.toString()));
+        }
+        assertEquals(expected, actual);
+        assertEquals(expectedCount, actualCount);
+        return lines;
+    }
+
+    private static String describe(JSaParException e) {
+        return e instanceof LineParseException ? "Error at line " + ((LineParseException) e).getLineNumber() : e.getMessage();
+    }
+}
@@ -3,21 +3,26 @@ package org.jsapar.parse.fixed;
 import org.jsapar.error.ExceptionErrorConsumer;
 import org.jsapar.error.ValidationAction;
 import org.jsapar.model.Cell;
+import org.jsapar.model.CellType;
 import org.jsapar.model.Document;
 import org.jsapar.model.Line;
 import org.jsapar.model.LineUtils;
 import org.jsapar.parse.DocumentBuilderLineConsumer;
 import org.jsapar.text.TextParseConfig;
+import org.jsapar.schema.EqualsCellValueCondition;
 import org.jsapar.schema.FixedWidthSchema;
+import org.jsapar.schema.MatchingCellValueCondition;
 import org.junit.Test;
 
 import java.io.IOException;
 import java.io.Reader;
 import java.io.StringReader;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 
 public class FixedWidthParserTest {
 
@@ -87,6 +92,101 @@ public class FixedWidthParserTest {
                 e -> {throw e;});
     }
 
+    @Test
+    public void parse_projection() throws IOException {
+        FixedWidthSchema schema = FixedWidthSchema.builder()
+                .withLine("a", l->l
+                        .withCell("type", 1, c->c.withLineCondition(v->v.equals("A")))
+                        .withCell("number", 3, c->c.withType(CellType.INTEGER).withMandatory(true))
+                        .withCell("default", 2, c->c.withDefaultValue("DD"))
+                        .withCell("gg", 3))
+                .build();
+
+        String text = "Axxx  BBB\nA123  CCC";
+        TextParseConfig config = new TextParseConfig();
+        config.setProjection("a", "gg", "type");
+        FixedWidthParser parser = new FixedWidthParser(new StringReader(text), schema, config);
+        List<Line> lines = new ArrayList<>();
+        parser.parse(lines::add, e -> {throw e;});
+        assertEquals(2, lines.size());
+        assertEquals("ABBB", lines.get(0).stream().map(Cell::getStringValue).collect(Collectors.joining()));
+        assertEquals("ACCC", lines.get(1).stream().map(Cell::getStringValue).collect(Collectors.joining()));
+    }
+
+    @Test
+    public void parse_cellFilter() throws IOException {
+        FixedWidthSchema schema = FixedWidthSchema.builder()
+                .withLine("a", l->l
+                        .withCell("type", 1)
+                        .withCell("number", 3, c->c.withType(CellType.INTEGER)))
+                .build();
+
+        TextParseConfig config = new TextParseConfig();
+        config.addCellFilter("a", "type", v -> !v.equals("X"));
+        for (String lineSeparator : new String[]{"\n", ""}) {
+            String text = String.join(lineSeparator, "A001", "Xbad", "B002", "Xbad");
+            FixedWidthSchema lineSchema = FixedWidthSchema.builder(schema).withLineSeparator(lineSeparator).build();
+            FixedWidthParser parser = new FixedWidthParser(new StringReader(text), lineSchema, config);
+            List<Line> lines = new ArrayList<>();
+            parser.parse(lines::add, e -> {throw e;});
+            assertEquals(2, lines.size());
+            assertEquals(1, lines.get(0).getLineNumber());
+            assertEquals(2, LineUtils.getIntCellValue(lines.get(1), "number", 0));
+        }
+    }
+
+    @Test
+    public void parse_literalLineConditions_sameAsSequentialScan() throws IOException {
+        FixedWidthSchema indexed = makeRecordTypeSchema(true);
+        FixedWidthSchema scanned = makeRecordTypeSchema(false);
+        String text = "Hhead\nA001\nB002\nA003\nCxy\nX004\nB005\nA\nQ006";
+        TextParseConfig config = new TextParseConfig();
+        config.setOnUndefinedLineType(ValidationAction.ERROR);
+        List<String> expected = new ArrayList<>();
+        new FixedWidthParser(new StringReader(text), scanned, config).parse(l -> expected.add(l.toString()), e -> expected.add(e.getMessage()));
+        List<String> actual = new ArrayList<>();
+        new FixedWidthParser(new StringReader(text), indexed, config).parse(l -> actual.add(l.toString()), e -> actual.add(e.getMessage()));
+        assertEquals(expected, actual);
+        assertEquals(9, actual.size());
+    }
+
+    private FixedWidthSchema makeRecordTypeSchema(boolean literalConditions) {
+        return FixedWidthSchema.builder()
+                .withLine("header", l -> l.withOccurs(1)
+                        .withCell("type", 1, c -> c.withLineCondition(literalConditions ? new EqualsCellValueCondition("H") : "H"::equals))
+                        .withCell("text", 4))
+                .withLine("a", l -> l
+                        .withCell("type", 1, c -> c.withLineCondition(literalConditions ? new MatchingCellValueCondition("A") : "A"::equals))
+                        .withCell("number", 3, c -> c.withType(CellType.INTEGER)))
+                .withLine("b", l -> l
+                        .withCell("type", 1, c -> c.withLineCondition(literalConditions ? new EqualsCellValueCondition("B") : "B"::equals))
+                        .withCell("number", 3, c -> c.withType(CellType.INTEGER)))
+                .withLine("c", l -> l
+                        .withCell("type", 1, c -> c.withLineCondition(new MatchingCellValueCondition("[CQ]")))
+                        .withCell("first", 1)
+                        .withCell("second", 2))
+                .build();
+    }
+
+    @Test
+    public void parse_reuseLines() throws IOException {
+        FixedWidthSchema schema = FixedWidthSchema.builder()
+                .withLine("a", l -> l.withCell("a", 1).withCell("number", 3, c -> c.withType(CellType.INTEGER)))
+                .build();
+        TextParseConfig config = new TextParseConfig();
+        config.setReuseLines(true);
+        List<Line> lines = new ArrayList<>();
+        List<String> values = new ArrayList<>();
+        new FixedWidthParser(new StringReader("x001\ny002"), schema, config).parse(l -> {
+            lines.add(l);
+            values.add(l.toString());
+        }, e -> {throw e;});
+        assertEquals(2, lines.size());
+        assertSame(lines.get(0), lines.get(1));
+        assertEquals("Line type=[a] number=1 {a=x[STRING], number=1[INTEGER]}", values.get(0));
+        assertEquals("Line type=[a] number=2 {a=y[STRING], number=2[INTEGER]}", values.get(1));
+    }
+
     private Document build(Reader reader, FixedWidthSchema schema) throws IOException {
         FixedWidthParser parser = new FixedWidthParser(reader, schema, new TextParseConfig());
         DocumentBuilderLineConsumer builder = new DocumentBuilderLineConsumer();
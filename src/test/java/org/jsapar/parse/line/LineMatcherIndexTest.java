@@ -0,0 +1,51 @@
+package org.jsapar.parse.line;
+
+import org.jsapar.schema.EqualsCellValueCondition;
+import org.jsapar.schema.MatchingCellValueCondition;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class LineMatcherIndexTest {
+
+    @Test
+    public void findFirst_mostRecentlyMatchedFirst() {
+        // Matchers are named by control value followed by an index. Matchers starting with * have no control value.
+        List<String> matchers = Arrays.asList("A1", "*2", "B3", "A4", "*5");
+        LineMatcherIndex<String> index = new LineMatcherIndex<>(matchers, m -> m.startsWith("*") ? null : m.substring(0, 1));
+
+        assertEquals("A1", index.findFirst("A", m -> true));
+        assertEquals("*2", index.findFirst("B", m -> true));
+        assertEquals("B3", index.findFirst("B", m -> m.startsWith("B")));
+        assertEquals("*2", index.findFirst("X", m -> true));
+        assertNull(index.findFirst("X", m -> m.startsWith("A")));
+
+        index.matched("*5");
+        index.matched("A4");
+        assertEquals("A4", index.findFirst("A", m -> true));
+        assertEquals("*5", index.findFirst("B", m -> true));
+        assertEquals(Arrays.asList("A4", "*5", "A1", "*2", "B3"), index.matchers());
+        assertEquals("A4", index.findFirst(null, m -> true));
+
+        index.remove("A4");
+        assertEquals("*5", index.findFirst("A", m -> true));
+        assertEquals("A1", index.findFirst("A", m -> m.startsWith("A")));
+    }
+
+    @Test
+    public void literalOf() {
+        assertEquals(Optional.of("ABC"), LineMatcherIndex.literalOf(new EqualsCellValueCondition("ABC")));
+        assertEquals(Optional.empty(), LineMatcherIndex.literalOf(new EqualsCellValueCondition("ABC", true)));
+        assertEquals(Optional.of("A-1"), LineMatcherIndex.literalOf(new MatchingCellValueCondition("A-1")));
+        assertEquals(Optional.of("A.1"), LineMatcherIndex.literalOf(new MatchingCellValueCondition("\\QA.1\\E")));
+        assertEquals(Optional.empty(), LineMatcherIndex.literalOf(new MatchingCellValueCondition("A.1")));
+        assertEquals(Optional.empty(), LineMatcherIndex.literalOf(new MatchingCellValueCondition("A|B")));
+        assertTrue(LineMatcherIndex.literalOf("A"::equals).isEmpty());
+    }
+}
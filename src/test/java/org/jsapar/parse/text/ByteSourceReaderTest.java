@@ -0,0 +1,117 @@
+package org.jsapar.parse.text;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class ByteSourceReaderTest {
+
+    @Test
+    public void testIsDecodedDirectly() {
+        assertTrue(ByteSourceReader.isDecodedDirectly(StandardCharsets.UTF_8));
+        assertTrue(ByteSourceReader.isDecodedDirectly(StandardCharsets.ISO_8859_1));
+        assertTrue(ByteSourceReader.isDecodedDirectly(StandardCharsets.US_ASCII));
+        assertFalse(ByteSourceReader.isDecodedDirectly(StandardCharsets.UTF_16));
+    }
+
+    @Test
+    public void testOfInputStream_latin1() throws IOException {
+        String text = "Hej på dig; åäö ÅÄÖ\n";
+        Reader reader = ByteSourceReader.ofInputStream(new ByteArrayInputStream(text.getBytes(StandardCharsets.ISO_8859_1)), StandardCharsets.ISO_8859_1);
+        assertEquals(text, readAll(reader, 3));
+    }
+
+    @Test
+    public void testOfInputStream_ascii_replaces_non_ascii() throws IOException {
+        byte[] bytes = {'a', (byte) 0xE5, 'b'};
+        Reader reader = ByteSourceReader.ofInputStream(new ByteArrayInputStream(bytes), StandardCharsets.US_ASCII);
+        assertEquals("a�b", readAll(reader, 10));
+    }
+
+    @Test
+    public void testOfByteBuffer_utf8() throws IOException {
+        String text = "A;€;😀;åäö\r\n";
+        ByteBuffer byteBuffer = ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8));
+        Reader reader = ByteSourceReader.ofByteBuffer(byteBuffer, StandardCharsets.UTF_8);
+        assertEquals(text, readAll(reader, 1));
+        assertFalse(byteBuffer.hasRemaining());
+    }
+
+    @Test
+    public void testOfByteBuffer_fallback() throws IOException {
+        String text = "A;€;åäö";
+        Reader reader = ByteSourceReader.ofByteBuffer(ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_16)), StandardCharsets.UTF_16);
+        assertEquals(text, readAll(reader, 5));
+    }
+
+    @Test
+    public void testOfChannel_utf8_same_as_InputStreamReader() throws IOException {
+        Random random = new Random(17);
+        for (int i = 0; i < 500; i++) {
+            byte[] bytes = new byte[random.nextInt(20000)];
+            for (int j = 0; j < bytes.length; j++) {
+                // Mostly valid text but with some random bytes.
+                bytes[j] = random.nextInt(20) == 0 ? (byte) random.nextInt(256) : (byte) ('a' + random.nextInt(20));
+            }
+            assertDecodedAsJdk(bytes, StandardCharsets.UTF_8);
+        }
+        assertDecodedAsJdk(("Åke " + "ö€😀".repeat(5000)).getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testOfFile_multiple_windows() throws IOException {
+        String text = "Åke;€;😀;" + "ö€😀abc".repeat(1000);
+        Path path = Files.createTempFile("jsapar", ".txt");
+        try {
+            Files.write(path, text.getBytes(StandardCharsets.UTF_8));
+            for (int windowSize : new int[]{4, 5, 7, 1024}) {
+                try (Reader reader = ByteSourceReader.ofFile(FileChannel.open(path), StandardCharsets.UTF_8, windowSize)) {
+                    assertEquals(text, readAll(reader, 13));
+                }
+            }
+            try (Reader reader = ByteSourceReader.ofFile(FileChannel.open(path), StandardCharsets.UTF_8)) {
+                assertEquals(text, readAll(reader, 8192));
+            }
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    public void testOfFile_empty() throws IOException {
+        Path path = Files.createTempFile("jsapar", ".txt");
+        try (Reader reader = ByteSourceReader.ofFile(FileChannel.open(path), StandardCharsets.ISO_8859_1, 16)) {
+            assertEquals(-1, reader.read(new char[10], 0, 10));
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    private void assertDecodedAsJdk(byte[] bytes, Charset charset) throws IOException {
+        String expected = readAll(new InputStreamReader(new ByteArrayInputStream(bytes), charset), 8192);
+        Reader reader = ByteSourceReader.ofChannel(Channels.newChannel(new ByteArrayInputStream(bytes)), charset);
+        assertEquals(expected, readAll(reader, 100));
+    }
+
+    private static String readAll(Reader reader, int chunkSize) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        char[] buffer = new char[chunkSize];
+        int count;
+        while ((count = reader.read(buffer, 0, chunkSize)) >= 0)
+            sb.append(buffer, 0, count);
+        return sb.toString();
+    }
+}
@@ -106,4 +106,19 @@ public class BooleanFormatTest {
         assertFalse(f.parse("NEJ"));
     }
 
+    @Test
+    public void testParse_charSequence() throws ParseException {
+        BooleanFormat f = new BooleanFormat(new String[]{"ja", "j"}, new String[]{"nej", "n"}, true);
+        for (String value : new String[]{"ja", "JA", "j", "Jo", "nej", "NEJ", "N", "nja"}) {
+            assertEquals(value, f.parse(value), f.parse(new StringBuilder(value)));
+        }
+        assertTrue(new BooleanFormat(false).parse("-1-".toCharArray(), 1, 1));
+    }
+
+    @Test(expected = ParseException.class)
+    public void testParse_charSequence_caseSensitive() throws ParseException {
+        BooleanFormat f = new BooleanFormat("ja", "nej", false);
+        assertTrue(f.parse(new StringBuilder("ja")));
+        f.parse(new StringBuilder("JA"));
+    }
 }
@@ -5,6 +5,7 @@ import org.jsapar.text.format.DateTimeFormat;
 import org.junit.Test;
 
 import java.time.Instant;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
@@ -39,4 +40,19 @@ public class DateTimeFormatTest {
         assertEquals("2023-05-22 16:35", format.format(Instant.ofEpochSecond(1684773319)));
     }
 
-}
\ No newline at end of file
+    @Test
+    public void parse_fixedPattern() {
+        DateTimeFormat format = new DateTimeFormat("yyyyMMdd", Locale.US, CellType.LOCAL_DATE, ZoneId.of("UTC"));
+        assertEquals(LocalDate.of(2023, 5, 22), LocalDate.from(format.parse("20230522")));
+        assertEquals(LocalDate.of(2023, 5, 22), LocalDate.from(format.parse(new StringBuilder("20230522"))));
+        assertEquals("20230522", format.format(LocalDate.of(2023, 5, 22)));
+        // Resolved by the DateTimeFormatter
+        assertEquals(LocalDate.of(2023, 2, 28), LocalDate.from(format.parse("20230231")));
+    }
+
+    @Test
+    public void format_fixedPattern_instant() {
+        DateTimeFormat format = new DateTimeFormat("yyyy-MM-dd HH:mm", Locale.US, CellType.INSTANT, ZoneId.of("UTC"));
+        assertEquals("2023-05-22 16:35", format.format(Instant.ofEpochSecond(1684773319)));
+    }
+}
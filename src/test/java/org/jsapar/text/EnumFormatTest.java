@@ -52,4 +52,24 @@ public class EnumFormatTest {
         assertEquals(TestEnum.BB, enumFormat.parse("bB"));
         assertEquals(TestEnum.CCC, enumFormat.parse("ccc"));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void parse_charSequence() throws ParseException {
+        EnumFormat<TestEnum> enumFormat = EnumFormat.builder(TestEnum.class)
+                .withIgnoreCase(true)
+                .withValue("xxxx", TestEnum.DDDD)
+                .build();
+        assertEquals(TestEnum.A, enumFormat.parse(new StringBuilder("A")));
+        assertEquals(TestEnum.BB, enumFormat.parse(new StringBuilder("bB")));
+        assertEquals(TestEnum.CCC, enumFormat.parse("-ccc-".toCharArray(), 1, 3));
+        assertEquals(TestEnum.DDDD, enumFormat.parse(new StringBuilder("XxXx")));
+        assertEquals(TestEnum.DDDD, enumFormat.parse(new StringBuilder("dddd")));
+    }
+
+    @Test(expected = ParseException.class)
+    public void parse_charSequence_caseSensitive() throws ParseException {
+        EnumFormat<TestEnum> enumFormat = EnumFormat.builder(TestEnum.class).build();
+        assertEquals(TestEnum.BB, enumFormat.parse(new StringBuilder("BB")));
+        enumFormat.parse(new StringBuilder("bb"));
+    }
+}
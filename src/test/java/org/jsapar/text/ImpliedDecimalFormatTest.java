@@ -1,6 +1,7 @@
 package org.jsapar.text;
 
 import org.jsapar.text.Format;
+import org.jsapar.text.format.ImpliedDecimalFormat;
 import org.junit.Test;
 
 import java.math.BigDecimal;
@@ -30,4 +31,36 @@ public class ImpliedDecimalFormatTest {
         assertEquals(new BigDecimal("3.14"), format.parse("314"));
         assertEquals(new BigDecimal("4711.00"), format.parse("471100"));
     }
-}
\ No newline at end of file
+    @Test
+    public void parseUnscaled() {
+        ImpliedDecimalFormat format = new ImpliedDecimalFormat(2);
+        assertEquals(314L, format.parseUnscaled("314"));
+        assertEquals(-314L, format.parseUnscaled("-314"));
+        assertEquals(5L, format.parseUnscaled("+005"));
+        assertEquals(999999999999999999L, format.parseUnscaled("999999999999999999"));
+        assertEquals(ImpliedDecimalFormat.NOT_A_LONG, format.parseUnscaled("1000000000000000000"));
+        assertEquals(ImpliedDecimalFormat.NOT_A_LONG, format.parseUnscaled("3.14"));
+        assertEquals(ImpliedDecimalFormat.NOT_A_LONG, format.parseUnscaled("-"));
+        assertEquals(ImpliedDecimalFormat.NOT_A_LONG, format.parseUnscaled(""));
+    }
+
+    @Test
+    public void parse_charSequence() throws ParseException {
+        Format<BigDecimal> format = Format.ofImpliedDecimalInstance(2);
+        assertEquals(new BigDecimal("3.14"), format.parse(new StringBuilder("314")));
+        assertEquals(new BigDecimal("-0.05"), format.parse(" -005 ".toCharArray(), 1, 4));
+        assertEquals(new BigDecimal("12345678901234567890.12"), format.parse(new StringBuilder("1234567890123456789012")));
+    }
+
+    @Test
+    public void format_unscaled() {
+        Format<BigDecimal> format = Format.ofImpliedDecimalInstance(2);
+        assertEquals("314", format.format(314L, 2));
+        assertEquals("-31400", format.format(-314L, 0));
+        assertEquals("3140", format.format(314L, 1));
+        assertEquals("31", format.format(314L, 3));
+        assertEquals("0", format.format(0L, 1));
+        assertEquals(format.format(new BigDecimal("3.145")), format.format(3145L, 3));
+    }
+
+}
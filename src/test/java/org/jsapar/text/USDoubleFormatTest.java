@@ -0,0 +1,39 @@
+package org.jsapar.text;
+
+import org.jsapar.text.format.USDoubleFormat;
+import org.junit.Test;
+
+import java.text.ParseException;
+
+import static org.junit.Assert.*;
+
+public class USDoubleFormatTest {
+
+    @Test
+    public void parseDouble() throws ParseException {
+        USDoubleFormat format = new USDoubleFormat();
+        String[] values = {"0", "-0", "+1", "3.14", "-3.14", ".5", "1.", "0.1", "0.3", "123456789.123456",
+                "9007199254740993", "0.0000000000000000000000001", "1e10", "-1.5E-3", "1.7976931348623157E308",
+                "NaN", "-Infinity", " 42 ", "1d"};
+        for (String value : values) {
+            assertEquals(value, Double.parseDouble(value), format.parseDouble(new StringBuilder(value)), 0.0);
+            assertEquals(value, Double.valueOf(Double.parseDouble(value)), format.parse(new StringBuilder(value)));
+        }
+        assertEquals(-2.5, format.parse("x-2.5x".toCharArray(), 1, 4));
+    }
+
+    @Test
+    public void parseDouble_signOfZero() throws ParseException {
+        assertEquals(Double.doubleToLongBits(-0.0), Double.doubleToLongBits(new USDoubleFormat().parseDouble("-0.0")));
+    }
+
+    @Test(expected = ParseException.class)
+    public void parseDouble_invalid() throws ParseException {
+        new USDoubleFormat().parseDouble(new StringBuilder("1.2.3"));
+    }
+
+    @Test(expected = ParseException.class)
+    public void parseDouble_sign_only() throws ParseException {
+        new USDoubleFormat().parseDouble(new StringBuilder("-"));
+    }
+}
@@ -0,0 +1,31 @@
+package org.jsapar.text;
+
+import org.jsapar.text.format.USIntegerFormat;
+import org.junit.Test;
+
+import java.text.ParseException;
+
+import static org.junit.Assert.*;
+
+public class USIntegerFormatTest {
+
+    @Test
+    public void parseLong() throws ParseException {
+        USIntegerFormat format = new USIntegerFormat();
+        assertEquals(4711L, format.parseLong(new StringBuilder("4711")));
+        assertEquals(-4711L, format.parseLong(new StringBuilder("-4711")));
+        assertEquals(Long.MAX_VALUE, format.parseLong(new StringBuilder(String.valueOf(Long.MAX_VALUE))));
+        assertEquals(Long.MIN_VALUE, format.parseLong(new StringBuilder(String.valueOf(Long.MIN_VALUE))));
+        assertEquals(42L, format.parse(" 42 ".toCharArray(), 1, 2));
+    }
+
+    @Test(expected = ParseException.class)
+    public void parseLong_overflow() throws ParseException {
+        new USIntegerFormat().parseLong(new StringBuilder("9223372036854775808"));
+    }
+
+    @Test(expected = ParseException.class)
+    public void parseLong_empty() throws ParseException {
+        new USIntegerFormat().parseLong(new StringBuilder());
+    }
+}
@@ -0,0 +1,117 @@
+package org.jsapar.text.format;
+
+import org.jsapar.model.CellType;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.text.DecimalFormatSymbols;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class CompiledNumberPatternTest {
+    private static final Locale[] LOCALES  = {Locale.US, Locale.GERMANY, Locale.FRANCE, new Locale("sv", "SE"),
+            new Locale("de", "CH")};
+    private static final String[] PATTERNS = {null, "#,##0.00", "0.##", "000", "#,##0", "0.0##", "#,##0.###;(#,##0.###)",
+            "0.00E0", "#%"};
+
+    private static List<java.text.DecimalFormat> decimalFormats() {
+        List<java.text.DecimalFormat> formats = new ArrayList<>();
+        for (Locale locale : LOCALES) {
+            for (String pattern : PATTERNS) {
+                java.text.DecimalFormat format = pattern == null
+                        ? (java.text.DecimalFormat) java.text.NumberFormat.getInstance(locale)
+                        : new java.text.DecimalFormat(pattern, DecimalFormatSymbols.getInstance(locale));
+                formats.add(format);
+                java.text.DecimalFormat integerFormat = (java.text.DecimalFormat) format.clone();
+                integerFormat.setParseIntegerOnly(true);
+                integerFormat.setGroupingUsed(false);
+                formats.add(integerFormat);
+                java.text.DecimalFormat bigDecimalFormat = (java.text.DecimalFormat) format.clone();
+                bigDecimalFormat.setParseBigDecimal(true);
+                formats.add(bigDecimalFormat);
+            }
+        }
+        return formats;
+    }
+
+    @Test
+    public void compile() {
+        assertTrue(CompiledNumberPattern.compile(new java.text.DecimalFormat("#,##0.00")).isPresent());
+        assertFalse(CompiledNumberPattern.compile(new java.text.DecimalFormat("#%")).isPresent());
+        assertFalse(CompiledNumberPattern.compile(new java.text.DecimalFormat("#,##0;(#,##0)")).isPresent());
+        assertFalse(CompiledNumberPattern.compile(new java.text.DecimalFormat("0 kr")).isPresent());
+    }
+
+    @Test
+    public void parse_swedish() throws ParseException {
+        NumberFormat format = new NumberFormat(new Locale("sv", "SE"), CellType.FLOAT);
+        assertEquals(1234567.5, format.parse("1 234 567,5"));
+        assertEquals(-1234567.5, format.parse("-1 234 567,5"));
+        assertEquals(-12L, format.parse("−12"));
+        assertEquals(12L, format.parse(new StringBuilder("12,000")));
+
+        CompiledNumberPattern compiled = CompiledNumberPattern.compile(
+                (java.text.DecimalFormat) java.text.NumberFormat.getInstance(new Locale("sv", "SE"))).orElseThrow();
+        assertEquals(1234567.5, compiled.parse("1\u00a0234\u00a0567,5"));
+        assertEquals("1\u00a0234\u00a0567,5", compiled.format(12345675L, 1));
+    }
+
+    @Test
+    public void parse_sameAsDecimalFormat() {
+        Random random = new Random(4711);
+        for (java.text.DecimalFormat decimalFormat : decimalFormats()) {
+            DecimalFormatSymbols symbols = decimalFormat.getDecimalFormatSymbols();
+            String alphabet = "0123456789000" + symbols.getDecimalSeparator() + symbols.getGroupingSeparator()
+                    + symbols.getMinusSign() + "- E.,x";
+            NumberFormat format = new NumberFormat(decimalFormat, CellType.FLOAT);
+            for (int i = 0; i < 500; i++) {
+                StringBuilder sb = new StringBuilder();
+                int length = random.nextInt(14);
+                for (int j = 0; j < length; j++) {
+                    // Mostly digits
+                    sb.append(random.nextInt(3) > 0 ? (char) ('0' + random.nextInt(10)) : alphabet.charAt(random.nextInt(alphabet.length())));
+                }
+                String value = sb.toString();
+                String message = decimalFormat.toPattern() + " " + symbols.getDecimalSeparator() + " [" + value + "]";
+                assertEquals(message, parseResult(() -> format.parseByTextFormat(value)), parseResult(() -> format.parse(new StringBuilder(value))));
+            }
+        }
+    }
+
+    @Test
+    public void format_sameAsDecimalFormat() {
+        Random random = new Random(4711);
+        for (java.text.DecimalFormat decimalFormat : decimalFormats()) {
+            NumberFormat format = new NumberFormat((java.text.DecimalFormat) decimalFormat.clone(), CellType.FLOAT);
+            for (int i = 0; i < 300; i++) {
+                long value = random.nextInt(4) == 0 ? random.nextLong() : random.nextInt(2000000) - 1000000;
+                int scale = random.nextInt(6);
+                String message = decimalFormat.toPattern() + " " + decimalFormat.getDecimalFormatSymbols().getDecimalSeparator();
+                assertEquals(message, decimalFormat.format(value), format.format(value));
+                assertEquals(message, decimalFormat.format((double) value), format.format((double) value));
+                assertEquals(message, decimalFormat.format(BigDecimal.valueOf(value, scale)), format.format(value, scale));
+                assertEquals(message, decimalFormat.format(BigDecimal.valueOf(value, scale)), format.format(BigDecimal.valueOf(value, scale)));
+            }
+            assertEquals(decimalFormat.format(-0.0), format.format(-0.0));
+            assertEquals(decimalFormat.format(Long.MIN_VALUE), format.format(Long.MIN_VALUE));
+        }
+    }
+
+    private interface Parsing {
+        Number parse() throws ParseException;
+    }
+
+    private static String parseResult(Parsing parsing) {
+        try {
+            Number number = parsing.parse();
+            return number == null ? "null" : number.getClass().getSimpleName() + ":" + number;
+        } catch (ParseException e) {
+            return "ParseException";
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package org.jsapar.text.format;
+
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.TemporalAccessor;
+import java.time.temporal.TemporalQueries;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class FixedDateTimePatternTest {
+    private static final String[] PATTERNS = {"yyyy-MM-dd", "yyyyMMdd", "uuuu-MM-dd", "dd.MM.yyyy",
+            "yyyy-MM-dd HH:mm:ss", "yyyy-MM-dd'T'HH:mm:ss.SSS", "HHmmss", "HH:mm", "yyyyMMddHHmm"};
+
+    @Test
+    public void compile() {
+        for (String pattern : PATTERNS) {
+            assertTrue(pattern, FixedDateTimePattern.compile(pattern).isPresent());
+        }
+        assertFalse(FixedDateTimePattern.compile("yyyy-MMM-dd").isPresent());
+        assertFalse(FixedDateTimePattern.compile("yy-MM-dd").isPresent());
+        assertFalse(FixedDateTimePattern.compile("yyyy-MM").isPresent());
+        assertFalse(FixedDateTimePattern.compile("hh:mm a").isPresent());
+        assertFalse(FixedDateTimePattern.compile("yyyy-MM-dd[ HH:mm]").isPresent());
+        assertFalse(FixedDateTimePattern.compile("HH:mm:ss 'o''clock'").isPresent());
+    }
+
+    @Test
+    public void parse() {
+        assertEquals(LocalDate.of(2024, 2, 29), FixedDateTimePattern.compile("yyyyMMdd").orElseThrow().parse("20240229"));
+        assertEquals(LocalTime.of(23, 59, 1), FixedDateTimePattern.compile("HHmmss").orElseThrow().parse("235901"));
+        assertEquals(LocalDateTime.of(2024, 1, 31, 8, 5, 0, 7_000_000),
+                FixedDateTimePattern.compile("yyyy-MM-dd'T'HH:mm:ss.SSS").orElseThrow().parse("2024-01-31T08:05:00.007"));
+        // Left to the DateTimeFormatter
+        assertNull(FixedDateTimePattern.compile("yyyyMMdd").orElseThrow().parse("20230229"));
+        assertNull(FixedDateTimePattern.compile("yyyy-MM-dd").orElseThrow().parse("2023-1-01"));
+        assertNull(FixedDateTimePattern.compile("HHmmss").orElseThrow().parse("240000"));
+    }
+
+    @Test
+    public void parse_sameAsDateTimeFormatter() {
+        Random random = new Random(4711);
+        for (String pattern : PATTERNS) {
+            FixedDateTimePattern fixedPattern = FixedDateTimePattern.compile(pattern).orElseThrow();
+            DateTimeFormatter formatter = DateTimeFormatter.ofPattern(pattern, Locale.US);
+            for (int i = 0; i < 2000; i++) {
+                LocalDateTime dateTime = LocalDateTime.of(random.nextInt(3000) + 1, random.nextInt(12) + 1, 1,
+                        random.nextInt(24), random.nextInt(60), random.nextInt(60), random.nextInt(1000) * 1_000_000)
+                        .plusDays(random.nextInt(31));
+                StringBuilder value = new StringBuilder(formatter.format(dateTime));
+                if (random.nextInt(4) == 0)
+                    value.setCharAt(random.nextInt(value.length()), (char) ('0' + random.nextInt(10)));
+                TemporalAccessor parsed = fixedPattern.parse(value);
+                if (parsed == null)
+                    continue;
+                TemporalAccessor expected = formatter.parse(value);
+                String message = pattern + " [" + value + "]";
+                assertEquals(message, expected.query(TemporalQueries.localDate()), parsed.query(TemporalQueries.localDate()));
+                assertEquals(message, expected.query(TemporalQueries.localTime()), parsed.query(TemporalQueries.localTime()));
+                assertEquals(formatter.format(expected), fixedPattern.format(parsed));
+            }
+        }
+    }
+
+    @Test
+    public void format_sameAsDateTimeFormatter() {
+        Random random = new Random(4711);
+        for (String pattern : PATTERNS) {
+            FixedDateTimePattern fixedPattern = FixedDateTimePattern.compile(pattern).orElseThrow();
+            DateTimeFormatter formatter = DateTimeFormatter.ofPattern(pattern, Locale.US);
+            for (int i = 0; i < 500; i++) {
+                LocalDateTime dateTime = LocalDateTime.of(random.nextInt(9999) + 1, random.nextInt(12) + 1, 1,
+                        random.nextInt(24), random.nextInt(60), random.nextInt(60), random.nextInt(1_000_000_000))
+                        .plusDays(random.nextInt(31));
+                assertEquals(formatter.format(dateTime), fixedPattern.format(dateTime));
+            }
+        }
+        assertNull(FixedDateTimePattern.compile("yyyy-MM-dd").orElseThrow().format(LocalDate.of(10000, 1, 1)));
+        assertNull(FixedDateTimePattern.compile("HH:mm").orElseThrow().format(LocalDate.of(2000, 1, 1)));
+    }
+
+    @Test(expected = DateTimeParseException.class)
+    public void parse_invalid_fallback() {
+        new DateTimeFormat("yyyy-MM-dd", Locale.US, null, java.time.ZoneId.of("UTC")).parse("2023-13-01");
+    }
+}
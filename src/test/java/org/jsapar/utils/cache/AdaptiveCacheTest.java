@@ -0,0 +1,91 @@
+package org.jsapar.utils.cache;
+
+import org.jsapar.utils.CharSlice;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class AdaptiveCacheTest {
+
+    @Test
+    public void get_put() {
+        AdaptiveCache<String> cache = new AdaptiveCache<>(100);
+        assertNull(cache.get("one"));
+        cache.put("one", "1");
+        cache.put("two", "2");
+        assertEquals("1", cache.get("one"));
+        assertEquals("2", cache.get("two"));
+        assertNull(cache.get("three"));
+        cache.put("one", "ONE");
+        assertEquals("ONE", cache.get("one"));
+        assertEquals(2, cache.getSize());
+        assertEquals(5, cache.getLookups());
+        assertEquals(3, cache.getHits());
+    }
+
+    @Test
+    public void get_charSlice() {
+        AdaptiveCache<String> cache = new AdaptiveCache<>(100);
+        char[] buffer = "SE;NO;SE".toCharArray();
+        CharSlice slice = new CharSlice(buffer, 0, 2);
+        cache.put(slice, "Sweden");
+        // The cache must not be affected by changes of the buffer.
+        buffer[0] = 'X';
+        assertNull(cache.get(slice));
+        assertEquals("Sweden", cache.get("SE"));
+        assertEquals("Sweden", cache.get(slice.set(buffer, 6, 2)));
+        assertNull(cache.get(slice.set(buffer, 3, 2)));
+    }
+
+    @Test
+    public void grow_lowCardinality() {
+        AdaptiveCache<String> cache = new AdaptiveCache<>(256);
+        assertEquals(AdaptiveCache.INITIAL_SIZE, cache.getSizeLimit());
+        for (int i = 0; i < 100 * AdaptiveCache.WINDOW; i++) {
+            String key = String.valueOf(i % 100);
+            if (cache.get(key) == null)
+                cache.put(key, key);
+        }
+        assertFalse(cache.isDisabled());
+        assertEquals(128, cache.getSizeLimit());
+        assertEquals(100, cache.getSize());
+        assertTrue(cache.getHits() > cache.getLookups() * 9 / 10);
+    }
+
+    @Test
+    public void disable_highCardinality() {
+        AdaptiveCache<String> cache = new AdaptiveCache<>(64);
+        for (int i = 0; i < 100 * AdaptiveCache.WINDOW; i++) {
+            String key = String.valueOf(i);
+            if (cache.get(key) == null)
+                cache.put(key, key);
+        }
+        assertTrue(cache.isDisabled());
+        assertEquals(0, cache.getSizeLimit());
+        assertEquals(0, cache.getHits());
+        assertEquals(100 * AdaptiveCache.WINDOW, cache.getLookups());
+        assertTrue(cache.getEvictions() > 0);
+
+        cache.put("1", "1");
+        assertNull(cache.get("1"));
+    }
+
+    @Test
+    public void evict_whenFull() {
+        AdaptiveCache<String> cache = new AdaptiveCache<>(3);
+        cache.put("one", "1");
+        cache.put("two", "2");
+        cache.put("three", "3");
+        assertEquals("1", cache.get("one"));
+        cache.put("four", "4");
+        assertNull(cache.get("one"));
+        assertEquals("4", cache.get("four"));
+        assertEquals(1, cache.getSize());
+        assertEquals(1, cache.getEvictions());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void create_zeroSize() {
+        new AdaptiveCache<String>(0);
+    }
+}
@@ -0,0 +1,81 @@
+package org.jsapar.utils.cache;
+
+import org.jsapar.utils.CharSlice;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.*;
+
+public class StripedCacheTest {
+
+    @Test
+    public void get_put() {
+        StripedCache<String> cache = new StripedCache<>(1000);
+        for (int pass = 0; pass < 100; pass++) {
+            for (int i = 0; i < 200; i++) {
+                if (cache.get("key" + i) == null)
+                    cache.put("key" + i, "value" + i);
+            }
+        }
+        for (int i = 0; i < 200; i++)
+            assertEquals("value" + i, cache.get("key" + i));
+        assertEquals("value17", cache.get(new CharSlice("xkey17".toCharArray(), 1, 5)));
+        assertNull(cache.get("key200"));
+        assertEquals(200, cache.getSize());
+    }
+
+    @Test
+    public void get_put_smallSize() {
+        StripedCache<String> cache = new StripedCache<>(1);
+        cache.put("one", "1");
+        assertEquals("1", cache.get("one"));
+        cache.put("two", "2");
+        assertNull(cache.get("one"));
+        assertEquals("2", cache.get("two"));
+    }
+
+    @Test
+    public void get_put_concurrent() throws Exception {
+        StripedCache<Integer> cache = new StripedCache<>(512);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 100_000; i++) {
+                        int value = i % 300;
+                        String key = Integer.toString(value);
+                        Integer cached = cache.get(key);
+                        if (cached == null)
+                            cache.put(key, value);
+                        else
+                            assertEquals(value, cached.intValue());
+                    }
+                }));
+            }
+            for (Future<?> future : futures)
+                future.get();
+        } finally {
+            executor.shutdown();
+        }
+        assertFalse(cache.isDisabled());
+        assertEquals(Integer.valueOf(42), cache.get("42"));
+    }
+
+    @Test
+    public void disable_unique() {
+        StripedCache<String> cache = new StripedCache<>(64);
+        for (int i = 0; i < 100 * AdaptiveCache.WINDOW; i++) {
+            String key = String.valueOf(i);
+            if (cache.get(key) == null)
+                cache.put(key, key);
+        }
+        assertTrue(cache.isDisabled());
+        assertEquals(0, cache.getSize());
+    }
+}